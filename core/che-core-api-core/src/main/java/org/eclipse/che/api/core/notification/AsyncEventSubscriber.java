@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Delivers events to the wrapped subscriber asynchronously, so publisher
+ * doesn't wait until slow subscriber processes the event. Usage example:
+ * <pre>
+ *     bus.subscribe(new AsyncEventSubscriber&lt;&gt;(new MyEventSubscriber(), 100, OverflowPolicy.BLOCK));
+ *     ...
+ *     // stops delivery thread of the async wrapper as well
+ *     bus.unsubscribe(myEventSubscriber);
+ * </pre>
+ *
+ * <p>Each async subscriber has its own bounded queue and delivery thread,
+ * events are delivered to the wrapped subscriber in the order they were published.
+ * What happens when the queue is full is defined by {@link OverflowPolicy}.
+ *
+ * <p>Note that the wrapped subscriber is called in the delivery thread,
+ * so it must not rely on thread local state of the publisher's thread,
+ * e.g. {@code EnvironmentContext}.
+ *
+ * <p>Async subscriber collects queue depth and dispatch latency statistics,
+ * deliveries which take longer than {@link #SLOW_DISPATCH_THRESHOLD_MS} are logged.
+ */
+public class AsyncEventSubscriber<T> implements EventSubscriber<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    /** Deliveries of single event which take longer than this are reported to the log. */
+    public static final long SLOW_DISPATCH_THRESHOLD_MS = 1000;
+
+    /** Defines what happens with an event published when the queue of subscriber is full. */
+    public enum OverflowPolicy {
+        /** Publisher waits until there is room in the queue. */
+        BLOCK,
+        /** The oldest queued event is dropped to make room for the new one. */
+        DROP_OLDEST,
+        /**
+         * Queued event with the same coalescing key is replaced with the new one in place,
+         * the queue is never overflowed with events for the same key.
+         * If there is no such event the oldest queued event is dropped.
+         */
+        COALESCE
+    }
+
+    private final EventSubscriber<T>            delegate;
+    private final int                           capacity;
+    private final OverflowPolicy                overflowPolicy;
+    private final Function<? super T, ?>        coalescingKey;
+    private final ExecutorService               executor;
+    private final Deque<PendingEvent<T>>        queue;
+    private final Map<Object, PendingEvent<T>> pendingByKey;
+
+    // guarded by queue
+    private boolean draining;
+    private boolean stopped;
+    private int     maxQueueDepth;
+    private long    delivered;
+    private long    dropped;
+    private long    coalesced;
+    private long    totalLatencyNanos;
+    private long    maxLatencyNanos;
+
+    private volatile Thread deliveryThread;
+
+    /**
+     * Creates async subscriber with {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#DROP_OLDEST} policy.
+     *
+     * @param delegate
+     *         subscriber which receives events
+     * @param capacity
+     *         max number of events waiting for delivery
+     * @param overflowPolicy
+     *         what to do with the new event when queue is full
+     * @throws IllegalArgumentException
+     *         if capacity is not positive or {@link OverflowPolicy#COALESCE} is used
+     */
+    public AsyncEventSubscriber(EventSubscriber<T> delegate, int capacity, OverflowPolicy overflowPolicy) {
+        this(delegate, capacity, overflowPolicy, null);
+    }
+
+    /**
+     * Creates async subscriber.
+     *
+     * @param delegate
+     *         subscriber which receives events
+     * @param capacity
+     *         max number of events waiting for delivery
+     * @param overflowPolicy
+     *         what to do with the new event when queue is full
+     * @param coalescingKey
+     *         function which returns the key events are coalesced by, required only for {@link OverflowPolicy#COALESCE}
+     * @throws IllegalArgumentException
+     *         if capacity is not positive or coalescing key is not set for {@link OverflowPolicy#COALESCE}
+     */
+    public AsyncEventSubscriber(EventSubscriber<T> delegate,
+                                int capacity,
+                                OverflowPolicy overflowPolicy,
+                                Function<? super T, ?> coalescingKey) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive, but is " + capacity);
+        }
+        if (overflowPolicy == OverflowPolicy.COALESCE && coalescingKey == null) {
+            throw new IllegalArgumentException("Coalescing key is required for COALESCE overflow policy");
+        }
+        this.delegate = requireNonNull(delegate, "Required non-null delegate");
+        this.overflowPolicy = requireNonNull(overflowPolicy, "Required non-null overflow policy");
+        this.capacity = capacity;
+        this.coalescingKey = coalescingKey;
+        this.queue = new ArrayDeque<>();
+        this.pendingByKey = new HashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("AsyncEventSubscriber-" + delegate.getClass().getSimpleName() + "-%d")
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /** Returns subscriber which receives events. */
+    public EventSubscriber<T> getDelegate() {
+        return delegate;
+    }
+
+    /** Queues event for the delivery to the wrapped subscriber according to the overflow policy. */
+    @Override
+    public void onEvent(T event) {
+        synchronized (queue) {
+            if (stopped) {
+                LOG.debug("Subscriber {} is stopped, event {} is ignored", delegate, event);
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.COALESCE) {
+                final PendingEvent<T> pending = pendingByKey.get(coalescingKey.apply(event));
+                if (pending != null) {
+                    pending.event = event;
+                    coalesced++;
+                    return;
+                }
+            }
+            // the subscriber publishes event to itself, it can't wait for itself
+            if (queue.size() >= capacity && Thread.currentThread() != deliveryThread) {
+                if (overflowPolicy == OverflowPolicy.BLOCK) {
+                    try {
+                        while (queue.size() >= capacity && !stopped) {
+                            queue.wait();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        LOG.warn("Interrupted while waiting for room in the queue of {}, event {} is lost", delegate, event);
+                        return;
+                    }
+                    if (stopped) {
+                        return;
+                    }
+                } else {
+                    removePending(queue.poll());
+                    dropped++;
+                }
+            }
+            final PendingEvent<T> pending = new PendingEvent<>(event, System.nanoTime());
+            queue.add(pending);
+            if (coalescingKey != null) {
+                pendingByKey.put(coalescingKey.apply(event), pending);
+            }
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            if (!draining) {
+                draining = true;
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Stops delivery of the events. Events which are already queued are delivered,
+     * newly published events are ignored. Publishers blocked on full queue are released.
+     */
+    public void stop() {
+        synchronized (queue) {
+            stopped = true;
+            queue.notifyAll();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Waits until queued events are delivered after {@link #stop()}.
+     *
+     * @return true if all the events are delivered, false if timeout elapsed before it
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /** Returns number of events waiting for delivery. */
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /** Returns the biggest number of events that waited for delivery at the same time. */
+    public int getMaxQueueDepth() {
+        synchronized (queue) {
+            return maxQueueDepth;
+        }
+    }
+
+    /** Returns number of events delivered to the wrapped subscriber. */
+    public long getDelivered() {
+        synchronized (queue) {
+            return delivered;
+        }
+    }
+
+    /** Returns number of events dropped because of queue overflow. */
+    public long getDropped() {
+        synchronized (queue) {
+            return dropped;
+        }
+    }
+
+    /** Returns number of events which replaced queued events with the same coalescing key. */
+    public long getCoalesced() {
+        synchronized (queue) {
+            return coalesced;
+        }
+    }
+
+    /** Returns average time in milliseconds between publishing of event and the end of its processing by the wrapped subscriber. */
+    public double getAverageDispatchLatencyMillis() {
+        synchronized (queue) {
+            return delivered == 0 ? 0 : (double)totalLatencyNanos / delivered / 1_000_000;
+        }
+    }
+
+    /** Returns max time in milliseconds between publishing of event and the end of its processing by the wrapped subscriber. */
+    public long getMaxDispatchLatencyMillis() {
+        synchronized (queue) {
+            return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (queue) {
+            return "AsyncEventSubscriber{" +
+                   "delegate=" + delegate +
+                   ", overflowPolicy=" + overflowPolicy +
+                   ", capacity=" + capacity +
+                   ", queueDepth=" + queue.size() +
+                   ", maxQueueDepth=" + maxQueueDepth +
+                   ", delivered=" + delivered +
+                   ", dropped=" + dropped +
+                   ", coalesced=" + coalesced +
+                   ", maxDispatchLatencyMillis=" + TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos) +
+                   '}';
+        }
+    }
+
+    private void drain() {
+        deliveryThread = Thread.currentThread();
+        boolean completed = false;
+        try {
+            for (; ; ) {
+                final PendingEvent<T> pending;
+                final T event;
+                synchronized (queue) {
+                    pending = queue.poll();
+                    if (pending == null) {
+                        draining = false;
+                        completed = true;
+                        return;
+                    }
+                    removePending(pending);
+                    event = pending.event;
+                    queue.notifyAll();
+                }
+                final long start = System.nanoTime();
+                try {
+                    delegate.onEvent(event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                final long end = System.nanoTime();
+                final long dispatchMs = TimeUnit.NANOSECONDS.toMillis(end - start);
+                if (dispatchMs > SLOW_DISPATCH_THRESHOLD_MS) {
+                    LOG.warn("Subscriber {} processed event {} in {}ms", delegate, event, dispatchMs);
+                }
+                synchronized (queue) {
+                    final long latency = end - pending.publishTime;
+                    delivered++;
+                    totalLatencyNanos += latency;
+                    maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+                }
+            }
+        } finally {
+            deliveryThread = null;
+            if (!completed) {
+                // subscriber has thrown an error, next published event restarts the delivery
+                synchronized (queue) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    private void removePending(PendingEvent<T> pending) {
+        if (coalescingKey != null && pending != null) {
+            pendingByKey.remove(coalescingKey.apply(pending.event), pending);
+        }
+    }
+
+    private static class PendingEvent<T> {
+        final long publishTime;
+        T event;
+
+        PendingEvent(T event, long publishTime) {
+            this.event = event;
+            this.publishTime = publishTime;
+        }
+    }
+}
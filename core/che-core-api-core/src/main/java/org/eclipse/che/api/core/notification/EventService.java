@@ -17,12 +17,15 @@ import com.google.common.cache.LoadingCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -40,6 +43,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are called synchronously in the publisher's thread. Slow subscriber may be wrapped
+ * with {@link AsyncEventSubscriber} to get events asynchronously in its own thread.
  *
  * @author andrew00x
  */
@@ -147,7 +152,8 @@ public class EventService {
     }
 
     /**
-     * Unsubscribe event listener.
+     * Unsubscribe event listener. If listener was subscribed wrapped with {@link AsyncEventSubscriber}
+     * the wrapper is unsubscribed and stopped.
      *
      * @param subscriber
      *         event subscriber
@@ -156,7 +162,18 @@ public class EventService {
         final Class<?> eventType = getEventType(subscriber);
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            boolean changed = false;
+            for (EventSubscriber entry : entries) {
+                if (entry == subscriber
+                    || entry instanceof AsyncEventSubscriber && ((AsyncEventSubscriber)entry).getDelegate() == subscriber) {
+                    if (entries.remove(entry)) {
+                        changed = true;
+                        if (entry instanceof AsyncEventSubscriber) {
+                            ((AsyncEventSubscriber)entry).stop();
+                        }
+                    }
+                }
+            }
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
@@ -165,7 +182,32 @@ public class EventService {
         }
     }
 
+    /** Returns subscribers which receive events asynchronously, e.g. to check their queues and dispatch latencies. */
+    public List<AsyncEventSubscriber<?>> getAsyncSubscribers() {
+        final List<AsyncEventSubscriber<?>> result = new ArrayList<>();
+        for (Set<EventSubscriber> entries : subscribersByEventType.values()) {
+            for (EventSubscriber entry : entries) {
+                if (entry instanceof AsyncEventSubscriber) {
+                    result.add((AsyncEventSubscriber<?>)entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Stops delivery threads of asynchronous subscribers. */
+    @PreDestroy
+    public void stop() {
+        for (AsyncEventSubscriber<?> subscriber : getAsyncSubscribers()) {
+            subscriber.stop();
+        }
+    }
+
     private Class<?> getEventType(EventSubscriber<?> subscriber) {
+        if (subscriber instanceof AsyncEventSubscriber) {
+            // generic type of wrapper is erased, event type is defined by the wrapped subscriber
+            subscriber = ((AsyncEventSubscriber<?>)subscriber).getDelegate();
+        }
         Class<?> eventType = null;
         Class<?> clazz = subscriber.getClass();
         while (clazz != null && eventType == null) {
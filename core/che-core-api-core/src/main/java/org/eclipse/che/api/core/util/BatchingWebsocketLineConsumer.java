@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import java.io.Flushable;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Line consumer that sends lines to the websocket channel in frames. Lines of the frame are separated with
+ * {@code '\n'}, frame is sent when it reaches {@code maxFrameLines} lines or {@code maxFrameBytes} characters,
+ * or when {@link #flush()} is called, so the owner of the consumer bounds delay of the output by calling it periodically.
+ * <p/>
+ * Frames are sent by the given executor, so slow client doesn't block producer of the lines. If client doesn't
+ * receive frames as fast as they are produced and there are {@code maxPendingFrames} frames waiting to be sent,
+ * new frames are handled according to the {@link OverflowPolicy}.
+ */
+public class BatchingWebsocketLineConsumer implements LineConsumer, Flushable {
+    private static final Logger LOG = getLogger(BatchingWebsocketLineConsumer.class);
+
+    /** Defines what happens with frames which can't be queued because client is too slow. */
+    public enum OverflowPolicy {
+        /** Frame is dropped silently. */
+        DROP,
+        /** Frame is dropped and next sent frame starts with the line which tells how many lines were skipped. */
+        SUMMARIZE
+    }
+
+    private final String              channel;
+    private final int                 maxFrameLines;
+    private final int                 maxFrameBytes;
+    private final int                 maxPendingFrames;
+    private final OverflowPolicy      overflowPolicy;
+    private final Executor            sender;
+    private final LineConsumerMetrics metrics;
+    private final Queue<Frame>        pending;
+
+    private StringBuilder frame;
+    private int           frameLines;
+    private long          skippedLines;
+    private boolean       sending;
+
+    public BatchingWebsocketLineConsumer(String channel,
+                                         int maxFrameLines,
+                                         int maxFrameBytes,
+                                         int maxPendingFrames,
+                                         OverflowPolicy overflowPolicy,
+                                         Executor sender) {
+        this.channel = channel;
+        this.maxFrameLines = maxFrameLines;
+        this.maxFrameBytes = maxFrameBytes;
+        this.maxPendingFrames = maxPendingFrames;
+        this.overflowPolicy = overflowPolicy;
+        this.sender = sender;
+        this.metrics = new LineConsumerMetrics();
+        this.pending = new ArrayDeque<>();
+        this.frame = new StringBuilder();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public LineConsumerMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void writeLine(String line) {
+        final String text = line == null ? "" : line;
+        metrics.lineConsumed(text.length());
+        synchronized (this) {
+            if (frameLines > 0) {
+                frame.append('\n');
+            }
+            frame.append(text);
+            if (++frameLines >= maxFrameLines || frame.length() >= maxFrameBytes) {
+                enqueueFrame();
+            }
+        }
+    }
+
+    /** Sends lines collected so far without waiting for the frame to be full. */
+    @Override
+    public synchronized void flush() {
+        if (frameLines > 0 || skippedLines > 0 && pending.size() < maxPendingFrames) {
+            enqueueFrame();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /** Sends body of the frame to the channel. */
+    protected void send(String body) throws Exception {
+        final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+        bm.setChannel(channel);
+        bm.setBody(body);
+        WSConnectionContext.sendMessage(bm);
+    }
+
+    private void enqueueFrame() {
+        if (pending.size() >= maxPendingFrames) {
+            metrics.frameDropped(frameLines);
+            if (overflowPolicy == OverflowPolicy.SUMMARIZE) {
+                skippedLines += frameLines;
+            }
+        } else {
+            pending.add(new Frame(frame.toString(), frameLines, skippedLines));
+            skippedLines = 0;
+            if (!sending) {
+                sending = true;
+                try {
+                    sender.execute(this::sendPending);
+                } catch (RejectedExecutionException e) {
+                    sending = false;
+                    LOG.warn("Unable to send output to the channel {}, sender is stopped", channel);
+                }
+            }
+        }
+        frame = new StringBuilder();
+        frameLines = 0;
+    }
+
+    private void sendPending() {
+        Frame next;
+        while ((next = nextFrame()) != null) {
+            try {
+                send(next.toBody());
+                metrics.frameSent();
+            } catch (Exception e) {
+                LOG.error("A problem occurred while sending websocket message", e);
+            }
+        }
+    }
+
+    private synchronized Frame nextFrame() {
+        final Frame next = pending.poll();
+        if (next == null) {
+            sending = false;
+        }
+        return next;
+    }
+
+    private static class Frame {
+        final String body;
+        final int    lines;
+        final long   skippedLines;
+
+        Frame(String body, int lines, long skippedLines) {
+            this.body = body;
+            this.lines = lines;
+            this.skippedLines = skippedLines;
+        }
+
+        String toBody() {
+            if (skippedLines == 0) {
+                return body;
+            }
+            final String summary = "[" + skippedLines + " lines skipped]";
+            return lines == 0 ? summary : summary + '\n' + body;
+        }
+    }
+}
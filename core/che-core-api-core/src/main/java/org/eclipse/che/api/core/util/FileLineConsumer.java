@@ -11,20 +11,32 @@
 package org.eclipse.che.api.core.util;
 
 import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 
 /**
+ * Line consumer that writes lines to the file. By default writer is flushed after every line, consumer created
+ * with {@code flushLines} greater than one flushes writer once per group of lines and when {@link #flush()} is called.
+ *
  * @author andrew00x
  */
-public class FileLineConsumer implements LineConsumer {
+public class FileLineConsumer implements LineConsumer, Flushable {
     private final File   file;
     private final Writer writer;
+    private final int    flushLines;
+
+    private int unflushedLines;
 
     public FileLineConsumer(File file) throws IOException {
+        this(file, 1);
+    }
+
+    public FileLineConsumer(File file, int flushLines) throws IOException {
         this.file = file;
+        this.flushLines = flushLines;
         writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
     }
 
@@ -33,16 +45,28 @@ public class FileLineConsumer implements LineConsumer {
     }
 
     @Override
-    public void writeLine(String line) throws IOException {
+    public synchronized void writeLine(String line) throws IOException {
         if (line != null) {
             writer.write(line);
         }
         writer.write('\n');
-        writer.flush();
+        if (++unflushedLines >= flushLines) {
+            writer.flush();
+            unflushedLines = 0;
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (unflushedLines > 0) {
+            writer.flush();
+            unflushedLines = 0;
+        }
     }
 
     @Override
-    public void close() throws IOException {
+    public synchronized void close() throws IOException {
+        unflushedLines = 0;
         writer.close();
     }
 }
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the lines consumed by the line consumer and frames sent by it to the clients.
+ * Rates are average values since creation of the metrics.
+ */
+public class LineConsumerMetrics {
+    private final long       startTime;
+    private final AtomicLong lines;
+    private final AtomicLong bytes;
+    private final AtomicLong frames;
+    private final AtomicLong droppedFrames;
+    private final AtomicLong droppedLines;
+
+    public LineConsumerMetrics() {
+        startTime = System.nanoTime();
+        lines = new AtomicLong();
+        bytes = new AtomicLong();
+        frames = new AtomicLong();
+        droppedFrames = new AtomicLong();
+        droppedLines = new AtomicLong();
+    }
+
+    void lineConsumed(int length) {
+        lines.incrementAndGet();
+        bytes.addAndGet(length);
+    }
+
+    void frameSent() {
+        frames.incrementAndGet();
+    }
+
+    void frameDropped(int frameLines) {
+        droppedFrames.incrementAndGet();
+        droppedLines.addAndGet(frameLines);
+    }
+
+    public long getLines() {
+        return lines.get();
+    }
+
+    /** Number of characters in consumed lines. */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getFrames() {
+        return frames.get();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    public double getLinesPerSecond() {
+        return perSecond(lines.get());
+    }
+
+    public double getBytesPerSecond() {
+        return perSecond(bytes.get());
+    }
+
+    private double perSecond(long count) {
+        final long elapsed = System.nanoTime() - startTime;
+        return elapsed <= 0 ? 0 : count * (double)TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("lines=%d, bytes=%d, frames=%d, dropped frames=%d, dropped lines=%d, %.1f lines/s, %.1f bytes/s",
+                             getLines(),
+                             getBytes(),
+                             getFrames(),
+                             getDroppedFrames(),
+                             getDroppedLines(),
+                             getLinesPerSecond(),
+                             getBytesPerSecond());
+    }
+}
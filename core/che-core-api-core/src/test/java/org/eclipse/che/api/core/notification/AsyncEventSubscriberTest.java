@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy.BLOCK;
+import static org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy.COALESCE;
+import static org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy.DROP_OLDEST;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AsyncEventSubscriberTest {
+    private EventService       bus;
+    private BlockingSubscriber subscriber;
+
+    @BeforeMethod
+    public void setUp() {
+        bus = new EventService();
+        subscriber = new BlockingSubscriber();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        subscriber.release();
+        bus.stop();
+    }
+
+    @Test
+    public void shouldDeliverEventsInPublishingOrderWithoutBlockingPublisher() throws Exception {
+        final AsyncEventSubscriber<String> async = new AsyncEventSubscriber<>(subscriber, 10, BLOCK);
+        bus.subscribe(async);
+
+        bus.publish("1");
+        bus.publish("2");
+        bus.publish("3");
+        assertTrue(subscriber.events.isEmpty() || subscriber.events.equals(asList("1")));
+
+        subscriber.release();
+        async.stop();
+        assertTrue(async.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(subscriber.events, asList("1", "2", "3"));
+        assertEquals(async.getDelivered(), 3);
+        assertEquals(async.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void shouldDropOldestEventWhenQueueIsFull() throws Exception {
+        final AsyncEventSubscriber<String> async = new AsyncEventSubscriber<>(subscriber, 2, DROP_OLDEST);
+        bus.subscribe(async);
+        bus.publish("1");
+        assertTrue(subscriber.started.await(5, TimeUnit.SECONDS));
+
+        bus.publish("2");
+        bus.publish("3");
+        bus.publish("4");
+
+        assertEquals(async.getQueueDepth(), 2);
+        assertEquals(async.getDropped(), 1);
+        subscriber.release();
+        async.stop();
+        assertTrue(async.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(subscriber.events, asList("1", "3", "4"));
+    }
+
+    @Test
+    public void shouldReplaceQueuedEventWithTheSameKey() throws Exception {
+        final AsyncEventSubscriber<String> async = new AsyncEventSubscriber<>(subscriber, 10, COALESCE, event -> event.charAt(0));
+        bus.subscribe(async);
+        bus.publish("a0");
+        assertTrue(subscriber.started.await(5, TimeUnit.SECONDS));
+
+        bus.publish("a1");
+        bus.publish("b1");
+        bus.publish("a2");
+
+        assertEquals(async.getQueueDepth(), 2);
+        assertEquals(async.getCoalesced(), 1);
+        subscriber.release();
+        async.stop();
+        assertTrue(async.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(subscriber.events, asList("a0", "a2", "b1"));
+    }
+
+    @Test
+    public void shouldBlockPublisherWhenQueueIsFull() throws Exception {
+        final AsyncEventSubscriber<String> async = new AsyncEventSubscriber<>(subscriber, 1, BLOCK);
+        bus.subscribe(async);
+        bus.publish("1");
+        assertTrue(subscriber.started.await(5, TimeUnit.SECONDS));
+        bus.publish("2");
+
+        final Thread publisher = new Thread(() -> bus.publish("3"));
+        publisher.start();
+        publisher.join(200);
+        assertTrue(publisher.isAlive());
+
+        subscriber.release();
+        publisher.join(5000);
+        assertFalse(publisher.isAlive());
+        async.stop();
+        assertTrue(async.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(subscriber.events, asList("1", "2", "3"));
+    }
+
+    @Test
+    public void shouldUnsubscribeAndStopAsyncSubscriberByWrappedSubscriber() throws Exception {
+        final AsyncEventSubscriber<String> async = new AsyncEventSubscriber<>(subscriber, 10, BLOCK);
+        bus.subscribe(async);
+        assertEquals(bus.getAsyncSubscribers(), asList(async));
+
+        bus.unsubscribe(subscriber);
+
+        assertTrue(bus.getAsyncSubscribers().isEmpty());
+        assertTrue(async.awaitTermination(5, TimeUnit.SECONDS));
+        bus.publish("1");
+        assertTrue(subscriber.events.isEmpty());
+    }
+
+    private static class BlockingSubscriber implements EventSubscriber<String> {
+        final List<String>   events  = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(String event) {
+            events.add(event);
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void release() {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.eclipse.che.api.core.util.BatchingWebsocketLineConsumer.OverflowPolicy;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link BatchingWebsocketLineConsumer}.
+ */
+public class BatchingWebsocketLineConsumerTest {
+
+    private List<Runnable> senderTasks;
+    private List<String>   sent;
+
+    @BeforeMethod
+    public void setUp() {
+        senderTasks = new ArrayList<>();
+        sent = new ArrayList<>();
+    }
+
+    @Test
+    public void sendsLinesInFramesOfMaxSize() throws Exception {
+        final BatchingWebsocketLineConsumer consumer = newConsumer(2, 100, OverflowPolicy.DROP);
+
+        consumer.writeLine("a");
+        consumer.writeLine("b");
+        consumer.writeLine("c");
+        consumer.close();
+        runSender();
+
+        assertEquals(sent, asList("a\nb", "c"));
+        assertEquals(consumer.getMetrics().getLines(), 3);
+        assertEquals(consumer.getMetrics().getFrames(), 2);
+    }
+
+    @Test
+    public void sendsIncompleteFrameOnFlush() throws Exception {
+        final BatchingWebsocketLineConsumer consumer = newConsumer(100, 100, OverflowPolicy.DROP);
+
+        consumer.writeLine("a");
+        consumer.flush();
+        runSender();
+
+        assertEquals(sent, asList("a"));
+    }
+
+    @Test
+    public void dropsFramesWhenClientIsSlow() throws Exception {
+        final BatchingWebsocketLineConsumer consumer = newConsumer(1, 2, OverflowPolicy.DROP);
+
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("line " + i);
+        }
+        runSender();
+
+        assertEquals(sent, asList("line 0", "line 1"));
+        assertEquals(consumer.getMetrics().getDroppedFrames(), 3);
+        assertEquals(consumer.getMetrics().getDroppedLines(), 3);
+    }
+
+    @Test
+    public void summarizesDroppedFramesWhenClientIsSlow() throws Exception {
+        final BatchingWebsocketLineConsumer consumer = newConsumer(1, 2, OverflowPolicy.SUMMARIZE);
+
+        for (int i = 0; i < 5; i++) {
+            consumer.writeLine("line " + i);
+        }
+        runSender();
+        consumer.writeLine("line 5");
+        runSender();
+
+        assertEquals(sent, asList("line 0", "line 1", "[3 lines skipped]\nline 5"));
+    }
+
+    @Test
+    public void reportsSkippedLinesOnClose() throws Exception {
+        final BatchingWebsocketLineConsumer consumer = newConsumer(1, 1, OverflowPolicy.SUMMARIZE);
+
+        consumer.writeLine("line 0");
+        consumer.writeLine("line 1");
+        runSender();
+        consumer.close();
+        runSender();
+
+        assertEquals(sent, asList("line 0", "[1 lines skipped]"));
+        assertTrue(consumer.getMetrics().getLinesPerSecond() > 0);
+    }
+
+    private BatchingWebsocketLineConsumer newConsumer(int maxFrameLines, int maxPendingFrames, OverflowPolicy policy) {
+        return new BatchingWebsocketLineConsumer("channel", maxFrameLines, 1024, maxPendingFrames, policy, senderTasks::add) {
+            @Override
+            protected void send(String body) {
+                sent.add(body);
+            }
+        };
+    }
+
+    /** Sender runs only when test allows it, it emulates slow client. */
+    private void runSender() {
+        final List<Runnable> tasks = new ArrayList<>(senderTasks);
+        senderTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -70,8 +70,10 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamDeserializer(methods, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -301,8 +303,14 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // Write JSON straight to the string without building intermediate JSON tree
+        builder.append("      java.io.StringWriter out = new java.io.StringWriter();\n");
+        builder.append("      try {\n");
+        builder.append("        writeTo(newJsonWriter(out));\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonIOException(e);\n");
+        builder.append("      }\n");
+        builder.append("      return out.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +459,127 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /** Generates a method that writes JSON representation of DTO directly to JsonWriter without building JSON tree. */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter writer) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            // Compact DTOs are tiny, there is nothing to win from the streaming for them
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("\n");
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitStreamSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                         "      ");
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write value of the given type to the JsonWriter, generated code is equivalent to
+     * the code produced by {@link #emitSerializerImpl(List, int, StringBuilder, String, String, String)}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable which value should be written
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        Type type = expandedTypes.get(depth);
+        String value = depth == 0 ? "this." + inVar : inVar;
+        String childInVar = inVar + "_";
+        String entryVar = "entry" + depth;
+        Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            }
+            builder.append(i).append("writer.beginArray();\n");
+            builder.append(i).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(value)
+                   .append(") {\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "  ");
+            builder.append(i).append("}\n");
+            builder.append(i).append("writer.endArray();\n");
+        } else if (isMap(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            }
+            builder.append(i).append("writer.beginObject();\n");
+            builder.append(i).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                   .append(" : ").append(value).append(".entrySet()) {\n");
+            builder.append(i).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                   .append(".getValue();\n");
+            builder.append(i).append("  writer.name(").append(entryVar).append(".getKey());\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "  ");
+            builder.append(i).append("}\n");
+            builder.append(i).append("writer.endObject();\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("writer.value(").append(value).append(" == null ? null : ").append(value).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            emitStreamSerializeJsonSerializable(getImplNameForDto(rawClass), value, builder, i);
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == boolean.class) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("writer.value((long)").append(value).append(");\n");
+        } else if (rawClass == double.class
+                   || rawClass == float.class) {
+            // Float must not be widened to double, otherwise it is printed in a different way than JsonPrimitive does
+            builder.append(i).append("writer.value((Number)").append(value).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.value(").append(value).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("writer.value((Number)").append(value).append(");\n");
+        } else if (isAny(rawClass)) {
+            // JSONs are written as is, there is no need to copy them
+            builder.append(i).append("if (").append(value).append(" == null || !(").append(value).append(" instanceof JsonElement)) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(value).append(", writer);\n");
+            builder.append(i).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                emitStreamSerializeJsonSerializable(dtoImplementation.getCanonicalName(), value, builder, i);
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
+    private void emitStreamSerializeJsonSerializable(String implName, String inVar, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(inVar).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        builder.append(i).append("  ((").append(implName).append(")").append(inVar).append(").writeTo(writer);\n");
+        builder.append(i).append("}\n");
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -489,6 +618,134 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /** Generates a static factory method that creates a new instance reading its fields directly from JsonReader. */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(JsonReader reader) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            // Compact DTOs are tiny, there is nothing to win from the streaming for them
+            builder.append("      return fromJsonElement(new JsonParser().parse(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        final Set<String> jsonFieldNames = new HashSet<>();
+        for (Method getter : getters) {
+            final String jsonFieldName = getJsonFieldName(getter);
+            if (!jsonFieldNames.add(jsonFieldName)) {
+                continue;
+            }
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(jsonFieldName)).append(": {\n");
+            emitStreamDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("\n      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read value of the given type from the JsonReader, generated code is equivalent to
+     * the code produced by {@link #emitDeserializerImpl(List, int, StringBuilder, String, String, String)}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output for deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        Type type = expandedTypes.get(depth);
+        String childOutVar = outVar + "_";
+        Class<?> rawClass = getRawClass(type);
+
+        if (isList(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append("  reader.beginArray();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+            builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+            builder.append(i).append("  }\n");
+            builder.append(i).append("  reader.endArray();\n");
+            builder.append(i).append("}\n");
+        } else if (isMap(rawClass)) {
+            String keyVar = "key" + depth;
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append("  reader.beginObject();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+            emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+            builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar).append(");\n");
+            builder.append(i).append("  }\n");
+            builder.append(i).append("  reader.endObject();\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".readFrom(reader);\n");
+        } else if (rawClass.isPrimitive()) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = ");
+            if (rawClass == boolean.class) {
+                builder.append("reader.nextBoolean();\n");
+            } else if (rawClass == long.class) {
+                builder.append("reader.nextLong();\n");
+            } else if (rawClass == double.class) {
+                builder.append("reader.nextDouble();\n");
+            } else if (rawClass == float.class) {
+                builder.append("(float)reader.nextDouble();\n");
+            } else if (rawClass == int.class) {
+                builder.append("reader.nextInt();\n");
+            } else {
+                builder.append("(").append(rawClass.getSimpleName()).append(")reader.nextInt();\n");
+            }
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("String ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = reader.nextString();\n");
+            builder.append(i).append("}\n");
+        } else if (isAny(rawClass)) {
+            // JSON is parsed from the stream thus it is not shared with anything and needn't be copied
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".readFrom(reader);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method method, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(method.getName());
         final String fieldNameIn = fieldName + "In";
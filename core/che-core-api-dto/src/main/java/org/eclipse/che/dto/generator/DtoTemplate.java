@@ -201,6 +201,9 @@ public class DtoTemplate {
             builder.append("import com.google.gson.JsonObject;\n");
             builder.append("import com.google.gson.JsonParser;\n");
             builder.append("import com.google.gson.JsonPrimitive;\n");
+            builder.append("import com.google.gson.stream.JsonReader;\n");
+            builder.append("import com.google.gson.stream.JsonToken;\n");
+            builder.append("import com.google.gson.stream.JsonWriter;\n");
             builder.append("\n");
             builder.append("import java.util.List;\n");
             builder.append("import java.util.Map;\n");
@@ -230,6 +233,13 @@ public class DtoTemplate {
         builder.append(" {\n\n");
         if ("server".equals(implType)) {
             builder.append("  private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();\n\n");
+            // JsonWriter configured in the same way as gson configures it for writing JsonElement
+            builder.append("  private static JsonWriter newJsonWriter(java.io.Writer out) {\n" +
+                           "    JsonWriter writer = new JsonWriter(out);\n" +
+                           "    writer.setLenient(true);\n" +
+                           "    writer.setSerializeNulls(false);\n" +
+                           "    return writer;\n" +
+                           "  }\n\n");
             builder.append("  @Override\n" +
                            "  public void accept(org.eclipse.che.dto.server.DtoFactory dtoFactory) {\n");
             for (DtoImpl dto : getDtoInterfaces()) {
@@ -248,6 +258,9 @@ public class DtoTemplate {
                 builder.append("        public ").append(dtoInterface).append(" fromJson(com.google.gson.JsonElement json) {\n")
                        .append("            return ").append(dto.getImplClassName()).append(".fromJsonElement(json);\n");
                 builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface).append(" fromJson(JsonReader json) throws java.io.IOException {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".readFrom(json);\n");
+                builder.append("        }\n\n");
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -29,6 +30,8 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +39,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -325,6 +329,82 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void streamingSerializerShouldProduceTheSameJsonAsJsonTreeSerializer() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class)
+                                                .withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+        final GsonBuilder gsonBuilder = new GsonBuilder().disableHtmlEscaping();
+
+        assertEquals(dtoFactory.toJson(dto), gsonBuilder.create().toJson(dtoFactory.toJsonElement(dto)));
+        assertEquals(dtoFactory.toJson(dtoWithAny), gsonBuilder.create().toJson(dtoFactory.toJsonElement(dtoWithAny)));
+    }
+
+    @Test
+    public void shouldWriteDtoToWriter() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void shouldReadDtoFromReader() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+        final JsonObject json = dtoFactory.toJsonElement(dto).getAsJsonObject();
+        json.add("unknown", new JsonParser().parse("{a:[1,2,{b:null}]}"));
+
+        final ComplicatedDto result = dtoFactory.createDtoFromJson(new StringReader(json.toString()), ComplicatedDto.class);
+
+        assertEquals(result, dto);
+    }
+
+    @Test
+    public void shouldReadDtoWithAnyFromReader() throws Exception {
+        final DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class)
+                                         .withStuff(createTestValueForAny())
+                                         .withObjects(createListTestValueForAny());
+
+        final DtoWithAny result = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(dto)), DtoWithAny.class);
+
+        assertEquals(result.getStuff(), createTestValueForAny());
+        assertEquals(result.getObjects(), createListTestValueForAny());
+    }
+
+    @Test
+    public void shouldReturnNullWhenReadingDtoFromEmptyReader() throws Exception {
+        assertNull(dtoFactory.createDtoFromJson(new StringReader(""), SimpleDto.class));
+    }
+
+    @Test
+    public void shouldReadListOfDtosFromReader() throws Exception {
+        final SimpleDto dto1 = dtoFactory.createDto(SimpleDto.class).withName("name1").withId(1);
+        final SimpleDto dto2 = dtoFactory.createDto(SimpleDto.class).withName("name2").withId(2).withDefault("default");
+        final JsonArray json = new JsonArray();
+        json.add(dtoFactory.toJsonElement(dto1));
+        json.add(dtoFactory.toJsonElement(dto2));
+
+        final List<SimpleDto> result = dtoFactory.createListDtoFromJson(new StringReader(json.toString()), SimpleDto.class);
+
+        assertEquals(result, asList(dto1, dto2));
+    }
+
+    private ComplicatedDto createComplicatedDto() {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+        final Map<String, SimpleDto> mapDtos = new HashMap<>();
+        mapDtos.put("key", simpleDto);
+        mapDtos.put("<null>", null);
+        return dtoFactory.createDto(ComplicatedDto.class)
+                         .withStrings(asList("Something 1", null, "\"quoted\" <html>"))
+                         .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                         .withMap(mapDtos)
+                         .withSimpleDtos(asList(simpleDto, null))
+                         .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
@@ -12,6 +12,8 @@ package org.eclipse.che.ide.api.event;
 
 import com.google.gwt.event.shared.GwtEvent;
 
+import org.eclipse.che.api.project.shared.dto.event.VfsFileLineEditDto;
+
 /**
  * Event that notifies of file content changes.
  */
@@ -29,6 +31,11 @@ public class FileContentUpdateEvent extends GwtEvent<FileContentUpdateHandler> {
      */
     private String modificationStamp;
 
+    /**
+     * Edit of the changed lines.
+     */
+    private VfsFileLineEditDto lineEdit;
+
     /**
      * Constructor.
      * 
@@ -43,6 +50,12 @@ public class FileContentUpdateEvent extends GwtEvent<FileContentUpdateHandler> {
         this.modificationStamp = contentStamp;
     }
 
+    public FileContentUpdateEvent(final String filePath, final String contentStamp, final VfsFileLineEditDto lineEdit) {
+        this.filePath = filePath;
+        this.modificationStamp = contentStamp;
+        this.lineEdit = lineEdit;
+    }
+
     @Override
     public Type<FileContentUpdateHandler> getAssociatedType() {
         return TYPE;
@@ -70,4 +83,14 @@ public class FileContentUpdateEvent extends GwtEvent<FileContentUpdateHandler> {
     public String getModificationStamp() {
         return modificationStamp;
     }
+
+    /**
+     * Returns edit which transforms the previous content of the file to the content with the
+     * {@link #getModificationStamp() stamp}, or {@code null} if the whole content should be reloaded.
+     *
+     * @return the edit
+     */
+    public VfsFileLineEditDto getLineEdit() {
+        return lineEdit;
+    }
 }
@@ -78,7 +78,9 @@ public class EditorFileStatusNotificationReceiver implements JsonRpcRequestRecei
             case MODIFIED: {
                 Log.debug(getClass(), "Received updated file event status: " + stringPath);
 
-                eventBus.fireEvent(new FileContentUpdateEvent(stringPath, vfsFileStatusUpdateDto.getHashCode()));
+                eventBus.fireEvent(new FileContentUpdateEvent(stringPath,
+                                                              vfsFileStatusUpdateDto.getHashCode(),
+                                                              vfsFileStatusUpdateDto.getLineEdit()));
 
                 break;
             }
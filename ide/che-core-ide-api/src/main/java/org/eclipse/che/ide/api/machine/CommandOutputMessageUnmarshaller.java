@@ -15,6 +15,8 @@ import org.eclipse.che.ide.websocket.rest.Unmarshallable;
 
 /**
  * Unmarshaller for websocket messages from machine.
+ * <p/>
+ * Message may contain several lines of the output separated with {@code '\n'}, prefix of each line is handled separately.
  *
  * @author Artem Zatsarynnyi
  */
@@ -29,13 +31,30 @@ public class CommandOutputMessageUnmarshaller implements Unmarshallable<String>
 
     @Override
     public void unmarshal(Message message) {
-        payload = message.getBody();
+        final String body = message.getBody();
 
-        if (payload.startsWith("[STDOUT]")) {
-            payload = payload.substring(9);
-        } else if (payload.startsWith("[STDERR]")) {
-            payload = payload.replace("[STDERR]", "[" + machineName + "]");
+        if (body.indexOf('\n') < 0) {
+            payload = unmarshalLine(body);
+            return;
         }
+
+        final StringBuilder lines = new StringBuilder();
+        for (String line : body.split("\n", -1)) {
+            if (lines.length() > 0) {
+                lines.append('\n');
+            }
+            lines.append(unmarshalLine(line));
+        }
+        payload = lines.toString();
+    }
+
+    private String unmarshalLine(String line) {
+        if (line.startsWith("[STDOUT]")) {
+            return line.substring(9);
+        } else if (line.startsWith("[STDERR]")) {
+            return line.replace("[STDERR]", "[" + machineName + "]");
+        }
+        return line;
     }
 
     @Override
@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
+import org.eclipse.che.api.project.shared.dto.event.VfsFileLineEditDto;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.ide.api.editor.EditorPartPresenter;
 import org.eclipse.che.ide.api.editor.EditorWithAutoSave;
@@ -29,6 +30,7 @@ import org.eclipse.che.ide.api.event.FileContentUpdateHandler;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.resources.File;
 import org.eclipse.che.ide.api.resources.VirtualFile;
+import org.eclipse.che.ide.util.TextUtils;
 
 import javax.validation.constraints.NotNull;
 import java.util.HashMap;
@@ -137,6 +139,10 @@ public class EditorGroupSynchronizationImpl implements EditorGroupSynchronizatio
             return;
         }
 
+        if (applyLineEdit(event.getLineEdit(), event.getModificationStamp(), virtualFile)) {
+            return;
+        }
+
         documentStorage.getDocument(virtualFile, new DocumentStorage.DocumentCallback() {
 
             @Override
@@ -181,6 +187,54 @@ public class EditorGroupSynchronizationImpl implements EditorGroupSynchronizatio
         }
     }
 
+    /**
+     * Applies edit of the changed lines to the content of the editor instead of loading the whole content.
+     * Edit is applied only if it produces the content with the expected stamp.
+     *
+     * @return {@code true} if edit is applied, {@code false} if content should be loaded
+     */
+    private boolean applyLineEdit(@Nullable VfsFileLineEditDto lineEdit, @Nullable String newStamp, VirtualFile virtualFile) {
+        final DocumentHandle documentHandle = getDocumentHandleFor(groupLeaderEditor);
+        if (lineEdit == null || newStamp == null || documentHandle == null || !(virtualFile instanceof File)) {
+            return false;
+        }
+
+        final File file = (File)virtualFile;
+        if (newStamp.equals(file.getModificationStamp())) {
+            return false;
+        }
+
+        final Document document = documentHandle.getDocument();
+        final String oldContent = document.getContents();
+        final String text = lineEdit.getText() == null ? "" : lineEdit.getText();
+        final int start = getLineOffset(oldContent, lineEdit.getStartLine());
+        final int end = getLineOffset(oldContent, lineEdit.getStartLine() + lineEdit.getRemovedLines());
+        if (!newStamp.equals(TextUtils.md5(oldContent.substring(0, start) + text + oldContent.substring(end)))) {
+            return false;
+        }
+
+        final TextPosition cursorPosition = document.getCursorPosition();
+        document.replace(start, end - start, text);
+        document.setCursorPosition(cursorPosition);
+        file.setModificationStamp(newStamp);
+
+        notificationManager.notify("External operation", "File '" + file.getName() + "' is updated", SUCCESS, EMERGE_MODE);
+        return true;
+    }
+
+    /** Returns offset of the beginning of the zero-based line, or length of the content if there is no such line. */
+    private int getLineOffset(String content, int line) {
+        int offset = 0;
+        for (int i = 0; i < line; i++) {
+            final int lineEnd = content.indexOf('\n', offset);
+            if (lineEnd == -1) {
+                return content.length();
+            }
+            offset = lineEnd + 1;
+        }
+        return offset;
+    }
+
     private void replaceContent(Document document, String newContent, String oldContent, TextPosition cursorPosition) {
         document.replace(0, oldContent.length(), newContent);
         document.setCursorPosition(cursorPosition);
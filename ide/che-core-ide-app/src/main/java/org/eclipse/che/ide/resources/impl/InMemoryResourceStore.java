@@ -17,22 +17,29 @@ import com.google.inject.Inject;
 
 import org.eclipse.che.ide.api.resources.Container;
 import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.api.resources.ResourceDelta;
 import org.eclipse.che.ide.api.resources.ResourceInterceptor;
 import org.eclipse.che.ide.resource.Path;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.lang.System.arraycopy;
-import static java.util.Arrays.binarySearch;
-import static java.util.Arrays.copyOf;
+import static org.eclipse.che.ide.api.resources.ResourceDelta.ADDED;
+import static org.eclipse.che.ide.api.resources.ResourceDelta.REMOVED;
+import static org.eclipse.che.ide.api.resources.ResourceDelta.UPDATED;
 
 /**
  * In memory implementation of {@link ResourceStore}.
+ * <p/>
+ * Children of each folder are indexed by name, so lookup, registration and disposing of the single resource
+ * don't depend on the number of its siblings. Sorted array of children is built on demand and reused until
+ * the folder is modified.
  *
  * @author Vlad Zhukovskiy
  * @see ResourceStore
@@ -44,14 +51,7 @@ class InMemoryResourceStore implements ResourceStore {
 
     private static final Resource[] EMPTY_RESOURCES = new Resource[0];
 
-    private static final Comparator<Resource> NAME_COMPARATOR = new Comparator<Resource>() {
-        @Override
-        public int compare(Resource o1, Resource o2) {
-            return o1.getName().compareTo(o2.getName());
-        }
-    };
-
-    private Map<Path, Resource[]> memoryCache;
+    private Map<Path, FolderIndex>   memoryCache;
     private Set<ResourceInterceptor> resourceInterceptors;
 
     @Inject
@@ -68,38 +68,18 @@ class InMemoryResourceStore implements ResourceStore {
 
         final Path parent = resource.getLocation().segmentCount() == 1 ? Path.ROOT : resource.getLocation().parent();
 
-        if (!memoryCache.containsKey(parent)) {
-            memoryCache.put(parent, new Resource[]{resource});
-
-            intercept(resource);
-
-            return true;
-        } else {
-            Resource[] container = memoryCache.get(parent);
-
-            final int index = binarySearch(container, resource, NAME_COMPARATOR);
-
-            if (index >= 0) { //update existing resource with new one
-                container[index] = resource;
-
-                intercept(resource);
+        FolderIndex index = memoryCache.get(parent);
 
-                return false;
-            } else { //such resource doesn't exists, then simply add it
-                final int posIndex = -index - 1; //negate inverted index into positive one
-                final int size = container.length;
-                final Resource[] tmpContainer = copyOf(container, size + 1);
-                arraycopy(tmpContainer, posIndex, tmpContainer, posIndex + 1, size - posIndex); //prepare cell to insert
-                tmpContainer[posIndex] = resource;
-                container = tmpContainer;
+        if (index == null) {
+            index = new FolderIndex();
+            memoryCache.put(parent, index);
+        }
 
-                memoryCache.put(parent, container);
+        final boolean added = index.put(resource);
 
-                intercept(resource);
+        intercept(resource);
 
-                return true;
-            }
-        }
+        return added;
     }
 
     /** {@inheritDoc} */
@@ -107,43 +87,42 @@ class InMemoryResourceStore implements ResourceStore {
     public void dispose(Path path, boolean withChildren) {
         checkArgument(path != null, "Null path occurred");
 
+        if (path.isRoot()) {
+            clear();
+            return;
+        }
 
         final Path parent = path.segmentCount() == 1 ? Path.ROOT : path.parent();
 
-        Resource[] container = memoryCache.get(parent);
+        final FolderIndex index = memoryCache.get(parent);
 
-        if (container != null) {
-            int index = -1;
-
-            for (int i = 0; i < container.length; i++) {
-                if (container[i].getName().equals(path.lastSegment())) {
-                    index = i;
-                    break;
-                }
-            }
-
-            if (index != -1) {
-                int size = container.length;
-                int numMoved = container.length - index - 1;
-                if (numMoved > 0) {
-                    System.arraycopy(container, index + 1, container, index, numMoved);
-                }
-                container = copyOf(container, --size);
-
-                memoryCache.put(parent, container);
-            }
+        if (index != null) {
+            index.remove(path.lastSegment());
         }
 
+        final FolderIndex children = memoryCache.remove(path);
 
-        if (memoryCache.containsKey(path)) {
-            container = memoryCache.remove(path);
+        if (children != null && withChildren) {
+            disposeDescendants(children);
+        }
+    }
 
-            if (container != null && withChildren) {
-                for (Resource resource : container) {
-                    if (resource instanceof Container) {
-                        dispose(resource.getLocation(), true);
-                    }
-                }
+    /** {@inheritDoc} */
+    @Override
+    public void apply(ResourceDelta[] deltas) {
+        checkArgument(deltas != null, "Null deltas occurred");
+
+        for (ResourceDelta delta : deltas) {
+            switch (delta.getKind()) {
+                case ADDED:
+                case UPDATED:
+                    register(delta.getResource());
+                    break;
+                case REMOVED:
+                    dispose(delta.getResource().getLocation(), true);
+                    break;
+                default:
+                    break;
             }
         }
     }
@@ -153,25 +132,19 @@ class InMemoryResourceStore implements ResourceStore {
     public Optional<Resource> getResource(Path path) {
         checkArgument(path != null, "Null path occurred");
 
-        final Path parent = path.parent();
+        final FolderIndex index = memoryCache.get(path.parent());
 
-        if (!memoryCache.containsKey(parent)) {
+        if (index == null) {
             return absent();
         }
 
-        final Resource[] container = memoryCache.get(parent);
+        final Resource resource = index.get(path.lastSegment());
 
-        if (container == null) {
+        if (resource == null || !resource.getLocation().equals(path)) {
             return absent();
         }
 
-        for (Resource resource : container) {
-            if (resource.getLocation().equals(path)) {
-                return Optional.of(resource);
-            }
-        }
-
-        return absent();
+        return of(resource);
     }
 
     /** {@inheritDoc} */
@@ -179,11 +152,13 @@ class InMemoryResourceStore implements ResourceStore {
     public Optional<Resource[]> get(Path parent) {
         checkArgument(parent != null, "Null path occurred");
 
-        if (!memoryCache.containsKey(parent)) {
+        final FolderIndex index = memoryCache.get(parent);
+
+        if (index == null) {
             return absent();
         }
 
-        return of(memoryCache.get(parent));
+        return of(index.toArray());
     }
 
     /** {@inheritDoc} */
@@ -195,34 +170,19 @@ class InMemoryResourceStore implements ResourceStore {
             return absent();
         }
 
-        Resource[] all = new Resource[0];
-
-        for (Map.Entry<Path, Resource[]> setEntry : memoryCache.entrySet()) {
-
-            /* There is no need to check compared path if its segment count is less then given one. */
-
-            final Path comparedPath = setEntry.getKey();
-
-            if (!parent.isPrefixOf(comparedPath)) {
-                continue;
-            }
-
-            final Resource[] resources = setEntry.getValue();
+        final List<Resource> all = new ArrayList<>();
 
-            if (resources == null || resources.length == 0) {
-                continue;
+        for (Map.Entry<Path, FolderIndex> setEntry : memoryCache.entrySet()) {
+            if (parent.isPrefixOf(setEntry.getKey())) {
+                setEntry.getValue().addTo(all);
             }
-
-            final Resource[] tmpResourcesArr = copyOf(all, all.length + resources.length);
-            arraycopy(resources, 0, tmpResourcesArr, all.length, resources.length);
-            all = tmpResourcesArr;
         }
 
-        if (all.length == 0) {
+        if (all.isEmpty()) {
             return of(EMPTY_RESOURCES);
         }
 
-        return of(all);
+        return of(all.toArray(new Resource[all.size()]));
     }
 
     /** {@inheritDoc} */
@@ -231,6 +191,19 @@ class InMemoryResourceStore implements ResourceStore {
         memoryCache.clear();
     }
 
+    /** Removes indexes of the nested containers, index of the given container is already removed. */
+    private void disposeDescendants(FolderIndex index) {
+        for (Resource resource : index.children.values()) {
+            if (resource instanceof Container) {
+                final FolderIndex children = memoryCache.remove(resource.getLocation());
+
+                if (children != null) {
+                    disposeDescendants(children);
+                }
+            }
+        }
+    }
+
     private <R extends Resource> void intercept(R resource) {
         checkArgument(resource != null, "Null resource occurred");
 
@@ -240,4 +213,38 @@ class InMemoryResourceStore implements ResourceStore {
             interceptor.intercept(resource);
         }
     }
+
+    /** Children of the single folder sorted by name. */
+    private static class FolderIndex {
+        private final TreeMap<String, Resource> children = new TreeMap<>();
+
+        private Resource[] snapshot;
+
+        /** Returns {@code true} if there was no resource with the same name. */
+        boolean put(Resource resource) {
+            snapshot = null;
+            return children.put(resource.getName(), resource) == null;
+        }
+
+        void remove(String name) {
+            if (children.remove(name) != null) {
+                snapshot = null;
+            }
+        }
+
+        Resource get(String name) {
+            return children.get(name);
+        }
+
+        Resource[] toArray() {
+            if (snapshot == null) {
+                snapshot = children.values().toArray(new Resource[children.size()]);
+            }
+            return snapshot;
+        }
+
+        void addTo(List<Resource> resources) {
+            resources.addAll(children.values());
+        }
+    }
 }
@@ -52,11 +52,13 @@ import org.eclipse.che.ide.api.resources.marker.MarkerChangedEvent;
 import org.eclipse.che.ide.context.AppContextImpl;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.resource.Path;
-import org.eclipse.che.ide.util.Arrays;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
@@ -64,6 +66,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 import static java.lang.System.arraycopy;
 import static java.util.Arrays.copyOf;
 import static org.eclipse.che.ide.api.resources.Resource.FILE;
@@ -77,7 +80,6 @@ import static org.eclipse.che.ide.api.resources.ResourceDelta.REMOVED;
 import static org.eclipse.che.ide.api.resources.ResourceDelta.SYNCHRONIZED;
 import static org.eclipse.che.ide.api.resources.ResourceDelta.UPDATED;
 import static org.eclipse.che.ide.util.Arrays.add;
-import static org.eclipse.che.ide.util.Arrays.removeAll;
 import static org.eclipse.che.ide.util.NameUtils.checkFileName;
 import static org.eclipse.che.ide.util.NameUtils.checkFolderName;
 import static org.eclipse.che.ide.util.NameUtils.checkProjectName;
@@ -681,56 +683,56 @@ public final class ResourceManager {
             @Override
             public Resource[] apply(Resource[] reloaded) throws FunctionException {
 
-                Resource[] result = new Resource[0];
+                final List<ResourceDelta> deltas = new ArrayList<>(reloaded.length);
 
                 if (descendants.isPresent()) {
-                    Resource[] outdated = descendants.get();
+                    final Resource[] outdated = descendants.get();
 
-                    final Resource[] removed = removeAll(outdated, reloaded, false);
-                    for (Resource resource : removed) {
-                        store.dispose(resource.getLocation(), false);
-                        eventBus.fireEvent(new ResourceChangedEvent(new ResourceDeltaImpl(resource, REMOVED)));
-                    }
-
-                    final Resource[] updated = removeAll(outdated, reloaded, true);
-                    for (Resource resource : updated) {
-                        store.register(resource);
+                    final Set<Resource> reloadedSet = newHashSetWithExpectedSize(reloaded.length);
+                    Collections.addAll(reloadedSet, reloaded);
 
-                        eventBus.fireEvent(new ResourceChangedEvent(new ResourceDeltaImpl(resource, UPDATED)));
+                    final Set<Resource> outdatedSet = newHashSetWithExpectedSize(outdated.length);
+                    Collections.addAll(outdatedSet, outdated);
 
-                        final Optional<Resource> registered = store.getResource(resource.getLocation());
-                        if (registered.isPresent()) {
-                            result = Arrays.add(result, registered.get());
+                    for (Resource resource : outdated) {
+                        if (!reloadedSet.contains(resource)) {
+                            deltas.add(new ResourceDeltaImpl(resource, REMOVED));
                         }
                     }
 
-                    final Resource[] added = removeAll(reloaded, outdated, false);
-                    for (Resource resource : added) {
-                        store.register(resource);
-
-                        eventBus.fireEvent(new ResourceChangedEvent(new ResourceDeltaImpl(resource, ADDED)));
-
-                        final Optional<Resource> registered = store.getResource(resource.getLocation());
-                        if (registered.isPresent()) {
-                            result = Arrays.add(result, registered.get());
+                    for (Resource resource : outdated) {
+                        if (reloadedSet.contains(resource)) {
+                            deltas.add(new ResourceDeltaImpl(resource, UPDATED));
                         }
                     }
 
-
+                    for (Resource resource : reloaded) {
+                        if (!outdatedSet.contains(resource)) {
+                            deltas.add(new ResourceDeltaImpl(resource, ADDED));
+                        }
+                    }
                 } else {
                     for (Resource resource : reloaded) {
-                        store.register(resource);
+                        deltas.add(new ResourceDeltaImpl(resource, ADDED));
+                    }
+                }
+
+                store.apply(deltas.toArray(new ResourceDelta[deltas.size()]));
+
+                final List<Resource> result = new ArrayList<>(deltas.size());
 
-                        eventBus.fireEvent(new ResourceChangedEvent(new ResourceDeltaImpl(resource, ADDED)));
+                for (ResourceDelta delta : deltas) {
+                    eventBus.fireEvent(new ResourceChangedEvent(delta));
 
-                        final Optional<Resource> registered = store.getResource(resource.getLocation());
+                    if (delta.getKind() != REMOVED) {
+                        final Optional<Resource> registered = store.getResource(delta.getResource().getLocation());
                         if (registered.isPresent()) {
-                            result = Arrays.add(result, registered.get());
+                            result.add(registered.get());
                         }
                     }
                 }
 
-                return result;
+                return result.toArray(new Resource[result.size()]);
             }
         });
     }
@@ -16,6 +16,7 @@ import com.google.inject.ImplementedBy;
 
 import org.eclipse.che.ide.api.resources.Container;
 import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.api.resources.ResourceDelta;
 import org.eclipse.che.ide.resource.Path;
 
 /**
@@ -68,6 +69,24 @@ interface ResourceStore {
      */
     void dispose(Path path, boolean withChildren);
 
+    /**
+     * Applies given {@code deltas} to the storage in one pass.
+     * <p/>
+     * Resources of the deltas with kind {@link ResourceDelta#ADDED} or {@link ResourceDelta#UPDATED} are registered,
+     * resources of the deltas with kind {@link ResourceDelta#REMOVED} are disposed with their descendants.
+     * Deltas with other kinds are ignored.
+     *
+     * @param deltas
+     *         the deltas to be applied
+     * @throws IllegalArgumentException
+     *         if argument checking was failed, reasons include:
+     *         <ul>
+     *         <li>Null deltas occurred</li>
+     *         </ul>
+     * @since 5.0.0
+     */
+    void apply(ResourceDelta[] deltas);
+
     /**
      * Returns the {@link Optional} with resource by given {@code path}.
      * <p/>
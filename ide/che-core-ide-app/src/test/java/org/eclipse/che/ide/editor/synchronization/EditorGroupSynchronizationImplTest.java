@@ -14,7 +14,9 @@ import com.google.web.bindery.event.shared.Event;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
+import org.eclipse.che.api.project.shared.dto.event.VfsFileLineEditDto;
 import org.eclipse.che.ide.api.editor.EditorAgent;
+import org.eclipse.che.ide.api.editor.EditorInput;
 import org.eclipse.che.ide.api.editor.EditorPartPresenter;
 import org.eclipse.che.ide.api.editor.EditorWithAutoSave;
 import org.eclipse.che.ide.api.editor.document.Document;
@@ -23,7 +25,11 @@ import org.eclipse.che.ide.api.editor.document.DocumentHandle;
 import org.eclipse.che.ide.api.editor.document.DocumentStorage;
 import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
 import org.eclipse.che.ide.api.editor.texteditor.TextEditor;
+import org.eclipse.che.ide.api.event.FileContentUpdateEvent;
 import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.api.resources.File;
+import org.eclipse.che.ide.resource.Path;
+import org.eclipse.che.ide.util.TextUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +37,7 @@ import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
@@ -65,6 +72,12 @@ public class EditorGroupSynchronizationImplTest {
     private HandlerRegistration handlerRegistration;
     @Mock
     private DocumentChangeEvent documentChangeEvent;
+    @Mock
+    private EditorInput         editorInput;
+    @Mock
+    private File                file;
+    @Mock
+    private VfsFileLineEditDto  lineEdit;
 
     private EditorPartPresenter            activeEditor;
     private EditorPartPresenter            openedEditor1;
@@ -154,6 +167,27 @@ public class EditorGroupSynchronizationImplTest {
         verify(document, times(2)).replace(eq(offset), eq(removeCharCount), eq(text));
     }
 
+    @Test
+    public void shouldApplyLineEditOfExternallyModifiedFile() {
+        prepareLineEdit("a\nb\nc\n", 1, 1, "x\ny\n");
+
+        editorGroupSynchronization.onFileContentUpdate(new FileContentUpdateEvent("/project/file", TextUtils.md5("a\nx\ny\nc\n"), lineEdit));
+
+        verify(document).replace(eq(2), eq(2), eq("x\ny\n"));
+        verify(file).setModificationStamp(TextUtils.md5("a\nx\ny\nc\n"));
+        verify(documentStorage, never()).getDocument(any(), any());
+    }
+
+    @Test
+    public void shouldLoadContentWhenLineEditDoesNotProduceExpectedContent() {
+        prepareLineEdit("a\nb\nc\n", 1, 1, "x\n");
+
+        editorGroupSynchronization.onFileContentUpdate(new FileContentUpdateEvent("/project/file", TextUtils.md5("something else"), lineEdit));
+
+        verify(document, never()).replace(anyInt(), anyInt(), anyString());
+        verify(documentStorage).getDocument(eq(file), any());
+    }
+
     @Test
     public void shouldResolveAutoSave() {
         // AutoSave for active editor should always be enabled,
@@ -162,4 +196,15 @@ public class EditorGroupSynchronizationImplTest {
         verify(((EditorWithAutoSave)openedEditor1)).disableAutoSave();
         verify(((EditorWithAutoSave)openedEditor2)).disableAutoSave();
     }
+
+    private void prepareLineEdit(String content, int startLine, int removedLines, String text) {
+        when(activeEditor.getEditorInput()).thenReturn(editorInput);
+        when(editorInput.getFile()).thenReturn(file);
+        when(file.getLocation()).thenReturn(Path.valueOf("/project/file"));
+        when(file.getModificationStamp()).thenReturn(TextUtils.md5(content));
+        when(document.getContents()).thenReturn(content);
+        when(lineEdit.getStartLine()).thenReturn(startLine);
+        when(lineEdit.getRemovedLines()).thenReturn(removedLines);
+        when(lineEdit.getText()).thenReturn(text);
+    }
 }
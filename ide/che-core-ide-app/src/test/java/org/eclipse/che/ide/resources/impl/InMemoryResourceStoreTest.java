@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.resources.impl;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.eclipse.che.api.promises.client.PromiseProvider;
+import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.api.resources.ResourceDelta;
+import org.eclipse.che.ide.api.resources.ResourceInterceptor;
+import org.eclipse.che.ide.resource.Path;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import java.util.Collections;
+
+import static org.eclipse.che.ide.api.resources.ResourceDelta.ADDED;
+import static org.eclipse.che.ide.api.resources.ResourceDelta.REMOVED;
+import static org.eclipse.che.ide.api.resources.ResourceDelta.UPDATED;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link InMemoryResourceStore}.
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class InMemoryResourceStoreTest {
+
+    @Mock
+    private ResourceManager resourceManager;
+    @Mock
+    private PromiseProvider promiseProvider;
+
+    private InMemoryResourceStore store;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryResourceStore(Collections.<ResourceInterceptor>emptySet());
+    }
+
+    @Test
+    public void keepsChildrenSortedByName() {
+        final Resource b = file("/project/b.txt");
+        final Resource a = file("/project/a.txt");
+        final Resource c = folder("/project/c");
+
+        assertTrue(store.register(b));
+        assertTrue(store.register(c));
+        assertTrue(store.register(a));
+
+        assertArrayEquals(new Resource[]{a, b, c}, store.get(Path.valueOf("/project")).get());
+    }
+
+    @Test
+    public void replacesRegisteredResourceWithTheSameName() {
+        final Resource outdated = file("/project/a.txt");
+        final Resource reloaded = file("/project/a.txt");
+
+        store.register(outdated);
+
+        assertFalse(store.register(reloaded));
+        assertSame(reloaded, store.getResource(Path.valueOf("/project/a.txt")).get());
+        assertEquals(1, store.get(Path.valueOf("/project")).get().length);
+    }
+
+    @Test
+    public void disposesNestedContainers() {
+        store.register(folder("/project"));
+        store.register(folder("/project/src"));
+        store.register(folder("/project/src/main"));
+        store.register(file("/project/src/main/Main.java"));
+        store.register(file("/project/pom.xml"));
+
+        store.dispose(Path.valueOf("/project/src"), true);
+
+        assertFalse(store.getResource(Path.valueOf("/project/src")).isPresent());
+        assertFalse(store.get(Path.valueOf("/project/src")).isPresent());
+        assertFalse(store.get(Path.valueOf("/project/src/main")).isPresent());
+        assertTrue(store.getResource(Path.valueOf("/project/pom.xml")).isPresent());
+    }
+
+    @Test
+    public void appliesDeltas() {
+        final Resource removed = file("/project/removed.txt");
+        final Resource updated = file("/project/updated.txt");
+        final Resource added = file("/project/added.txt");
+
+        store.register(removed);
+        store.register(file("/project/updated.txt"));
+
+        store.apply(new ResourceDelta[]{new ResourceDeltaImpl(removed, REMOVED),
+                                        new ResourceDeltaImpl(updated, UPDATED),
+                                        new ResourceDeltaImpl(added, ADDED)});
+
+        assertArrayEquals(new Resource[]{added, updated}, store.get(Path.valueOf("/project")).get());
+    }
+
+    @Test
+    public void returnsAllDescendants() {
+        store.register(folder("/project"));
+        store.register(folder("/project/src"));
+        store.register(file("/project/src/Main.java"));
+        store.register(folder("/other"));
+
+        assertEquals(2, store.getAll(Path.valueOf("/project")).get().length);
+        assertEquals(4, store.getAll(Path.ROOT).get().length);
+    }
+
+    private Resource file(String path) {
+        return new FileImpl(Path.valueOf(path), "", resourceManager);
+    }
+
+    private Resource folder(String path) {
+        return new FolderImpl(Path.valueOf(path), resourceManager, promiseProvider);
+    }
+}
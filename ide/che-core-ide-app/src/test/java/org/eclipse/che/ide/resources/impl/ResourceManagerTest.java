@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.resources.impl;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.api.project.shared.dto.TreeElement;
+import org.eclipse.che.api.promises.client.Function;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.PromiseProvider;
+import org.eclipse.che.ide.api.editor.EditorAgent;
+import org.eclipse.che.ide.api.event.ng.DeletedFilesController;
+import org.eclipse.che.ide.api.machine.DevMachine;
+import org.eclipse.che.ide.api.machine.WsAgentURLModifier;
+import org.eclipse.che.ide.api.project.ProjectServiceClient;
+import org.eclipse.che.ide.api.project.type.ProjectTypeRegistry;
+import org.eclipse.che.ide.api.resources.Container;
+import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.api.resources.ResourceChangedEvent;
+import org.eclipse.che.ide.api.resources.ResourceInterceptor;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.resource.Path;
+import org.eclipse.che.ide.resources.impl.ResourceManager.ResourceFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ResourceManager}.
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class ResourceManagerTest {
+
+    private static final int  LARGE_DELTA_SIZE = 20000;
+    private static final Path PROJECT_PATH     = Path.valueOf("/project");
+
+    @Mock
+    private DevMachine             devMachine;
+    @Mock
+    private ProjectServiceClient   ps;
+    @Mock
+    private EventBus               eventBus;
+    @Mock
+    private EditorAgent            editorAgent;
+    @Mock
+    private DeletedFilesController deletedFilesController;
+    @Mock
+    private ResourceFactory        resourceFactory;
+    @Mock
+    private PromiseProvider        promises;
+    @Mock
+    private DtoFactory             dtoFactory;
+    @Mock
+    private ProjectTypeRegistry    typeRegistry;
+    @Mock
+    private WsAgentURLModifier     urlModifier;
+    @Mock
+    private Container              project;
+    @Mock
+    private Promise<TreeElement>   treePromise;
+    @Mock
+    private Promise<Resource[]>    resourcesPromise;
+
+    private ResourceStore   store;
+    private ResourceManager resourceManager;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        store = new InMemoryResourceStore(Collections.<ResourceInterceptor>emptySet());
+        resourceManager = new ResourceManager(devMachine,
+                                              ps,
+                                              eventBus,
+                                              editorAgent,
+                                              deletedFilesController,
+                                              resourceFactory,
+                                              promises,
+                                              dtoFactory,
+                                              typeRegistry,
+                                              store,
+                                              urlModifier);
+
+        when(project.getLocation()).thenReturn(PROJECT_PATH);
+        when(ps.getTree(any(Path.class), anyInt(), anyBoolean())).thenReturn(treePromise);
+        when(treePromise.then(any(Function.class))).thenReturn(resourcesPromise);
+    }
+
+    @Test
+    public void appliesLargeDeltaOfReloadedResources() throws Exception {
+        // first half of the files is removed on the server, second half is updated and the same number of files is added
+        for (int i = 0; i < LARGE_DELTA_SIZE; i++) {
+            store.register(file(i));
+        }
+        final Resource[] reloaded = new Resource[LARGE_DELTA_SIZE];
+        for (int i = 0; i < LARGE_DELTA_SIZE; i++) {
+            reloaded[i] = file(LARGE_DELTA_SIZE / 2 + i);
+        }
+
+        final long start = System.currentTimeMillis();
+        final Resource[] result = applyReloaded(reloaded);
+        final long time = System.currentTimeMillis() - start;
+
+        assertEquals(LARGE_DELTA_SIZE, result.length);
+        assertEquals(LARGE_DELTA_SIZE, store.get(PROJECT_PATH).get().length);
+        assertFalse(store.getResource(file(0).getLocation()).isPresent());
+        assertTrue(store.getResource(file(LARGE_DELTA_SIZE / 2).getLocation()).isPresent());
+        assertTrue(store.getResource(file(LARGE_DELTA_SIZE + LARGE_DELTA_SIZE / 2 - 1).getLocation()).isPresent());
+        verify(eventBus, times(LARGE_DELTA_SIZE * 3 / 2)).fireEvent(any(ResourceChangedEvent.class));
+        assertTrue("Applying delta of " + LARGE_DELTA_SIZE + " resources took " + time + " ms", time < 10000);
+    }
+
+    @Test
+    public void registersReloadedResourcesWhenNothingIsCached() throws Exception {
+        when(project.getLocation()).thenReturn(Path.valueOf("/other"));
+
+        final Resource[] result = applyReloaded(new Resource[]{new FileImpl(Path.valueOf("/other/a.txt"), "", resourceManager)});
+
+        assertEquals(1, result.length);
+        assertTrue(store.getResource(Path.valueOf("/other/a.txt")).isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Resource[] applyReloaded(Resource[] reloaded) throws Exception {
+        resourceManager.getRemoteResources(project, 1, true);
+
+        final ArgumentCaptor<Function> captor = ArgumentCaptor.forClass(Function.class);
+        verify(resourcesPromise).then(captor.capture());
+
+        return ((Function<Resource[], Resource[]>)captor.getValue()).apply(reloaded);
+    }
+
+    private Resource file(int index) {
+        return new FileImpl(PROJECT_PATH.append("file-" + index + ".txt"), "", resourceManager);
+    }
+}
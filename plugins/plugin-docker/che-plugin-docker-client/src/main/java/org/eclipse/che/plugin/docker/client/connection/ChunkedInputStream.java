@@ -65,6 +65,13 @@ public class ChunkedInputStream extends InputStream {
         return (chunkSize - chunkPos);
     }
 
+    /**
+     * Returns true if last chunk is read from the underlying stream.
+     */
+    synchronized boolean isFinished() {
+        return eof;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
@@ -15,8 +15,12 @@ import com.google.inject.Inject;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
 
 /**
@@ -24,11 +28,21 @@ import java.net.URI;
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections to unix socket are kept alive in the {@link UnixSocketConnectionPool} shared
+ * by all the connections created by this factory. TCP connections are kept alive by
+ * JDK HTTP client, size of its cache is configured with {@code http.maxConnections} system property.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String CONNECTION_KEEP_ALIVE_PROPERTY      = "docker.connection.keep_alive";
+    public static final String POOL_MAX_IDLE_PROPERTY              = "docker.connection.unix_socket.pool.max_idle";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "docker.connection.unix_socket.pool.idle_timeout_ms";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DockerConnectionFactory.class);
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,8 +52,22 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
+    @Inject(optional = true)
+    @Named(CONNECTION_KEEP_ALIVE_PROPERTY)
+    private boolean keepAlive = true;
+
+    @Inject(optional = true)
+    @Named(POOL_MAX_IDLE_PROPERTY)
+    private int poolMaxIdle = 10;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long poolIdleTimeoutMs = 30000;
+
     private final DockerCertificates dockerCertificates;
 
+    private volatile UnixSocketConnectionPool unixSocketConnectionPool;
+
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
@@ -47,9 +75,39 @@ public class DockerConnectionFactory {
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(dockerDaemonUri.getPath(), keepAlive ? getUnixSocketConnectionPool() : null);
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri,
+                                     dockerCertificates,
+                                     connectionTimeoutMs,
+                                     connectionReadTimeoutMs,
+                                     keepAlive);
+        }
+    }
+
+    /**
+     * Returns pool of keep-alive connections to docker unix socket.
+     * Pool can be used to get statistics of connections reuse.
+     */
+    public UnixSocketConnectionPool getUnixSocketConnectionPool() {
+        UnixSocketConnectionPool pool = unixSocketConnectionPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = unixSocketConnectionPool;
+                if (pool == null) {
+                    unixSocketConnectionPool = pool = new UnixSocketConnectionPool(poolMaxIdle, poolIdleTimeoutMs);
+                }
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public void closeIdleConnections() {
+        UnixSocketConnectionPool pool = unixSocketConnectionPool;
+        if (pool != null) {
+            LOG.debug("Closing idle docker connections, pool statistics: {}", pool);
+            pool.closeIdle();
         }
     }
 }
@@ -64,7 +64,18 @@ public class LimitedInputStream extends InputStream {
             return -1;
         }
         int n = input.read(b, 0, Math.min(len - off, limit - pos));
+        if (n == -1) {
+            // connection is closed before whole entity is read
+            return -1;
+        }
         pos += n;
         return n;
     }
+
+    /**
+     * Returns true if all {@code limit} bytes are read from the underlying stream.
+     */
+    synchronized boolean isFinished() {
+        return pos >= limit;
+    }
 }
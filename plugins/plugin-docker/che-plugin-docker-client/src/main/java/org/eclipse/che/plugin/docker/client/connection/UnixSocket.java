@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Connected unix socket with buffered streams which live as long as the socket does.
+ *
+ * <p>Streams are not recreated per request, so bytes buffered while
+ * reading of previous response are not lost when socket is reused.
+ */
+class UnixSocket implements Closeable {
+    private final int          fd;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private long    releaseTime;
+    private boolean closed;
+
+    private UnixSocket(int fd) {
+        this.fd = fd;
+        this.input = new BufferedInputStream(new UnixSocketInputStream(fd));
+        this.output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+    }
+
+    /**
+     * Opens new connection to the unix socket with the specified path.
+     *
+     * @throws ConnectException
+     *         if connection can't be established
+     */
+    static UnixSocket connect(String socketPath) throws ConnectException {
+        final CLibrary cLib = getCLibrary();
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return new UnixSocket(fd);
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    /** Time in milliseconds when socket was returned to the pool last time. */
+    long getReleaseTime() {
+        return releaseTime;
+    }
+
+    void setReleaseTime(long releaseTime) {
+        this.releaseTime = releaseTime;
+    }
+
+    /** Returns true if socket was used for some request before. */
+    boolean isReused() {
+        return releaseTime != 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            getCLibrary().close(fd);
+        }
+    }
+}
@@ -11,70 +11,125 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
+import java.net.SocketTimeoutException;
 import java.util.List;
-
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+import java.util.Set;
 
 /**
+ * Connection to docker API over unix socket.
+ *
+ * <p>If {@link UnixSocketConnectionPool} is provided socket is taken from the pool
+ * and returned back to it on connection close when response is completely read.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    /** Max number of not read bytes of response body that are skipped to make socket reusable. */
+    private static final int         MAX_DRAIN_BYTES    = 64 * 1024;
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private UnixSocket               socket;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    public UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        if (pool == null) {
+            socket = UnixSocket.connect(dockerSocketPath);
+            return response = doRequest(method, path, query, headers, entity);
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
-    }
 
+        socket = pool.acquire(dockerSocketPath);
+        // docker may close connection while it is idle in the pool, request is retried only if it is not processed
+        // for sure, i.e. it is not written completely or connection is closed without any response.
+        // Entity stream can't be sent twice, so request with such entity is never retried.
+        final boolean retryable = socket.isReused()
+                                  && !(entity instanceof StreamEntity)
+                                  && IDEMPOTENT_METHODS.contains(method);
+        try {
+            writeRequest(method, path, query, headers, entity);
+        } catch (SocketTimeoutException e) {
+            throw e;
+        } catch (IOException e) {
+            if (!retryable) {
+                throw e;
+            }
+            return retry(method, path, query, headers, entity);
+        }
+        response = new UnixSocketDockerResponse(socket.getInputStream());
+        try {
+            // force reading of status line to detect connections closed by docker while they were idle
+            response.getStatus();
+        } catch (EOFException e) {
+            if (!retryable) {
+                throw e;
+            }
+            return retry(method, path, query, headers, entity);
+        }
+        return response;
+    }
 
     @Override
     public void close() {
-        if (fd != -1) {
-            getCLibrary().close(fd);
+        if (socket != null) {
+            if (pool != null && response != null && response.drainForReuse(MAX_DRAIN_BYTES)) {
+                pool.release(dockerSocketPath, socket);
+            } else {
+                socket.close();
+            }
+            socket = null;
+            response = null;
         }
     }
 
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    private UnixSocketDockerResponse retry(String method,
+                                           String path,
+                                           String query,
+                                           List<Pair<String, ?>> headers,
+                                           Entity<?> entity) throws IOException {
+        pool.discard(socket);
+        socket = UnixSocket.connect(dockerSocketPath);
+        return response = doRequest(method, path, query, headers, entity);
+    }
+
+    private UnixSocketDockerResponse doRequest(String method,
+                                               String path,
+                                               String query,
+                                               List<Pair<String, ?>> headers,
+                                               Entity<?> entity) throws IOException {
+        writeRequest(method, path, query, headers, entity);
+        return new UnixSocketDockerResponse(socket.getInputStream());
+    }
+
+    private void writeRequest(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+            throws IOException {
+        final OutputStream output = socket.getOutputStream();
+        writeHttpHeaders(output, method, path, query, headers);
+        if (entity != null) {
+            entity.writeTo(output);
         }
-        return fd;
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
@@ -98,12 +153,4 @@ public class UnixSocketConnection extends DockerConnection {
         writer.write("Host: \r\n\r\n");
         writer.flush();
     }
-
-    private InputStream openInputStream(int fd) {
-        return new UnixSocketInputStream(fd);
-    }
-
-    private OutputStream openOutputStream(int fd) {
-        return new UnixSocketOutputStream(fd);
-    }
 }
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded per socket path pool of idle keep-alive HTTP/1.1 connections to docker unix socket.
+ *
+ * <p>Connection is returned to the pool only if response on the previous request
+ * was completely read, so next response can be read from the same socket safely.
+ * Connections which were idle longer than configured timeout are closed on acquiring.
+ *
+ * <p>Pool collects statistics of hits (idle connection reused) and misses (new connection opened).
+ */
+public class UnixSocketConnectionPool {
+    private final Map<String, Deque<UnixSocket>> idleSockets;
+    private final int                            maxIdlePerSocket;
+    private final long                           idleTimeoutMs;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong discarded;
+
+    /**
+     * @param maxIdlePerSocket
+     *         max number of idle connections kept for one socket path,
+     *         if value is less than 1 connections are never reused
+     * @param idleTimeoutMs
+     *         time after which idle connection is considered stale and is not reused
+     */
+    public UnixSocketConnectionPool(int maxIdlePerSocket, long idleTimeoutMs) {
+        this.maxIdlePerSocket = maxIdlePerSocket;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idleSockets = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.discarded = new AtomicLong();
+    }
+
+    /**
+     * Returns idle connection to the socket with the specified path or opens new one if there is no idle connection.
+     *
+     * @throws ConnectException
+     *         if new connection can't be established
+     */
+    UnixSocket acquire(String socketPath) throws ConnectException {
+        final Deque<UnixSocket> sockets = idleSockets.get(socketPath);
+        if (sockets != null) {
+            final long now = System.currentTimeMillis();
+            for (; ; ) {
+                UnixSocket socket;
+                synchronized (sockets) {
+                    // most recently used connection is the least likely to be closed by docker
+                    socket = sockets.pollLast();
+                }
+                if (socket == null) {
+                    break;
+                }
+                if (now - socket.getReleaseTime() < idleTimeoutMs) {
+                    hits.incrementAndGet();
+                    return socket;
+                }
+                discard(socket);
+            }
+        }
+        misses.incrementAndGet();
+        return UnixSocket.connect(socketPath);
+    }
+
+    /**
+     * Returns connection to the pool or closes it if pool for the specified socket path is full.
+     */
+    void release(String socketPath, UnixSocket socket) {
+        if (maxIdlePerSocket > 0) {
+            final Deque<UnixSocket> sockets = idleSockets.computeIfAbsent(socketPath, path -> new ArrayDeque<>());
+            synchronized (sockets) {
+                if (sockets.size() < maxIdlePerSocket) {
+                    socket.setReleaseTime(System.currentTimeMillis());
+                    sockets.addLast(socket);
+                    return;
+                }
+            }
+        }
+        discard(socket);
+    }
+
+    /**
+     * Closes connection which can't be reused.
+     */
+    void discard(UnixSocket socket) {
+        discarded.incrementAndGet();
+        socket.close();
+    }
+
+    /** Closes all idle connections. */
+    public void closeIdle() {
+        for (Deque<UnixSocket> sockets : idleSockets.values()) {
+            synchronized (sockets) {
+                for (UnixSocket socket = sockets.poll(); socket != null; socket = sockets.poll()) {
+                    discard(socket);
+                }
+            }
+        }
+    }
+
+    /** Returns number of requests served by reused connection. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Returns number of requests which required new connection. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Returns number of connections closed instead of returning them to the pool. */
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    /** Returns number of connections which are currently idle in the pool. */
+    public int getIdle() {
+        int idle = 0;
+        for (Deque<UnixSocket> sockets : idleSockets.values()) {
+            synchronized (sockets) {
+                idle += sockets.size();
+            }
+        }
+        return idle;
+    }
+
+    @Override
+    public String toString() {
+        return "UnixSocketConnectionPool{" +
+               "hits=" + hits +
+               ", misses=" + misses +
+               ", discarded=" + discarded +
+               ", idle=" + getIdle() +
+               '}';
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -124,6 +125,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
             lineBuf.append((char)c);
         }
+        if (lineBuf.length() == 0) {
+            throw new EOFException("Connection is closed by docker API before response");
+        }
         if (!lineBuf.toString().startsWith("HTTP/1.")) {
             throw new IOException("Invalid status line of HTTP response from docker API");
         }
@@ -143,6 +147,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        // responses with these statuses never contain body
+        if (status / 100 == 1 || status == 204 || status == 304) {
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +161,59 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Reads the rest of the response body if it is possible without blocking on
+     * not yet sent data and checks whether connection can be used for the next request.
+     *
+     * <p>Connection is reusable only if response is fully read, body is delimited by
+     * {@code Content-Length} header or chunked transfer encoding and server doesn't
+     * request connection close.
+     *
+     * @param maxDrainBytes
+     *         max number of not read body bytes which can be skipped
+     * @return true if connection is positioned at the beginning of the next response
+     */
+    synchronized boolean drainForReuse(int maxDrainBytes) {
+        try {
+            if (headersFields == null
+                || !headersFields[0].startsWith("HTTP/1.1")
+                || "close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            if (data == EMPTY) {
+                return true;
+            }
+            final byte[] buf = new byte[1024];
+            int drained = 0;
+            if (data instanceof LimitedInputStream) {
+                // server has already committed to the whole entity, so drain doesn't block for long
+                final LimitedInputStream limited = (LimitedInputStream)data;
+                while (!limited.isFinished() && drained < maxDrainBytes) {
+                    int n = limited.read(buf, 0, Math.min(buf.length, maxDrainBytes - drained));
+                    if (n == -1) {
+                        return false;
+                    }
+                    drained += n;
+                }
+                return limited.isFinished();
+            }
+            if (data instanceof ChunkedInputStream) {
+                // end of chunked body may be not sent yet, e.g. in case of streaming of events or logs,
+                // so only already received bytes are drained
+                final ChunkedInputStream chunked = (ChunkedInputStream)data;
+                while (!chunked.isFinished() && drained < maxDrainBytes && rawData.available() > 0) {
+                    int n = chunked.read(buf, 0, Math.min(buf.length, maxDrainBytes - drained));
+                    if (n == -1) {
+                        break;
+                    }
+                    drained += n;
+                }
+                return chunked.isFinished();
+            }
+        } catch (IOException ignored) {
+        }
+        // body is delimited by connection close
+        return false;
+    }
 }
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class UnixSocketDockerResponseTest {
+    private static final String NEXT_RESPONSE = "HTTP/1.1 204 No Content\r\n\r\n";
+
+    @Test
+    public void shouldBeReusableAfterContentLengthBodyIsRead() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello" + NEXT_RESPONSE);
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(new String(ByteStreams.toByteArray(response.getInputStream())), "hello");
+
+        assertTrue(response.drainForReuse(0));
+        assertNextResponseCanBeRead(input);
+    }
+
+    @Test
+    public void shouldDrainNotReadContentLengthBody() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello" + NEXT_RESPONSE);
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 200);
+
+        assertTrue(response.drainForReuse(1024));
+        assertNextResponseCanBeRead(input);
+    }
+
+    @Test
+    public void shouldNotBeReusableIfBodyIsBiggerThanDrainLimit() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello" + NEXT_RESPONSE);
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.drainForReuse(2));
+    }
+
+    @Test
+    public void shouldDrainChunkedBody() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                   "5\r\nhello\r\n6\r\n world\r\n0\r\n\r\n" + NEXT_RESPONSE);
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 200);
+
+        assertTrue(response.drainForReuse(1024));
+        assertNextResponseCanBeRead(input);
+    }
+
+    @Test
+    public void shouldBeReusableAfterResponseWithoutBody() throws Exception {
+        InputStream input = stream(NEXT_RESPONSE + NEXT_RESPONSE);
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 204);
+
+        assertTrue(response.drainForReuse(0));
+        assertNextResponseCanBeRead(input);
+    }
+
+    @Test
+    public void shouldNotBeReusableIfBodyIsNotDelimited() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Type: application/vnd.docker.raw-stream\r\n\r\nraw");
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.drainForReuse(1024));
+    }
+
+    @Test
+    public void shouldNotBeReusableIfServerClosesConnection() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n");
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.drainForReuse(1024));
+    }
+
+    @Test(expectedExceptions = EOFException.class)
+    public void shouldFailWithEndOfFileIfConnectionIsClosedBeforeResponse() throws Exception {
+        new UnixSocketDockerResponse(stream("")).getStatus();
+    }
+
+    @Test
+    public void shouldNotFailWithEndOfFileIfConnectionIsClosedInTheMiddleOfStatusLine() throws Exception {
+        try {
+            new UnixSocketDockerResponse(stream("HTTP")).getStatus();
+            fail("Response must not be parsed");
+        } catch (IOException e) {
+            assertFalse(e instanceof EOFException);
+        }
+    }
+
+    private static InputStream stream(String content) {
+        return new BufferedInputStream(new ByteArrayInputStream(content.getBytes()));
+    }
+
+    private static void assertNextResponseCanBeRead(InputStream input) throws Exception {
+        assertEquals(new UnixSocketDockerResponse(input).getStatus(), 204);
+    }
+}
@@ -14,6 +14,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
 import com.google.common.collect.ObjectArrays;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.NotFoundException;
@@ -40,12 +42,14 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.exception.ContainerNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.NetworkNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
 import org.eclipse.che.plugin.docker.client.json.PortBinding;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.json.container.NetworkingConfig;
 import org.eclipse.che.plugin.docker.client.json.network.ConnectContainer;
 import org.eclipse.che.plugin.docker.client.json.network.EndpointConfig;
@@ -71,16 +75,20 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -106,6 +114,12 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
 
     public static final Pattern SNAPSHOT_LOCATION_PATTERN = Pattern.compile("(.+/)?" + MACHINE_SNAPSHOT_PREFIX + ".+");
 
+    /**
+     * Prefix of image repository, used to identify that the image is built from a recipe
+     * and may be reused by machines with the same recipe.
+     */
+    public static final String MACHINE_BUILD_CACHE_PREFIX = "eclipse-che/machine_build_";
+
     private final DockerConnector                               docker;
     private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     private final ExecutorService                               executor;
@@ -126,6 +140,57 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
     private final boolean                                       snapshotUseRegistry;
     private final double                                        memorySwapMultiplier;
     private final Set<String>                                   additionalNetworks;
+    private final ImageOperationsDeduplicator                   imageOperations;
+    private final long                                          buildCacheTtlMillis;
+    /** Expiration times of the images built from recipes, guarded by itself together with the users of the images. */
+    private final Map<String, Long>                             builtImageExpirations;
+    private final Map<String, Integer>                          builtImageUsers;
+    /** Built images which are being removed, guarded by the built images lock. */
+    private final Set<String>                                   removingBuiltImages;
+
+    public ComposeMachineProviderImpl(DockerConnector docker,
+                                      DockerConnectorConfiguration dockerConnectorConfiguration,
+                                      UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
+                                      DockerMachineFactory dockerMachineFactory,
+                                      DockerInstanceStopDetector dockerInstanceStopDetector,
+                                      DockerContainerNameGenerator containerNameGenerator,
+                                      Set<ServerConf> devMachineServers,
+                                      Set<ServerConf> allMachinesServers,
+                                      Set<String> devMachineSystemVolumes,
+                                      Set<String> allMachinesSystemVolumes,
+                                      String allMachinesExtraHosts,
+                                      WorkspaceFolderPathProvider workspaceFolderPathProvider,
+                                      String projectFolderPath,
+                                      boolean doForcePullOnBuild,
+                                      boolean privilegeMode,
+                                      Set<String> devMachineEnvVariables,
+                                      Set<String> allMachinesEnvVariables,
+                                      boolean snapshotUseRegistry,
+                                      double memorySwapMultiplier,
+                                      Set<Set<String>> additionalNetworks) throws IOException {
+        this(docker,
+             dockerConnectorConfiguration,
+             dockerCredentials,
+             dockerMachineFactory,
+             dockerInstanceStopDetector,
+             containerNameGenerator,
+             devMachineServers,
+             allMachinesServers,
+             devMachineSystemVolumes,
+             allMachinesSystemVolumes,
+             allMachinesExtraHosts,
+             workspaceFolderPathProvider,
+             projectFolderPath,
+             doForcePullOnBuild,
+             privilegeMode,
+             devMachineEnvVariables,
+             allMachinesEnvVariables,
+             snapshotUseRegistry,
+             memorySwapMultiplier,
+             additionalNetworks,
+             new ImageOperationsDeduplicator(),
+             0);
+    }
 
     @Inject
     public ComposeMachineProviderImpl(DockerConnector docker,
@@ -147,9 +212,16 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
                                       @Named("machine.docker.machine_env") Set<String> allMachinesEnvVariables,
                                       @Named("machine.docker.snapshot_use_registry") boolean snapshotUseRegistry,
                                       @Named("machine.docker.memory_swap_multiplier") double memorySwapMultiplier,
-                                      @Named("machine.docker.networks") Set<Set<String>> additionalNetworks)
+                                      @Named("machine.docker.networks") Set<Set<String>> additionalNetworks,
+                                      ImageOperationsDeduplicator imageOperations,
+                                      @Named("machine.docker.build_cache_ttl_sec") long buildCacheTtlSec)
             throws IOException {
         this.docker = docker;
+        this.imageOperations = imageOperations;
+        this.buildCacheTtlMillis = TimeUnit.SECONDS.toMillis(buildCacheTtlSec);
+        this.builtImageExpirations = new HashMap<>();
+        this.builtImageUsers = new HashMap<>();
+        this.removingBuiltImages = new HashSet<>();
         this.dockerCredentials = dockerCredentials;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
@@ -386,12 +458,53 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
         return imageName;
     }
 
+    /**
+     * Builds the image of the service and tags it with the machine image name.
+     *
+     * <p>Image is built with the name which depends on the recipe, so builds of the same recipe
+     * started concurrently, e.g. by different workspaces created from the same stack, are performed once.
+     * Image built from the dockerfile content is reused by the next machines with the same recipe
+     * during the build cache TTL, the other built images are removed once they are tagged by the machines
+     * which waited for them. Images which are not reused anymore are removed when the next image is built.
+     */
     protected void buildImage(ComposeServiceImpl service,
                               String machineImageName,
                               boolean doForcePullOnBuild,
                               ProgressMonitor progressMonitor)
             throws MachineException {
 
+        final String builtImageName = MACHINE_BUILD_CACHE_PREFIX + hashBuildRecipe(service, doForcePullOnBuild);
+        final boolean isReusable = buildCacheTtlMillis > 0 &&
+                                   service.getBuild().getContext() == null &&
+                                   service.getBuild().getDockerfile() != null;
+        removeExpiredBuiltImages();
+        acquireBuiltImage(builtImageName);
+        try {
+            imageOperations.perform(builtImageName, progressMonitor, monitor -> {
+                if (isReusable && isBuiltRecently(builtImageName)) {
+                    final ProgressStatus status = new ProgressStatus();
+                    status.setStream(format("Using image '%s' built from the same recipe\n", builtImageName));
+                    monitor.updateProgress(status);
+                    return;
+                }
+                doBuildImage(service, builtImageName, doForcePullOnBuild, monitor);
+                synchronized (builtImageExpirations) {
+                    final long now = System.currentTimeMillis();
+                    builtImageExpirations.put(builtImageName, isReusable ? now + buildCacheTtlMillis : now);
+                }
+            });
+            docker.tag(TagParams.create(builtImageName, machineImageName).withForce(true));
+        } catch (IOException e) {
+            throw new MachineException(e.getLocalizedMessage(), e);
+        } finally {
+            releaseBuiltImage(builtImageName);
+        }
+    }
+
+    private void doBuildImage(ComposeServiceImpl service,
+                              String machineImageName,
+                              boolean doForcePullOnBuild,
+                              ProgressMonitor progressMonitor) throws IOException {
         File workDir = null;
         try {
             BuildImageParams buildImageParams;
@@ -419,8 +532,6 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
                             .withMemorySwapLimit(-1);
 
             docker.buildImage(buildImageParams, progressMonitor);
-        } catch (IOException e) {
-            throw new MachineException(e.getLocalizedMessage(), e);
         } finally {
             if (workDir != null) {
                 FileCleaner.addFile(workDir);
@@ -428,6 +539,127 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
         }
     }
 
+    private boolean isBuiltRecently(String builtImageName) {
+        synchronized (builtImageExpirations) {
+            final Long expiration = builtImageExpirations.get(builtImageName);
+            if (expiration == null || System.currentTimeMillis() >= expiration) {
+                return false;
+            }
+        }
+        try {
+            docker.inspectImage(builtImageName);
+            return true;
+        } catch (IOException e) {
+            // image was removed from the docker host
+            return false;
+        }
+    }
+
+    /**
+     * Marks that the built image is used by the machine, so the image is not removed until it is tagged by the machine.
+     * Waits while the image with the same name is being removed, so the removal doesn't untag the new build.
+     */
+    private void acquireBuiltImage(String builtImageName) throws MachineException {
+        synchronized (builtImageExpirations) {
+            while (removingBuiltImages.contains(builtImageName)) {
+                try {
+                    builtImageExpirations.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MachineException("Waiting for removal of the image " + builtImageName + " is interrupted");
+                }
+            }
+            builtImageUsers.merge(builtImageName, 1, Integer::sum);
+        }
+    }
+
+    /** Removes the built image when it is expired and not used by other machines. */
+    private void releaseBuiltImage(String builtImageName) {
+        final List<String> expired = new ArrayList<>(1);
+        synchronized (builtImageExpirations) {
+            if (builtImageUsers.merge(builtImageName, -1, Integer::sum) == 0) {
+                builtImageUsers.remove(builtImageName);
+                final Long expiration = builtImageExpirations.get(builtImageName);
+                if (expiration != null && System.currentTimeMillis() >= expiration) {
+                    markBuiltImageRemoving(builtImageName);
+                    expired.add(builtImageName);
+                }
+            }
+        }
+        removeBuiltImages(expired);
+    }
+
+    private void removeExpiredBuiltImages() {
+        final List<String> expired;
+        synchronized (builtImageExpirations) {
+            final long now = System.currentTimeMillis();
+            expired = builtImageExpirations.entrySet()
+                                           .stream()
+                                           .filter(e -> now >= e.getValue() && !builtImageUsers.containsKey(e.getKey()))
+                                           .map(Map.Entry::getKey)
+                                           .collect(Collectors.toList());
+            expired.forEach(this::markBuiltImageRemoving);
+        }
+        removeBuiltImages(expired);
+    }
+
+    /** Must be called while holding the lock of the built images. */
+    private void markBuiltImageRemoving(String builtImageName) {
+        builtImageExpirations.remove(builtImageName);
+        removingBuiltImages.add(builtImageName);
+    }
+
+    /**
+     * Removes the names of the built images, the images themselves are removed when they aren't tagged by any machine.
+     * Must be called without holding the lock of the built images, so docker calls don't block other machines.
+     */
+    private void removeBuiltImages(List<String> builtImageNames) {
+        for (String builtImageName : builtImageNames) {
+            try {
+                docker.removeImage(RemoveImageParams.create(builtImageName).withForce(false));
+            } catch (IOException e) {
+                LOG.warn("Can't remove image {} built from the recipe. Cause: {}", builtImageName, e.getLocalizedMessage());
+            } finally {
+                synchronized (builtImageExpirations) {
+                    removingBuiltImages.remove(builtImageName);
+                    builtImageExpirations.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns hash of everything which affects the result of the build, registry credentials are included
+     * since base images are pulled with them, so builds are shared by the users with the same credentials.
+     */
+    private String hashBuildRecipe(ComposeServiceImpl service, boolean doForcePullOnBuild) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(Strings.nullToEmpty(service.getBuild().getContext()), StandardCharsets.UTF_8)
+              .putByte((byte)0)
+              .putString(Strings.nullToEmpty(service.getBuild().getDockerfile()), StandardCharsets.UTF_8)
+              .putByte((byte)0)
+              .putString(hashCredentials(dockerCredentials.getCredentials()), StandardCharsets.UTF_8)
+              .putLong(MoreObjects.firstNonNull(service.getMemLimit(), 0L))
+              .putBoolean(doForcePullOnBuild);
+        return hasher.hash().toString();
+    }
+
+    /** Returns hash of the registry credentials which doesn't depend on the order of the registries. */
+    private static String hashCredentials(@Nullable AuthConfigs credentials) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        if (credentials != null && credentials.getConfigs() != null) {
+            new TreeMap<>(credentials.getConfigs()).forEach((registry, config) -> {
+                hasher.putString(registry, StandardCharsets.UTF_8)
+                      .putByte((byte)0)
+                      .putString(Strings.nullToEmpty(config.getUsername()), StandardCharsets.UTF_8)
+                      .putByte((byte)0)
+                      .putString(Strings.nullToEmpty(config.getPassword()), StandardCharsets.UTF_8)
+                      .putByte((byte)0);
+            });
+        }
+        return hasher.hash().toString();
+    }
+
     protected void pullImage(ComposeServiceImpl service,
                              String machineImageName,
                              ProgressMonitor progressMonitor) throws NotFoundException,
@@ -444,12 +676,16 @@ public class ComposeMachineProviderImpl implements ComposeMachineInstanceProvide
         try {
             boolean isSnapshot = SNAPSHOT_LOCATION_PATTERN.matcher(dockerMachineSource.getLocation()).matches();
             if (!isSnapshot || snapshotUseRegistry) {
+                AuthConfigs credentials = dockerCredentials.getCredentials();
                 PullParams pullParams = PullParams.create(dockerMachineSource.getRepository())
                                                   .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(),
                                                                                     LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
-                                                  .withAuthConfigs(dockerCredentials.getCredentials());
-                docker.pull(pullParams, progressMonitor);
+                                                  .withAuthConfigs(credentials);
+                // the same image is pulled once when machines with the same registry credentials start concurrently
+                imageOperations.perform(dockerMachineSource.getLocation() + '@' + hashCredentials(credentials),
+                                        progressMonitor,
+                                        monitor -> docker.pull(pullParams, monitor));
             }
 
             String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shares image operations, e.g. pull or build, between machines which start concurrently,
+ * so that only one of the operations with the same key is performed at a time
+ * and the others wait for its result instead of performing the same operation.
+ *
+ * <p>Each waiting caller receives progress of the shared operation with its own {@link ProgressMonitor}
+ * since the moment it joined the operation.
+ */
+@Singleton
+public class ImageOperationsDeduplicator {
+
+    /** Docker image operation, e.g. pull of the image. */
+    @FunctionalInterface
+    public interface ImageOperation {
+        void perform(ProgressMonitor progressMonitor) throws IOException;
+    }
+
+    private final ConcurrentMap<String, SharedOperation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Performs the operation or waits for the operation with the same key which is already in progress.
+     *
+     * @param key
+     *         key which identifies the result of the operation, e.g. image reference
+     * @param progressMonitor
+     *         monitor which receives progress of the operation
+     * @param operation
+     *         operation to perform
+     * @throws IOException
+     *         if the operation or the shared operation failed
+     */
+    public void perform(String key, ProgressMonitor progressMonitor, ImageOperation operation) throws IOException {
+        final SharedOperation own = new SharedOperation(progressMonitor);
+        final SharedOperation inProgress = operations.putIfAbsent(key, own);
+        if (inProgress == null) {
+            try {
+                operation.perform(own);
+                own.result.complete(null);
+            } catch (IOException | RuntimeException e) {
+                own.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                operations.remove(key, own);
+            }
+        } else {
+            inProgress.await(progressMonitor);
+        }
+    }
+
+    private static class SharedOperation implements ProgressMonitor {
+        final CompletableFuture<Void> result;
+        final List<ProgressMonitor>   monitors;
+
+        SharedOperation(ProgressMonitor progressMonitor) {
+            this.result = new CompletableFuture<>();
+            this.monitors = new CopyOnWriteArrayList<>();
+            monitors.add(progressMonitor);
+        }
+
+        @Override
+        public void updateProgress(ProgressStatus currentProgressStatus) {
+            for (ProgressMonitor monitor : monitors) {
+                monitor.updateProgress(currentProgressStatus);
+            }
+        }
+
+        void await(ProgressMonitor progressMonitor) throws IOException {
+            final ProgressStatus waiting = new ProgressStatus();
+            waiting.setStream("The same image operation is in progress for another machine, waiting for it");
+            monitors.add(progressMonitor);
+            progressMonitor.updateProgress(waiting);
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Waiting for image operation is interrupted");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                }
+                throw new IOException(cause.getLocalizedMessage(), cause);
+            } finally {
+                monitors.remove(progressMonitor);
+            }
+        }
+    }
+}
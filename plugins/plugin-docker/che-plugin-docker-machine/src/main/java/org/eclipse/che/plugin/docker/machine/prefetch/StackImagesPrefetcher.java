@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.prefetch;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.environment.server.EnvironmentParser;
+import org.eclipse.che.api.environment.server.compose.model.ComposeServiceImpl;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.InitialAuthConfig;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.eclipse.che.plugin.docker.machine.DockerMachineSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.che.plugin.docker.machine.ComposeMachineProviderImpl.SNAPSHOT_LOCATION_PATTERN;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+
+/**
+ * Pulls images of the stacks in background, so the first start of a workspace
+ * created from a stack doesn't wait for the whole image to be pulled.
+ *
+ * <p>Stacks are ranked by the number of recent starts of workspaces which use images of the stack,
+ * starts are counted with exponential decay so the stacks which are not used anymore lose priority.
+ * Images of the top ranked stacks which were started recently are pulled periodically when no workspace is starting,
+ * with limited number of concurrent pulls and limited amount of pulled data per run.
+ *
+ * <p>Pull durations and cache state of the images are available with {@link #getImagesStats()},
+ * time which was saved for the workspace starts is estimated as the duration of the pull
+ * of the image which wasn't present on the docker host before it was prefetched.
+ */
+@Singleton
+public class StackImagesPrefetcher implements EventSubscriber<WorkspaceStatusEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(StackImagesPrefetcher.class);
+
+    private static final long STARTS_HALF_LIFE_MS = TimeUnit.DAYS.toMillis(1);
+    private static final int  STACKS_PAGE_SIZE    = 30;
+
+    private final EventService            eventService;
+    private final StackDao                stackDao;
+    private final WorkspaceDao            workspaceDao;
+    private final EnvironmentParser       environmentParser;
+    private final DockerConnector         docker;
+    private final InitialAuthConfig       authConfig;
+    private final int                     maxStacks;
+    private final long                    maxBytesPerRun;
+    private final ExecutorService         pullExecutor;
+    private final ExecutorService         eventsExecutor;
+    private final Map<String, ImageStats> images;
+    private final Set<String>             startingWorkspaces;
+
+    @Inject
+    public StackImagesPrefetcher(EventService eventService,
+                                 StackDao stackDao,
+                                 WorkspaceDao workspaceDao,
+                                 EnvironmentParser environmentParser,
+                                 DockerConnector docker,
+                                 InitialAuthConfig authConfig,
+                                 @Named("machine.docker.prefetch.max_stacks") int maxStacks,
+                                 @Named("machine.docker.prefetch.max_concurrent_pulls") int maxConcurrentPulls,
+                                 @Named("machine.docker.prefetch.max_megabytes_per_run") long maxMegabytesPerRun) {
+        this.eventService = eventService;
+        this.stackDao = stackDao;
+        this.workspaceDao = workspaceDao;
+        this.environmentParser = environmentParser;
+        this.docker = docker;
+        this.authConfig = authConfig;
+        this.maxStacks = maxStacks;
+        this.maxBytesPerRun = maxMegabytesPerRun * 1024 * 1024;
+        this.images = new ConcurrentHashMap<>();
+        this.startingWorkspaces = ConcurrentHashMap.newKeySet();
+        this.pullExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentPulls),
+                                                         new ThreadFactoryBuilder().setNameFormat("StackImagesPrefetcher-%d")
+                                                                                   .setDaemon(true)
+                                                                                   .build());
+        // environments are parsed out of the events thread since recipe may be downloaded
+        this.eventsExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("StackImagesStartsCounter")
+                                                                                          .setDaemon(true)
+                                                                                          .build());
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        eventService.unsubscribe(this);
+        pullExecutor.shutdownNow();
+        eventsExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onEvent(WorkspaceStatusEvent event) {
+        switch (event.getEventType()) {
+            case STARTING:
+                startingWorkspaces.add(event.getWorkspaceId());
+                eventsExecutor.execute(() -> countStart(event.getWorkspaceId()));
+                break;
+            case RUNNING:
+            case ERROR:
+            case STOPPED:
+                startingWorkspaces.remove(event.getWorkspaceId());
+                break;
+            default:
+                // other events don't affect images usage
+        }
+    }
+
+    /** Returns statistics of the images which were used by workspaces or prefetched. */
+    public Collection<ImageStats> getImagesStats() {
+        return Collections.unmodifiableCollection(images.values());
+    }
+
+    /**
+     * Pulls images of the most frequently started stacks.
+     * Does nothing while any workspace is starting, so prefetching doesn't slow down the starts.
+     */
+    @ScheduleDelay(initialDelayParameterName = "machine.docker.prefetch.period_min",
+                   delayParameterName = "machine.docker.prefetch.period_min",
+                   unit = TimeUnit.MINUTES)
+    public void prefetch() {
+        if (maxStacks <= 0) {
+            return;
+        }
+        if (!isIdle()) {
+            LOG.debug("Skipping images prefetch since workspaces are starting");
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final List<String> toPull;
+        try {
+            toPull = rankImages(start);
+        } catch (ServerException e) {
+            LOG.error("Unable to rank stacks images for prefetch. " + e.getLocalizedMessage(), e);
+            return;
+        }
+
+        final AtomicLong pulledBytes = new AtomicLong();
+        final List<Callable<Void>> pulls = new ArrayList<>(toPull.size());
+        for (String image : toPull) {
+            pulls.add(() -> {
+                // remaining pulls are skipped if user started a workspace or budget is exhausted
+                if (isIdle() && pulledBytes.get() < maxBytesPerRun) {
+                    pulledBytes.addAndGet(pull(getStats(image)));
+                }
+                return null;
+            });
+        }
+        try {
+            pullExecutor.invokeAll(pulls);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        LOG.info("Prefetched images of stacks, images: {}, pulled: {} MB, time: {} ms, estimated saved start time: {} ms",
+                 toPull.size(),
+                 pulledBytes.get() / 1024 / 1024,
+                 System.currentTimeMillis() - start,
+                 images.values().stream().mapToLong(ImageStats::getSavedMillis).sum());
+    }
+
+    private boolean isIdle() {
+        return startingWorkspaces.isEmpty();
+    }
+
+    /** Returns images of the top ranked stacks in the order of stacks rank. */
+    private List<String> rankImages(long now) throws ServerException {
+        final List<RankedStack> ranked = new ArrayList<>();
+        List<StackImpl> page;
+        int skip = 0;
+        do {
+            page = stackDao.searchStacks(null, null, skip, STACKS_PAGE_SIZE);
+            skip += page.size();
+            for (StackImpl stack : page) {
+                final Set<String> stackImages = getImages(stack.getWorkspaceConfig());
+                if (!stackImages.isEmpty()) {
+                    final double score = stackImages.stream()
+                                                    .mapToDouble(image -> getStats(image).getScore(now))
+                                                    .sum();
+                    ranked.add(new RankedStack(stackImages, score));
+                }
+            }
+        } while (page.size() == STACKS_PAGE_SIZE);
+
+        ranked.sort(Comparator.comparingDouble((RankedStack stack) -> stack.score).reversed());
+        final Set<String> result = new LinkedHashSet<>();
+        ranked.stream()
+              // stacks which were not started recently are not worth the traffic
+              .filter(stack -> stack.score > 0)
+              .limit(maxStacks)
+              .forEach(stack -> result.addAll(stack.images));
+        return new ArrayList<>(result);
+    }
+
+    /** Pulls the image and returns the amount of pulled bytes. */
+    private long pull(ImageStats stats) {
+        final String location = stats.getLocation();
+        try {
+            final DockerMachineSource source = new DockerMachineSource(new MachineSourceImpl("image").setLocation(location));
+            final String idBefore = inspectQuietly(location);
+            final long start = System.currentTimeMillis();
+            docker.pull(PullParams.create(source.getRepository())
+                                  .withTag(MoreObjects.firstNonNull(source.getTag(), LATEST_TAG))
+                                  .withRegistry(source.getRegistry())
+                                  .withAuthConfigs(authConfig.getAuthConfigs()),
+                        ProgressMonitor.DEV_NULL);
+            final long duration = System.currentTimeMillis() - start;
+            final ImageInfo info = docker.inspectImage(location);
+            final boolean updated = !info.getId().equals(idBefore);
+            stats.pulled(duration, idBefore == null ? CacheState.PULLED : updated ? CacheState.UPDATED : CacheState.UP_TO_DATE);
+            LOG.info("Prefetched image '{}', state: {}, time: {} ms", location, stats.getCacheState(), duration);
+            return updated ? info.getVirtualSize() : 0;
+        } catch (IOException | MachineException e) {
+            stats.failed();
+            LOG.warn("Unable to prefetch image '{}'. {}", location, e.getLocalizedMessage());
+            return 0;
+        }
+    }
+
+    private String inspectQuietly(String image) {
+        try {
+            return docker.inspectImage(image).getId();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void countStart(String workspaceId) {
+        try {
+            final long now = System.currentTimeMillis();
+            for (String image : getImages(workspaceDao.get(workspaceId).getConfig())) {
+                getStats(image).started(now);
+            }
+        } catch (NotFoundException | ServerException e) {
+            LOG.debug("Unable to count start of workspace '{}'. {}", workspaceId, e.getLocalizedMessage());
+        }
+    }
+
+    /** Returns images of the default environment, images which are built or are snapshots are not included. */
+    private Set<String> getImages(WorkspaceConfigImpl config) {
+        final Set<String> result = new LinkedHashSet<>();
+        final EnvironmentImpl environment = config.getEnvironments().get(config.getDefaultEnv());
+        if (environment == null) {
+            return result;
+        }
+        try {
+            for (ComposeServiceImpl service : environmentParser.parse(environment).getServices().values()) {
+                if (service.getImage() != null && !SNAPSHOT_LOCATION_PATTERN.matcher(service.getImage()).matches()) {
+                    result.add(service.getImage());
+                }
+            }
+        } catch (IllegalArgumentException | ServerException e) {
+            LOG.debug("Unable to get images of environment '{}'. {}", config.getDefaultEnv(), e.getLocalizedMessage());
+        }
+        return result;
+    }
+
+    private ImageStats getStats(String image) {
+        return images.computeIfAbsent(image, ImageStats::new);
+    }
+
+    private static class RankedStack {
+        final Set<String> images;
+        final double      score;
+
+        RankedStack(Set<String> images, double score) {
+            this.images = images;
+            this.score = score;
+        }
+    }
+
+    /** State of the image on the docker host after the last prefetch. */
+    public enum CacheState {
+        /** Image wasn't prefetched yet. */
+        UNKNOWN,
+        /** Image wasn't present on the docker host and was pulled. */
+        PULLED,
+        /** Image was present on the docker host and was updated. */
+        UPDATED,
+        /** Image was present on the docker host and is up to date. */
+        UP_TO_DATE,
+        /** Last prefetch of the image failed. */
+        FAILED
+    }
+
+    /** Usage and prefetch statistics of the image. */
+    public static class ImageStats {
+        private final String location;
+
+        private double     score;
+        private long       scoreTime;
+        private int        starts;
+        private CacheState cacheState;
+        private long       lastPullMillis;
+        private long       lastPullTime;
+        private long       savedMillis;
+        private boolean    warm;
+
+        ImageStats(String location) {
+            this.location = location;
+            this.cacheState = CacheState.UNKNOWN;
+            this.lastPullMillis = -1;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        /** Returns the number of workspace starts which used the image. */
+        public synchronized int getStarts() {
+            return starts;
+        }
+
+        public synchronized CacheState getCacheState() {
+            return cacheState;
+        }
+
+        /** Returns duration of the last prefetch pull in milliseconds or -1 if the image wasn't pulled. */
+        public synchronized long getLastPullMillis() {
+            return lastPullMillis;
+        }
+
+        /** Returns time of the last prefetch pull in milliseconds since epoch or 0 if the image wasn't pulled. */
+        public synchronized long getLastPullTime() {
+            return lastPullTime;
+        }
+
+        /** Returns estimated time in milliseconds which prefetching of the image saved for workspace starts. */
+        public synchronized long getSavedMillis() {
+            return savedMillis;
+        }
+
+        synchronized double getScore(long now) {
+            return score * Math.pow(0.5, (double)(now - scoreTime) / STARTS_HALF_LIFE_MS);
+        }
+
+        synchronized void started(long now) {
+            score = getScore(now) + 1;
+            scoreTime = now;
+            starts++;
+            // only the first start after the image was fetched saves pull time
+            if (warm) {
+                savedMillis += lastPullMillis;
+                warm = false;
+            }
+        }
+
+        synchronized void pulled(long duration, CacheState state) {
+            cacheState = state;
+            lastPullMillis = duration;
+            lastPullTime = System.currentTimeMillis();
+            warm = warm || state == CacheState.PULLED;
+        }
+
+        synchronized void failed() {
+            cacheState = CacheState.FAILED;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "ImageStats{" +
+                   "location='" + location + '\'' +
+                   ", starts=" + starts +
+                   ", cacheState=" + cacheState +
+                   ", lastPullMillis=" + lastPullMillis +
+                   ", savedMillis=" + savedMillis +
+                   '}';
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.ServerConf;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.environment.server.compose.model.BuildContextImpl;
 import org.eclipse.che.api.environment.server.compose.model.ComposeServiceImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerConfImpl;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
@@ -25,9 +26,12 @@ import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.ContainerState;
+import org.eclipse.che.plugin.docker.client.params.BuildImageParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.InspectContainerParams;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
@@ -38,6 +42,7 @@ import org.eclipse.che.plugin.docker.client.params.TagParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.eclipse.che.plugin.docker.machine.node.WorkspaceFolderPathProvider;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.AfterMethod;
@@ -67,8 +72,11 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -88,6 +96,7 @@ public class ComposeMachineProviderImplTest {
     private static final int     MEMORY_SWAP_MULTIPLIER = 0;
     private static final String  ENV_NAME               = "env";
     private static final String  NETWORK_NAME           = "networkName";
+    private static final String  CONTAINER_NAME         = "containerName";
 
     @Mock
     private DockerConnector dockerConnector;
@@ -275,6 +284,60 @@ public class ComposeMachineProviderImplTest {
         assertFalse(imageParams.isForce());
     }
 
+    @Test
+    public void shouldBuildImageWithTheSameNameForUsersWithTheSameCredentials() throws Exception {
+        createInstanceFromDockerfile();
+        EnvironmentContext.getCurrent().setSubject(new SubjectImpl("another", "anotherId", "anotherToken", false));
+        createInstanceFromDockerfile();
+
+        ArgumentCaptor<BuildImageParams> argumentCaptor = ArgumentCaptor.forClass(BuildImageParams.class);
+        verify(dockerConnector, times(2)).buildImage(argumentCaptor.capture(), any(ProgressMonitor.class));
+        List<BuildImageParams> builds = argumentCaptor.getAllValues();
+        assertTrue(builds.get(0).getRepository().startsWith(ComposeMachineProviderImpl.MACHINE_BUILD_CACHE_PREFIX));
+        assertEquals(builds.get(1).getRepository(), builds.get(0).getRepository());
+    }
+
+    @Test
+    public void shouldBuildImageWithAnotherNameForUsersWithAnotherCredentials() throws Exception {
+        createInstanceFromDockerfile();
+        AuthConfig authConfig = mock(AuthConfig.class);
+        when(authConfig.getUsername()).thenReturn("another");
+        when(authConfig.getPassword()).thenReturn("secret");
+        AuthConfigs authConfigs = mock(AuthConfigs.class);
+        when(authConfigs.getConfigs()).thenReturn(singletonMap("registry", authConfig));
+        when(credentialsReader.getCredentials()).thenReturn(authConfigs);
+        createInstanceFromDockerfile();
+
+        ArgumentCaptor<BuildImageParams> argumentCaptor = ArgumentCaptor.forClass(BuildImageParams.class);
+        verify(dockerConnector, times(2)).buildImage(argumentCaptor.capture(), any(ProgressMonitor.class));
+        List<BuildImageParams> builds = argumentCaptor.getAllValues();
+        assertFalse(builds.get(1).getRepository().equals(builds.get(0).getRepository()));
+    }
+
+    @Test
+    public void shouldRemoveBuiltImageNameAfterTaggingWhenImageIsNotReused() throws Exception {
+        createInstanceFromDockerfile();
+
+        ArgumentCaptor<BuildImageParams> argumentCaptor = ArgumentCaptor.forClass(BuildImageParams.class);
+        verify(dockerConnector).buildImage(argumentCaptor.capture(), any(ProgressMonitor.class));
+        String builtImageName = argumentCaptor.getValue().getRepository();
+        InOrder inOrder = inOrder(dockerConnector);
+        inOrder.verify(dockerConnector).tag(eq(TagParams.create(builtImageName, "eclipse-che/" + CONTAINER_NAME).withForce(true)));
+        inOrder.verify(dockerConnector).removeImage(eq(RemoveImageParams.create(builtImageName).withForce(false)));
+    }
+
+    @Test
+    public void shouldReuseBuiltImageWithoutRemovingItDuringBuildCacheTtl() throws Exception {
+        provider = getProvider(3600);
+
+        createInstanceFromDockerfile();
+        createInstanceFromDockerfile();
+
+        verify(dockerConnector).buildImage(any(BuildImageParams.class), any(ProgressMonitor.class));
+        verify(dockerConnector, times(2)).tag(any(TagParams.class));
+        verify(dockerConnector, never()).removeImage(any(RemoveImageParams.class));
+    }
+
     @Test
     public void shouldCreateContainerOnInstanceCreationFromRecipe() throws Exception {
         String generatedContainerId = "genContainerId";
@@ -1620,6 +1683,16 @@ public class ComposeMachineProviderImplTest {
         createInstanceFromRecipe(createService());
     }
 
+    private void createInstanceFromDockerfile() throws Exception {
+        doReturn(CONTAINER_NAME).when(containerNameGenerator).generateContainerName(anyString(),
+                                                                                  anyString(),
+                                                                                  anyString(),
+                                                                                  anyString());
+        ComposeServiceImpl service = createService();
+        service.setBuild(new BuildContextImpl(null, "FROM codenvy/ubuntu_jdk8"));
+        createInstanceFromRecipe(service);
+    }
+
     private void createInstanceFromRecipe(boolean isDev, ComposeServiceImpl service) throws Exception {
         createInstanceFromRecipe(service, isDev, WORKSPACE_ID);
     }
@@ -1729,6 +1802,31 @@ public class ComposeMachineProviderImplTest {
                                                   emptySet()));
     }
 
+    private ComposeMachineProviderImpl getProvider(long buildCacheTtlSec) throws Exception {
+        return spy(new ComposeMachineProviderImpl(dockerConnector,
+                                                  dockerConnectorConfiguration,
+                                                  credentialsReader,
+                                                  dockerMachineFactory,
+                                                  dockerInstanceStopDetector,
+                                                  containerNameGenerator,
+                                                  Collections.emptySet(),
+                                                  Collections.emptySet(),
+                                                  Collections.emptySet(),
+                                                  Collections.emptySet(),
+                                                  null,
+                                                  workspaceFolderPathProvider,
+                                                  PROJECT_FOLDER_PATH,
+                                                  false,
+                                                  false,
+                                                  Collections.emptySet(),
+                                                  Collections.emptySet(),
+                                                  SNAPSHOT_USE_REGISTRY,
+                                                  MEMORY_SWAP_MULTIPLIER,
+                                                  emptySet(),
+                                                  new ImageOperationsDeduplicator(),
+                                                  buildCacheTtlSec));
+    }
+
     public ComposeServiceImpl createService() {
         ComposeServiceImpl service = new ComposeServiceImpl();
         service.setImage("image");
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link ImageOperationsDeduplicator}.
+ */
+public class ImageOperationsDeduplicatorTest {
+
+    private ImageOperationsDeduplicator deduplicator;
+    private ExecutorService             executor;
+
+    @BeforeMethod
+    public void setUp() {
+        deduplicator = new ImageOperationsDeduplicator();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Test
+    public void shouldPerformConcurrentOperationsWithTheSameKeyOnceAndShareProgress() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger performed = new AtomicInteger();
+        final ProgressStatus status = new ProgressStatus();
+        final ProgressMonitor leaderMonitor = mock(ProgressMonitor.class);
+        final ProgressMonitor followerMonitor = mock(ProgressMonitor.class);
+
+        final Future<?> leader = executor.submit(() -> {
+            deduplicator.perform("image", leaderMonitor, monitor -> {
+                performed.incrementAndGet();
+                started.countDown();
+                await(release);
+                monitor.updateProgress(status);
+            });
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final Future<?> follower = executor.submit(() -> {
+            deduplicator.perform("image", followerMonitor, monitor -> performed.incrementAndGet());
+            return null;
+        });
+        // follower is notified that it waits for the operation in progress
+        verify(followerMonitor, timeout(5000)).updateProgress(any(ProgressStatus.class));
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        follower.get(5, TimeUnit.SECONDS);
+
+        assertEquals(performed.get(), 1);
+        verify(leaderMonitor).updateProgress(status);
+        verify(followerMonitor).updateProgress(status);
+    }
+
+    @Test
+    public void shouldPerformOperationsWithDifferentKeysSeparately() throws Exception {
+        final AtomicInteger performed = new AtomicInteger();
+
+        deduplicator.perform("image1", ProgressMonitor.DEV_NULL, monitor -> performed.incrementAndGet());
+        deduplicator.perform("image2", ProgressMonitor.DEV_NULL, monitor -> performed.incrementAndGet());
+        deduplicator.perform("image1", ProgressMonitor.DEV_NULL, monitor -> performed.incrementAndGet());
+
+        assertEquals(performed.get(), 3);
+    }
+
+    @Test
+    public void shouldRethrowErrorOfSharedOperationToWaitingCaller() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ProgressMonitor followerMonitor = mock(ProgressMonitor.class);
+
+        final Future<?> leader = executor.submit(() -> {
+            deduplicator.perform("image", ProgressMonitor.DEV_NULL, monitor -> {
+                started.countDown();
+                await(release);
+                throw new IOException("pull failed");
+            });
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final Future<?> follower = executor.submit(() -> {
+            deduplicator.perform("image", followerMonitor, monitor -> fail("Operation must be shared"));
+            return null;
+        });
+        verify(followerMonitor, timeout(5000)).updateProgress(any(ProgressStatus.class));
+        release.countDown();
+
+        assertOperationFailed(leader);
+        assertOperationFailed(follower);
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void assertOperationFailed(Future<?> operation) throws Exception {
+        try {
+            operation.get(5, TimeUnit.SECONDS);
+            fail("Operation must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals(e.getCause().getMessage(), "pull failed");
+        }
+    }
+}
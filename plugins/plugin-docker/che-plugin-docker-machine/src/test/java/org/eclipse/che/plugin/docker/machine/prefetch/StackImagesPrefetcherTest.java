@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.prefetch;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.environment.server.EnvironmentParser;
+import org.eclipse.che.api.environment.server.compose.model.ComposeEnvironmentImpl;
+import org.eclipse.che.api.environment.server.compose.model.ComposeServiceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.InitialAuthConfig;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.eclipse.che.plugin.docker.machine.prefetch.StackImagesPrefetcher.CacheState;
+import org.eclipse.che.plugin.docker.machine.prefetch.StackImagesPrefetcher.ImageStats;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link StackImagesPrefetcher}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class StackImagesPrefetcherTest {
+    private static final String JAVA_IMAGE   = "codenvy/ubuntu_jdk8";
+    private static final String NODE_IMAGE   = "codenvy/node";
+    private static final String WORKSPACE_ID = "workspace123";
+
+    @Mock
+    private EventService      eventService;
+    @Mock
+    private StackDao          stackDao;
+    @Mock
+    private WorkspaceDao      workspaceDao;
+    @Mock
+    private EnvironmentParser environmentParser;
+    @Mock
+    private DockerConnector   docker;
+    @Mock
+    private InitialAuthConfig authConfig;
+    @Mock
+    private AuthConfigs       authConfigs;
+
+    private StackImagesPrefetcher prefetcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final StackImpl javaStack = mockStack(JAVA_IMAGE);
+        final StackImpl nodeStack = mockStack(NODE_IMAGE);
+        when(stackDao.searchStacks(any(), any(), anyInt(), anyInt())).thenReturn(asList(javaStack, nodeStack));
+
+        final WorkspaceImpl workspace = mock(WorkspaceImpl.class);
+        final WorkspaceConfigImpl config = nodeStack.getWorkspaceConfig();
+        when(workspace.getConfig()).thenReturn(config);
+        when(workspaceDao.get(WORKSPACE_ID)).thenReturn(workspace);
+
+        final ImageInfo imageInfo = new ImageInfo();
+        imageInfo.setId("sha256:123");
+        when(docker.inspectImage(anyString())).thenThrow(new IOException("not found")).thenReturn(imageInfo);
+        when(authConfig.getAuthConfigs()).thenReturn(authConfigs);
+
+        prefetcher = new StackImagesPrefetcher(eventService, stackDao, workspaceDao, environmentParser, docker, authConfig, 1, 1, 1024);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        prefetcher.unsubscribe();
+    }
+
+    @Test
+    public void shouldPrefetchImagesOfMostFrequentlyStartedStacks() throws Exception {
+        startWorkspace();
+        prefetcher.onEvent(event(WorkspaceStatusEvent.EventType.RUNNING));
+
+        prefetcher.prefetch();
+
+        final ArgumentCaptor<PullParams> captor = ArgumentCaptor.forClass(PullParams.class);
+        verify(docker).pull(captor.capture(), any(ProgressMonitor.class));
+        assertEquals(captor.getValue().getImage(), NODE_IMAGE);
+        assertEquals(captor.getValue().getAuthConfigs(), authConfigs);
+        assertEquals(getStats(NODE_IMAGE).getCacheState(), CacheState.PULLED);
+    }
+
+    @Test
+    public void shouldNotPrefetchImagesOfStacksWhichWereNotStarted() throws Exception {
+        prefetcher.prefetch();
+
+        verify(docker, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldNotPrefetchImagesWhileWorkspaceIsStarting() throws Exception {
+        startWorkspace();
+
+        prefetcher.prefetch();
+
+        verify(docker, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldEstimateSavedTimeWhenPrefetchedImageIsUsedByWorkspaceStart() throws Exception {
+        startWorkspace();
+        prefetcher.onEvent(event(WorkspaceStatusEvent.EventType.RUNNING));
+        prefetcher.prefetch();
+
+        startWorkspace();
+
+        final ImageStats stats = getStats(NODE_IMAGE);
+        assertEquals(stats.getStarts(), 2);
+        assertEquals(stats.getSavedMillis(), stats.getLastPullMillis());
+    }
+
+    private void startWorkspace() throws Exception {
+        final int starts = getStarts();
+        prefetcher.onEvent(event(WorkspaceStatusEvent.EventType.STARTING));
+        // starts are counted asynchronously
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (getStarts() == starts && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(getStarts() > starts);
+    }
+
+    private int getStarts() {
+        return prefetcher.getImagesStats()
+                         .stream()
+                         .filter(stats -> stats.getLocation().equals(NODE_IMAGE))
+                         .mapToInt(ImageStats::getStarts)
+                         .sum();
+    }
+
+    private ImageStats getStats(String image) {
+        final List<ImageStats> found = prefetcher.getImagesStats()
+                                                 .stream()
+                                                 .filter(stats -> stats.getLocation().equals(image))
+                                                 .collect(toList());
+        assertEquals(found.size(), 1);
+        return found.get(0);
+    }
+
+    private StackImpl mockStack(String image) throws Exception {
+        final EnvironmentImpl environment = mock(EnvironmentImpl.class);
+        final ComposeEnvironmentImpl composeEnvironment = new ComposeEnvironmentImpl();
+        composeEnvironment.getServices().put("dev-machine", new ComposeServiceImpl().withImage(image));
+        when(environmentParser.parse(environment)).thenReturn(composeEnvironment);
+
+        final WorkspaceConfigImpl config = mock(WorkspaceConfigImpl.class);
+        when(config.getDefaultEnv()).thenReturn("default");
+        when(config.getEnvironments()).thenReturn(singletonMap("default", environment));
+
+        final StackImpl stack = mock(StackImpl.class);
+        when(stack.getWorkspaceConfig()).thenReturn(config);
+        return stack;
+    }
+
+    private static WorkspaceStatusEvent event(WorkspaceStatusEvent.EventType type) {
+        final WorkspaceStatusEvent event = mock(WorkspaceStatusEvent.class);
+        when(event.getEventType()).thenReturn(type);
+        when(event.getWorkspaceId()).thenReturn(WORKSPACE_ID);
+        return event;
+    }
+}
@@ -22,7 +22,9 @@ import org.eclipse.che.api.debug.shared.model.action.StartAction;
 import org.eclipse.che.api.debug.shared.model.action.StepIntoAction;
 import org.eclipse.che.api.debug.shared.model.action.StepOutAction;
 import org.eclipse.che.api.debug.shared.model.action.StepOverAction;
+import org.eclipse.che.api.debug.shared.model.impl.BreakpointImpl;
 import org.eclipse.che.api.debug.shared.model.impl.DebuggerInfoImpl;
+import org.eclipse.che.api.debug.shared.model.impl.LocationImpl;
 import org.eclipse.che.api.debug.shared.model.impl.SimpleValueImpl;
 import org.eclipse.che.api.debug.shared.model.impl.StackFrameDumpImpl;
 import org.eclipse.che.api.debug.shared.model.impl.VariableImpl;
@@ -32,16 +34,13 @@ import org.eclipse.che.api.debug.shared.model.impl.event.DisconnectEventImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.SuspendEventImpl;
 import org.eclipse.che.api.debugger.server.Debugger;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.plugin.gdb.server.exception.GdbException;
-import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
-import org.eclipse.che.plugin.gdb.server.parser.GdbContinue;
-import org.eclipse.che.plugin.gdb.server.parser.GdbDirectory;
-import org.eclipse.che.plugin.gdb.server.parser.GdbInfoBreak;
-import org.eclipse.che.plugin.gdb.server.parser.GdbInfoLine;
-import org.eclipse.che.plugin.gdb.server.parser.GdbInfoProgram;
 import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
-import org.eclipse.che.plugin.gdb.server.parser.GdbPrint;
-import org.eclipse.che.plugin.gdb.server.parser.GdbRun;
+import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
+import org.eclipse.che.plugin.gdb.server.mi.GdbMi;
+import org.eclipse.che.plugin.gdb.server.mi.MiRecord;
+import org.eclipse.che.plugin.gdb.server.parser.GdbOutput;
 import org.eclipse.che.plugin.gdb.server.parser.GdbVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,20 +49,41 @@ import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static java.nio.file.Files.exists;
 import static java.util.Collections.singletonList;
+import static org.eclipse.che.plugin.gdb.server.mi.GdbMi.await;
+import static org.eclipse.che.plugin.gdb.server.mi.GdbMi.quote;
+import static org.eclipse.che.plugin.gdb.server.mi.MiRecord.asList;
+import static org.eclipse.che.plugin.gdb.server.mi.MiRecord.asString;
+import static org.eclipse.che.plugin.gdb.server.mi.MiRecord.asTuple;
 
 /**
  * Connects to GDB.
+ * <p/>
+ * GDB is driven through GDB/MI. Execution commands are sent together with the commands
+ * which dump the stack frame, so the frame is available as soon as the program stops
+ * and {@link #dumpStackFrame()} doesn't need another round-trip to GDB.
  *
  * @author Anatoliy Bazko
  */
 public class GdbDebugger implements Debugger {
     private static final Logger LOG                 = LoggerFactory.getLogger(GdbDebugger.class);
     private static final int    CONNECTION_ATTEMPTS = 5;
+    private static final long   QUIT_TIMEOUT_SEC    = 5;
+
+    /** Commands which dump the stack frame of the stopped program: types and values of the frame variables. */
+    private static final String[] DUMP_STACK_FRAME = {"-stack-list-variables --simple-values",
+                                                      "-stack-list-variables --all-values"};
 
     private final String host;
     private final int    port;
@@ -71,17 +91,19 @@ public class GdbDebugger implements Debugger {
     private final String version;
     private final String file;
 
-    private Location currentLocation;
+    private volatile Location       currentLocation;
+    private volatile StackFrameDump currentFrame;
 
-    private final Gdb              gdb;
+    private final GdbMi            gdb;
     private final DebuggerCallback debuggerCallback;
+    private final Set<String>      activatedBreakpoints;
 
     GdbDebugger(String host,
                 int port,
                 String name,
                 String version,
                 String file,
-                Gdb gdb,
+                GdbMi gdb,
                 DebuggerCallback debuggerCallback) {
         this.host = host;
         this.port = port;
@@ -90,6 +112,9 @@ public class GdbDebugger implements Debugger {
         this.file = file;
         this.gdb = gdb;
         this.debuggerCallback = debuggerCallback;
+        this.activatedBreakpoints = ConcurrentHashMap.newKeySet();
+
+        gdb.addAsyncListener(this::onAsyncRecord);
     }
 
     public String getHost() {
@@ -142,31 +167,32 @@ public class GdbDebugger implements Debugger {
                                     String srcDirectory,
                                     DebuggerCallback debuggerCallback) throws DebuggerException {
 
-        Gdb gdb;
+        GdbMi gdb;
         try {
-            gdb = Gdb.start();
+            gdb = GdbMi.start();
         } catch (IOException e) {
             throw new DebuggerException("Can't start GDB: " + e.getMessage(), e);
         }
 
+        GdbVersion gdbVersion;
         try {
-            GdbDirectory directory = gdb.directory(srcDirectory);
-            LOG.debug("Source directories: " + directory.getDirectories());
+            List<CompletableFuture<MiRecord>> results = gdb.sendAll("-gdb-version",
+                                                                    "-environment-directory " + quote(srcDirectory),
+                                                                    "-file-exec-and-symbols " + quote(file));
+            gdbVersion = parseVersion(await(results.get(0)));
+
+            MiRecord directory = await(results.get(1));
+            LOG.debug("Source directories: " + directory.getString("source-path"));
 
-            gdb.file(file);
+            await(results.get(2));
             if (port > 0) {
-                gdb.targetRemote(host, port);
-            }
-        } catch (DebuggerException | IOException | InterruptedException e) {
-            try {
-                gdb.quit();
-            } catch (IOException | InterruptedException | GdbException e1) {
-                LOG.error("Can't stop GDB: " + e1.getMessage(), e1);
+                await(gdb.send("-target-select remote " + quote((host != null ? host : "") + ":" + port)));
             }
+        } catch (DebuggerException | InterruptedException e) {
+            quit(gdb);
             throw new DebuggerException("Can't initialize GDB: " + e.getMessage(), e);
         }
 
-        GdbVersion gdbVersion = gdb.getGdbVersion();
         return new GdbDebugger(host,
                                port,
                                gdbVersion.getVersion(),
@@ -176,6 +202,25 @@ public class GdbDebugger implements Debugger {
                                debuggerCallback);
     }
 
+    private static GdbVersion parseVersion(MiRecord result) {
+        try {
+            return GdbVersion.parse(GdbOutput.of(result.getText()));
+        } catch (GdbParseException e) {
+            LOG.error(e.getMessage(), e);
+            return new GdbVersion("Unknown", "Unknown");
+        }
+    }
+
+    private static void quit(GdbMi gdb) {
+        try {
+            gdb.send("-gdb-exit").get(QUIT_TIMEOUT_SEC, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            LOG.debug("Can't stop GDB gracefully: " + e.getMessage(), e);
+        } finally {
+            gdb.stop();
+        }
+    }
+
     @Override
     public DebuggerInfo getInfo() throws DebuggerException {
         return new DebuggerInfoImpl(host, port, name, version, 0, file);
@@ -184,30 +229,29 @@ public class GdbDebugger implements Debugger {
     @Override
     public void disconnect() {
         currentLocation = null;
+        currentFrame = null;
         debuggerCallback.onEvent(new DisconnectEventImpl());
 
-        try {
-            gdb.quit();
-        } catch (IOException | InterruptedException | GdbException e) {
-            LOG.error(e.getMessage(), e);
-        }
+        quit(gdb);
     }
 
     @Override
     public void addBreakpoint(Breakpoint breakpoint) throws DebuggerException {
         try {
             Location location = breakpoint.getLocation();
-            if (location.getTarget() == null) {
-                gdb.breakpoint(location.getLineNumber());
-            } else {
-                gdb.breakpoint(location.getTarget(), location.getLineNumber());
-            }
+            String lineSpec = location.getTarget() == null ? Integer.toString(location.getLineNumber())
+                                                           : location.getTarget() + ":" + location.getLineNumber();
+            MiRecord result = await(gdb.send("-break-insert " + quote(lineSpec)));
 
+            String number = asString(result.getTuple("bkpt").get("number"));
+            if (number != null) {
+                activatedBreakpoints.add(number);
+            }
             debuggerCallback.onEvent(new BreakpointActivatedEventImpl(breakpoint));
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't add breakpoint: " + breakpoint + ". " + e.getMessage(), e);
         }
     }
@@ -215,15 +259,13 @@ public class GdbDebugger implements Debugger {
     @Override
     public void deleteBreakpoint(Location location) throws DebuggerException {
         try {
-            if (location.getTarget() == null) {
-                gdb.clear(location.getLineNumber());
-            } else {
-                gdb.clear(location.getTarget(), location.getLineNumber());
-            }
+            String lineSpec = location.getTarget() == null ? Integer.toString(location.getLineNumber())
+                                                           : location.getTarget() + ":" + location.getLineNumber();
+            await(gdb.send("-interpreter-exec console " + quote("clear " + lineSpec)));
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't delete breakpoint: " + location + ". " + e.getMessage(), e);
         }
     }
@@ -231,11 +273,12 @@ public class GdbDebugger implements Debugger {
     @Override
     public void deleteAllBreakpoints() throws DebuggerException {
         try {
-            gdb.delete();
+            await(gdb.send("-break-delete"));
+            activatedBreakpoints.clear();
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't delete all breakpoints. " + e.getMessage(), e);
         }
     }
@@ -243,12 +286,20 @@ public class GdbDebugger implements Debugger {
     @Override
     public List<Breakpoint> getAllBreakpoints() throws DebuggerException {
         try {
-            GdbInfoBreak gdbInfoBreak = gdb.infoBreak();
-            return gdbInfoBreak.getBreakpoints();
+            MiRecord result = await(gdb.send("-break-list"));
+
+            List<Breakpoint> breakpoints = new ArrayList<>();
+            for (Object bkpt : asList(result.getTuple("BreakpointTable").get("body"))) {
+                Location location = toLocation(asTuple(bkpt));
+                if (location != null) {
+                    breakpoints.add(new BreakpointImpl(location));
+                }
+            }
+            return breakpoints;
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't get all breakpoints. " + e.getMessage(), e);
         }
     }
@@ -264,28 +315,11 @@ public class GdbDebugger implements Debugger {
                 }
             }
 
-            Breakpoint breakpoint;
-            if (isRemoteConnection()) {
-                GdbContinue gdbContinue = gdb.cont();
-                breakpoint = gdbContinue.getBreakpoint();
-            } else {
-                GdbRun gdbRun = gdb.run();
-                breakpoint = gdbRun.getBreakpoint();
-            }
-
-            if (breakpoint != null) {
-                currentLocation = breakpoint.getLocation();
-                debuggerCallback.onEvent(new SuspendEventImpl(breakpoint.getLocation()));
-            } else {
-                GdbInfoProgram gdbInfoProgram = gdb.infoProgram();
-                if (gdbInfoProgram.getStoppedAddress() == null) {
-                    disconnect();
-                }
-            }
+            execute(isRemoteConnection() ? "-exec-continue" : "-exec-run");
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Error during running. " + e.getMessage(), e);
         }
     }
@@ -297,37 +331,23 @@ public class GdbDebugger implements Debugger {
     @Override
     public void stepOver(StepOverAction action) throws DebuggerException {
         try {
-            GdbInfoLine gdbInfoLine = gdb.next();
-            if (gdbInfoLine == null) {
-                disconnect();
-                return;
-            }
-
-            currentLocation = gdbInfoLine.getLocation();
-            debuggerCallback.onEvent(new SuspendEventImpl(gdbInfoLine.getLocation()));
+            execute("-exec-next");
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
-            throw new DebuggerException("Step into error. " + e.getMessage(), e);
+        } catch (GdbException | InterruptedException e) {
+            throw new DebuggerException("Step over error. " + e.getMessage(), e);
         }
     }
 
     @Override
     public void stepInto(StepIntoAction action) throws DebuggerException {
         try {
-            GdbInfoLine gdbInfoLine = gdb.step();
-            if (gdbInfoLine == null) {
-                disconnect();
-                return;
-            }
-
-            currentLocation = gdbInfoLine.getLocation();
-            debuggerCallback.onEvent(new SuspendEventImpl(gdbInfoLine.getLocation()));
+            execute("-exec-step");
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Step into error. " + e.getMessage(), e);
         }
     }
@@ -335,18 +355,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public void stepOut(StepOutAction action) throws DebuggerException {
         try {
-            GdbInfoLine gdbInfoLine = gdb.finish();
-            if (gdbInfoLine == null) {
-                disconnect();
-                return;
-            }
-
-            currentLocation = gdbInfoLine.getLocation();
-            debuggerCallback.onEvent(new SuspendEventImpl(gdbInfoLine.getLocation()));
+            execute("-exec-finish");
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Step out error. " + e.getMessage(), e);
         }
     }
@@ -354,22 +367,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public void resume(ResumeAction action) throws DebuggerException {
         try {
-            GdbContinue gdbContinue = gdb.cont();
-            Breakpoint breakpoint = gdbContinue.getBreakpoint();
-
-            if (breakpoint != null) {
-                currentLocation = breakpoint.getLocation();
-                debuggerCallback.onEvent(new SuspendEventImpl(breakpoint.getLocation()));
-            } else {
-                GdbInfoProgram gdbInfoProgram = gdb.infoProgram();
-                if (gdbInfoProgram.getStoppedAddress() == null) {
-                    disconnect();
-                }
-            }
+            execute("-exec-continue");
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Resume error. " + e.getMessage(), e);
         }
     }
@@ -381,11 +383,12 @@ public class GdbDebugger implements Debugger {
             if (path.isEmpty()) {
                 throw new DebuggerException("Variable path is empty");
             }
-            gdb.setVar(path.get(0), variable.getValue());
+            currentFrame = null;
+            await(gdb.send("-gdb-set var " + path.get(0) + "=" + variable.getValue()));
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't set value for " + variable.getName() + ". " + e.getMessage(), e);
         }
     }
@@ -398,12 +401,12 @@ public class GdbDebugger implements Debugger {
                 throw new DebuggerException("Variable path is empty");
             }
 
-            GdbPrint gdbPrint = gdb.print(path.get(0));
-            return new SimpleValueImpl(Collections.emptyList(), gdbPrint.getValue());
+            MiRecord result = await(gdb.send("-data-evaluate-expression " + quote(path.get(0))));
+            return new SimpleValueImpl(Collections.emptyList(), result.getString("value"));
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't get value for " + variablePath + ". " + e.getMessage(), e);
         }
     }
@@ -411,12 +414,12 @@ public class GdbDebugger implements Debugger {
     @Override
     public String evaluate(String expression) throws DebuggerException {
         try {
-            GdbPrint gdbPrint = gdb.print(expression);
-            return gdbPrint.getValue();
+            MiRecord result = await(gdb.send("-data-evaluate-expression " + quote(expression)));
+            return result.getString("value");
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't evaluate '" + expression + "'. " + e.getMessage(), e);
         }
     }
@@ -426,33 +429,121 @@ public class GdbDebugger implements Debugger {
      */
     @Override
     public StackFrameDump dumpStackFrame() throws DebuggerException {
-        try {
-            Map<String, String> locals = gdb.infoLocals().getVariables();
-            locals.putAll(gdb.infoArgs().getVariables());
-
-            List<Variable> variables = new ArrayList<>(locals.size());
-            for (Map.Entry<String, String> e : locals.entrySet()) {
-                String varName = e.getKey();
-                String varValue = e.getValue();
-                String varType;
-                try {
-                    varType = gdb.ptype(varName).getType();
-                } catch (GdbParseException pe) {
-                    LOG.warn(pe.getMessage(), pe);
-                    varType = "";
-                }
-
-                VariablePath variablePath = new VariablePathImpl(singletonList(varName));
-                VariableImpl variable = new VariableImpl(varType, varName, varValue, true, variablePath, Collections.emptyList(), true);
-                variables.add(variable);
-            }
+        StackFrameDump frame = currentFrame;
+        if (frame != null) {
+            return frame;
+        }
 
-            return new StackFrameDumpImpl(Collections.emptyList(), variables);
+        try {
+            List<CompletableFuture<MiRecord>> results = gdb.sendAll(DUMP_STACK_FRAME);
+            frame = toStackFrameDump(await(results.get(0)), await(results.get(1)));
+            currentFrame = frame;
+            return frame;
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException | InterruptedException e) {
             throw new DebuggerException("Can't dump stack frame. " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Executes execution command and dumps the stack frame when program stops, in a single round-trip to GDB.
+     * Notifies about suspending the program at the new location, or disconnects if program exited.
+     */
+    private void execute(String command) throws GdbException, InterruptedException {
+        currentFrame = null;
+
+        List<CompletableFuture<MiRecord>> results = gdb.execute(command, DUMP_STACK_FRAME);
+        MiRecord stopped = await(results.get(0));
+
+        String reason = stopped.getString("reason");
+        if (reason != null && reason.startsWith("exited")) {
+            disconnect();
+            return;
+        }
+
+        try {
+            currentFrame = toStackFrameDump(await(results.get(1)), await(results.get(2)));
+        } catch (GdbTerminatedException e) {
+            throw e;
+        } catch (GdbException e) {
+            // frame will be dumped on demand
+            LOG.debug("Can't dump stack frame. " + e.getMessage(), e);
+        }
+
+        Location location = toLocation(stopped.getTuple("frame"));
+        if (location != null) {
+            currentLocation = location;
+            debuggerCallback.onEvent(new SuspendEventImpl(location));
+        }
+    }
+
+    private void onAsyncRecord(MiRecord record) {
+        if (record.getType() != MiRecord.Type.NOTIFY_ASYNC) {
+            return;
+        }
+
+        switch (record.getClassName()) {
+            case "breakpoint-created":
+            case "breakpoint-modified": {
+                // pending breakpoint is activated when the code it points to is loaded
+                Map<String, Object> bkpt = record.getTuple("bkpt");
+                String number = asString(bkpt.get("number"));
+                Location location = toLocation(bkpt);
+                if (number != null && location != null && activatedBreakpoints.add(number)) {
+                    debuggerCallback.onEvent(new BreakpointActivatedEventImpl(new BreakpointImpl(location)));
+                }
+                break;
+            }
+            case "breakpoint-deleted":
+                activatedBreakpoints.remove(record.getString("id"));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns location of the frame or breakpoint, {@code null} if there is no source for it.
+     */
+    @Nullable
+    private static Location toLocation(Map<String, Object> frame) {
+        String target = asString(frame.get("file"));
+        String line = asString(frame.get("line"));
+        if (target == null || line == null) {
+            return null;
+        }
+        return new LocationImpl(target, Integer.parseInt(line));
+    }
+
+    /**
+     * Merges variables with types and variables with values, both lists are in the same order.
+     */
+    private static StackFrameDump toStackFrameDump(MiRecord types, MiRecord values) {
+        List<Object> typedVariables = types.getList("variables");
+        List<Object> valuedVariables = values.getList("variables");
+
+        Map<String, Variable> variables = new LinkedHashMap<>();
+        for (int i = 0; i < valuedVariables.size(); i++) {
+            Map<String, Object> valued = asTuple(valuedVariables.get(i));
+            String varName = asString(valued.get("name"));
+            String varValue = asString(valued.get("value"));
+            String varType = i < typedVariables.size() ? asString(asTuple(typedVariables.get(i)).get("type")) : null;
+            if (varName == null) {
+                continue;
+            }
+
+            VariablePath variablePath = new VariablePathImpl(singletonList(varName));
+            variables.put(varName, new VariableImpl(varType != null ? varType : "",
+                                                    varName,
+                                                    varValue,
+                                                    true,
+                                                    variablePath,
+                                                    Collections.emptyList(),
+                                                    true));
+        }
+
+        return new StackFrameDumpImpl(Collections.emptyList(), new ArrayList<>(variables.values()));
+    }
 }
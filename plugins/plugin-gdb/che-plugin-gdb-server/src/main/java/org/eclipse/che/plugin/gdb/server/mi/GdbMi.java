@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.eclipse.che.plugin.gdb.server.exception.GdbException;
+import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous client of GDB which talks to it with GDB/MI ({@code --interpreter=mi2}).
+ * <p/>
+ * Each command is sent with the unique token and the future of the command is completed when GDB
+ * responds with the result record with the same token, so the commands may be sent without waiting
+ * for the results of the previous ones. GDB runs program synchronously, i.e. it doesn't read the next
+ * command until the program stops, that allows to send execution command together with the commands
+ * which inspect the stopped program, e.g. {@code step} and {@code list variables}, in a single write.
+ * <p/>
+ * Output is read by the dedicated thread which blocks on the output of GDB. Async records, e.g.
+ * {@code *stopped} and {@code =breakpoint-modified}, are delivered to the listeners by this thread,
+ * so listeners must not wait for results of the commands.
+ */
+public class GdbMi {
+    private static final Logger LOG = LoggerFactory.getLogger(GdbMi.class);
+
+    private static final String[] COMMAND = {"gdb", "--interpreter=mi2", "-q"};
+
+    private final Process                                   process;
+    private final Writer                                    writer;
+    private final Map<Integer, CompletableFuture<MiRecord>> pending;
+    private final Deque<CompletableFuture<MiRecord>>        stopWaiters;
+    private final List<Consumer<MiRecord>>                  listeners;
+    private final StringBuilder                             console;
+    private final Thread                                    outputReader;
+
+    private int     nextToken;
+    private boolean terminated;
+
+    @VisibleForTesting
+    GdbMi(Process process) {
+        this.process = process;
+        this.writer = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        this.pending = new ConcurrentHashMap<>();
+        this.stopWaiters = new ArrayDeque<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.console = new StringBuilder();
+        this.nextToken = 1;
+
+        outputReader = new Thread(this::readOutput, "gdb mi output reader");
+        outputReader.setDaemon(true);
+        outputReader.start();
+    }
+
+    /**
+     * Starts GDB.
+     */
+    public static GdbMi start() throws IOException {
+        return new GdbMi(new ProcessBuilder(COMMAND).redirectErrorStream(true).start());
+    }
+
+    /**
+     * Waits for the result of the command.
+     *
+     * @throws GdbException
+     *         if command fails or GDB is terminated
+     */
+    public static MiRecord await(CompletableFuture<MiRecord> result) throws GdbException, InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof GdbException) {
+                throw (GdbException)cause;
+            }
+            throw new GdbException(cause.getMessage(), e);
+        }
+    }
+
+    /**
+     * Quotes parameter of the command as C string.
+     */
+    public static String quote(String parameter) {
+        final StringBuilder quoted = new StringBuilder(parameter.length() + 2).append('"');
+        for (char c : parameter.toCharArray()) {
+            switch (c) {
+                case '"':
+                case '\\':
+                    quoted.append('\\').append(c);
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                default:
+                    quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Adds listener of the async records, e.g. {@code *stopped} or {@code =breakpoint-modified}.
+     */
+    public void addAsyncListener(Consumer<MiRecord> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sends command to GDB.
+     *
+     * @return future which is completed with the result record of the command, or completed exceptionally
+     *         with {@link GdbException} if GDB responds with {@code ^error} or with {@link GdbTerminatedException}
+     *         if GDB is terminated before it responds
+     */
+    public CompletableFuture<MiRecord> send(String command) {
+        return sendAll(command).get(0);
+    }
+
+    /**
+     * Sends commands to GDB in a single write, so GDB executes them one by one without waiting
+     * for the client to receive results of the previous commands.
+     *
+     * @return futures of the results of the commands in the same order
+     * @see #send(String)
+     */
+    public List<CompletableFuture<MiRecord>> sendAll(String... commands) {
+        return write(null, commands);
+    }
+
+    /**
+     * Sends execution command, e.g. {@code -exec-step}, followed by the commands which are executed
+     * after program stops.
+     *
+     * @return future which is completed with the {@code *stopped} record when program stops
+     *         followed by the futures of the results of the {@code then} commands
+     */
+    public List<CompletableFuture<MiRecord>> execute(String command, String... then) {
+        final String[] commands = new String[then.length + 1];
+        commands[0] = command;
+        System.arraycopy(then, 0, commands, 1, then.length);
+
+        final CompletableFuture<MiRecord> stopped = new CompletableFuture<>();
+        final List<CompletableFuture<MiRecord>> results = write(stopped, commands);
+        // program doesn't run if execution command fails
+        results.get(0).whenComplete((result, error) -> {
+            if (error != null) {
+                synchronized (this) {
+                    stopWaiters.remove(stopped);
+                }
+                stopped.completeExceptionally(error);
+            }
+        });
+        results.set(0, stopped);
+        return results;
+    }
+
+    /**
+     * Stops GDB.
+     */
+    public void stop() {
+        outputReader.interrupt();
+        process.destroyForcibly();
+        terminate("GDB has been stopped");
+    }
+
+    public boolean isTerminated() {
+        synchronized (this) {
+            return terminated;
+        }
+    }
+
+    private synchronized List<CompletableFuture<MiRecord>> write(CompletableFuture<MiRecord> stopWaiter, String... commands) {
+        final List<CompletableFuture<MiRecord>> results = new ArrayList<>(commands.length);
+        if (terminated) {
+            for (int i = 0; i < commands.length; i++) {
+                final CompletableFuture<MiRecord> result = new CompletableFuture<>();
+                result.completeExceptionally(new GdbTerminatedException("GDB has been terminated"));
+                results.add(result);
+            }
+            if (stopWaiter != null) {
+                stopWaiter.completeExceptionally(new GdbTerminatedException("GDB has been terminated"));
+            }
+            return results;
+        }
+
+        final StringBuilder data = new StringBuilder();
+        for (String command : commands) {
+            final int token = nextToken++;
+            final CompletableFuture<MiRecord> result = new CompletableFuture<>();
+            pending.put(token, result);
+            results.add(result);
+            data.append(token).append(command).append('\n');
+        }
+        if (stopWaiter != null) {
+            stopWaiters.add(stopWaiter);
+        }
+
+        LOG.debug(data.toString());
+        try {
+            writer.write(data.toString());
+            writer.flush();
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+            terminate("GDB has been terminated: " + e.getMessage());
+        }
+        return results;
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOG.debug(line);
+                if (!line.isEmpty()) {
+                    handle(line);
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug(e.getMessage(), e);
+        }
+        terminate("GDB has been terminated with output: " + console);
+    }
+
+    private void handle(String line) {
+        final MiRecord record;
+        try {
+            record = MiParser.parse(line);
+        } catch (GdbParseException e) {
+            // stderr of GDB and output of the program which shares terminal with GDB
+            LOG.debug(e.getMessage());
+            return;
+        }
+
+        switch (record.getType()) {
+            case RESULT:
+                onResult(record);
+                break;
+            case CONSOLE_STREAM:
+                console.append(record.getText());
+                break;
+            case EXEC_ASYNC:
+                if ("stopped".equals(record.getClassName())) {
+                    onStopped(record);
+                }
+                notifyListeners(record);
+                break;
+            case STATUS_ASYNC:
+            case NOTIFY_ASYNC:
+                notifyListeners(record);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onResult(MiRecord record) {
+        final MiRecord result = record.withText(console.toString());
+        console.setLength(0);
+
+        final CompletableFuture<MiRecord> future = record.getToken() == null ? null : pending.remove(record.getToken());
+        if (future == null) {
+            LOG.debug("Result without command: " + record);
+        } else if (result.isError()) {
+            future.completeExceptionally(new GdbException(result.getString("msg")));
+        } else {
+            future.complete(result);
+        }
+    }
+
+    private void onStopped(MiRecord record) {
+        final CompletableFuture<MiRecord> stopWaiter;
+        synchronized (this) {
+            stopWaiter = stopWaiters.poll();
+        }
+        if (stopWaiter != null) {
+            stopWaiter.complete(record);
+        }
+    }
+
+    private void notifyListeners(MiRecord record) {
+        for (Consumer<MiRecord> listener : listeners) {
+            try {
+                listener.accept(record);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void terminate(String message) {
+        final List<CompletableFuture<MiRecord>> waiting = new ArrayList<>();
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            waiting.addAll(pending.values());
+            waiting.addAll(stopWaiters);
+            pending.clear();
+            stopWaiters.clear();
+        }
+        waiting.forEach(future -> future.completeExceptionally(new GdbTerminatedException(message)));
+    }
+}
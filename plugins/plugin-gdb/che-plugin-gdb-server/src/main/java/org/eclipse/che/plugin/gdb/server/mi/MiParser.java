@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+import org.eclipse.che.plugin.gdb.server.mi.MiRecord.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser of the GDB/MI output lines.
+ *
+ * @see <a href="https://sourceware.org/gdb/onlinedocs/gdb/GDB_002fMI-Output-Syntax.html">GDB/MI Output Syntax</a>
+ */
+public class MiParser {
+    private static final String PROMPT = "(gdb)";
+
+    private final String line;
+    private int          pos;
+
+    private MiParser(String line) {
+        this.line = line;
+    }
+
+    /**
+     * Factory method.
+     */
+    public static MiRecord parse(String line) throws GdbParseException {
+        if (line.trim().equals(PROMPT)) {
+            return new MiRecord(Type.PROMPT, null, null, Collections.emptyMap(), null);
+        }
+
+        try {
+            return new MiParser(line).parseRecord();
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+
+    private MiRecord parseRecord() throws GdbParseException {
+        int tokenEnd = pos;
+        while (Character.isDigit(line.charAt(tokenEnd))) {
+            tokenEnd++;
+        }
+        final Integer token = tokenEnd > pos ? Integer.valueOf(line.substring(pos, tokenEnd)) : null;
+        pos = tokenEnd;
+
+        final char prefix = line.charAt(pos++);
+        switch (prefix) {
+            case '^':
+                return parseResultRecord(Type.RESULT, token);
+            case '*':
+                return parseResultRecord(Type.EXEC_ASYNC, token);
+            case '+':
+                return parseResultRecord(Type.STATUS_ASYNC, token);
+            case '=':
+                return parseResultRecord(Type.NOTIFY_ASYNC, token);
+            case '~':
+                return parseStreamRecord(Type.CONSOLE_STREAM);
+            case '@':
+                return parseStreamRecord(Type.TARGET_STREAM);
+            case '&':
+                return parseStreamRecord(Type.LOG_STREAM);
+            default:
+                throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+
+    private MiRecord parseResultRecord(Type type, Integer token) throws GdbParseException {
+        int classEnd = line.indexOf(',', pos);
+        if (classEnd == -1) {
+            classEnd = line.length();
+        }
+        final String className = line.substring(pos, classEnd).trim();
+        pos = classEnd;
+
+        final Map<String, Object> results = new LinkedHashMap<>();
+        while (pos < line.length() && line.charAt(pos) == ',') {
+            pos++;
+            final String name = parseName();
+            results.put(name, parseValue());
+        }
+        if (pos != line.trim().length()) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+        return new MiRecord(type, token, className, results, null);
+    }
+
+    private MiRecord parseStreamRecord(Type type) throws GdbParseException {
+        final String text = parseCString();
+        return new MiRecord(type, null, null, Collections.emptyMap(), text);
+    }
+
+    private String parseName() throws GdbParseException {
+        final int nameEnd = line.indexOf('=', pos);
+        if (nameEnd == -1) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+        final String name = line.substring(pos, nameEnd);
+        pos = nameEnd + 1;
+        return name;
+    }
+
+    private Object parseValue() throws GdbParseException {
+        switch (line.charAt(pos)) {
+            case '"':
+                return parseCString();
+            case '{':
+                return parseTuple();
+            case '[':
+                return parseList();
+            default:
+                throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+
+    private Map<String, Object> parseTuple() throws GdbParseException {
+        final Map<String, Object> tuple = new LinkedHashMap<>();
+        pos++;
+        while (line.charAt(pos) != '}') {
+            final String name = parseName();
+            tuple.put(name, parseValue());
+            skipComma();
+        }
+        pos++;
+        return tuple;
+    }
+
+    private List<Object> parseList() throws GdbParseException {
+        final List<Object> list = new ArrayList<>();
+        pos++;
+        while (line.charAt(pos) != ']') {
+            final char next = line.charAt(pos);
+            if (next != '"' && next != '{' && next != '[') {
+                // list of results, names are omitted
+                parseName();
+            }
+            list.add(parseValue());
+            skipComma();
+        }
+        pos++;
+        return list;
+    }
+
+    private void skipComma() {
+        if (line.charAt(pos) == ',') {
+            pos++;
+        }
+    }
+
+    private String parseCString() throws GdbParseException {
+        if (line.charAt(pos) != '"') {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+        pos++;
+
+        final StringBuilder text = new StringBuilder();
+        char c;
+        while ((c = line.charAt(pos++)) != '"') {
+            if (c != '\\') {
+                text.append(c);
+                continue;
+            }
+            c = line.charAt(pos++);
+            switch (c) {
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 'e':
+                    text.append('\u001b');
+                    break;
+                default:
+                    if (c >= '0' && c <= '7') {
+                        int octalEnd = pos - 1;
+                        while (octalEnd < pos + 2 && line.charAt(octalEnd) >= '0' && line.charAt(octalEnd) <= '7') {
+                            octalEnd++;
+                        }
+                        text.append((char)Integer.parseInt(line.substring(pos - 1, octalEnd), 8));
+                        pos = octalEnd;
+                    } else {
+                        text.append(c);
+                    }
+            }
+        }
+        return text.toString();
+    }
+}
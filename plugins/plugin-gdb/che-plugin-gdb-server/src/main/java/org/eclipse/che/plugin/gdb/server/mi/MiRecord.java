@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record of the GDB/MI output, one record corresponds to one line of the output.
+ * <p/>
+ * Values of the results are represented by {@link String} for constants, by {@link Map} for tuples
+ * and by {@link List} for lists. Names of the results which are elements of lists are omitted,
+ * e.g. {@code stack=[frame={...},frame={...}]} is represented by the list of tuples.
+ */
+public class MiRecord {
+
+    public enum Type {
+        /** {@code ^done}, {@code ^running}, {@code ^connected}, {@code ^error} or {@code ^exit} result of the command. */
+        RESULT,
+        /** {@code *stopped} or {@code *running} change of the execution state. */
+        EXEC_ASYNC,
+        /** {@code +download} progress of the long operation. */
+        STATUS_ASYNC,
+        /** {@code =breakpoint-modified}, {@code =thread-created} and other notifications. */
+        NOTIFY_ASYNC,
+        /** {@code ~"..."} output of the CLI commands. */
+        CONSOLE_STREAM,
+        /** {@code @"..."} output of the program. */
+        TARGET_STREAM,
+        /** {@code &"..."} internal messages of GDB. */
+        LOG_STREAM,
+        /** {@code (gdb)} prompt which terminates output of the command. */
+        PROMPT
+    }
+
+    private final Type                type;
+    private final Integer             token;
+    private final String              className;
+    private final Map<String, Object> results;
+    private final String              text;
+
+    MiRecord(Type type, @Nullable Integer token, @Nullable String className, Map<String, Object> results, @Nullable String text) {
+        this.type = type;
+        this.token = token;
+        this.className = className;
+        this.results = results;
+        this.text = text;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /** Returns token of the command this record is result of, {@code null} if record is not correlated with command. */
+    @Nullable
+    public Integer getToken() {
+        return token;
+    }
+
+    /** Returns class of the result or async record, e.g. {@code done} or {@code stopped}. */
+    @Nullable
+    public String getClassName() {
+        return className;
+    }
+
+    public Map<String, Object> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns text of the stream record. For result records returns output of the console stream
+     * which preceded the result, as CLI commands print their output to the console stream.
+     */
+    @Nullable
+    public String getText() {
+        return text;
+    }
+
+    public boolean isError() {
+        return type == Type.RESULT && "error".equals(className);
+    }
+
+    @Nullable
+    public String getString(String name) {
+        return asString(results.get(name));
+    }
+
+    public Map<String, Object> getTuple(String name) {
+        return asTuple(results.get(name));
+    }
+
+    public List<Object> getList(String name) {
+        return asList(results.get(name));
+    }
+
+    /** Returns copy of the result record with the given console output. */
+    MiRecord withText(String text) {
+        return new MiRecord(type, token, className, results, text);
+    }
+
+    @Nullable
+    public static String asString(@Nullable Object value) {
+        return value instanceof String ? (String)value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> asTuple(@Nullable Object value) {
+        return value instanceof Map ? (Map<String, Object>)value : Collections.emptyMap();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> asList(@Nullable Object value) {
+        return value instanceof List ? (List<Object>)value : Collections.emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "MiRecord{" +
+               "type=" + type +
+               ", token=" + token +
+               ", className='" + className + '\'' +
+               ", results=" + results +
+               ", text='" + text + '\'' +
+               '}';
+    }
+}
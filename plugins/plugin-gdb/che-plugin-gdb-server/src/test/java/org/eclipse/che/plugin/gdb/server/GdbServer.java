@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.gdb.server;
 
-import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
-
 import java.io.IOException;
 
 /**
@@ -19,23 +17,29 @@ import java.io.IOException;
  *
  * @author Anatoliy Bazko
  */
-public class GdbServer extends GdbProcess {
+public class GdbServer {
+
+    private static final String PROCESS_NAME = "gdbserver";
 
-    private static final String PROCESS_NAME     = "gdbserver";
-    private static final String OUTPUT_SEPARATOR = "\n";
+    private final Process process;
 
-    private GdbServer(String host, int port, String file) throws IOException,
-                                                                 GdbParseException,
-                                                                 InterruptedException {
-        super(OUTPUT_SEPARATOR, PROCESS_NAME, host + ":" + port, file);
+    private GdbServer(String host, int port, String file) throws IOException {
+        process = new ProcessBuilder(PROCESS_NAME, host + ":" + port, file).redirectErrorStream(true)
+                                                                           .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                                                                           .start();
     }
 
     /**
      * Starts gdb server.
      */
-    public static GdbServer start(String host, int port, String file) throws InterruptedException,
-                                                                             GdbParseException,
-                                                                             IOException {
+    public static GdbServer start(String host, int port, String file) throws IOException {
         return new GdbServer(host, port, file);
     }
+
+    /**
+     * Stops gdb server.
+     */
+    public void stop() {
+        process.destroyForcibly();
+    }
 }
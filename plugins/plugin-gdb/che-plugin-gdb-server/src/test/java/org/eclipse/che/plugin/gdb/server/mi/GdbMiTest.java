@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.plugin.gdb.server.exception.GdbException;
+import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.plugin.gdb.server.mi.GdbMi.await;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link GdbMi} which talks to the fake GDB process.
+ */
+public class GdbMiTest {
+
+    private FakeProcess process;
+    private GdbMi       gdb;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        process = new FakeProcess();
+        gdb = new GdbMi(process);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        gdb.stop();
+    }
+
+    @Test
+    public void testCorrelatesResultsWithCommandsByToken() throws Exception {
+        List<CompletableFuture<MiRecord>> results = gdb.sendAll("-stack-list-variables --simple-values",
+                                                                "-data-evaluate-expression i");
+
+        assertEquals(process.readCommand(), "1-stack-list-variables --simple-values");
+        assertEquals(process.readCommand(), "2-data-evaluate-expression i");
+
+        process.respond("2^done,value=\"0\"");
+        process.respond("1^done,variables=[{name=\"i\",type=\"int\",value=\"0\"}]");
+
+        assertEquals(await(results.get(1)).getString("value"), "0");
+        assertEquals(await(results.get(0)).getList("variables").size(), 1);
+    }
+
+    @Test
+    public void testCompletesExecutionWhenProgramStops() throws Exception {
+        List<CompletableFuture<MiRecord>> results = gdb.execute("-exec-next", "-stack-list-variables --all-values");
+        process.readCommand();
+        process.readCommand();
+
+        process.respond("1^running");
+        process.respond("*running,thread-id=\"all\"");
+        assertFalse(results.get(0).isDone());
+
+        process.respond("*stopped,reason=\"end-stepping-range\",frame={file=\"h.cpp\",line=\"5\"}");
+        process.respond("2^done,variables=[]");
+
+        assertEquals(await(results.get(0)).getTuple("frame").get("line"), "5");
+        assertTrue(await(results.get(1)).getList("variables").isEmpty());
+    }
+
+    @Test
+    public void testAttachesConsoleOutputToResult() throws Exception {
+        CompletableFuture<MiRecord> result = gdb.send("-gdb-version");
+        process.readCommand();
+
+        process.respond("~\"GNU gdb (GDB) 7.11\\n\"");
+        process.respond("~\"Copyright (C) 2016\\n\"");
+        process.respond("1^done");
+
+        assertEquals(await(result).getText(), "GNU gdb (GDB) 7.11\nCopyright (C) 2016\n");
+    }
+
+    @Test
+    public void testDeliversNotificationsToListeners() throws Exception {
+        BlockingQueue<MiRecord> notifications = new LinkedBlockingQueue<>();
+        gdb.addAsyncListener(notifications::add);
+
+        process.respond("=breakpoint-modified,bkpt={number=\"1\",times=\"1\"}");
+
+        MiRecord notification = notifications.poll(5, TimeUnit.SECONDS);
+        assertEquals(notification.getClassName(), "breakpoint-modified");
+        assertEquals(notification.getTuple("bkpt").get("times"), "1");
+    }
+
+    @Test(expectedExceptions = GdbException.class, expectedExceptionsMessageRegExp = "No symbol \"j\" in current context.")
+    public void testFailsCommandWithError() throws Exception {
+        CompletableFuture<MiRecord> result = gdb.send("-data-evaluate-expression j");
+        process.readCommand();
+
+        process.respond("1^error,msg=\"No symbol \\\"j\\\" in current context.\"");
+
+        await(result);
+    }
+
+    @Test
+    public void testFailsPendingCommandsWhenGdbTerminates() throws Exception {
+        CompletableFuture<MiRecord> result = gdb.send("-exec-continue");
+        process.readCommand();
+
+        process.exit();
+
+        try {
+            await(result);
+            fail("GdbTerminatedException expected");
+        } catch (GdbTerminatedException e) {
+            assertTrue(gdb.isTerminated());
+        }
+    }
+
+    @Test
+    public void testQuotesParameters() throws Exception {
+        assertEquals(GdbMi.quote("a \"b\" \\c\n"), "\"a \\\"b\\\" \\\\c\\n\"");
+    }
+
+    private static class FakeProcess extends Process {
+        private final PipedInputStream  stdin;
+        private final BufferedReader    commands;
+        private final PipedOutputStream stdoutWriter;
+        private final PipedInputStream  stdout;
+        private final PrintStream       responses;
+
+        FakeProcess() throws IOException {
+            stdin = new PipedInputStream();
+            commands = new BufferedReader(new InputStreamReader(stdin, StandardCharsets.UTF_8));
+            stdoutWriter = new PipedOutputStream();
+            stdout = new PipedInputStream(stdoutWriter);
+            responses = new PrintStream(stdoutWriter, true, "UTF-8");
+        }
+
+        String readCommand() throws IOException {
+            return commands.readLine();
+        }
+
+        void respond(String line) {
+            responses.println(line);
+        }
+
+        void exit() {
+            responses.close();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            try {
+                return new PipedOutputStream(stdin);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return stdout;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return stdout;
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+            responses.close();
+        }
+    }
+}
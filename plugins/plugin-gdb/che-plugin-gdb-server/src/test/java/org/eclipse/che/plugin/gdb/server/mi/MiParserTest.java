@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.che.plugin.gdb.server.mi.MiRecord.asString;
+import static org.eclipse.che.plugin.gdb.server.mi.MiRecord.asTuple;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MiParser}.
+ */
+public class MiParserTest {
+
+    @Test
+    public void testParseResultRecord() throws Exception {
+        MiRecord record = MiParser.parse("12^done,bkpt={number=\"1\",type=\"breakpoint\",file=\"h.cpp\",line=\"7\",thread-groups=[\"i1\"]}");
+
+        assertEquals(record.getType(), MiRecord.Type.RESULT);
+        assertEquals(record.getToken(), Integer.valueOf(12));
+        assertEquals(record.getClassName(), "done");
+
+        Map<String, Object> bkpt = record.getTuple("bkpt");
+        assertEquals(bkpt.get("number"), "1");
+        assertEquals(bkpt.get("file"), "h.cpp");
+        assertEquals(bkpt.get("line"), "7");
+        assertEquals(MiRecord.asList(bkpt.get("thread-groups")).get(0), "i1");
+    }
+
+    @Test
+    public void testParseErrorRecord() throws Exception {
+        MiRecord record = MiParser.parse("3^error,msg=\"No symbol \\\"j\\\" in current context.\"");
+
+        assertTrue(record.isError());
+        assertEquals(record.getString("msg"), "No symbol \"j\" in current context.");
+    }
+
+    @Test
+    public void testParseExecAsyncRecord() throws Exception {
+        MiRecord record = MiParser.parse("*stopped,reason=\"breakpoint-hit\",disp=\"keep\",bkptno=\"1\"," +
+                                         "frame={addr=\"0x00000000004008ca\",func=\"main\",args=[],file=\"h.cpp\",line=\"7\"}," +
+                                         "thread-id=\"1\",stopped-threads=\"all\"");
+
+        assertEquals(record.getType(), MiRecord.Type.EXEC_ASYNC);
+        assertNull(record.getToken());
+        assertEquals(record.getClassName(), "stopped");
+        assertEquals(record.getString("reason"), "breakpoint-hit");
+        assertEquals(record.getTuple("frame").get("line"), "7");
+        assertTrue(MiRecord.asList(record.getTuple("frame").get("args")).isEmpty());
+    }
+
+    @Test
+    public void testParseListOfResults() throws Exception {
+        MiRecord record = MiParser.parse("5^done,BreakpointTable={nr_rows=\"2\",body=[bkpt={number=\"1\",line=\"7\"},bkpt={number=\"2\",line=\"8\"}]}");
+
+        List<Object> body = MiRecord.asList(record.getTuple("BreakpointTable").get("body"));
+        assertEquals(body.size(), 2);
+        assertEquals(asString(asTuple(body.get(1)).get("line")), "8");
+    }
+
+    @Test
+    public void testParseStreamRecord() throws Exception {
+        MiRecord record = MiParser.parse("~\"GNU gdb (GDB) 7.11\\n\"");
+
+        assertEquals(record.getType(), MiRecord.Type.CONSOLE_STREAM);
+        assertEquals(record.getText(), "GNU gdb (GDB) 7.11\n");
+    }
+
+    @Test
+    public void testParseOctalEscape() throws Exception {
+        MiRecord record = MiParser.parse("8^done,value=\"\\101\\t\\102\"");
+
+        assertEquals(record.getString("value"), "A\tB");
+    }
+
+    @Test
+    public void testParsePrompt() throws Exception {
+        assertEquals(MiParser.parse("(gdb) ").getType(), MiRecord.Type.PROMPT);
+    }
+
+    @Test(expectedExceptions = GdbParseException.class)
+    public void testParseNotMiOutput() throws Exception {
+        MiParser.parse("Hello, world!");
+    }
+}
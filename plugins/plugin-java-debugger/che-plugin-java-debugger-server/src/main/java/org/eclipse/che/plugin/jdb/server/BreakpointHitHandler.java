@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server;
+
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.StringReference;
+import com.sun.jdi.Value;
+
+import org.eclipse.che.api.debug.shared.model.Breakpoint;
+import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
+import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
+import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides whether hit of the breakpoint suspends the target VM. Condition and expressions of the log message
+ * are compiled once when breakpoint is added.
+ *
+ * <p>Breakpoints without condition and log message don't need the handler. Hit count of the breakpoints
+ * without condition is checked by the target VM itself.
+ */
+class BreakpointHitHandler {
+    private final ExpressionParser condition;
+    private final int              hitCount;
+    /** Parts of the log message, either strings or expressions. */
+    private final List<Object>     logMessage;
+
+    private int hits;
+
+    private BreakpointHitHandler(ExpressionParser condition, int hitCount, List<Object> logMessage) {
+        this.condition = condition;
+        this.hitCount = hitCount;
+        this.logMessage = logMessage;
+    }
+
+    /**
+     * Creates handler for the breakpoint or returns {@code null} if breakpoint has neither condition nor log message.
+     *
+     * @throws ExpressionException
+     *         if condition or expression of the log message is invalid
+     */
+    static BreakpointHitHandler create(Breakpoint breakpoint) {
+        final String expression = breakpoint.getCondition();
+        final String message = breakpoint.getLogMessage();
+        final boolean hasCondition = !(expression == null || expression.isEmpty());
+        if (!hasCondition && message == null) {
+            return null;
+        }
+        return new BreakpointHitHandler(hasCondition ? ExpressionParser.compile(expression) : null,
+                                        hasCondition ? breakpoint.getHitCount() : 0,
+                                        message == null ? null : parseMessage(message));
+    }
+
+    /** Hit count of the breakpoint without condition is checked by the target VM. */
+    boolean hasCondition() {
+        return condition != null;
+    }
+
+    /** Log point doesn't suspend the target VM, it logs the message when condition is true. */
+    boolean isLogPoint() {
+        return logMessage != null;
+    }
+
+    /** Returns {@code true} if condition is true and breakpoint is hit required number of times. */
+    boolean test(Evaluator evaluator) {
+        if (condition != null) {
+            final Value result = condition.evaluate(evaluator);
+            if (!(result instanceof BooleanValue && ((BooleanValue)result).value())) {
+                return false;
+            }
+        }
+        return hitCount <= 0 || ++hits == hitCount;
+    }
+
+    /** Returns log message with values of the expressions. */
+    String formatMessage(Evaluator evaluator) {
+        final StringBuilder message = new StringBuilder();
+        for (Object part : logMessage) {
+            if (part instanceof ExpressionParser) {
+                final Value value = ((ExpressionParser)part).evaluate(evaluator);
+                message.append(value instanceof StringReference ? ((StringReference)value).value() : String.valueOf(value));
+            } else {
+                message.append(part);
+            }
+        }
+        return message.toString();
+    }
+
+    /** Splits message into text and expressions enclosed in curly braces. */
+    private static List<Object> parseMessage(String message) {
+        final List<Object> parts = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = message.indexOf('{', start)) >= 0) {
+            final int close = message.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            if (open > start) {
+                parts.add(message.substring(start, open));
+            }
+            parts.add(ExpressionParser.compile(message.substring(open + 1, close)));
+            start = close + 1;
+        }
+        if (start < message.length()) {
+            parts.add(message.substring(start));
+        }
+        return parts;
+    }
+}
@@ -93,6 +93,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
     private static final Logger            LOG          = LoggerFactory.getLogger(JavaDebugger.class);
     private static final JavaDebuggerUtils debuggerUtil = new JavaDebuggerUtils();
 
+    private static final String HIT_HANDLER_PROPERTY = "org.eclipse.che.ide.java.debug.breakpoint.hit.handler";
+
     private final String           host;
     private final int              port;
     private final DebuggerCallback debuggerCallback;
@@ -247,14 +249,23 @@ public class JavaDebugger implements EventsHandler, Debugger {
         }
 
         try {
-            EventRequest breakPointRequest = requestManager.createBreakpointRequest(location);
-            breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
-            String expression = breakpoint.getCondition();
-            if (!(expression == null || expression.isEmpty())) {
-                ExpressionParser parser = ExpressionParser.newInstance(expression);
-                breakPointRequest.putProperty("org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+            BreakpointRequest breakPointRequest = requestManager.createBreakpointRequest(location);
+            BreakpointHitHandler hitHandler = BreakpointHitHandler.create(breakpoint);
+            if (hitHandler != null) {
+                // Only thread which hit breakpoint is suspended while condition is evaluated,
+                // the whole target JVM is suspended when condition is true.
+                breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_EVENT_THREAD);
+                breakPointRequest.putProperty(HIT_HANDLER_PROPERTY, hitHandler);
+            } else {
+                breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
+            }
+            if (breakpoint.getHitCount() > 0 && (hitHandler == null || !hitHandler.hasCondition())) {
+                // target JVM reports only the hit with specified number
+                breakPointRequest.addCountFilter(breakpoint.getHitCount());
             }
             breakPointRequest.setEnabled(true);
+        } catch (ExpressionException e) {
+            throw new DebuggerException("Invalid breakpoint condition. " + e.getMessage(), e);
         } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
             throw new DebuggerException(e.getMessage(), e);
         }
@@ -373,7 +384,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
                                                            .withIsVolatile(f.isVolatile())
                                                            .withName(f.getName())
                                                            .withExistInformation(existInformation)
-                                                           .withValue(f.getValue().getAsString())
+                                                           .withValue(f.getValue().getSummary())
                                                            .withType(f.getTypeName())
                                                            .withVariablePath(newDto(VariablePathDto.class).withPath(variablePath))
                                                            .withPrimitive(f.isPrimitive()));
@@ -381,7 +392,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
             for (JdiLocalVariable var : variables) {
                 dump.getVariables().add(newDto(VariableDto.class).withName(var.getName())
                                                                  .withExistInformation(existInformation)
-                                                                 .withValue(var.getValue().getAsString())
+                                                                 .withValue(var.getValue().getSummary())
                                                                  .withType(var.getTypeName())
                                                                  .withVariablePath(
                                                                          newDto(VariablePathDto.class)
@@ -431,6 +442,9 @@ public class JavaDebugger implements EventsHandler, Debugger {
      * <li>Through field <i>a</i> in class <i>B</i>: ['this', 'a', 'str']</li>
      * <li>Through local variable <i>var</i> in method <i>B.method()</i>: ['var', 'str']</li>
      * </ol>
+     * Elements of the long arrays are grouped into slices, e.g. element <i>[150]</i> of array <i>arr</i> has path
+     * ['arr', '[100..199]', '[150]']. Values of children are returned in short form, full value of the variable
+     * is returned only for the variable itself. Values are read on demand and cached until target JVM is resumed.
      *
      * @param variablePath
      *         path to variable
@@ -477,7 +491,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
                 JdiField f = (JdiField)ch;
                 variables.add(new FieldImpl(f.getName(),
                                             true,
-                                            f.getValue().getAsString(),
+                                            f.getValue().getSummary(),
                                             f.getTypeName(),
                                             f.isPrimitive(),
                                             Collections.<Variable>emptyList(),
@@ -487,10 +501,10 @@ public class JavaDebugger implements EventsHandler, Debugger {
                                             f.isTransient(),
                                             f.isVolatile()));
             } else {
-                // Array element.
+                // Array element or slice of the long array.
                 variables.add(new VariableImpl(ch.getTypeName(),
                                                ch.getName(),
-                                               ch.getValue().getAsString(),
+                                               ch.getValue().getSummary(),
                                                ch.isPrimitive(),
                                                chPath,
                                                Collections.emptyList(),
@@ -504,7 +518,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
     public void setValue(Variable variable) throws DebuggerException {
         StringBuilder expression = new StringBuilder();
         for (String s : variable.getVariablePath().getPath()) {
-            if ("static".equals(s)) {
+            if ("static".equals(s) || (s.startsWith("[") && s.contains(".."))) {
+                // slice of array isn't a part of expression
                 continue;
             }
             // Here we need !s.startsWith("[") condition because
@@ -555,27 +570,37 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     private boolean processBreakPointEvent(com.sun.jdi.event.BreakpointEvent event) throws DebuggerException {
         setCurrentThread(event.thread());
-        boolean hitBreakpoint;
-        ExpressionParser parser =
-                (ExpressionParser)event.request().getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
-        if (parser != null) {
-            com.sun.jdi.Value result = evaluate(parser);
-            hitBreakpoint = result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue)result).value();
-        } else {
-            // If there is no expression.
-            hitBreakpoint = true;
+        BreakpointHitHandler hitHandler = (BreakpointHitHandler)event.request().getProperty(HIT_HANDLER_PROPERTY);
+        if (hitHandler != null) {
+            boolean hitBreakpoint;
+            try {
+                Evaluator evaluator = new Evaluator(vm, getCurrentThread());
+                hitBreakpoint = hitHandler.test(evaluator);
+                if (hitBreakpoint && hitHandler.isLogPoint()) {
+                    LOG.info("Log point at {}: {}", event.location(), hitHandler.formatMessage(evaluator));
+                    hitBreakpoint = false;
+                }
+            } catch (ExpressionException e) {
+                throw new DebuggerException(e.getMessage());
+            } finally {
+                // Evaluation of expression may update state of frame.
+                resetCurrentFrame();
+            }
+            if (!hitBreakpoint) {
+                return true;
+            }
+            // Only thread which hit breakpoint is suspended by the event, suspend all the others as well.
+            vm.suspend();
+            event.thread().resume();
         }
 
-        if (hitBreakpoint) {
-            com.sun.jdi.Location jdiLocation = event.location();
+        com.sun.jdi.Location jdiLocation = event.location();
 
-            Location location = debuggerUtil.getLocation(jdiLocation);
-            debuggerCallback.onEvent(new SuspendEventImpl(location));
-        }
+        Location location = debuggerUtil.getLocation(jdiLocation);
+        debuggerCallback.onEvent(new SuspendEventImpl(location));
 
-        // Left target JVM in suspended state if result of evaluation of expression is boolean value and true
-        // or if condition expression is not set.
-        return !hitBreakpoint;
+        // Left target JVM in suspended state if condition of the breakpoint is true or if condition is not set.
+        return false;
     }
 
     private boolean processStepEvent(com.sun.jdi.event.StepEvent event) throws DebuggerException {
@@ -20,6 +20,8 @@ public class JdiArrayElementImpl implements JdiArrayElement {
     private final Value  value;
     private final String name;
 
+    private JdiValue jdiValue;
+
     public JdiArrayElementImpl(int index, Value value) {
         this.index = index;
         this.value = value;
@@ -48,10 +50,10 @@ public class JdiArrayElementImpl implements JdiArrayElement {
 
     @Override
     public JdiValue getValue() {
-        if (value == null) {
-            return new JdiNullValue();
+        if (jdiValue == null) {
+            jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
         }
-        return new JdiValueImpl(value);
+        return jdiValue;
     }
 
     @Override
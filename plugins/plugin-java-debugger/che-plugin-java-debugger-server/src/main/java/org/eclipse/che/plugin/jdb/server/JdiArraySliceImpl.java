@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Value;
+
+import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
+
+import java.util.List;
+
+/**
+ * Slice of the long array with name in form <i>[from..to]</i>. Elements of the slice are read from the target VM
+ * with single request when they are requested for the first time.
+ */
+public class JdiArraySliceImpl implements JdiVariable {
+    private final ArrayReference array;
+    private final int            from;
+    private final int            to;
+    private final String         name;
+
+    private JdiValue value;
+
+    public JdiArraySliceImpl(ArrayReference array, int from, int to) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.name = "[" + from + ".." + to + "]";
+    }
+
+    /** Reads elements of the array from {@code from} to {@code to} inclusive. */
+    static JdiVariable[] getElements(ArrayReference array, int from, int to) {
+        final int length = to - from + 1;
+        if (length <= 0) {
+            return new JdiVariable[0];
+        }
+        final List<Value> values = array.getValues(from, length);
+        final JdiVariable[] elements = new JdiVariable[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = new JdiArrayElementImpl(from + i, values.get(i));
+        }
+        return elements;
+    }
+
+    /**
+     * Returns element <i>[i]</i> or slice <i>[from..to]</i> of the array if it is within given bounds,
+     * otherwise returns {@code null}.
+     */
+    static JdiVariable getVariableByName(ArrayReference array, int from, int to, String name) {
+        if (!(name.startsWith("[") && name.endsWith("]"))) {
+            return null;
+        }
+        final String range = name.substring(1, name.length() - 1);
+        final int separator = range.indexOf("..");
+        try {
+            if (separator < 0) {
+                final int index = Integer.parseInt(range);
+                return index < from || index > to ? null : new JdiArrayElementImpl(index, array.getValue(index));
+            }
+            final int sliceFrom = Integer.parseInt(range.substring(0, separator));
+            final int sliceTo = Integer.parseInt(range.substring(separator + 2));
+            return sliceFrom < from || sliceTo > to || sliceFrom > sliceTo ? null : new JdiArraySliceImpl(array, sliceFrom, sliceTo);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isArray() {
+        return true;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return false;
+    }
+
+    @Override
+    public JdiValue getValue() {
+        if (value == null) {
+            value = new SliceValue();
+        }
+        return value;
+    }
+
+    @Override
+    public String getTypeName() {
+        return array.type().name();
+    }
+
+    private class SliceValue implements JdiValue {
+        private JdiVariable[] elements;
+
+        @Override
+        public String getAsString() {
+            return name;
+        }
+
+        @Override
+        public String getSummary() {
+            return name;
+        }
+
+        @Override
+        public JdiVariable[] getVariables() {
+            if (elements == null) {
+                elements = getElements(array, from, to);
+            }
+            return elements;
+        }
+
+        @Override
+        public JdiVariable getVariableByName(String name) throws DebuggerException {
+            if (elements != null) {
+                for (JdiVariable element : elements) {
+                    if (name.equals(element.getName())) {
+                        return element;
+                    }
+                }
+                return null;
+            }
+            return JdiArraySliceImpl.getVariableByName(array, from, to, name);
+        }
+    }
+}
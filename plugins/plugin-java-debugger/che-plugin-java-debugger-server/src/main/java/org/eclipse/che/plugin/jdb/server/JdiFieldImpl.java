@@ -23,6 +23,8 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
     private final ReferenceType   type;
     private final ObjectReference object;
 
+    private JdiValue jdiValue;
+
     public JdiFieldImpl(Field field, ObjectReference object) {
         this.field = field;
         this.object = object;
@@ -35,6 +37,18 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
         this.object = null;
     }
 
+    /** Creates field with value which is already read from the target VM, e.g. together with values of other fields. */
+    public JdiFieldImpl(Field field, ObjectReference object, Value value) {
+        this(field, object);
+        this.jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
+    }
+
+    /** Creates static field with value which is already read from the target VM. */
+    public JdiFieldImpl(Field field, ReferenceType type, Value value) {
+        this(field, type);
+        this.jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
+    }
+
     @Override
     public String getName() {
         return field.name();
@@ -72,11 +86,11 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
 
     @Override
     public JdiValue getValue() {
-        Value value = object == null ? type.getValue(field) : object.getValue(field);
-        if (value == null) {
-            return new JdiNullValue();
+        if (jdiValue == null) {
+            Value value = object == null ? type.getValue(field) : object.getValue(field);
+            jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
         }
-        return new JdiValueImpl(value);
+        return jdiValue;
     }
 
     @Override
@@ -21,11 +21,19 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
     private final LocalVariable variable;
     private final StackFrame    stackFrame;
 
+    private JdiValue jdiValue;
+
     public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable) {
         this.stackFrame = stackFrame;
         this.variable = variable;
     }
 
+    /** Creates variable with value which is already read from the target VM, e.g. together with values of other variables. */
+    public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable, Value value) {
+        this(stackFrame, variable);
+        this.jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
+    }
+
     @Override
     public String getName() {
         return variable.name();
@@ -43,11 +51,11 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
 
     @Override
     public JdiValue getValue() {
-        Value value = stackFrame.getValue(variable);
-        if (value == null) {
-            return new JdiNullValue();
+        if (jdiValue == null) {
+            Value value = stackFrame.getValue(variable);
+            jdiValue = value == null ? new JdiNullValue() : new JdiValueImpl(value);
         }
-        return new JdiValueImpl(value);
+        return jdiValue;
     }
 
     @Override
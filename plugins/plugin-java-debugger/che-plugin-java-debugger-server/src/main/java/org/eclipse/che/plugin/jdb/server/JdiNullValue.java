@@ -19,6 +19,11 @@ public final class JdiNullValue implements JdiValue {
         return "null";
     }
 
+    @Override
+    public String getSummary() throws DebuggerException {
+        return "null";
+    }
+
     @Override
     public JdiVariable[] getVariables() throws DebuggerException {
         return new JdiVariable[0];
@@ -27,11 +27,22 @@ public interface JdiValue {
      */
     String getAsString() throws DebuggerException;
 
+    /**
+     * Get short String representation of value, which is cheap to get and to transfer. Long strings are truncated,
+     * full value may be got with {@link #getAsString()}.
+     *
+     * @return short value in String representation
+     * @throws DebuggerException
+     *         if an error occurs
+     */
+    String getSummary() throws DebuggerException;
+
     /**
      * Get nested variables.
      *
      * @return nested variables. This method always returns empty array for primitive type since primitive type has not
-     *         any fields. If value represents array this method returns array members
+     *         any fields. If value represents array this method returns array members, or slices of array members
+     *         if array is too long
      * @throws DebuggerException
      *         if an error occurs
      */
@@ -42,7 +53,7 @@ public interface JdiValue {
      *
      * @param name
      *         name of variable. Typically it is name of field. If this value represents array then name should be in form:
-     *         <i>[i]</i>, where <i>i</i> is index of element
+     *         <i>[i]</i>, where <i>i</i> is index of element, or <i>[from..to]</i> for slice of array
      * @return nested variable with specified name or <code>null</code> if there is no such variable
      * @throws DebuggerException
      *         if an error occurs
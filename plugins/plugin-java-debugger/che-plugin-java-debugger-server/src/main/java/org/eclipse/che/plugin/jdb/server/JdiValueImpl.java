@@ -15,15 +15,22 @@ import com.sun.jdi.Field;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
 import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StringReference;
 import com.sun.jdi.Value;
 
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /** @author andrew00x */
 public class JdiValueImpl implements JdiValue {
+    /** Max length of the string in summary of value. */
+    static final int MAX_SUMMARY_LENGTH = 256;
+    /** Arrays which are longer are split into slices of this size. */
+    static final int ARRAY_PAGE_SIZE    = 100;
+
     private final Value         value;
     private       JdiVariable[] variables;
 
@@ -39,6 +46,15 @@ public class JdiValueImpl implements JdiValue {
         return value.toString();
     }
 
+    @Override
+    public String getSummary() {
+        final String summary = value.toString();
+        if (value instanceof StringReference && summary.length() > MAX_SUMMARY_LENGTH) {
+            return summary.substring(0, MAX_SUMMARY_LENGTH) + "...\"";
+        }
+        return summary;
+    }
+
     @Override
     public JdiVariable[] getVariables() {
         if (variables == null) {
@@ -48,18 +64,26 @@ public class JdiValueImpl implements JdiValue {
                 if (isArray()) {
                     ArrayReference array = (ArrayReference)value;
                     int length = array.length();
-                    variables = new JdiVariable[length];
-                    for (int i = 0; i < length; i++) {
-                        variables[i] = new JdiArrayElementImpl(i, array.getValue(i));
+                    if (length <= ARRAY_PAGE_SIZE) {
+                        variables = JdiArraySliceImpl.getElements(array, 0, length - 1);
+                    } else {
+                        // elements of the long array are read by slices on demand
+                        variables = new JdiVariable[(length + ARRAY_PAGE_SIZE - 1) / ARRAY_PAGE_SIZE];
+                        for (int i = 0; i < variables.length; i++) {
+                            int from = i * ARRAY_PAGE_SIZE;
+                            variables[i] = new JdiArraySliceImpl(array, from, Math.min(length, from + ARRAY_PAGE_SIZE) - 1);
+                        }
                     }
                 } else {
                     ObjectReference object = (ObjectReference)value;
                     ReferenceType type = object.referenceType();
                     List<Field> fields = type.allFields();
+                    // values of all the fields are read with single request to the target VM
+                    Map<Field, Value> values = object.getValues(fields);
                     variables = new JdiVariable[fields.size()];
                     int i = 0;
                     for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
+                        variables[i++] = new JdiFieldImpl(f, object, values.get(f));
                     }
                     // See JdiFieldImpl#compareTo(JdiFieldImpl).
                     Arrays.sort(variables);
@@ -74,11 +98,21 @@ public class JdiValueImpl implements JdiValue {
         if (name == null) {
             throw new IllegalArgumentException("Variable name may not be null. ");
         }
+        if (isArray() && variables == null) {
+            // element or slice is got without reading of the whole array
+            ArrayReference array = (ArrayReference)value;
+            return JdiArraySliceImpl.getVariableByName(array, 0, array.length() - 1, name);
+        }
         for (JdiVariable variable : getVariables()) {
             if (name.equals(variable.getName())) {
                 return variable;
             }
         }
+        if (isArray()) {
+            // element of the long array which is split into slices
+            ArrayReference array = (ArrayReference)value;
+            return JdiArraySliceImpl.getVariableByName(array, 0, array.length() - 1, name);
+        }
         return null;
     }
 
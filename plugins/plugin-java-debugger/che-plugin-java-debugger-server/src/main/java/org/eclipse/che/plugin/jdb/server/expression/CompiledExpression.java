@@ -0,0 +1,611 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.ClassNotLoadedException;
+import com.sun.jdi.ClassNotPreparedException;
+import com.sun.jdi.Field;
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.InvalidStackFrameException;
+import com.sun.jdi.InvalidTypeException;
+import com.sun.jdi.InvocationException;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.NativeMethodException;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.Value;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CommonTokenStream;
+import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expression which is parsed and compiled once into the tree of evaluation nodes, so it can be evaluated many
+ * times without parsing, e.g. as condition of the breakpoint.
+ *
+ * <p>Comparing to {@link ANTLRExpressionParser} which interprets syntax tree on each evaluation:
+ * <ul>
+ * <li>subexpressions which consist of primitive literals only are computed once</li>
+ * <li>fields and methods are looked up once per {@link ReferenceType}, local variables once per location</li>
+ * <li>values of all the local variables and fields of {@code this} used in expression are read with single request
+ * to the target VM</li>
+ * <li>operators {@code &&}, {@code ||} and {@code ?:} evaluate only operands they need</li>
+ * </ul>
+ *
+ * <p>Expressions with constructs which aren't supported by the compiler, e.g. assignments, are evaluated
+ * by {@link ANTLRExpressionParser}.
+ */
+public final class CompiledExpression extends ExpressionParser {
+    private final Node                 root;
+    private final ExpressionParser     fallback;
+    private final Map<String, Integer> names;
+    private final MemberCache          members;
+
+    private Location        namesLocation;
+    private LocalVariable[] namesVariables;
+
+    CompiledExpression(String expression) {
+        super(expression);
+        this.names = new LinkedHashMap<>();
+        this.members = new MemberCache();
+        Node compiled;
+        try {
+            compiled = compile(parse(expression));
+        } catch (UnsupportedExpressionException e) {
+            compiled = null;
+        } catch (RecognitionException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+        this.root = compiled;
+        this.fallback = compiled == null ? new ANTLRExpressionParser(expression) : null;
+    }
+
+    @Override
+    public Value evaluate(Evaluator ev) {
+        if (root == null) {
+            return fallback.evaluate(ev);
+        }
+        return root.evaluate(new Context(ev)).getValue();
+    }
+
+    private static Tree parse(String expression) throws RecognitionException {
+        JavaLexer lexer = new JavaLexer(new ANTLRStringStream(expression));
+        JavaParser parser = new JavaParser(new CommonTokenStream(lexer));
+        return (Tree)parser.expression().getTree();
+    }
+
+    private Node compile(Tree tree) {
+        final Node node = compileNode(tree);
+        return node.isConstant() ? new ConstantNode(node) : node;
+    }
+
+    private Node compileNode(Tree tree) {
+        final int type = tree.getType();
+        switch (type) {
+            case JavaParser.EXPR:
+            case JavaParser.PARENTESIZED_EXPR:
+                return compile(tree.getChild(0));
+            case JavaParser.LOGICAL_OR:
+            case JavaParser.LOGICAL_AND:
+                return new ShortCircuitNode(type, compile(tree.getChild(0)), compile(tree.getChild(1)));
+            case JavaParser.OR:
+            case JavaParser.XOR:
+            case JavaParser.AND:
+            case JavaParser.EQUAL:
+            case JavaParser.NOT_EQUAL:
+            case JavaParser.LESS_OR_EQUAL:
+            case JavaParser.GREATER_OR_EQUAL:
+            case JavaParser.BIT_SHIFT_RIGHT:
+            case JavaParser.SHIFT_RIGHT:
+            case JavaParser.GREATER_THAN:
+            case JavaParser.SHIFT_LEFT:
+            case JavaParser.LESS_THAN:
+            case JavaParser.PLUS:
+            case JavaParser.MINUS:
+            case JavaParser.STAR:
+            case JavaParser.DIV:
+            case JavaParser.MOD:
+                return new BinaryNode(type, compile(tree.getChild(0)), compile(tree.getChild(1)));
+            case JavaParser.UNARY_PLUS:
+            case JavaParser.UNARY_MINUS:
+            case JavaParser.NOT:
+            case JavaParser.LOGICAL_NOT:
+                return new UnaryNode(type, compile(tree.getChild(0)));
+            case JavaParser.QUESTION:
+                return new TernaryNode(compile(tree.getChild(0)), compile(tree.getChild(1)), compile(tree.getChild(2)));
+            case JavaParser.HEX_LITERAL:
+            case JavaParser.OCTAL_LITERAL:
+            case JavaParser.DECIMAL_LITERAL:
+            case JavaParser.FLOATING_POINT_LITERAL:
+            case JavaParser.CHARACTER_LITERAL:
+            case JavaParser.STRING_LITERAL:
+            case JavaParser.TRUE:
+            case JavaParser.FALSE:
+            case JavaParser.NULL:
+                return new LiteralNode(type, tree.getText());
+            case JavaParser.THIS:
+                return new ThisNode();
+            case JavaParser.IDENT:
+                return new NameNode(addName(tree.getText()));
+            case JavaParser.DOT:
+                if (tree.getChildCount() != 2 || tree.getChild(1).getType() != JavaParser.IDENT) {
+                    throw new UnsupportedExpressionException();
+                }
+                return new FieldNode(compile(tree.getChild(0)), tree.getChild(1).getText());
+            case JavaParser.ARRAY_ELEMENT_ACCESS:
+                return new ArrayElementNode(compile(tree.getChild(0)), compile(tree.getChild(1)));
+            case JavaParser.METHOD_CALL:
+                return compileMethodCall(tree);
+            default:
+                throw new UnsupportedExpressionException();
+        }
+    }
+
+    private Node compileMethodCall(Tree tree) {
+        // generic type arguments are not supported
+        if (tree.getChildCount() != 2 || tree.getChild(1).getType() != JavaParser.ARGUMENT_LIST) {
+            throw new UnsupportedExpressionException();
+        }
+        final Tree method = tree.getChild(0);
+        final Node target;
+        final String name;
+        if (method.getType() == JavaParser.IDENT) {
+            target = new ThisNode();
+            name = method.getText();
+        } else if (method.getType() == JavaParser.DOT && method.getChildCount() == 2
+                   && method.getChild(1).getType() == JavaParser.IDENT) {
+            target = compile(method.getChild(0));
+            name = method.getChild(1).getText();
+        } else {
+            throw new UnsupportedExpressionException();
+        }
+        final Tree argumentList = tree.getChild(1);
+        final Node[] arguments = new Node[argumentList.getChildCount()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = compile(argumentList.getChild(i));
+        }
+        return new MethodCallNode(target, name, arguments);
+    }
+
+    private int addName(String name) {
+        Integer index = names.get(name);
+        if (index == null) {
+            index = names.size();
+            names.put(name, index);
+        }
+        return index;
+    }
+
+    /**
+     * Finds local variables which are used in expression, variables are looked up again only
+     * when expression is evaluated at the other location.
+     */
+    private synchronized LocalVariable[] findLocalVariables(StackFrame frame) {
+        final Location location = frame.location();
+        if (!location.equals(namesLocation)) {
+            final LocalVariable[] variables = new LocalVariable[names.size()];
+            try {
+                for (Map.Entry<String, Integer> entry : names.entrySet()) {
+                    variables[entry.getValue()] = frame.visibleVariableByName(entry.getKey());
+                }
+            } catch (AbsentInformationException | NativeMethodException e) {
+                // no debug information about local variables, only fields may be used
+            }
+            namesVariables = variables;
+            namesLocation = location;
+        }
+        return namesVariables;
+    }
+
+    /** Reads values of all the names used in expression, values of local variables and fields are read in batch. */
+    private Value[] readNames(Context ctx) {
+        final Value[] values = new Value[names.size()];
+        if (values.length == 0) {
+            return values;
+        }
+        final StackFrame frame = ctx.frame();
+        final LocalVariable[] variables = findLocalVariables(frame);
+        final List<LocalVariable> locals = new ArrayList<>();
+        for (LocalVariable variable : variables) {
+            if (variable != null) {
+                locals.add(variable);
+            }
+        }
+        final Map<LocalVariable, Value> localValues;
+        try {
+            localValues = locals.isEmpty() ? null : frame.getValues(locals);
+        } catch (InvalidStackFrameException e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+
+        final ObjectReference thisObject = ctx.thisObject();
+        final ReferenceType type = thisObject != null ? thisObject.referenceType() : frame.location().declaringType();
+        final List<Field> fields = new ArrayList<>();
+        final Field[] namesFields = new Field[values.length];
+        for (Map.Entry<String, Integer> entry : names.entrySet()) {
+            final int index = entry.getValue();
+            if (variables[index] != null) {
+                values[index] = localValues.get(variables[index]);
+                continue;
+            }
+            final Field field = members.field(type, entry.getKey());
+            if (field == null || (thisObject == null && !field.isStatic())) {
+                throw new ExpressionException("Unknown local variable or field " + entry.getKey());
+            }
+            namesFields[index] = field;
+            fields.add(field);
+        }
+        if (!fields.isEmpty()) {
+            final Map<Field, Value> fieldValues = thisObject != null ? thisObject.getValues(fields) : type.getValues(fields);
+            for (int i = 0; i < values.length; i++) {
+                if (namesFields[i] != null) {
+                    values[i] = fieldValues.get(namesFields[i]);
+                }
+            }
+        }
+        return values;
+    }
+
+    /** State of the single evaluation. Frame, {@code this} object and names are read from the target VM once. */
+    private class Context {
+        final Evaluator ev;
+
+        StackFrame      frame;
+        ObjectReference thisObject;
+        boolean         thisObjectRead;
+        Value[]         namesValues;
+
+        Context(Evaluator ev) {
+            this.ev = ev;
+        }
+
+        StackFrame frame() {
+            if (frame == null) {
+                try {
+                    frame = ev.getThread().frame(0);
+                } catch (IncompatibleThreadStateException e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+            }
+            return frame;
+        }
+
+        ObjectReference thisObject() {
+            if (!thisObjectRead) {
+                try {
+                    thisObject = frame().thisObject();
+                } catch (InvalidStackFrameException e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+                thisObjectRead = true;
+            }
+            return thisObject;
+        }
+
+        Value name(int index) {
+            if (namesValues == null) {
+                namesValues = readNames(this);
+            }
+            return namesValues[index];
+        }
+    }
+
+    private interface Node {
+        ExpressionValue evaluate(Context ctx);
+
+        /** Returns {@code true} if node has the same value on each evaluation. */
+        default boolean isConstant() {
+            return false;
+        }
+    }
+
+    /** Computes value of the constant subexpression once. */
+    private static class ConstantNode implements Node {
+        final Node node;
+
+        volatile ExpressionValue value;
+
+        ConstantNode(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            ExpressionValue result = value;
+            if (result == null) {
+                value = result = new ReadOnlyValue(node.evaluate(ctx).getValue());
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
+    }
+
+    private static class LiteralNode implements Node {
+        final int    type;
+        final String text;
+
+        LiteralNode(int type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            switch (type) {
+                case JavaParser.HEX_LITERAL:
+                    return ctx.ev.hexValue(text);
+                case JavaParser.OCTAL_LITERAL:
+                    return ctx.ev.octalValue(text);
+                case JavaParser.DECIMAL_LITERAL:
+                    return ctx.ev.decimalValue(text);
+                case JavaParser.FLOATING_POINT_LITERAL:
+                    return ctx.ev.floating_pointValue(text);
+                case JavaParser.CHARACTER_LITERAL:
+                    return ctx.ev.charValue(text);
+                case JavaParser.STRING_LITERAL:
+                    return ctx.ev.stringValue(text);
+                case JavaParser.NULL:
+                    return ctx.ev.nullValue();
+                default:
+                    return ctx.ev.booleanValue(text);
+            }
+        }
+
+        /** String literals are created in the target VM and may be garbage collected, so they are not cached. */
+        @Override
+        public boolean isConstant() {
+            return type != JavaParser.STRING_LITERAL;
+        }
+    }
+
+    private static class BinaryNode implements Node {
+        final int  op;
+        final Node left;
+        final Node right;
+
+        BinaryNode(int op, Node left, Node right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            return ctx.ev.operation(left.evaluate(ctx), right.evaluate(ctx), op);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+    }
+
+    private static class ShortCircuitNode extends BinaryNode {
+        ShortCircuitNode(int op, Node left, Node right) {
+            super(op, left, right);
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            final ExpressionValue leftValue = left.evaluate(ctx);
+            final Value value = leftValue.getValue();
+            if (value instanceof BooleanValue && ((BooleanValue)value).value() == (op == JavaParser.LOGICAL_OR)) {
+                return leftValue;
+            }
+            return ctx.ev.operation(leftValue, right.evaluate(ctx), op);
+        }
+    }
+
+    private static class UnaryNode implements Node {
+        final int  op;
+        final Node operand;
+
+        UnaryNode(int op, Node operand) {
+            this.op = op;
+            this.operand = operand;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            return ctx.ev.unaryOperation(operand.evaluate(ctx), op);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return operand.isConstant();
+        }
+    }
+
+    private static class TernaryNode implements Node {
+        final Node test;
+        final Node first;
+        final Node second;
+
+        TernaryNode(Node test, Node first, Node second) {
+            this.test = test;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            final Value value = test.evaluate(ctx).getValue();
+            if (!(value instanceof BooleanValue)) {
+                throw new ExpressionException("Invalid ternary operator. ");
+            }
+            return ((BooleanValue)value).value() ? first.evaluate(ctx) : second.evaluate(ctx);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return test.isConstant() && first.isConstant() && second.isConstant();
+        }
+    }
+
+    private static class ThisNode implements Node {
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            return new ReadOnlyValue(ctx.thisObject());
+        }
+    }
+
+    /** Local variable or field of {@code this} object. */
+    private static class NameNode implements Node {
+        final int index;
+
+        NameNode(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            return new ReadOnlyValue(ctx.name(index));
+        }
+    }
+
+    private class FieldNode implements Node {
+        final Node   object;
+        final String name;
+
+        FieldNode(Node object, String name) {
+            this.object = object;
+            this.name = name;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            final Value value = object.evaluate(ctx).getValue();
+            if (value instanceof ArrayReference && "length".equals(name)) {
+                return ctx.ev.value(((ArrayReference)value).length());
+            }
+            if (!(value instanceof ObjectReference)) {
+                throw new ExpressionException("Value is not object. Cannot get field " + name);
+            }
+            final ObjectReference objectReference = (ObjectReference)value;
+            final Field field = members.field(objectReference.referenceType(), name);
+            if (field == null) {
+                throw new ExpressionException("Unknown field " + name);
+            }
+            return new ReadOnlyValue(objectReference.getValue(field));
+        }
+    }
+
+    private static class ArrayElementNode implements Node {
+        final Node array;
+        final Node index;
+
+        ArrayElementNode(Node array, Node index) {
+            this.array = array;
+            this.index = index;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            return ctx.ev.getArrayElement(array.evaluate(ctx).getValue(), index.evaluate(ctx).getValue());
+        }
+    }
+
+    private class MethodCallNode implements Node {
+        final Node   object;
+        final String name;
+        final Node[] arguments;
+
+        MethodCallNode(Node object, String name, Node[] arguments) {
+            this.object = object;
+            this.name = name;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public ExpressionValue evaluate(Context ctx) {
+            final Value value = object.evaluate(ctx).getValue();
+            if (!(value instanceof ObjectReference)) {
+                throw new ExpressionException("Value is not object. Cannot invoke method " + name);
+            }
+            final List<Value> argumentValues = new ArrayList<>(arguments.length);
+            for (Node argument : arguments) {
+                argumentValues.add(argument.evaluate(ctx).getValue());
+            }
+            final ObjectReference objectReference = (ObjectReference)value;
+            final Method method = members.method(ctx.ev, objectReference.referenceType(), name, argumentValues);
+            if (method == null) {
+                throw new ExpressionException("No method with name " + name + " matched to specified arguments for "
+                                              + objectReference.referenceType().name());
+            }
+            final ThreadReference thread = ctx.ev.getThread();
+            try {
+                return new ReadOnlyValue(objectReference.invokeMethod(thread, method, argumentValues, 0));
+            } catch (InvalidTypeException | ClassNotLoadedException | IncompatibleThreadStateException | InvocationException e) {
+                throw new ExpressionException(e.getMessage(), e);
+            } finally {
+                // invocation of the method invalidates frames of the thread
+                ctx.frame = null;
+            }
+        }
+    }
+
+    /** Fields and methods resolved for the types of the target VM, misses are cached as well. */
+    private static class MemberCache {
+        final Map<ReferenceType, Map<String, Field>>  fields  = new HashMap<>();
+        final Map<ReferenceType, Map<String, Method>> methods = new HashMap<>();
+
+        synchronized Field field(ReferenceType type, String name) {
+            final Map<String, Field> typeFields = fields.computeIfAbsent(type, t -> new HashMap<>());
+            if (!typeFields.containsKey(name)) {
+                try {
+                    typeFields.put(name, type.fieldByName(name));
+                } catch (ClassNotPreparedException e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+            }
+            return typeFields.get(name);
+        }
+
+        /** Methods are cached by name and types of the arguments, as overloaded method is chosen by them. */
+        synchronized Method method(Evaluator ev, ReferenceType type, String name, List<Value> arguments) {
+            final StringBuilder key = new StringBuilder(name).append('(');
+            for (Value argument : arguments) {
+                key.append(argument == null ? "null" : argument.type().signature()).append(';');
+            }
+            final Map<String, Method> typeMethods = methods.computeIfAbsent(type, t -> new HashMap<>());
+            final String signature = key.toString();
+            if (!typeMethods.containsKey(signature)) {
+                typeMethods.put(signature, ev.findMethod(type.methodsByName(name), arguments));
+            }
+            return typeMethods.get(signature);
+        }
+    }
+
+    /** Thrown when expression contains construct which isn't supported by the compiler. */
+    private static class UnsupportedExpressionException extends RuntimeException {
+        UnsupportedExpressionException() {
+            super(null, null, false, false);
+        }
+    }
+}
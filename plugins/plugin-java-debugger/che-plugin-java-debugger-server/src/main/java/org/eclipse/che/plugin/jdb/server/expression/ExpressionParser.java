@@ -30,6 +30,20 @@ public abstract class ExpressionParser {
         return new ANTLRExpressionParser(expression);
     }
 
+    /**
+     * Create new instance of parser for Java expression which is evaluated many times, e.g. breakpoint condition.
+     * Expression is compiled once, so it's checked for syntax errors right away.
+     *
+     * @param expression
+     *         Java language expression
+     * @return compiled expression
+     * @throws ExpressionException
+     *         if specified expression is invalid
+     */
+    public static ExpressionParser compile(String expression) {
+        return new CompiledExpression(expression);
+    }
+
     /**
      * Get expression for this parser.
      *
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server;
+
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.IntegerValue;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.StringReference;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
+
+import org.eclipse.che.api.debug.shared.model.Breakpoint;
+import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static java.util.Collections.singletonMap;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link BreakpointHitHandler}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class BreakpointHitHandlerTest {
+    @Mock
+    private VirtualMachine  vm;
+    @Mock
+    private ThreadReference thread;
+    @Mock
+    private StackFrame      frame;
+    @Mock
+    private LocalVariable   variable;
+
+    /** Values of the local variable {@code i}, every expression which uses it reads the next one. */
+    private Deque<Value> values;
+    private Evaluator    evaluator;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        values = new ArrayDeque<>();
+        when(vm.mirrorOf(anyInt())).thenAnswer(invocation -> intValue((Integer)invocation.getArguments()[0]));
+        when(vm.mirrorOf(anyBoolean())).thenAnswer(invocation -> booleanValue((Boolean)invocation.getArguments()[0]));
+        when(vm.mirrorOf(anyString())).thenAnswer(invocation -> stringValue((String)invocation.getArguments()[0]));
+        when(thread.frame(0)).thenReturn(frame);
+        when(frame.location()).thenReturn(mock(Location.class));
+        when(frame.visibleVariableByName("i")).thenReturn(variable);
+        when(frame.getValues(anyListOf(LocalVariable.class))).thenAnswer(invocation -> singletonMap(variable, values.poll()));
+        evaluator = new Evaluator(vm, thread);
+    }
+
+    @Test
+    public void isNotCreatedForBreakpointWithoutConditionAndLogMessage() throws Exception {
+        assertNull(BreakpointHitHandler.create(breakpoint(null, 0, null)));
+        assertNull(BreakpointHitHandler.create(breakpoint("", 3, null)));
+    }
+
+    @Test
+    public void leavesHitCountOfBreakpointWithoutConditionToTargetVm() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint("", 3, "hit"));
+
+        assertFalse(handler.hasCondition());
+        assertTrue(handler.isLogPoint());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(handler.test(evaluator));
+        }
+    }
+
+    @Test
+    public void passesWhenConditionIsTrue() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint("i > 1", 0, null));
+        hits(2, 0, 5);
+
+        assertTrue(handler.hasCondition());
+        assertFalse(handler.isLogPoint());
+        assertTrue(handler.test(evaluator));
+        assertFalse(handler.test(evaluator));
+        assertTrue(handler.test(evaluator));
+    }
+
+    @Test
+    public void countsOnlyHitsWhenConditionIsTrue() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint("i > 1", 2, null));
+        hits(0, 2, 1, 3, 4);
+
+        assertFalse(handler.test(evaluator));
+        assertFalse(handler.test(evaluator));
+        assertFalse(handler.test(evaluator));
+        assertTrue(handler.test(evaluator));
+        assertFalse(handler.test(evaluator));
+    }
+
+    @Test
+    public void formatsLogMessageWithValuesOfExpressions() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint(null, 0, "i = {i}, next = {i + 1}, {\"done\"}!"));
+        hits(2, 2);
+
+        assertEquals(handler.formatMessage(evaluator), "i = 2, next = 3, done!");
+    }
+
+    @Test
+    public void formatsLogMessageWhichConsistsOfExpressionsOnly() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint(null, 0, "{i}{i * 2}"));
+        hits(7, 7);
+
+        assertEquals(handler.formatMessage(evaluator), "714");
+    }
+
+    @Test
+    public void keepsTextAfterUnclosedBrace() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint(null, 0, "i = {i}, j = {j"));
+        hits(1);
+
+        assertEquals(handler.formatMessage(evaluator), "i = 1, j = {j");
+    }
+
+    @Test
+    public void formatsEmptyLogMessage() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint(null, 0, ""));
+
+        assertTrue(handler.isLogPoint());
+        assertEquals(handler.formatMessage(evaluator), "");
+    }
+
+    @Test
+    public void logsMessageOnlyWhenConditionIsTrue() throws Exception {
+        final BreakpointHitHandler handler = BreakpointHitHandler.create(breakpoint("i > 1", 0, "i = {i}"));
+        hits(0, 3, 3);
+
+        assertTrue(handler.hasCondition());
+        assertTrue(handler.isLogPoint());
+        assertFalse(handler.test(evaluator));
+        assertTrue(handler.test(evaluator));
+        assertEquals(handler.formatMessage(evaluator), "i = 3");
+    }
+
+    private void hits(int... values) {
+        for (int value : values) {
+            this.values.add(intValue(value));
+        }
+    }
+
+    private static Breakpoint breakpoint(String condition, int hitCount, String logMessage) {
+        final Breakpoint breakpoint = mock(Breakpoint.class);
+        when(breakpoint.getCondition()).thenReturn(condition);
+        when(breakpoint.getHitCount()).thenReturn(hitCount);
+        when(breakpoint.getLogMessage()).thenReturn(logMessage);
+        return breakpoint;
+    }
+
+    private static IntegerValue intValue(int value) {
+        final IntegerValue mirror = mock(IntegerValue.class);
+        when(mirror.value()).thenReturn(value);
+        when(mirror.intValue()).thenReturn(value);
+        when(mirror.longValue()).thenReturn((long)value);
+        when(mirror.floatValue()).thenReturn((float)value);
+        when(mirror.doubleValue()).thenReturn((double)value);
+        when(mirror.toString()).thenReturn(Integer.toString(value));
+        return mirror;
+    }
+
+    private static BooleanValue booleanValue(boolean value) {
+        final BooleanValue mirror = mock(BooleanValue.class);
+        when(mirror.value()).thenReturn(value);
+        when(mirror.booleanValue()).thenReturn(value);
+        return mirror;
+    }
+
+    private static StringReference stringValue(String value) {
+        final StringReference mirror = mock(StringReference.class);
+        when(mirror.value()).thenReturn(value);
+        return mirror;
+    }
+}
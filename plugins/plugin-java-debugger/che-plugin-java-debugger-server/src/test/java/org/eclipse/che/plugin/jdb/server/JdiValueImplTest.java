@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.IntegerValue;
+import com.sun.jdi.Value;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for reading of the array elements by {@link JdiValueImpl} and {@link JdiArraySliceImpl}.
+ */
+public class JdiValueImplTest {
+
+    @Test
+    public void readsElementsOfShortArrayWithSingleRequest() throws Exception {
+        final ArrayReference array = mockArray(3);
+
+        final JdiVariable[] variables = new JdiValueImpl(array).getVariables();
+
+        assertEquals(variables.length, 3);
+        assertEquals(variables[0].getName(), "[0]");
+        assertEquals(variables[2].getName(), "[2]");
+        assertEquals(variables[2].getValue().getAsString(), "2");
+        verify(array).getValues(0, 3);
+    }
+
+    @Test
+    public void readsNothingForEmptyArray() throws Exception {
+        final ArrayReference array = mockArray(0);
+
+        assertEquals(new JdiValueImpl(array).getVariables().length, 0);
+        verify(array, never()).getValues(anyInt(), anyInt());
+    }
+
+    @Test
+    public void doesNotSplitArrayOfPageSize() throws Exception {
+        final ArrayReference array = mockArray(JdiValueImpl.ARRAY_PAGE_SIZE);
+
+        final JdiVariable[] variables = new JdiValueImpl(array).getVariables();
+
+        assertEquals(variables.length, JdiValueImpl.ARRAY_PAGE_SIZE);
+        assertEquals(variables[JdiValueImpl.ARRAY_PAGE_SIZE - 1].getName(), "[99]");
+        verify(array).getValues(0, JdiValueImpl.ARRAY_PAGE_SIZE);
+    }
+
+    @Test
+    public void splitsLongArrayIntoSlicesWhichAreReadOnDemand() throws Exception {
+        final ArrayReference array = mockArray(250);
+
+        final JdiVariable[] slices = new JdiValueImpl(array).getVariables();
+
+        assertEquals(slices.length, 3);
+        assertEquals(slices[0].getName(), "[0..99]");
+        assertEquals(slices[1].getName(), "[100..199]");
+        assertEquals(slices[2].getName(), "[200..249]");
+        assertTrue(slices[2].isArray());
+        verify(array, never()).getValues(anyInt(), anyInt());
+
+        final JdiVariable[] elements = slices[2].getValue().getVariables();
+
+        assertEquals(elements.length, 50);
+        assertEquals(elements[0].getName(), "[200]");
+        assertEquals(elements[49].getValue().getAsString(), "249");
+        verify(array).getValues(200, 50);
+    }
+
+    @Test
+    public void resolvesElementOfArrayByName() throws Exception {
+        final ArrayReference array = mockArray(250);
+        final JdiValueImpl value = new JdiValueImpl(array);
+
+        final JdiVariable element = value.getVariableByName("[150]");
+
+        assertEquals(element.getName(), "[150]");
+        assertEquals(element.getValue().getAsString(), "150");
+        verify(array, never()).getValues(anyInt(), anyInt());
+        assertNull(value.getVariableByName("[250]"));
+        assertNull(value.getVariableByName("[-1]"));
+        assertNull(value.getVariableByName("length"));
+    }
+
+    @Test
+    public void resolvesSliceOfArrayByName() throws Exception {
+        final ArrayReference array = mockArray(250);
+        final JdiValueImpl value = new JdiValueImpl(array);
+
+        final JdiVariable slice = value.getVariableByName("[100..199]");
+
+        assertEquals(slice.getName(), "[100..199]");
+        assertEquals(slice.getValue().getVariableByName("[120]").getValue().getAsString(), "120");
+        assertNull(slice.getValue().getVariableByName("[99]"));
+        assertNull(value.getVariableByName("[200..300]"));
+        assertNull(value.getVariableByName("[20..10]"));
+    }
+
+    @Test
+    public void resolvesElementOfLongArrayAfterSlicesAreRead() throws Exception {
+        final ArrayReference array = mockArray(250);
+        final JdiValueImpl value = new JdiValueImpl(array);
+        value.getVariables();
+
+        assertEquals(value.getVariableByName("[100..199]").getName(), "[100..199]");
+        assertEquals(value.getVariableByName("[201]").getValue().getAsString(), "201");
+    }
+
+    @Test
+    public void resolvesElementOfShortArrayAfterElementsAreRead() throws Exception {
+        final ArrayReference array = mockArray(3);
+        final JdiValueImpl value = new JdiValueImpl(array);
+        value.getVariables();
+
+        assertEquals(value.getVariableByName("[1]").getValue().getAsString(), "1");
+        assertNull(value.getVariableByName("[3]"));
+    }
+
+    private static ArrayReference mockArray(int length) {
+        final List<Value> values = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            final IntegerValue value = mock(IntegerValue.class);
+            when(value.toString()).thenReturn(Integer.toString(i));
+            values.add(value);
+        }
+        final ArrayReference array = mock(ArrayReference.class);
+        when(array.length()).thenReturn(length);
+        when(array.getValues(anyInt(), anyInt())).thenAnswer(invocation -> {
+            final int from = (Integer)invocation.getArguments()[0];
+            final int count = (Integer)invocation.getArguments()[1];
+            if (from < 0 || count < 0 || from + count > length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return new ArrayList<>(values.subList(from, from + count));
+        });
+        when(array.getValue(anyInt())).thenAnswer(invocation -> values.get((Integer)invocation.getArguments()[0]));
+        return array;
+    }
+}
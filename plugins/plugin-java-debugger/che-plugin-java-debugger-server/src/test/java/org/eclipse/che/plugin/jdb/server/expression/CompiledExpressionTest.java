@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.Field;
+import com.sun.jdi.IntegerValue;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.StringReference;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
+
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link CompiledExpression}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class CompiledExpressionTest {
+    @Mock
+    private VirtualMachine  vm;
+    @Mock
+    private ThreadReference thread;
+    @Mock
+    private StackFrame      frame;
+    @Mock
+    private Location        location;
+    @Mock
+    private ObjectReference thisObject;
+    @Mock
+    private ReferenceType   type;
+
+    private Map<LocalVariable, Value> localValues;
+    private Map<Field, Value>         fieldValues;
+    private Evaluator                 evaluator;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        localValues = new HashMap<>();
+        fieldValues = new HashMap<>();
+        when(vm.mirrorOf(anyInt())).thenAnswer(invocation -> intValue((Integer)invocation.getArguments()[0]));
+        when(vm.mirrorOf(anyBoolean())).thenAnswer(invocation -> booleanValue((Boolean)invocation.getArguments()[0]));
+        when(vm.mirrorOf(anyString())).thenAnswer(invocation -> stringValue((String)invocation.getArguments()[0]));
+        when(thread.frame(0)).thenReturn(frame);
+        when(frame.location()).thenReturn(location);
+        when(frame.thisObject()).thenReturn(thisObject);
+        when(frame.getValues(anyListOf(LocalVariable.class))).thenAnswer(invocation -> valuesOf(invocation.getArguments()[0],
+                                                                                                 localValues));
+        when(thisObject.referenceType()).thenReturn(type);
+        when(thisObject.getValues(anyListOf(Field.class))).thenAnswer(invocation -> valuesOf(invocation.getArguments()[0],
+                                                                                              fieldValues));
+        evaluator = new Evaluator(vm, thread);
+    }
+
+    @Test
+    public void computesConstantSubexpressionsOnce() throws Exception {
+        final ExpressionParser expression = ExpressionParser.compile("(1 + 2) * 3 > 8");
+
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+
+        // four literals and two intermediate results
+        verify(vm, times(6)).mirrorOf(anyInt());
+        verify(vm, times(1)).mirrorOf(anyBoolean());
+        verify(thread, never()).frame(anyInt());
+    }
+
+    @Test
+    public void createsStringLiteralOnEachEvaluation() throws Exception {
+        final ExpressionParser expression = ExpressionParser.compile("\"text\"");
+
+        assertEquals(((StringReference)expression.evaluate(evaluator)).value(), "text");
+        assertEquals(((StringReference)expression.evaluate(evaluator)).value(), "text");
+
+        verify(vm, times(2)).mirrorOf("text");
+    }
+
+    @Test
+    public void skipsRightOperandOfShortCircuitOperators() throws Exception {
+        local("t", booleanValue(true));
+        local("f", booleanValue(false));
+        final Method isReady = method("isReady", booleanValue(true));
+
+        assertTrue(((BooleanValue)ExpressionParser.compile("t || isReady()").evaluate(evaluator)).value());
+        assertFalse(((BooleanValue)ExpressionParser.compile("f && isReady()").evaluate(evaluator)).value());
+        assertEquals(((IntegerValue)ExpressionParser.compile("t ? 1 : isReady()").evaluate(evaluator)).value(), 1);
+
+        verify(thisObject, never()).invokeMethod(any(ThreadReference.class), eq(isReady), anyListOf(Value.class), anyInt());
+    }
+
+    @Test
+    public void evaluatesRightOperandOfShortCircuitOperatorWhenItIsNeeded() throws Exception {
+        local("t", booleanValue(true));
+        final Method isReady = method("isReady", booleanValue(false));
+
+        assertFalse(((BooleanValue)ExpressionParser.compile("t && isReady()").evaluate(evaluator)).value());
+
+        verify(thisObject).invokeMethod(thread, isReady, Collections.emptyList(), 0);
+    }
+
+    @Test
+    public void readsAllLocalVariablesAndFieldsWithSingleRequestPerEvaluation() throws Exception {
+        final LocalVariable a = local("a", intValue(1));
+        final LocalVariable b = local("b", intValue(2));
+        final Field limit = field("limit", intValue(2));
+        final ExpressionParser expression = ExpressionParser.compile("a + b > limit && a + b < limit * 2");
+
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+
+        verify(frame, times(2)).getValues(asList(a, b));
+        verify(thisObject, times(2)).getValues(singletonList(limit));
+        verify(frame, never()).getValue(any(LocalVariable.class));
+        verify(thisObject, never()).getValue(any(Field.class));
+    }
+
+    @Test
+    public void looksUpLocalVariablesOncePerLocation() throws Exception {
+        local("a", intValue(1));
+        final ExpressionParser expression = ExpressionParser.compile("a > 0");
+
+        expression.evaluate(evaluator);
+        expression.evaluate(evaluator);
+        verify(frame, times(1)).visibleVariableByName("a");
+
+        when(frame.location()).thenReturn(mock(Location.class));
+        expression.evaluate(evaluator);
+        verify(frame, times(2)).visibleVariableByName("a");
+    }
+
+    @Test
+    public void looksUpFieldsAndMethodsOncePerType() throws Exception {
+        final Field count = mock(Field.class);
+        when(type.fieldByName("count")).thenReturn(count);
+        final IntegerValue one = intValue(1);
+        when(thisObject.getValue(count)).thenReturn(one);
+        final Method isReady = method("isReady", booleanValue(true));
+        final ExpressionParser expression = ExpressionParser.compile("this.count > 0 && isReady()");
+
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+
+        verify(type, times(1)).fieldByName("count");
+        verify(type, times(1)).methodsByName("isReady");
+        verify(thisObject, times(2)).getValue(count);
+        verify(thisObject, times(2)).invokeMethod(thread, isReady, Collections.emptyList(), 0);
+
+        final ObjectReference other = mock(ObjectReference.class);
+        final ReferenceType otherType = mock(ReferenceType.class);
+        when(other.referenceType()).thenReturn(otherType);
+        when(otherType.fieldByName("count")).thenReturn(count);
+        when(other.getValue(count)).thenReturn(one);
+        when(otherType.methodsByName("isReady")).thenReturn(singletonList(isReady));
+        final BooleanValue ready = booleanValue(true);
+        when(other.invokeMethod(thread, isReady, Collections.emptyList(), 0)).thenReturn(ready);
+        when(frame.thisObject()).thenReturn(other);
+
+        assertTrue(((BooleanValue)expression.evaluate(evaluator)).value());
+
+        verify(otherType).fieldByName("count");
+        verify(otherType).methodsByName("isReady");
+    }
+
+    @Test
+    public void remembersMissingFields() throws Exception {
+        final ExpressionParser expression = ExpressionParser.compile("this.missing");
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                expression.evaluate(evaluator);
+                fail("Expected ExpressionException");
+            } catch (ExpressionException e) {
+                assertEquals(e.getMessage(), "Unknown field missing");
+            }
+        }
+
+        verify(type, times(1)).fieldByName("missing");
+    }
+
+    @Test
+    public void evaluatesUnsupportedConstructsWithInterpreter() throws Exception {
+        final LocalVariable a = mock(LocalVariable.class);
+        when(frame.visibleVariableByName("a")).thenReturn(a);
+        final ExpressionParser expression = ExpressionParser.compile("a = 5");
+
+        assertEquals(((IntegerValue)expression.evaluate(evaluator)).value(), 5);
+        expression.evaluate(evaluator);
+
+        verify(frame, times(2)).setValue(eq(a), any(IntegerValue.class));
+    }
+
+    private LocalVariable local(String name, Value value) throws Exception {
+        final LocalVariable variable = mock(LocalVariable.class);
+        when(frame.visibleVariableByName(name)).thenReturn(variable);
+        localValues.put(variable, value);
+        return variable;
+    }
+
+    private Field field(String name, Value value) {
+        final Field field = mock(Field.class);
+        when(type.fieldByName(name)).thenReturn(field);
+        fieldValues.put(field, value);
+        return field;
+    }
+
+    private Method method(String name, Value result) throws Exception {
+        final Method method = mock(Method.class);
+        when(method.argumentTypes()).thenReturn(Collections.emptyList());
+        when(type.methodsByName(name)).thenReturn(singletonList(method));
+        when(thisObject.invokeMethod(thread, method, Collections.emptyList(), 0)).thenReturn(result);
+        return method;
+    }
+
+    private static <K> Map<K, Value> valuesOf(Object keys, Map<K, Value> values) {
+        final Map<K, Value> result = new HashMap<>();
+        for (Object key : (List<?>)keys) {
+            @SuppressWarnings("unchecked")
+            final K k = (K)key;
+            result.put(k, values.get(k));
+        }
+        return result;
+    }
+
+    private static IntegerValue intValue(int value) {
+        final IntegerValue mirror = mock(IntegerValue.class);
+        when(mirror.value()).thenReturn(value);
+        when(mirror.intValue()).thenReturn(value);
+        when(mirror.longValue()).thenReturn((long)value);
+        when(mirror.floatValue()).thenReturn((float)value);
+        when(mirror.doubleValue()).thenReturn((double)value);
+        when(mirror.toString()).thenReturn(Integer.toString(value));
+        return mirror;
+    }
+
+    private static BooleanValue booleanValue(boolean value) {
+        final BooleanValue mirror = mock(BooleanValue.class);
+        when(mirror.value()).thenReturn(value);
+        when(mirror.booleanValue()).thenReturn(value);
+        when(mirror.toString()).thenReturn(Boolean.toString(value));
+        return mirror;
+    }
+
+    private static StringReference stringValue(String value) {
+        final StringReference mirror = mock(StringReference.class);
+        when(mirror.value()).thenReturn(value);
+        return mirror;
+    }
+}
@@ -144,7 +144,10 @@ public class CommandOutputConsolePresenter implements CommandOutputConsole, Outp
         outputHandler = new SubscriptionHandler<String>(new CommandOutputMessageUnmarshaller(machine.getConfig().getName())) {
             @Override
             protected void onMessageReceived(String result) {
-                view.print(result, result.endsWith("\r"));
+                //server sends several lines of the output in one message
+                for (String line : result.split("\n", -1)) {
+                    view.print(line, line.endsWith("\r"));
+                }
 
                 for (ConsoleOutputListener listener : outputListenes) {
                     listener.onConsoleOutput(CommandOutputConsolePresenter.this);
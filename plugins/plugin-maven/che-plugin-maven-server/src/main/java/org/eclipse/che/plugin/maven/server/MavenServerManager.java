@@ -14,6 +14,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 
+import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
 import org.eclipse.che.maven.data.MavenModel;
 import org.eclipse.che.maven.server.MavenRemoteServer;
 import org.eclipse.che.maven.server.MavenServer;
@@ -27,6 +28,7 @@ import org.eclipse.che.plugin.maven.server.execution.ProcessExecutor;
 import org.eclipse.che.plugin.maven.server.execution.ProcessHandler;
 import org.eclipse.che.plugin.maven.server.rmi.RmiClient;
 import org.eclipse.che.plugin.maven.server.rmi.RmiObjectWrapper;
+import org.eclipse.che.plugin.maven.shared.dto.MavenServerProcessMetrics;
 import org.eclipse.che.rmi.RmiObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,15 +41,34 @@ import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
+ * Manages the pool of maven server processes.
+ *
+ * <p>Each process is a separate JVM which is accessed over RMI, each {@link MavenServerWrapper} created by this
+ * manager creates its maven server in the least busy running process. When all running processes are busy
+ * with remote calls and the pool isn't full yet, one more process is started. The first process of the pool
+ * is started when manager is created, so the first maven operation doesn't wait for JVM start, and it is
+ * restarted when health check finds it is not responsive. Other processes are stopped after they are idle
+ * for the idle timeout. Wrappers which created their servers in the stopped process create them again on
+ * the next call, like after failure of the process.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
-public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
+public class MavenServerManager {
     private static final Logger LOG               = LoggerFactory.getLogger(MavenServerManager.class);
     private static final String MAVEN_SERVER_MAIN = "org.eclipse.che.maven.server.MavenServerMain";
 
+    private static final int  DEFAULT_HEAP_SIZE_MB       = 512;
+    private static final long HEALTH_CHECK_PERIOD_SECONDS = 60;
+
     private RmiClient<MavenRemoteServer> client;
     private RmiLogger                      rmiLogger           = new RmiLogger();
     private RmiMavenServerDownloadListener rmiDownloadListener = new RmiMavenServerDownloadListener();
@@ -56,9 +77,32 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
     private String  mavenServerPath;
     private File    localRepository;
 
-    @Inject
-    public MavenServerManager(@Named("che.maven.server.path") String mavenServerPath) {
+    private final int                      heapSizeMb;
+    private final long                     idleTimeoutMillis;
+    private final List<MavenServerProcess> processes;
+
+    public MavenServerManager(String mavenServerPath) {
+        this(mavenServerPath, DEFAULT_HEAP_SIZE_MB, 1, 0);
+    }
+
+    /**
+     * @param mavenServerPath
+     *         path to the folder with maven server jars
+     * @param heapSizeMb
+     *         max heap size of each maven server process in megabytes
+     * @param maxProcesses
+     *         max number of maven server processes running at the same time
+     * @param idleTimeoutMinutes
+     *         time after which idle process, except the first one, is stopped, zero or negative value means never
+     */
+    public MavenServerManager(String mavenServerPath, int heapSizeMb, int maxProcesses, long idleTimeoutMinutes) {
         this.mavenServerPath = mavenServerPath;
+        this.heapSizeMb = heapSizeMb;
+        this.idleTimeoutMillis = TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+        this.processes = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, maxProcesses); i++) {
+            processes.add(new MavenServerProcess(i));
+        }
 
         client = new RmiClient<MavenRemoteServer>(MavenRemoteServer.class) {
             @Override
@@ -68,6 +112,17 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         };
     }
 
+    @Inject
+    public MavenServerManager(@Named("che.maven.server.path") String mavenServerPath,
+                              @Named("che.maven.server.heap_size_mb") int heapSizeMb,
+                              @Named("che.maven.server.max_processes") int maxProcesses,
+                              @Named("che.maven.server.idle_timeout_min") long idleTimeoutMinutes,
+                              ThreadPullLauncher launcher) {
+        this(mavenServerPath, heapSizeMb, maxProcesses, idleTimeoutMinutes);
+        // the first check starts the first process, so it is warmed up when workspace agent is started
+        launcher.scheduleWithFixedDelay(this::checkProcesses, 0, HEALTH_CHECK_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
     private static void addDirToClasspath(List<String> classPath, File dir) {
         File[] jars = dir.listFiles((dir1, name) -> {
             return name.endsWith(".jar");
@@ -92,6 +147,8 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
 
     public MavenServerWrapper createMavenServer() {
         return new MavenServerWrapper() {
+            private volatile MavenServerProcess process;
+
             @Override
             protected MavenServer create() throws RemoteException {
                 MavenSettings mavenSettings = new MavenSettings();
@@ -102,7 +159,30 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
                 if (localRepository != null) {
                     mavenSettings.setLocalRepository(localRepository);
                 }
-                return MavenServerManager.this.getOrCreateWrappedObject().createServer(mavenSettings);
+                MavenServerProcess current = process;
+                if (current == null) {
+                    process = current = selectProcess();
+                }
+                return current.perform(server -> server.createServer(mavenSettings));
+            }
+
+            /**
+             * Returns the process which performs the call, the process is selected here if the server
+             * is to be created by the call, so the call is finished in the same process it is started.
+             */
+            @Override
+            protected Object callStarted() {
+                if (getWrapped() == null) {
+                    process = selectProcess();
+                }
+                final MavenServerProcess current = process;
+                current.callStarted();
+                return current;
+            }
+
+            @Override
+            protected void callFinished(Object call, long durationNanos) {
+                ((MavenServerProcess)call).callFinished(durationNanos);
             }
         };
     }
@@ -116,24 +196,68 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         this.localRepository = localRepository;
     }
 
+    /** For test use only. Sets the client which starts the maven server processes. */
+    void setClient(RmiClient<MavenRemoteServer> client) {
+        this.client = client;
+    }
+
     public MavenModel interpolateModel(MavenModel model, File projectDir) {
-        return perform(() -> getOrCreateWrappedObject().interpolateModel(model, projectDir));
+        try {
+            return selectProcess().perform(server -> server.interpolateModel(model, projectDir));
+        } catch (RemoteException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Returns metrics of the processes of the pool. */
+    public List<MavenServerProcessMetrics> getMetrics() {
+        return processes.stream().map(MavenServerProcess::getMetrics).collect(Collectors.toList());
     }
 
     @PreDestroy
     public void shutdown() {
         client.stopAll(false);
-        cleanUp();
+        processes.forEach(MavenServerProcess::cleanUp);
+        unexportCallbacks();
     }
 
-    @Override
-    protected MavenRemoteServer create() throws RemoteException {
-        MavenRemoteServer server;
-        try {
-            server = client.acquire(this, "");
-        } catch (Exception e) {
-            throw new RemoteException("Can't start maven server", e);
+    /**
+     * Starts the first process if it isn't running or isn't responsive, stops other processes
+     * which are idle for the idle timeout.
+     */
+    void checkProcesses() {
+        if (System.getenv("M2_HOME") == null) {
+            return;
+        }
+        for (MavenServerProcess process : processes) {
+            try {
+                process.check();
+            } catch (RuntimeException e) {
+                LOG.error("Health check of maven server process " + process.index + " failed", e);
+            }
+        }
+    }
+
+    /** Returns the least busy running process, or not running one when all running processes are busy. */
+    private synchronized MavenServerProcess selectProcess() {
+        MavenServerProcess selected = null;
+        for (MavenServerProcess process : processes) {
+            if (process.isRunning() && (selected == null || process.activeCalls.get() < selected.activeCalls.get())) {
+                selected = process;
+            }
+        }
+        if (selected == null || selected.activeCalls.get() > 0) {
+            for (MavenServerProcess process : processes) {
+                if (!process.isRunning()) {
+                    return process;
+                }
+            }
         }
+        return selected;
+    }
+
+    /** Logger and download listener are exported once and shared by all the processes. */
+    private synchronized void exportCallbacks() throws RemoteException {
         if (!loggerExported) {
             Remote loggerRemote = UnicastRemoteObject.exportObject(rmiLogger, 0);
             if (!(loggerExported = loggerRemote != null)) {
@@ -146,16 +270,9 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
                 throw new RemoteException("Can't export download listener");
             }
         }
-
-        server.configure(rmiLogger, rmiDownloadListener);
-
-        return server;
     }
 
-    @Override
-    protected synchronized void cleanUp() {
-        super.cleanUp();
-
+    private synchronized void unexportCallbacks() {
         if (loggerExported) {
             try {
                 UnicastRemoteObject.unexportObject(rmiLogger, true);
@@ -174,7 +291,6 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
             }
             listenerExported = false;
         }
-
     }
 
     public JavaParameters buildMavenServerParameters() {
@@ -202,27 +318,137 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
 
         parameters.getClassPath().addAll(classPath);
 
-        parameters.getVmParameters().add("-Xmx512m");
+        parameters.getVmParameters().add("-Xmx" + heapSizeMb + "m");
 
         return parameters;
     }
 
-    private <T> T perform(RunnableRemoteWithResult<T> runnable) {
-        RemoteException exception = null;
-        for (int i = 0; i < 2; i++) {
+    private interface RemoteCall<T> {
+        T perform(MavenRemoteServer server) throws RemoteException;
+    }
+
+    /** Single maven server process of the pool. */
+    private class MavenServerProcess extends RmiObjectWrapper<MavenRemoteServer> {
+        final int           index;
+        final AtomicInteger activeCalls  = new AtomicInteger();
+        final AtomicLong    calls        = new AtomicLong();
+        final AtomicLong    callsNanos   = new AtomicLong();
+        final AtomicLong    maxCallNanos = new AtomicLong();
+        final AtomicInteger restarts     = new AtomicInteger();
+
+        volatile long    lastUsed = System.currentTimeMillis();
+        volatile boolean wasStarted;
+
+        MavenServerProcess(int index) {
+            this.index = index;
+        }
+
+        @Override
+        protected MavenRemoteServer create() throws RemoteException {
+            MavenRemoteServer server;
             try {
-                return runnable.perform();
+                server = client.acquire(this, "");
+            } catch (Exception e) {
+                throw new RemoteException("Can't start maven server", e);
+            }
+            exportCallbacks();
+            server.configure(rmiLogger, rmiDownloadListener);
+            if (wasStarted) {
+                restarts.incrementAndGet();
+                LOG.info("Maven server process {} is restarted", index);
+            }
+            wasStarted = true;
+            lastUsed = System.currentTimeMillis();
+            return server;
+        }
+
+        @Override
+        protected void cleanUp() {
+            // makes clean up accessible for the manager
+            super.cleanUp();
+        }
+
+        boolean isRunning() {
+            return getWrapped() != null;
+        }
+
+        <T> T perform(RemoteCall<T> call) throws RemoteException {
+            RemoteException exception = null;
+            for (int i = 0; i < 2; i++) {
+                final long start = System.nanoTime();
+                callStarted();
+                try {
+                    return call.perform(getOrCreateWrappedObject());
+                } catch (RemoteException e) {
+                    exception = e;
+                    onError();
+                } finally {
+                    callFinished(System.nanoTime() - start);
+                }
+            }
+            throw exception;
+        }
+
+        void callStarted() {
+            activeCalls.incrementAndGet();
+            lastUsed = System.currentTimeMillis();
+        }
+
+        void callFinished(long durationNanos) {
+            activeCalls.decrementAndGet();
+            lastUsed = System.currentTimeMillis();
+            calls.incrementAndGet();
+            callsNanos.addAndGet(durationNanos);
+            maxCallNanos.accumulateAndGet(durationNanos, Math::max);
+        }
+
+        void check() {
+            if (activeCalls.get() > 0) {
+                return;
+            }
+            if (index > 0) {
+                if (isRunning() && idleTimeoutMillis > 0 && System.currentTimeMillis() - lastUsed > idleTimeoutMillis) {
+                    LOG.info("Stopping maven server process {} which is idle for {} ms", index, System.currentTimeMillis() - lastUsed);
+                    stop();
+                }
+                return;
+            }
+            final MavenRemoteServer server = getWrapped();
+            if (server != null) {
+                try {
+                    server.ping();
+                    return;
+                } catch (RemoteException e) {
+                    LOG.warn("Maven server process {} is not responsive, it will be restarted", index);
+                    stop();
+                }
+            }
+            try {
+                getOrCreateWrappedObject();
             } catch (RemoteException e) {
-                exception = e;
+                LOG.error("Can't start maven server process " + index, e);
                 onError();
             }
         }
-        throw new RuntimeException(exception);
-    }
 
+        void stop() {
+            client.stop(this, "");
+            cleanUp();
+        }
 
-    private interface RunnableRemoteWithResult<T> {
-        T perform() throws RemoteException;
+        MavenServerProcessMetrics getMetrics() {
+            final long callsNum = calls.get();
+            return newDto(MavenServerProcessMetrics.class).withIndex(index)
+                                                         .withRunning(isRunning())
+                                                         .withActiveCalls(activeCalls.get())
+                                                         .withCalls(callsNum)
+                                                         .withAverageCallMillis(callsNum == 0 ? 0
+                                                                                              : TimeUnit.NANOSECONDS.toMillis(
+                                                                                                      callsNanos.get() / callsNum))
+                                                         .withMaxCallMillis(TimeUnit.NANOSECONDS.toMillis(maxCallNanos.get()))
+                                                         .withRestarts(restarts.get())
+                                                         .withIdleMillis(System.currentTimeMillis() - lastUsed);
+        }
     }
 
     private class RmiLogger extends RmiObject implements MavenServerLogger {
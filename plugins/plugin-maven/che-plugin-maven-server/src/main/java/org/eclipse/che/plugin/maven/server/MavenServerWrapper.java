@@ -117,11 +117,15 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
     private <T> T perform(RunnableRemoteWithResult<T> runnable) {
         RemoteException exception = null;
         for (int i = 0; i < 2; i++) {
+            final long start = System.nanoTime();
+            final Object call = callStarted();
             try {
                 return runnable.perform();
             } catch (RemoteException e) {
                 exception = e;
                 onError();
+            } finally {
+                callFinished(call, System.nanoTime() - start);
             }
         }
         throw new RuntimeException(exception);
@@ -129,19 +133,22 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
 
 
     private void perform(RunnableRemote runnable) {
-        RemoteException exception = null;
-        for (int i = 0; i < 2; i++) {
-            try {
-                runnable.perform();
-                return;
-            } catch (RemoteException e) {
-                exception = e;
-                onError();
-            }
+        perform(() -> {
+            runnable.perform();
+            return null;
+        });
+    }
 
-        }
-        throw new RuntimeException(exception);
+    /**
+     * Called before each remote call performed by this wrapper, returned value is passed to
+     * {@link #callFinished(Object, long)} of the same call, even if the server is created again meanwhile.
+     */
+    protected Object callStarted() {
+        return null;
+    }
 
+    /** Called after each remote call performed by this wrapper, either successful or failed. */
+    protected void callFinished(Object call, long durationNanos) {
     }
 
     public void dispose() {
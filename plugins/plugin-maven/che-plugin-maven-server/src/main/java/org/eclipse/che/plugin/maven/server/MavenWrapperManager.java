@@ -12,15 +12,21 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  *
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances.
+ *
+ * <p>Each server is used by one caller at a time, so when all cached servers of the type are in use new one
+ * is created. Released servers are reset and kept for reuse, up to the number of maven tasks which may
+ * be performed at the same time, other released servers are disposed.
  *
  * @author Evgen Vidolob
  */
@@ -28,36 +34,47 @@ import java.util.Set;
 public class MavenWrapperManager {
 
 
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+    private final MavenServerManager                         serverManager;
+    private final int                                        maxIdleServers;
+    private final Map<ServerType, Deque<MavenServerWrapper>> idleServers = new EnumMap<>(ServerType.class);
+    private final Map<MavenServerWrapper, ServerType>        usedServers = new HashMap<>();
 
 
-    @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
+        this(serverManager, 1);
+    }
+
+    /**
+     * @param serverManager
+     *         manager of the maven server process
+     * @param maxIdleServers
+     *         max number of released servers of each type kept for reuse
+     */
+    @Inject
+    public MavenWrapperManager(MavenServerManager serverManager, @Named("che.maven.server.resolve.parallelism") int maxIdleServers) {
         this.serverManager = serverManager;
+        this.maxIdleServers = Math.max(1, maxIdleServers);
     }
 
     public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
+        MavenServerWrapper wrapper = idleServers.computeIfAbsent(type, t -> new ArrayDeque<>()).poll();
         if (wrapper == null) {
             wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
         }
-
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
-        }
-
-        usedServers.add(wrapper);
+        usedServers.put(wrapper, type);
         return wrapper;
     }
 
     public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
+        final ServerType type = usedServers.remove(wrapper);
+        if (type == null) {
+            wrapper.dispose();
+            return;
+        }
+        final Deque<MavenServerWrapper> idle = idleServers.get(type);
+        if (idle.size() < maxIdleServers) {
             wrapper.reset();
-            usedServers.remove(wrapper);
+            idle.push(wrapper);
         } else {
             wrapper.dispose();
         }
@@ -11,7 +11,9 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,10 +33,26 @@ public class MavenExecutorService {
     private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
     private final ExecutorService service;
+    private final int             parallelism;
 
     public MavenExecutorService() {
+        this(1);
+    }
+
+    /**
+     * @param parallelism
+     *         number of maven tasks, e.g. resolving of the maven projects, which may be performed at the same time
+     */
+    @Inject
+    public MavenExecutorService(@Named("che.maven.server.resolve.parallelism") int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d").build();
-        service = Executors.newFixedThreadPool(1, threadFactory);
+        service = Executors.newFixedThreadPool(this.parallelism, threadFactory);
+    }
+
+    /** Returns number of tasks which may be performed at the same time. */
+    public int getParallelism() {
+        return parallelism;
     }
 
     public void submit(Runnable task) {
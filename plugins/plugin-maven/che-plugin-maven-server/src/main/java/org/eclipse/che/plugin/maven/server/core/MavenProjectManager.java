@@ -67,6 +67,8 @@ public class MavenProjectManager {
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
 
+    private volatile MavenWorkspaceCache workspaceCacheCopy;
+
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
     private final Lock                   writeLock     = readWriteLock.writeLock();
@@ -117,7 +119,8 @@ public class MavenProjectManager {
         try {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
-            mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
+            // projects may be resolved in parallel, so overall percent is set by the executor of resolve tasks
+            mavenServer.customize(copyWorkspaceCache(), terminal, new TextOnlyProgressNotifier(mavenNotifier), false, true);
             MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
             dispatcher.projectResolved(mavenProject, modifications);
 
@@ -363,12 +366,14 @@ public class MavenProjectManager {
     private void fillMavenKeyMap(MavenProject mavenProject) {
         MavenKey mavenKey = mavenProject.getMavenKey();
         mavenWorkspaceCache.put(mavenKey, mavenProject.getPomFile());
+        workspaceCacheCopy = null;
         keyToProjectMap.put(mavenKey, mavenProject);
     }
 
     private void clearMavenKeyMap(MavenProject mavenProject) {
         MavenKey mavenKey = mavenProject.getMavenKey();
         mavenWorkspaceCache.invalidate(mavenKey);
+        workspaceCacheCopy = null;
         keyToProjectMap.remove(mavenKey);
     }
 
@@ -407,10 +412,19 @@ public class MavenProjectManager {
         }
     }
 
+    /**
+     * Returns copy of the workspace cache which is sent to the maven server. The copy is reused until the cache
+     * is changed, so it must not be modified by the callers.
+     */
     public MavenWorkspaceCache copyWorkspaceCache() {
         readLock.lock();
         try {
-            return mavenWorkspaceCache.copy();
+            MavenWorkspaceCache copy = workspaceCacheCopy;
+            if (copy == null) {
+                // concurrent readers may create equal copies, the last one is kept
+                workspaceCacheCopy = copy = mavenWorkspaceCache.copy();
+            }
+            return copy;
         } finally {
             readLock.unlock();
         }
@@ -494,6 +508,43 @@ public class MavenProjectManager {
         state.fireUpdate();
     }
 
+    /** Passes to the delegate everything except percents. */
+    private static class TextOnlyProgressNotifier implements MavenProgressNotifier {
+        private final MavenProgressNotifier delegate;
+
+        TextOnlyProgressNotifier(MavenProgressNotifier delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setText(String text) {
+            delegate.setText(text);
+        }
+
+        @Override
+        public void setPercent(double percent) {
+        }
+
+        @Override
+        public void setPercentUndefined(boolean undefined) {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return delegate.isCanceled();
+        }
+
+        @Override
+        public void start() {
+            delegate.start();
+        }
+
+        @Override
+        public void stop() {
+            delegate.stop();
+        }
+    }
+
     private class UpdateState {
         Map<MavenProject, MavenProjectModifications> projectWithModification = new HashMap<>();
 
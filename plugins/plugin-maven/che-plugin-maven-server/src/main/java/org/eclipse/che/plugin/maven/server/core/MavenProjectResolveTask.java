@@ -10,9 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.core;
 
+import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.core.resources.IProject;
 
+import java.util.Objects;
+
 /**
  * @author Evgen Vidolob
  */
@@ -40,4 +43,49 @@ public class MavenProjectResolveTask implements MavenProjectTask {
         }
 
     }
+
+    /**
+     * Project is resolved after its parent and the projects it depends on, if they are resolved at the same time.
+     * Resolve of the same project waits until the previous one is done, so the project is never resolved concurrently.
+     */
+    @Override
+    public boolean dependsOn(MavenProjectTask other) {
+        if (!(other instanceof MavenProjectResolveTask)) {
+            return false;
+        }
+        final MavenProject otherProject = ((MavenProjectResolveTask)other).mavenProject;
+        return mavenProject == otherProject || dependsOn(mavenProject, otherProject);
+    }
+
+    /** Tasks are equal if they resolve the same project, so a project which waits for resolve is queued once. */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MavenProjectResolveTask)) {
+            return false;
+        }
+        return mavenProject == ((MavenProjectResolveTask)obj).mavenProject;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(mavenProject);
+    }
+
+    static boolean dependsOn(MavenProject project, MavenProject other) {
+        final MavenKey key = other.getMavenKey();
+        if (project == other || key == null) {
+            return false;
+        }
+        if (key.equals(project.getParentKey())) {
+            return true;
+        }
+        return project.getDependencies()
+                      .stream()
+                      .anyMatch(artifact -> Objects.equals(key.getArtifactId(), artifact.getArtifactId())
+                                            && Objects.equals(key.getGroupId(), artifact.getGroupId())
+                                            && Objects.equals(key.getVersion(), artifact.getVersion()));
+    }
 }
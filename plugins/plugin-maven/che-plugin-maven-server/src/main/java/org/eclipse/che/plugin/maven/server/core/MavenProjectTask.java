@@ -17,4 +17,12 @@ package org.eclipse.che.plugin.maven.server.core;
  */
 public interface MavenProjectTask {
     void perform();
+
+    /**
+     * Returns {@code true} if this task must not be started until the other task, which was submitted
+     * to the {@link MavenTaskExecutor} earlier, is done. By default tasks don't depend on each other.
+     */
+    default boolean dependsOn(MavenProjectTask other) {
+        return false;
+    }
 }
@@ -13,14 +13,21 @@ package org.eclipse.che.plugin.maven.server.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Executor for {@link MavenProjectTask}. Uses {@link MavenExecutorService} as executor service.
  *
+ * <p>Runs up to {@code parallelism} tasks at the same time, tasks are started in the order they were submitted
+ * except the task which {@link MavenProjectTask#dependsOn(MavenProjectTask) depends on} earlier submitted task
+ * which is not done yet, such task waits while tasks submitted after it may be started.
+ * With parallelism equal to one tasks are performed one by one in the order they were submitted.
+ *
  * @author Evgen Vidolob
  */
 public class MavenTaskExecutor {
@@ -28,91 +35,135 @@ public class MavenTaskExecutor {
 
     private final MavenExecutorService  service;
     private final MavenProgressNotifier notifier;
-    private final Queue<MavenProjectTask> queue = new LinkedList<>();
+    private final int                   parallelism;
+    /**
+     * Submitted tasks which are not started yet mapped to the not done tasks they depend on.
+     * Equal tasks are queued once, while dependencies and running tasks are tracked by identity
+     * as the task may be queued again while the equal one is running.
+     */
+    private final Map<MavenProjectTask, Set<MavenProjectTask>> queue   = new LinkedHashMap<>();
+    private final Set<MavenProjectTask>                        running = newIdentitySet();
     private boolean isWorking;
+    private int     tasksDone;
 
     public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier) {
+        this(service, notifier, 1);
+    }
+
+    public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier, int parallelism) {
         this.service = service;
         this.notifier = notifier;
+        this.parallelism = Math.max(1, parallelism);
     }
 
     public void submitTask(MavenProjectTask task) {
         synchronized (queue) {
-            //if no running tasks, start immediately
+            if (queue.containsKey(task)) {
+                return;
+            }
+            final Set<MavenProjectTask> dependencies = newIdentitySet();
+            for (MavenProjectTask submitted : running) {
+                if (task.dependsOn(submitted)) {
+                    dependencies.add(submitted);
+                }
+            }
+            for (MavenProjectTask submitted : queue.keySet()) {
+                if (task.dependsOn(submitted)) {
+                    dependencies.add(submitted);
+                }
+            }
+            queue.put(task, dependencies);
             if (!isWorking) {
                 isWorking = true;
-                runTask(task);
-            } else {
-                if (!queue.contains(task)) {
-                    queue.add(task);
-                }
+                tasksDone = 0;
+                notifier.start();
             }
+            startReadyTasks();
         }
     }
 
     public void removeTask(MavenProjectTask task) {
         synchronized (queue) {
-            queue.remove(task);
+            if (queue.remove(task) != null) {
+                taskFinished(task);
+            }
         }
     }
 
     public void stop() {
         synchronized (queue) {
             queue.clear();
+            if (running.isEmpty()) {
+                finishWork();
+            }
         }
     }
 
-    private void runTask(MavenProjectTask task) {
-       service.submit(() -> doRunTasks(task));
-    }
-
-    private void doRunTasks(MavenProjectTask task) {
-        int taskDone = 0;
-        notifier.start();
-        while (true) {
-            taskDone++;
-            int restTasks;
-            synchronized (queue) {
-                restTasks = queue.size();
+    /** Must be called while holding the lock of the queue. */
+    private void startReadyTasks() {
+        final Iterator<Map.Entry<MavenProjectTask, Set<MavenProjectTask>>> it = queue.entrySet().iterator();
+        while (running.size() < parallelism && it.hasNext()) {
+            final Map.Entry<MavenProjectTask, Set<MavenProjectTask>> entry = it.next();
+            if (entry.getValue().isEmpty()) {
+                it.remove();
+                final MavenProjectTask task = entry.getKey();
+                running.add(task);
+                service.submit(() -> doRunTask(task));
             }
+        }
+        if (running.isEmpty() && queue.isEmpty()) {
+            finishWork();
+        } else {
+            notifier.setPercent((double)tasksDone / (double)(tasksDone + running.size() + queue.size()));
+        }
+    }
 
-            notifier.setPercent((double)taskDone / (double)(restTasks + taskDone));
-            try {
-                task.perform();
-            } catch (Throwable throwable) {
-                LOG.error(throwable.getMessage(), throwable);
-                //TODO need to notify user some how
-            }
+    private void doRunTask(MavenProjectTask task) {
+        try {
+            task.perform();
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+            //TODO need to notify user some how
+        }
 
-            synchronized (queue) {
-                task = queue.poll();
-                if (task == null) {
-                    isWorking = false;
-                    notifier.stop();
-                    return;
-                }
-            }
+        synchronized (queue) {
+            running.remove(task);
+            tasksDone++;
+            taskFinished(task);
+        }
+    }
 
+    /** Must be called while holding the lock of the queue. */
+    private void taskFinished(MavenProjectTask task) {
+        for (Set<MavenProjectTask> dependencies : queue.values()) {
+            dependencies.remove(task);
         }
+        startReadyTasks();
     }
 
-    public void waitForEndAllTasks() {
-        if(!isWorking){
-            return;
+    /** Must be called while holding the lock of the queue. */
+    private void finishWork() {
+        if (isWorking) {
+            isWorking = false;
+            notifier.stop();
         }
+        queue.notifyAll();
+    }
 
-        Semaphore semaphore = new Semaphore(1);
-        try {
-            semaphore.acquire();
-            submitTask(semaphore::release);
+    private static Set<MavenProjectTask> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
 
-            while (true) {
-                if (!isWorking || semaphore.tryAcquire(1, TimeUnit.SECONDS)) {
-                    return;
+    public void waitForEndAllTasks() {
+        synchronized (queue) {
+            try {
+                while (isWorking) {
+                    queue.wait();
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.debug(e.getMessage(), e);
             }
-        } catch (InterruptedException e) {
-            LOG.debug(e.getMessage(), e);
         }
     }
 }
@@ -84,7 +84,7 @@ public class MavenWorkspace {
         this.communication = communication;
         this.classpathManager = classpathManager;
         this.manager = manager;
-        resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+        resolveExecutor = new MavenTaskExecutor(executorService, notifier, executorService.getParallelism());
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
             public void onEvent(ProjectDeletedEvent event) {
@@ -154,7 +154,9 @@ public class MavenWorkspace {
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
-        for (MavenProject mavenProject : needResolve) {
+        // projects are submitted after the projects they depend on, so independent projects are resolved in parallel
+        // while dependent ones wait for their dependencies
+        for (MavenProject mavenProject : sortByDependencies(needResolve)) {
 
             resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
                 addSourcesFromBuildHelperPlugin(mavenProject);
@@ -164,6 +166,27 @@ public class MavenWorkspace {
 
     }
 
+    private List<MavenProject> sortByDependencies(Set<MavenProject> projects) {
+        List<MavenProject> sorted = new ArrayList<>(projects.size());
+        Set<MavenProject> visited = new HashSet<>();
+        for (MavenProject project : projects) {
+            addAfterDependencies(project, projects, visited, sorted);
+        }
+        return sorted;
+    }
+
+    private void addAfterDependencies(MavenProject project, Set<MavenProject> projects, Set<MavenProject> visited, List<MavenProject> sorted) {
+        if (!visited.add(project)) {
+            return; // already added or dependency cycle
+        }
+        for (MavenProject other : projects) {
+            if (MavenProjectResolveTask.dependsOn(project, other)) {
+                addAfterDependencies(other, projects, visited, sorted);
+            }
+        }
+        sorted.add(project);
+    }
+
     private void updateJavaProject(MavenProject project) {
         IJavaProject javaProject = JavaCore.create(project.getProject());
         try {
@@ -22,6 +22,7 @@ import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
 import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
+import org.eclipse.che.plugin.maven.server.projecttype.MavenModelCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.runtime.Path;
@@ -51,6 +52,7 @@ public class PomChangeListener {
                              MavenWorkspace mavenWorkspace,
                              EclipseWorkspaceProvider eclipseWorkspaceProvider,
                              ThreadPullLauncher launcher,
+                             MavenModelCache modelCache,
                              @Named("che.user.workspaces.storage") String workspacePath) {
         this.mavenWorkspace = mavenWorkspace;
         this.eclipseWorkspaceProvider = eclipseWorkspaceProvider;
@@ -63,6 +65,7 @@ public class PomChangeListener {
             public void onEvent(ProjectItemModifiedEvent event) {
                 String eventPath = event.getPath();
                 if (!event.isFolder() && eventPath.endsWith("pom.xml")) {
+                    modelCache.invalidate(eventPath);
                     //TODO update only pom file that in root of project
 //                    if(event.getProject().equals(eventPath.substring(0, eventPath.lastIndexOf("pom.xml") - 1))) {
                     if (pomIsValid(eventPath)) {
@@ -77,6 +80,7 @@ public class PomChangeListener {
             @Override
             public void onEvent(PomModifiedEventDto event) {
                 String eventPath = event.getPath();
+                modelCache.invalidate(eventPath);
                 if (pomIsValid(eventPath)) {
                     projectToUpdate.add(new Path(eventPath).removeLastSegments(1).toOSString());
                 }
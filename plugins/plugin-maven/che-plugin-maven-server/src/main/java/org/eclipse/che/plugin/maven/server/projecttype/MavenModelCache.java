@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.projecttype;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.ide.maven.tools.Model;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Shared cache of the parsed pom.xml models.
+ *
+ * <p>Attributes of the maven project are read from the pom.xml one by one, so without the cache
+ * the same pom.xml is parsed for each attribute. Cached model is valid while modification date and
+ * length of the pom.xml are the same as when it was parsed, besides
+ * {@link org.eclipse.che.plugin.maven.server.core.project.PomChangeListener} invalidates it when pom.xml is modified.
+ *
+ * <p>Cached models are shared between callers, so they must not be modified.
+ */
+@Singleton
+public class MavenModelCache {
+    private static final int MAX_CACHED_MODELS = 1000;
+
+    private final Cache<String, CachedModel> models;
+
+    public MavenModelCache() {
+        this.models = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_MODELS).build();
+    }
+
+    /** Returns model of the pom.xml, pom.xml is parsed only if it is not cached yet or was changed since it was cached. */
+    public Model getModel(FileEntry pomFile) throws ServerException, IOException {
+        final String path = pomFile.getPath().toString();
+        // stamp is taken before reading, so change made during reading is detected on the next call
+        final String stamp = pomFile.getModified() + ":" + pomFile.getVirtualFile().getLength();
+        final CachedModel cached = models.getIfPresent(path);
+        if (cached != null && cached.stamp.equals(stamp)) {
+            return cached.model;
+        }
+        final Model model;
+        try (InputStream content = pomFile.getInputStream()) {
+            model = Model.readFrom(content);
+        }
+        models.put(path, new CachedModel(stamp, model));
+        return model;
+    }
+
+    /** Removes model of the pom.xml with given path, relative to the workspace root, from the cache. */
+    public void invalidate(String pomPath) {
+        models.invalidate(Path.of(pomPath.startsWith("/") ? pomPath : ('/' + pomPath)).toString());
+    }
+
+    /** Removes all models from the cache. */
+    public void invalidateAll() {
+        models.invalidateAll();
+    }
+
+    private static class CachedModel {
+        final String stamp;
+        final Model  model;
+
+        CachedModel(String stamp, Model model) {
+            this.stamp = stamp;
+            this.model = model;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.eclipse.che.ide.maven.tools.Build;
 import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.ide.maven.tools.Resource;
 
+import javax.inject.Inject;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
@@ -49,12 +50,23 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.VERSION;
  */
 public class MavenValueProviderFactory implements ValueProviderFactory {
 
+    private final MavenModelCache modelCache;
+
+    public MavenValueProviderFactory() {
+        this(new MavenModelCache());
+    }
+
+    @Inject
+    public MavenValueProviderFactory(MavenModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
+
     protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
         FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        return modelCache.getModel(pomFile);
     }
 
     protected void throwReadException(Exception e) throws ValueStorageException {
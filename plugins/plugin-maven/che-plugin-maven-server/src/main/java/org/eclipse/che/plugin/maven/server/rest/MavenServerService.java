@@ -30,6 +30,7 @@ import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.maven.data.MavenProjectProblem;
 import org.eclipse.che.maven.server.MavenTerminal;
+import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
@@ -38,6 +39,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.shared.dto.MavenServerProcessMetrics;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -89,6 +91,9 @@ public class MavenServerService {
     @Inject
     private ClasspathManager classpathManager;
 
+    @Inject
+    private MavenServerManager serverManager;
+
     @Inject
     public MavenServerService(MavenWrapperManager wrapperManager,
                               ProjectRegistry projectRegistry,
@@ -165,6 +170,15 @@ public class MavenServerService {
         return Response.ok().build();
     }
 
+    @GET
+    @Path("metrics")
+    @ApiOperation(value = "Get metrics of the maven server processes")
+    @ApiResponses({@ApiResponse(code = 200, message = "OK")})
+    @Produces("application/json")
+    public List<MavenServerProcessMetrics> getServerMetrics() {
+        return serverManager.getMetrics();
+    }
+
     @GET
     @Path("pom/reconcile")
     @ApiOperation(value = "Reconcile pom.xml file")
@@ -234,6 +234,19 @@ public abstract class RmiClient<Remote> {
         return info != null;
     }
 
+    /**
+     * Stops the process which was started for the target and param, does nothing if there is no such process.
+     */
+    public void stop(Object target, Object param) {
+        ProcessInfo info;
+        synchronized (infoMap) {
+            info = infoMap.get(Pair.of(target, param));
+        }
+        if (info != null && info.processHandler != null) {
+            info.processHandler.destroyProcess();
+        }
+    }
+
     public void stopAll(boolean wait) {
         List<ProcessInfo> processList;
         synchronized (infoMap) {
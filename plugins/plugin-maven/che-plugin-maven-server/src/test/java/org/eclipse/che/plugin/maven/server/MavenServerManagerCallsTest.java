@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server;
+
+import org.eclipse.che.maven.server.MavenRemoteServer;
+import org.eclipse.che.maven.server.MavenServer;
+import org.eclipse.che.plugin.maven.server.rmi.RmiClient;
+import org.eclipse.che.plugin.maven.shared.dto.MavenServerProcessMetrics;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.rmi.RemoteException;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for counting of the remote calls by the processes of {@link MavenServerManager}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class MavenServerManagerCallsTest {
+
+    @Mock
+    private RmiClient<MavenRemoteServer> client;
+    @Mock
+    private MavenRemoteServer            remoteServer;
+    @Mock
+    private MavenServer                  server;
+
+    private MavenServerManager manager;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        manager = new MavenServerManager("maven-server", 512, 2, 0);
+        manager.setClient(client);
+        when(client.acquire(any(), any())).thenReturn(remoteServer);
+        when(remoteServer.createServer(any())).thenReturn(server);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    public void firstCallIsFinishedInTheProcessItIsStarted() throws Exception {
+        when(server.getLocalRepository()).thenReturn(new File("repository"));
+
+        manager.createMavenServer().getLocalRepository();
+
+        final List<MavenServerProcessMetrics> metrics = manager.getMetrics();
+        assertEquals(metrics.get(0).getActiveCalls(), 0);
+        // creation of the server and the call itself
+        assertEquals(metrics.get(0).getCalls(), 2);
+        assertEquals(metrics.get(1).getActiveCalls(), 0);
+        assertEquals(metrics.get(1).getCalls(), 0);
+    }
+
+    @Test
+    public void callIsFinishedInTheProcessItIsStartedWhenServerIsCreatedAgain() throws Exception {
+        when(server.getLocalRepository()).thenThrow(new RemoteException("server is gone"))
+                                         .thenReturn(new File("repository"));
+
+        manager.createMavenServer().getLocalRepository();
+
+        verify(remoteServer, times(2)).createServer(any());
+        for (MavenServerProcessMetrics process : manager.getMetrics()) {
+            assertEquals(process.getActiveCalls(), 0);
+        }
+    }
+}
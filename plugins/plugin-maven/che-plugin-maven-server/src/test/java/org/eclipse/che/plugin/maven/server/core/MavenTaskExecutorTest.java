@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link MavenTaskExecutor}.
+ */
+public class MavenTaskExecutorTest {
+
+    private MavenExecutorService  executorService;
+    private MavenProgressNotifier notifier;
+    private List<String>          events;
+
+    @Before
+    public void setUp() {
+        executorService = new MavenExecutorService(2);
+        notifier = mock(MavenProgressNotifier.class);
+        events = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void performsIndependentTasksInParallel() throws Exception {
+        final MavenTaskExecutor executor = new MavenTaskExecutor(executorService, notifier, 2);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        executor.submitTask(new AwaitingTask("a", bothStarted));
+        executor.submitTask(new AwaitingTask("b", bothStarted));
+        executor.waitForEndAllTasks();
+
+        assertTrue(events.containsAll(asList("a in parallel", "b in parallel")));
+        verify(notifier).start();
+        verify(notifier).stop();
+    }
+
+    @Test
+    public void startsDependentTaskWhenItsDependencyIsDone() throws Exception {
+        final MavenTaskExecutor executor = new MavenTaskExecutor(executorService, notifier, 2);
+        final RecordingTask parent = new RecordingTask("parent");
+        final RecordingTask independent = new RecordingTask("independent");
+
+        executor.submitTask(parent);
+        executor.submitTask(new RecordingTask("module", parent));
+        executor.submitTask(independent);
+        executor.waitForEndAllTasks();
+
+        assertEquals(6, events.size());
+        assertTrue(events.indexOf("parent done") < events.indexOf("module started"));
+    }
+
+    @Test
+    public void performsTasksOneByOneInSubmitOrderWithoutParallelism() throws Exception {
+        final MavenTaskExecutor executor = new MavenTaskExecutor(executorService, notifier);
+
+        executor.submitTask(new RecordingTask("a"));
+        executor.submitTask(new RecordingTask("b"));
+        executor.waitForEndAllTasks();
+
+        assertEquals(asList("a started", "a done", "b started", "b done"), events);
+    }
+
+    @Test
+    public void resolvesSameProjectOneByOneAndQueuesItOnce() throws Exception {
+        final MavenTaskExecutor executor = new MavenTaskExecutor(executorService, notifier, 2);
+        final IProject project = mock(IProject.class);
+        when(project.exists()).thenReturn(true);
+        final MavenProject mavenProject = new MavenProject(project, null);
+        final MavenProjectManager projectManager = mock(MavenProjectManager.class);
+        final RecordingTask afterResolve = new RecordingTask("resolve");
+
+        // the first task is started at once, the second one waits for it and the third one is the same pending resolve
+        executor.submitTask(new MavenProjectResolveTask(mavenProject, projectManager, afterResolve::perform));
+        executor.submitTask(new MavenProjectResolveTask(mavenProject, projectManager, afterResolve::perform));
+        executor.submitTask(new MavenProjectResolveTask(mavenProject, projectManager, afterResolve::perform));
+        executor.waitForEndAllTasks();
+
+        assertEquals(asList("resolve started", "resolve done", "resolve started", "resolve done"), events);
+        verify(projectManager, times(2)).resolveMavenProject(project, mavenProject);
+    }
+
+    @Test
+    public void resolvesModuleAfterAllPendingResolvesOfItsParent() throws Exception {
+        final MavenTaskExecutor executor = new MavenTaskExecutor(executorService, notifier, 2);
+        final IProject project = mock(IProject.class);
+        when(project.exists()).thenReturn(true);
+        final MavenKey parentKey = new MavenKey("org.test", "parent", "1.0");
+        final MavenProject parent = mock(MavenProject.class);
+        when(parent.getProject()).thenReturn(project);
+        when(parent.getMavenKey()).thenReturn(parentKey);
+        final MavenProject module = mock(MavenProject.class);
+        when(module.getProject()).thenReturn(project);
+        when(module.getMavenKey()).thenReturn(new MavenKey("org.test", "module", "1.0"));
+        when(module.getParentKey()).thenReturn(parentKey);
+        final MavenProjectManager projectManager = mock(MavenProjectManager.class);
+
+        // the module waits for both the running and the queued resolve of the parent, which are equal tasks
+        executor.submitTask(new MavenProjectResolveTask(parent, projectManager, new RecordingTask("parent")::perform));
+        executor.submitTask(new MavenProjectResolveTask(parent, projectManager, new RecordingTask("parent")::perform));
+        executor.submitTask(new MavenProjectResolveTask(module, projectManager, new RecordingTask("module")::perform));
+        executor.waitForEndAllTasks();
+
+        assertEquals(asList("parent started", "parent done", "parent started", "parent done", "module started", "module done"),
+                     events);
+    }
+
+    private class RecordingTask implements MavenProjectTask {
+        final String        name;
+        final RecordingTask dependency;
+
+        RecordingTask(String name) {
+            this(name, null);
+        }
+
+        RecordingTask(String name, RecordingTask dependency) {
+            this.name = name;
+            this.dependency = dependency;
+        }
+
+        @Override
+        public void perform() {
+            events.add(name + " started");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(name + " done");
+        }
+
+        @Override
+        public boolean dependsOn(MavenProjectTask other) {
+            return other == dependency;
+        }
+    }
+
+    private class AwaitingTask implements MavenProjectTask {
+        final String         name;
+        final CountDownLatch started;
+
+        AwaitingTask(String name, CountDownLatch started) {
+            this.name = name;
+            this.started = started;
+        }
+
+        @Override
+        public void perform() {
+            started.countDown();
+            try {
+                // the other task is started while this one is performed
+                if (started.await(5, TimeUnit.SECONDS)) {
+                    events.add(name + " in parallel");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
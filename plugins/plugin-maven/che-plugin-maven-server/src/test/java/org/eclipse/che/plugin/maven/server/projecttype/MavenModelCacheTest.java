@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.projecttype;
+
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.ide.maven.tools.Model;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.java.shared.Constants.SOURCE_FOLDER;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.ARTIFACT_ID;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.GROUP_ID;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.PACKAGING;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.PARENT_ARTIFACT_ID;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.PARENT_GROUP_ID;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.PARENT_VERSION;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.RESOURCE_FOLDER;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.TEST_SOURCE_FOLDER;
+import static org.eclipse.che.plugin.maven.shared.MavenAttributes.VERSION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link MavenModelCache}.
+ */
+public class MavenModelCacheTest {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenModelCacheTest.class);
+
+    private static final List<String> ATTRIBUTES = Arrays.asList(ARTIFACT_ID, GROUP_ID, VERSION, PACKAGING,
+                                                                 PARENT_ARTIFACT_ID, PARENT_GROUP_ID, PARENT_VERSION,
+                                                                 SOURCE_FOLDER, TEST_SOURCE_FOLDER, RESOURCE_FOLDER);
+
+    @Test
+    public void parsesPomOnlyOnceWhileItIsNotChanged() throws Exception {
+        final MavenModelCache cache = new MavenModelCache();
+        final FileEntry pom = mockPom("/project/pom.xml", pomContent("module"), 1000);
+
+        final Model model = cache.getModel(pom);
+
+        assertSame(model, cache.getModel(pom));
+        assertEquals("module", model.getArtifactId());
+        verify(pom, times(1)).getInputStream();
+    }
+
+    @Test
+    public void parsesPomAgainWhenModificationDateIsChanged() throws Exception {
+        final MavenModelCache cache = new MavenModelCache();
+        final FileEntry pom = mockPom("/project/pom.xml", pomContent("module"), 1000);
+        cache.getModel(pom);
+
+        when(pom.getModified()).thenReturn(2000L);
+        cache.getModel(pom);
+
+        verify(pom, times(2)).getInputStream();
+    }
+
+    @Test
+    public void parsesPomAgainWhenItIsInvalidated() throws Exception {
+        final MavenModelCache cache = new MavenModelCache();
+        final FileEntry pom = mockPom("/project/pom.xml", pomContent("module"), 1000);
+        cache.getModel(pom);
+
+        cache.invalidate("project/pom.xml");
+        cache.getModel(pom);
+
+        verify(pom, times(2)).getInputStream();
+    }
+
+    /**
+     * Resolves attributes of the big multi-module project, as it is done on project type resolution,
+     * and compares it with parsing pom.xml for each attribute as it was done before the cache.
+     */
+    @Test
+    public void parsesEachPomOnceWhileResolvingAttributesOfMultiModuleProject() throws Exception {
+        final int modules = 200;
+        final List<FolderEntry> folders = new ArrayList<>(modules);
+        final List<FileEntry> poms = new ArrayList<>(modules);
+        for (int i = 0; i < modules; i++) {
+            final FileEntry pom = mockPom("/reactor/module-" + i + "/pom.xml", pomContent("module-" + i), 1000);
+            final FolderEntry folder = mock(FolderEntry.class);
+            when(folder.getChild("pom.xml")).thenReturn(pom);
+            folders.add(folder);
+            poms.add(pom);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < modules; i++) {
+            for (int j = 0; j < ATTRIBUTES.size(); j++) {
+                Model.readFrom(new ByteArrayInputStream(pomContent("module").getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        final long uncachedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        final MavenValueProviderFactory factory = new MavenValueProviderFactory(new MavenModelCache());
+        start = System.nanoTime();
+        for (int i = 0; i < modules; i++) {
+            final ValueProvider provider = factory.newInstance(folders.get(i));
+            for (String attribute : ATTRIBUTES) {
+                provider.getValues(attribute);
+            }
+            assertEquals("module-" + i, provider.getValues(ARTIFACT_ID).get(0));
+        }
+        final long cachedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info("Resolving {} attributes of {} modules: {} ms parsing pom.xml for each attribute, {} ms with cache",
+                 ATTRIBUTES.size(), modules, uncachedMillis, cachedMillis);
+
+        for (FileEntry pom : poms) {
+            verify(pom, times(1)).getInputStream();
+        }
+    }
+
+    private static FileEntry mockPom(String path, String content, long modified) throws Exception {
+        final FileEntry pom = mock(FileEntry.class);
+        final VirtualFile virtualFile = mock(VirtualFile.class);
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        when(pom.getPath()).thenReturn(Path.of(path));
+        when(pom.getModified()).thenReturn(modified);
+        when(pom.getVirtualFile()).thenReturn(virtualFile);
+        when(virtualFile.getLength()).thenReturn((long)bytes.length);
+        when(pom.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(bytes));
+        return pom;
+    }
+
+    private static String pomContent(String artifactId) {
+        return "<project>\n" +
+               "    <modelVersion>4.0.0</modelVersion>\n" +
+               "    <parent>\n" +
+               "        <groupId>org.example</groupId>\n" +
+               "        <artifactId>reactor</artifactId>\n" +
+               "        <version>1.0</version>\n" +
+               "    </parent>\n" +
+               "    <artifactId>" + artifactId + "</artifactId>\n" +
+               "    <packaging>jar</packaging>\n" +
+               "    <build>\n" +
+               "        <sourceDirectory>src/main/java</sourceDirectory>\n" +
+               "    </build>\n" +
+               "</project>";
+    }
+}
@@ -81,6 +81,18 @@ public class MavenServerManagerTest {
         }
     }
 
+    @Test
+    public void testBuildMavenServerParametersHeapSize() throws Exception {
+        MavenServerManager test = new MavenServerManager("test", 1024, 2, 30);
+        try {
+            JavaParameters parameters = test.buildMavenServerParameters();
+            assertThat(parameters.getVmParameters()).contains("-Xmx1024m");
+            assertThat(test.getMetrics()).hasSize(2);
+        } finally {
+            test.shutdown();
+        }
+    }
+
     @Test
     public void testBuildMavenServerParametersClassPathMain() throws Exception {
         JavaParameters parameters = manager.buildMavenServerParameters();
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Metrics of the maven server process from the pool of maven server processes.
+ */
+@DTO
+public interface MavenServerProcessMetrics {
+
+    /** Index of the process in the pool, process with index zero is kept running. */
+    int getIndex();
+
+    MavenServerProcessMetrics withIndex(int index);
+
+    boolean isRunning();
+
+    MavenServerProcessMetrics withRunning(boolean running);
+
+    /** Number of remote calls which are performed right now. */
+    int getActiveCalls();
+
+    MavenServerProcessMetrics withActiveCalls(int activeCalls);
+
+    long getCalls();
+
+    MavenServerProcessMetrics withCalls(long calls);
+
+    long getAverageCallMillis();
+
+    MavenServerProcessMetrics withAverageCallMillis(long averageCallMillis);
+
+    long getMaxCallMillis();
+
+    MavenServerProcessMetrics withMaxCallMillis(long maxCallMillis);
+
+    /** Number of times process was started again after it failed or was stopped. */
+    int getRestarts();
+
+    MavenServerProcessMetrics withRestarts(int restarts);
+
+    long getIdleMillis();
+
+    MavenServerProcessMetrics withIdleMillis(long idleMillis);
+}
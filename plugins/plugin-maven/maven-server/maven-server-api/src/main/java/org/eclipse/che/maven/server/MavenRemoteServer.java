@@ -29,4 +29,9 @@ public interface MavenRemoteServer extends Remote {
     MavenServer createServer(MavenSettings settings) throws RemoteException;
 
     MavenModel interpolateModel(MavenModel model, File projectDir) throws RemoteException;
+
+    /**
+     * Does nothing, used by the client to check that server process is alive and responsive.
+     */
+    void ping() throws RemoteException;
 }
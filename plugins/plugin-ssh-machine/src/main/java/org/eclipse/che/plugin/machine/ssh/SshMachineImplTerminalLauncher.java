@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.machine.ssh;
 
 import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.HttpLaunchingChecker;
 import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
 import org.eclipse.che.api.agent.server.terminal.WebsocketTerminalFilesPathProvider;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -56,7 +57,9 @@ public class SshMachineImplTerminalLauncher extends AbstractAgentLauncher {
                                           @Named("machine.agent.ping_delay_ms") long agentPingDelayMs,
                                           @Named("machine.ssh.server.terminal.location") String terminalLocation,
                                           WebsocketTerminalFilesPathProvider terminalPathProvider) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"));
+        super(agentMaxStartTimeMs,
+              agentPingDelayMs,
+              new HttpLaunchingChecker("4411/tcp", "/", new ProcessIsLaunchedChecker("che-websocket-terminal")));
         this.archivePathProvider = terminalPathProvider;
         this.terminalLocation = terminalLocation;
     }
@@ -28,10 +28,13 @@ import org.eclipse.che.plugin.svn.server.credentials.CredentialsProvider;
 import org.eclipse.che.plugin.svn.server.credentials.CredentialsProvider.Credentials;
 import org.eclipse.che.plugin.svn.server.repository.RepositoryUrlProvider;
 import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
+import org.eclipse.che.plugin.svn.server.upstream.CommandLineStreamProcessor;
 import org.eclipse.che.plugin.svn.server.upstream.UpstreamUtils;
+import org.eclipse.che.plugin.svn.server.utils.CommandTimings;
 import org.eclipse.che.plugin.svn.server.utils.InfoUtils;
 import org.eclipse.che.plugin.svn.server.utils.SshEnvironment;
 import org.eclipse.che.plugin.svn.server.utils.SubversionUtils;
+import org.eclipse.che.plugin.svn.server.utils.XmlOutputParser;
 import org.eclipse.che.plugin.svn.shared.AddRequest;
 import org.eclipse.che.plugin.svn.shared.CLIOutputResponse;
 import org.eclipse.che.plugin.svn.shared.CLIOutputResponseList;
@@ -58,6 +61,7 @@ import org.eclipse.che.plugin.svn.shared.ResolveRequest;
 import org.eclipse.che.plugin.svn.shared.RevertRequest;
 import org.eclipse.che.plugin.svn.shared.ShowDiffRequest;
 import org.eclipse.che.plugin.svn.shared.ShowLogRequest;
+import org.eclipse.che.plugin.svn.shared.StatusItem.FileState;
 import org.eclipse.che.plugin.svn.shared.StatusRequest;
 import org.eclipse.che.plugin.svn.shared.SubversionItem;
 import org.eclipse.che.plugin.svn.shared.UpdateRequest;
@@ -73,11 +77,14 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -90,18 +97,47 @@ public class SubversionApi {
 
     private static Logger LOG = LoggerFactory.getLogger(SubversionApi.class);
 
+    /** Max number of paths passed to the single svn command by batch queries, it keeps command line short enough. */
+    private static final int MAX_BATCH_PATHS = 500;
+
+    /** Commands which don't modify the working copy, other commands invalidate cached results of the project. */
+    private static final Set<String> READ_ONLY_COMMANDS = new HashSet<>(Arrays.asList("status", "info", "log", "diff", "list",
+                                                                                      "propget", "proplist", "export"));
+
+    /** Options which are followed by the value, they are skipped when the name of the command is looked up. */
+    private static final Set<String> OPTIONS_WITH_VALUE = new HashSet<>(Arrays.asList("--depth", "--revision", "--changelist",
+                                                                                      "--accept", "--message"));
+
     private final CredentialsProvider   credentialsProvider;
     private final RepositoryUrlProvider repositoryUrlProvider;
     private final SshScriptProvider     sshScriptProvider;
+    private final SubversionStatusCache statusCache;
+    private final CommandTimings        commandTimings;
     protected     LineConsumerFactory   svnOutputPublisherFactory;
 
-    @Inject
     public SubversionApi(CredentialsProvider credentialsProvider,
                          RepositoryUrlProvider repositoryUrlProvider,
                          SshScriptProvider sshScriptProvider) {
+        this(credentialsProvider, repositoryUrlProvider, sshScriptProvider, new SubversionStatusCache(0));
+    }
+
+    @Inject
+    public SubversionApi(CredentialsProvider credentialsProvider,
+                         RepositoryUrlProvider repositoryUrlProvider,
+                         SshScriptProvider sshScriptProvider,
+                         SubversionStatusCache statusCache) {
         this.credentialsProvider = credentialsProvider;
         this.repositoryUrlProvider = repositoryUrlProvider;
         this.sshScriptProvider = sshScriptProvider;
+        this.statusCache = statusCache;
+        this.commandTimings = new CommandTimings();
+    }
+
+    /**
+     * @return execution times of the svn commands run by this API, grouped by the name of the command
+     */
+    public Map<String, CommandTimings.Timing> getCommandTimings() {
+        return commandTimings.getTimings();
     }
 
     /**
@@ -368,8 +404,15 @@ public class SubversionApi {
         // Command Name
         cliArgs.add("status");
 
-        final CommandLineResult result = runCommand(null, cliArgs, projectPath,
-                                                    addWorkingCopyPathIfNecessary(request.getPaths()));
+        final List<String> paths = addWorkingCopyPathIfNecessary(request.getPaths());
+        final CommandLineResult result;
+        if (request.isShowUpdates()) {
+            // status of the repository can't be cached as it is not watched
+            result = runCommand(null, cliArgs, projectPath, paths);
+        } else {
+            result = statusCache.get(projectPath.getAbsolutePath(), cliArgs, paths,
+                                     () -> runCommand(null, new ArrayList<>(cliArgs), projectPath, paths));
+        }
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -856,9 +899,17 @@ public class SubversionApi {
                                          List<String> args,
                                          File projectPath,
                                          List<String> paths) throws IOException, SubversionException {
+        return runCommand(env, args, projectPath, paths, null);
+    }
+
+    private CommandLineResult runCommand(Map<String, String> env,
+                                         List<String> args,
+                                         File projectPath,
+                                         List<String> paths,
+                                         CommandLineStreamProcessor stdoutProcessor) throws IOException, SubversionException {
         String[] credentials = getCredentialArgs(projectPath.getAbsolutePath());
         String repoUrl = getRepositoryUrl(projectPath.getAbsolutePath());
-        return runCommand(env, args, projectPath, paths, credentials, repoUrl);
+        return runCommand(env, args, projectPath, paths, credentials, repoUrl, stdoutProcessor);
     }
 
     private CommandLineResult runCommand(Map<String, String> env,
@@ -867,6 +918,20 @@ public class SubversionApi {
                                          List<String> paths,
                                          String[] credentials,
                                          String repoUrl) throws IOException, SubversionException {
+        return runCommand(env, args, projectPath, paths, credentials, repoUrl, null);
+    }
+
+    /**
+     * Runs svn command, when stdout processor is specified it receives output of the command while it is produced
+     * and stdout lines of the result are empty.
+     */
+    private CommandLineResult runCommand(Map<String, String> env,
+                                         List<String> args,
+                                         File projectPath,
+                                         List<String> paths,
+                                         String[] credentials,
+                                         String repoUrl,
+                                         CommandLineStreamProcessor stdoutProcessor) throws IOException, SubversionException {
         final List<String> lines = new ArrayList<>();
         final CommandLineResult result;
         final StringBuffer buffer;
@@ -893,15 +958,32 @@ public class SubversionApi {
             env.putAll(sshEnvironment.get());
         }
 
+        final String command = getCommandName(args);
+        final long startTime = System.nanoTime();
         try {
-            result = UpstreamUtils.executeCommandLine(env,
-                                                      "svn",
-                                                      args.toArray(new String[args.size()]),
-                                                      credentialsArgs,
-                                                      -1,
-                                                      projectPath,
-                                                      svnOutputPublisherFactory);
+            if (stdoutProcessor != null) {
+                result = UpstreamUtils.executeCommandLine(env,
+                                                          "svn",
+                                                          args.toArray(new String[args.size()]),
+                                                          credentialsArgs,
+                                                          projectPath,
+                                                          stdoutProcessor);
+            } else {
+                result = UpstreamUtils.executeCommandLine(env,
+                                                          "svn",
+                                                          args.toArray(new String[args.size()]),
+                                                          credentialsArgs,
+                                                          -1,
+                                                          projectPath,
+                                                          svnOutputPublisherFactory);
+            }
         } finally {
+            final long duration = System.nanoTime() - startTime;
+            commandTimings.record(command, duration);
+            LOG.debug("svn {} finished in {} ms", command, duration / 1_000_000);
+            if (!READ_ONLY_COMMANDS.contains(command)) {
+                statusCache.invalidate(projectPath.getAbsolutePath());
+            }
             if (sshEnvironment != null) {
                 sshEnvironment.cleanUp();
             }
@@ -931,6 +1013,19 @@ public class SubversionApi {
         return result;
     }
 
+    /** Returns the name of the svn command, it is the first argument which is neither an option nor its value. */
+    private static String getCommandName(final List<String> args) {
+        for (int i = 0; i < args.size(); i++) {
+            final String arg = args.get(i);
+            if (OPTIONS_WITH_VALUE.contains(arg)) {
+                i++;
+            } else if (!arg.startsWith("-")) {
+                return arg;
+            }
+        }
+        return "unknown";
+    }
+
     private String[] getCredentialArgs(final String projectPath) throws SubversionException, IOException {
         Credentials credentials;
         try {
@@ -946,7 +1041,82 @@ public class SubversionApi {
     }
 
     public String getRepositoryUrl(final String projectPath) throws SubversionException, IOException {
-        return this.repositoryUrlProvider.getRepositoryUrl(projectPath);
+        // url of the working copy is changed only with its database, so result is cached without targets
+        return statusCache.get(new File(projectPath).getAbsolutePath(),
+                               Collections.singletonList("url"),
+                               Collections.emptyList(),
+                               () -> this.repositoryUrlProvider.getRepositoryUrl(projectPath));
+    }
+
+    /**
+     * Returns information about the working copy items of the paths. Information about all the paths which are
+     * not cached yet is read by a single "svn info --xml" command, its output is parsed while it is produced.
+     *
+     * @param projectPath
+     *         absolute path of the project
+     * @param paths
+     *         paths relative to the project
+     * @return items mapped by the path, paths which are not under version control are absent
+     * @throws IOException
+     *         if there is a problem executing the command
+     * @throws SubversionException
+     *         if there is a Subversion issue
+     */
+    public Map<String, SubversionItem> getInfo(final String projectPath, final List<String> paths)
+            throws IOException, SubversionException {
+        final File project = new File(projectPath);
+        final List<String> args = defaultArgs();
+        args.add("--xml");
+        args.add("info");
+
+        return statusCache.getAll(project.getAbsolutePath(), args, paths, missing -> {
+            final Map<String, SubversionItem> items = new HashMap<>();
+            for (List<String> batch : batches(missing)) {
+                runCommand(null, new ArrayList<>(args), project, batch,
+                           stdout -> XmlOutputParser.parseInfo(stdout, item -> items.put(item.getPath(), item)));
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Returns states of the working copy items of the paths. States of all the paths which are not cached yet are
+     * read by a single "svn status --xml" command, its output is parsed while it is produced.
+     *
+     * @param projectPath
+     *         absolute path of the project
+     * @param paths
+     *         paths relative to the project
+     * @return states mapped by the path
+     * @throws IOException
+     *         if there is a problem executing the command
+     * @throws SubversionException
+     *         if there is a Subversion issue
+     */
+    public Map<String, FileState> getStatus(final String projectPath, final List<String> paths)
+            throws IOException, SubversionException {
+        final File project = new File(projectPath);
+        final List<String> args = defaultArgs();
+        args.add("--xml");
+        args.add("--verbose");
+        addDepth(args, "empty");
+        args.add("status");
+
+        return statusCache.getAll(project.getAbsolutePath(), args, paths, missing -> {
+            final Map<String, FileState> states = new HashMap<>();
+            for (List<String> batch : batches(missing)) {
+                runCommand(null, new ArrayList<>(args), project, batch, stdout -> XmlOutputParser.parseStatus(stdout, states::put));
+            }
+            return states;
+        });
+    }
+
+    private static List<List<String>> batches(final List<String> paths) {
+        final List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i += MAX_BATCH_PATHS) {
+            batches.add(paths.subList(i, Math.min(i + MAX_BATCH_PATHS, paths.size())));
+        }
+        return batches;
     }
 
     /**
@@ -973,8 +1143,15 @@ public class SubversionApi {
 
         List<String> paths = new ArrayList<String>();
         paths.add(request.getTarget());
-        final CommandLineResult result = runCommand(null, args, new File(request.getProjectPath()),
-                                                    addWorkingCopyPathIfNecessary(paths));
+        final List<String> targets = addWorkingCopyPathIfNecessary(paths);
+        final File projectPath = new File(request.getProjectPath());
+        final CommandLineResult result;
+        if (isNullOrEmpty(request.getRevision())) {
+            result = statusCache.get(projectPath.getAbsolutePath(), args, targets,
+                                     () -> runCommand(null, new ArrayList<>(args), projectPath, targets));
+        } else {
+            result = runCommand(null, args, projectPath, targets);
+        }
 
         final InfoResponse response = DtoFactory.getInstance().createDto(InfoResponse.class)
                                                 .withCommand(result.getCommandLine().toString())
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Caches results of the Subversion commands which read the state of the working copy, so the clients which poll
+ * status of the project don't start "svn" process and scan the whole working copy every time.
+ * <p/>
+ * Results are cached per project and per target paths of the command. They are invalidated by the file watcher:
+ * change of the file invalidates results of the targets which contain the file, change of the working copy
+ * database ({@code .svn/wc.db}) invalidates all the results of the project. Commands which modify the working copy
+ * invalidate results of the project explicitly, results also expire after {@code svn.status_cache.expire_after_sec}
+ * as a safety net for changes the watcher misses.
+ */
+@Singleton
+public class SubversionStatusCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SubversionStatusCache.class);
+
+    private static final int    MAX_ENTRIES        = 10_000;
+    private static final String WORKING_COPY_DB    = ".svn/wc.db";
+    private static final String WORKING_COPY_ADMIN = ".svn";
+
+    private final FileWatcherNotificationHandler  fileWatcherNotificationHandler;
+    private final FileWatcherNotificationListener fileWatcherListener;
+    private final Cache<Key, Object>              entries;
+
+    /** Incremented by every invalidation, results loaded while it was changed are not cached as they may be stale. */
+    private long modCount;
+
+    @Inject
+    public SubversionStatusCache(FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                                 @Named("svn.status_cache.expire_after_sec") int expireAfterSec) {
+        this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
+        this.fileWatcherListener = new FileWatcherNotificationListener(VirtualFileFilter.ACCEPT_ALL) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                fileChanged(virtualFile.toIoFile().getAbsolutePath());
+            }
+        };
+        this.entries = CacheBuilder.newBuilder()
+                                   .maximumSize(MAX_ENTRIES)
+                                   .expireAfterWrite(expireAfterSec, SECONDS)
+                                   .build();
+    }
+
+    /** Creates cache which is not connected to the file watcher, its results are invalidated only explicitly. */
+    SubversionStatusCache(int expireAfterSec) {
+        this(null, expireAfterSec);
+    }
+
+    @PostConstruct
+    void start() {
+        if (fileWatcherNotificationHandler != null) {
+            fileWatcherNotificationHandler.addNotificationListener(fileWatcherListener);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (fileWatcherNotificationHandler != null) {
+            fileWatcherNotificationHandler.removeNotificationListener(fileWatcherListener);
+        }
+    }
+
+    /**
+     * Returns cached result of the command or loads and caches it. Result is not cached when some of the targets
+     * is not a path inside of the project, e.g. it is a repository URL.
+     *
+     * @param projectPath absolute path of the project
+     * @param command the command and its options which define the result, without targets
+     * @param targets the paths relative to the project, result without targets is invalidated only by the
+     *         changes of the working copy database
+     * @param loader loads the result when it is not cached
+     */
+    public <T> T get(String projectPath, List<String> command, List<String> targets, Loader<T> loader)
+            throws IOException, SubversionException {
+        if (!targets.stream().allMatch(SubversionStatusCache::isLocalPath)) {
+            return loader.load();
+        }
+        final Key key = new Key(projectPath, command, targets);
+        final long expectedModCount;
+        synchronized (this) {
+            @SuppressWarnings("unchecked")
+            final T cached = (T)entries.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            expectedModCount = modCount;
+        }
+        final T result = loader.load();
+        if (result != null) {
+            synchronized (this) {
+                if (expectedModCount == modCount) {
+                    entries.put(key, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns results for every target, results which are not cached are loaded by the single invocation of the
+     * loader. Targets which have no result after loading are absent in the returned map.
+     *
+     * @param projectPath absolute path of the project
+     * @param command the command and its options which define the results, without targets
+     * @param targets the paths relative to the project
+     * @param loader loads results of the targets which are not cached, results are mapped by the target
+     */
+    public <T> Map<String, T> getAll(String projectPath, List<String> command, List<String> targets, BatchLoader<T> loader)
+            throws IOException, SubversionException {
+        final Map<String, T> results = new LinkedHashMap<>();
+        final List<String> missing = new ArrayList<>();
+        final long expectedModCount;
+        synchronized (this) {
+            for (String target : targets) {
+                @SuppressWarnings("unchecked")
+                final T cached = isLocalPath(target) ? (T)entries.getIfPresent(new Key(projectPath, command, singletonList(target)))
+                                                     : null;
+                if (cached != null) {
+                    results.put(target, cached);
+                } else {
+                    missing.add(target);
+                }
+            }
+            expectedModCount = modCount;
+        }
+        if (missing.isEmpty()) {
+            return results;
+        }
+        final Map<String, T> loaded = loader.load(missing);
+        synchronized (this) {
+            for (String target : missing) {
+                final T result = loaded.get(target);
+                if (result != null) {
+                    results.put(target, result);
+                    if (expectedModCount == modCount && isLocalPath(target)) {
+                        entries.put(new Key(projectPath, command, singletonList(target)), result);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /** Invalidates all the results of the project, it is called after the working copy is changed by svn command. */
+    public synchronized void invalidate(String projectPath) {
+        modCount++;
+        entries.asMap().keySet().removeIf(key -> key.projectPath.equals(projectPath));
+    }
+
+    /** Invalidates results affected by the change of the file with the given absolute path. */
+    @VisibleForTesting
+    synchronized void fileChanged(String path) {
+        if (entries.size() == 0) {
+            return;
+        }
+        boolean changed = false;
+        for (Key key : new ArrayList<>(entries.asMap().keySet())) {
+            if (!path.startsWith(key.projectPath + File.separatorChar)) {
+                continue;
+            }
+            final String relative = path.substring(key.projectPath.length() + 1).replace(File.separatorChar, '/');
+            if (isAffectedBy(key, relative)) {
+                entries.invalidate(key);
+                changed = true;
+            }
+        }
+        if (changed) {
+            modCount++;
+            LOG.debug("Cached svn results are invalidated by the change of {}", path);
+        }
+    }
+
+    private static boolean isAffectedBy(Key key, String changed) {
+        if (changed.equals(WORKING_COPY_DB)) {
+            return true;
+        }
+        if (changed.equals(WORKING_COPY_ADMIN) || changed.startsWith(WORKING_COPY_ADMIN + '/')) {
+            // pristine copies, locks and temporary files don't change results
+            return false;
+        }
+        for (String target : key.targets) {
+            if (target.isEmpty()
+                || changed.equals(target)
+                || changed.startsWith(target + '/')
+                || target.startsWith(changed + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLocalPath(String target) {
+        return !target.contains("://") && !target.startsWith("/") && !target.startsWith("^") && !target.contains("..");
+    }
+
+    /** Makes all the forms of the path relative to project the same, e.g. "./src/" and "src". */
+    private static String normalize(String target) {
+        String normalized = target;
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return ".".equals(normalized) ? "" : normalized;
+    }
+
+    /** Loads result of the command when it is not cached. */
+    public interface Loader<T> {
+        T load() throws IOException, SubversionException;
+    }
+
+    /** Loads results of the command for many targets at once. */
+    public interface BatchLoader<T> {
+        Map<String, T> load(List<String> targets) throws IOException, SubversionException;
+    }
+
+    private static class Key {
+        final String       projectPath;
+        final List<String> command;
+        final List<String> targets;
+
+        Key(String projectPath, List<String> command, List<String> targets) {
+            this.projectPath = projectPath;
+            this.command = new ArrayList<>(command);
+            this.targets = new ArrayList<>(targets.size());
+            for (String target : targets) {
+                this.targets.add(normalize(target));
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return projectPath.equals(other.projectPath) && command.equals(other.command) && targets.equals(other.targets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectPath, command, targets);
+        }
+    }
+}
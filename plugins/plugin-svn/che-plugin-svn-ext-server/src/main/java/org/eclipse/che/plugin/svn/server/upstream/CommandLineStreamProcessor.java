@@ -8,23 +8,22 @@
  * Contributors:
  *   Codenvy, S.A. - initial API and implementation
  *******************************************************************************/
-package org.eclipse.che.plugin.gdb.server.parser;
+package org.eclipse.che.plugin.svn.server.upstream;
 
-import org.testng.annotations.Test;
-
-import static org.testng.Assert.assertEquals;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
- * @author Anatoliy Bazko
+ * Processes standard output of the command line while it is produced.
  */
-public class GdbPTypeTest {
-
-    @Test
-    public void testParse() throws Exception {
-        GdbOutput gdbOutput = GdbOutput.of("type = int\n");
-
-        GdbPType gdbPType = GdbPType.parse(gdbOutput);
+public interface CommandLineStreamProcessor {
 
-        assertEquals(gdbPType.getType(), "int");
-    }
+    /**
+     * Reads the output, the stream is closed when the method returns.
+     *
+     * @param stdout the standard output of the command
+     *
+     * @throws IOException if the output can't be read or processed
+     */
+    void process(InputStream stdout) throws IOException;
 }
@@ -16,8 +16,11 @@ import org.slf4j.LoggerFactory;
 
 import org.eclipse.che.commons.annotation.Nullable;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -101,14 +104,104 @@ public class UpstreamUtils {
                                                        @Nullable final File workingDirectory,
                                                        @Nullable LineConsumerFactory lineConsumerFactory)
             throws IOException {
-        CommandLine command = new CommandLine(cmd);
+        final CommandLine command = newCommandLine(cmd, args);
+        final Process process = startProcess(env, command, redactedArgs, workingDirectory);
 
+        LineConsumer lineConsumer = LineConsumer.DEV_NULL;
+        if (lineConsumerFactory != null) {
+            lineConsumer = lineConsumerFactory.newLineConsumer();
+        }
+
+        final CommandLineOutputProcessor stdOutConsumer = new CommandLineOutputProcessor(new ArrayList<String>());
+        final CommandLineOutputProcessor stdErrConsumer = new CommandLineOutputProcessor(new ArrayList<String>());
+
+        final Watchdog watcher;
+
+        if (timeout > 0) {
+            watcher = new Watchdog(timeout, TimeUnit.MILLISECONDS);
+
+            watcher.start(new CancellableProcessWrapper(process));
+        }
+
+        try (LineConsumer consumer = new CompositeLineConsumer(lineConsumer, stdOutConsumer)) {
+            ProcessUtil.process(process, consumer, stdErrConsumer);
+            process.waitFor();
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+
+        return new CommandLineResult(command, process.exitValue(), stdOutConsumer.getOutput(), stdErrConsumer.getOutput());
+    }
+
+    /**
+     * Executes a command line executable based on the arguments specified and passes its standard output to the
+     * processor while it is produced, so the output is neither split into lines nor kept in memory.
+     *
+     * @param env the optional environment variables
+     * @param cmd the command to run
+     * @param args the optional command arguments
+     * @param redactedArgs additional command arguments that will not be shown in result
+     * @param workingDirectory the optional working directory
+     * @param stdoutProcessor the processor of the standard output
+     *
+     * @return the command line result, it contains no stdout lines
+     *
+     * @throws IOException if something goes wrong or the processor fails
+     */
+    public static CommandLineResult executeCommandLine(@Nullable final Map<String, String> env,
+                                                       final String cmd,
+                                                       @Nullable final String[] args,
+                                                       @Nullable final String[] redactedArgs,
+                                                       @Nullable final File workingDirectory,
+                                                       final CommandLineStreamProcessor stdoutProcessor)
+            throws IOException {
+        final CommandLine command = newCommandLine(cmd, args);
+        final Process process = startProcess(env, command, redactedArgs, workingDirectory);
+
+        final CommandLineOutputProcessor stdErrConsumer = new CommandLineOutputProcessor(new ArrayList<String>());
+        final Thread stdErrReader = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    stdErrConsumer.writeLine(line);
+                }
+            } catch (IOException e) {
+                LOG.debug(e.getMessage(), e);
+            }
+        }, "SvnStdErrReader");
+        stdErrReader.setDaemon(true);
+        stdErrReader.start();
+
+        try (InputStream stdout = process.getInputStream()) {
+            stdoutProcessor.process(stdout);
+            process.waitFor();
+            stdErrReader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            if (process.isAlive()) {
+                process.destroy();
+            }
+        }
+
+        return new CommandLineResult(command, process.exitValue(), new ArrayList<String>(), stdErrConsumer.getOutput());
+    }
+
+    private static CommandLine newCommandLine(final String cmd, @Nullable final String[] args) {
+        final CommandLine command = new CommandLine(cmd);
         if (args != null) {
             for (String arg: args) {
                 command.add(arg);
             }
         }
+        return command;
+    }
 
+    private static Process startProcess(@Nullable final Map<String, String> env,
+                                        final CommandLine command,
+                                        @Nullable final String[] redactedArgs,
+                                        @Nullable final File workingDirectory) throws IOException {
         CommandLine redactedCommand = new CommandLine(command);
         if (redactedArgs != null) {
             for (String arg: redactedArgs) {
@@ -129,31 +222,6 @@ public class UpstreamUtils {
 
         processBuilder.directory(workingDirectory);
 
-        LineConsumer lineConsumer = LineConsumer.DEV_NULL;
-        if (lineConsumerFactory != null) {
-            lineConsumer = lineConsumerFactory.newLineConsumer();
-        }
-
-        final CommandLineOutputProcessor stdOutConsumer = new CommandLineOutputProcessor(new ArrayList<String>());
-        final CommandLineOutputProcessor stdErrConsumer = new CommandLineOutputProcessor(new ArrayList<String>());
-
-        final Process process = processBuilder.start();
-
-        final Watchdog watcher;
-
-        if (timeout > 0) {
-            watcher = new Watchdog(timeout, TimeUnit.MILLISECONDS);
-
-            watcher.start(new CancellableProcessWrapper(process));
-        }
-
-        try (LineConsumer consumer = new CompositeLineConsumer(lineConsumer, stdOutConsumer)) {
-            ProcessUtil.process(process, consumer, stdErrConsumer);
-            process.waitFor();
-        } catch (InterruptedException e) {
-            throw new IOException(e);
-        }
-
-        return new CommandLineResult(command, process.exitValue(), stdOutConsumer.getOutput(), stdErrConsumer.getOutput());
+        return processBuilder.start();
     }
 }
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Collects execution times of the Subversion commands grouped by the name of the command.
+ */
+public class CommandTimings {
+
+    private final ConcurrentMap<String, Timing> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Records execution of the command.
+     *
+     * @param command the name of the command, e.g. "status"
+     * @param durationNanos the time spent by the command
+     */
+    public void record(final String command, final long durationNanos) {
+        timings.computeIfAbsent(command, name -> new Timing()).add(durationNanos);
+    }
+
+    /**
+     * @return timings of the commands executed so far, sorted by the name of the command
+     */
+    public Map<String, Timing> getTimings() {
+        return new TreeMap<>(timings);
+    }
+
+    /**
+     * Execution times of the single command.
+     */
+    public static class Timing {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void add(final long durationNanos) {
+            count++;
+            totalNanos += durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getTotalMillis() {
+            return NANOSECONDS.toMillis(totalNanos);
+        }
+
+        public synchronized long getAverageMillis() {
+            return count == 0 ? 0 : NANOSECONDS.toMillis(totalNanos / count);
+        }
+
+        public synchronized long getMaxMillis() {
+            return NANOSECONDS.toMillis(maxNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "Timing{count=" + getCount() +
+                   ", totalMillis=" + getTotalMillis() +
+                   ", averageMillis=" + getAverageMillis() +
+                   ", maxMillis=" + getMaxMillis() +
+                   '}';
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.utils;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.svn.shared.StatusItem.FileState;
+import org.eclipse.che.plugin.svn.shared.SubversionItem;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Parses output of the Subversion commands executed with {@code --xml} option. Output is read as a stream of
+ * elements, so every entry is passed to the consumer as soon as it is read and the whole output is never kept
+ * in memory.
+ */
+public class XmlOutputParser {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private XmlOutputParser() { }
+
+    /**
+     * Parses output of the "svn info --xml", every {@code entry} element is converted to {@link SubversionItem}.
+     *
+     * @param in the output of the command
+     * @param consumer the consumer of the items
+     *
+     * @throws IOException if output can't be read or it is not valid
+     */
+    public static void parseInfo(final InputStream in, final Consumer<SubversionItem> consumer) throws IOException {
+        try {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                SubversionItem item = null;
+                while (reader.hasNext()) {
+                    final int event = reader.next();
+                    if (event == START_ELEMENT && "entry".equals(reader.getLocalName())) {
+                        final String path = reader.getAttributeValue(null, "path");
+                        final String kind = reader.getAttributeValue(null, "kind");
+                        item = DtoFactory.getInstance().createDto(SubversionItem.class)
+                                         .withPath(path)
+                                         .withNodeKind("dir".equals(kind) ? "directory" : kind)
+                                         .withRevision(reader.getAttributeValue(null, "revision"));
+                        if ("file".equals(kind) && path != null) {
+                            item.setName(path.substring(path.lastIndexOf('/') + 1));
+                        }
+                    } else if (event == START_ELEMENT && item != null) {
+                        readInfoElement(reader, item);
+                    } else if (event == END_ELEMENT && item != null && "entry".equals(reader.getLocalName())) {
+                        consumer.accept(item);
+                        item = null;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse svn info output: " + e.getMessage(), e);
+        }
+    }
+
+    private static void readInfoElement(final XMLStreamReader reader, final SubversionItem item) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "url":
+                item.setURL(reader.getElementText());
+                break;
+            case "relative-url":
+                item.setRelativeURL(reader.getElementText());
+                break;
+            case "root":
+                item.setRepositoryRoot(reader.getElementText());
+                break;
+            case "uuid":
+                item.setRepositoryUUID(reader.getElementText());
+                break;
+            case "schedule":
+                item.setSchedule(reader.getElementText());
+                break;
+            case "commit":
+                item.setLastChangedRev(reader.getAttributeValue(null, "revision"));
+                break;
+            case "date":
+                item.setLastChangedDate(reader.getElementText());
+                break;
+        }
+    }
+
+    /**
+     * Parses output of the "svn status --xml", state of the item of every {@code entry} element is passed to the
+     * consumer together with the path of the entry.
+     *
+     * @param in the output of the command
+     * @param consumer the consumer of the path and state pairs
+     *
+     * @throws IOException if output can't be read or it is not valid
+     */
+    public static void parseStatus(final InputStream in, final BiConsumer<String, FileState> consumer) throws IOException {
+        try {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                String path = null;
+                while (reader.hasNext()) {
+                    if (reader.next() == START_ELEMENT) {
+                        switch (reader.getLocalName()) {
+                            case "entry":
+                                path = reader.getAttributeValue(null, "path");
+                                break;
+                            case "wc-status":
+                                if (path != null) {
+                                    consumer.accept(path, toFileState(reader.getAttributeValue(null, "item")));
+                                    path = null;
+                                }
+                                break;
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse svn status output: " + e.getMessage(), e);
+        }
+    }
+
+    /** Converts value of the {@code item} attribute to the state, the same way "svn status" shows it in the first column. */
+    static FileState toFileState(final String item) {
+        if (item == null) {
+            return FileState.UNCHANGED;
+        }
+        switch (item) {
+            case "added":
+                return FileState.ADDED;
+            case "conflicted":
+                return FileState.CONFLICTED;
+            case "deleted":
+                return FileState.DELETED;
+            case "ignored":
+                return FileState.IGNORED;
+            case "missing":
+            case "incomplete":
+                return FileState.MISSING;
+            case "modified":
+                return FileState.MODIFIED;
+            case "obstructed":
+                return FileState.OBSTRUCTED;
+            case "replaced":
+                return FileState.REPLACED;
+            case "unversioned":
+                return FileState.UNVERSIONED;
+            case "external":
+                return FileState.UNVERSIONED_EXTERNAL_DIRECTORY;
+            default:
+                return FileState.UNCHANGED;
+        }
+    }
+}
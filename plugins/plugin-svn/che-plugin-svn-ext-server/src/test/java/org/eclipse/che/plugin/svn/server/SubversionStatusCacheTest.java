@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link SubversionStatusCache}.
+ */
+public class SubversionStatusCacheTest {
+
+    private static final String       PROJECT = File.separator + "projects" + File.separator + "trunk";
+    private static final List<String> STATUS  = Arrays.asList("--quiet", "status");
+
+    private SubversionStatusCache cache;
+    private AtomicInteger         loads;
+
+    @Before
+    public void setUp() {
+        cache = new SubversionStatusCache(300);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testResultIsCachedUntilFileOfTargetIsChanged() throws Exception {
+        assertEquals(1, status("src"));
+        assertEquals(1, status("./src/"));
+        assertEquals(2, status("."));
+
+        cache.fileChanged(file("docs/README"));
+        assertEquals(1, status("src"));
+
+        cache.fileChanged(file("src/A.java"));
+        assertEquals(3, status("src"));
+    }
+
+    @Test
+    public void testWorkingCopyDatabaseChangeInvalidatesAllResultsOfProject() throws Exception {
+        status(".");
+        cache.get(PROJECT, singletonList("url"), Collections.emptyList(), () -> "url" + loads.incrementAndGet());
+
+        cache.fileChanged(file(".svn/pristine/ab/abcd.svn-base"));
+        cache.fileChanged(file("src/A.java"));
+        assertEquals("url2", cache.get(PROJECT, singletonList("url"), Collections.emptyList(), () -> "url" + loads.incrementAndGet()));
+
+        cache.fileChanged(file(".svn/wc.db"));
+        assertEquals("url3", cache.get(PROJECT, singletonList("url"), Collections.emptyList(), () -> "url" + loads.incrementAndGet()));
+    }
+
+    @Test
+    public void testResultOfRemoteTargetIsNotCached() throws Exception {
+        assertEquals(1, status("file:///repo/trunk"));
+        assertEquals(2, status("file:///repo/trunk"));
+    }
+
+    @Test
+    public void testResultLoadedWhileCacheIsInvalidatedIsNotCached() throws Exception {
+        cache.get(PROJECT, STATUS, singletonList("."), () -> {
+            cache.invalidate(PROJECT);
+            return loads.incrementAndGet();
+        });
+
+        assertEquals(2, status("."));
+    }
+
+    @Test
+    public void testOnlyMissingTargetsAreLoadedByBatch() throws Exception {
+        final Map<String, Integer> first = cache.getAll(PROJECT, STATUS, Arrays.asList("a", "b"), this::loadAll);
+        final Map<String, Integer> second = cache.getAll(PROJECT, STATUS, Arrays.asList("a", "b", "c"), this::loadAll);
+
+        assertEquals(first.get("a"), second.get("a"));
+        assertEquals(first.get("b"), second.get("b"));
+        assertEquals(Integer.valueOf(2), second.get("c"));
+        assertEquals(2, loads.get());
+    }
+
+    private int status(String target) throws Exception {
+        return cache.get(PROJECT, STATUS, singletonList(target), loads::incrementAndGet);
+    }
+
+    private Map<String, Integer> loadAll(List<String> targets) {
+        final int load = loads.incrementAndGet();
+        final Map<String, Integer> results = new HashMap<>();
+        for (String target : targets) {
+            results.put(target, load);
+        }
+        return results;
+    }
+
+    private static String file(String relativePath) {
+        return PROJECT + File.separator + relativePath.replace('/', File.separatorChar);
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.utils;
+
+import org.eclipse.che.plugin.svn.shared.StatusItem.FileState;
+import org.eclipse.che.plugin.svn.shared.SubversionItem;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for {@link XmlOutputParser}.
+ */
+public class XmlOutputParserTest {
+
+    private static final String INFO = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                       "<info>\n" +
+                                       "<entry kind=\"dir\" path=\".\" revision=\"5\">\n" +
+                                       "<url>file:///repo/trunk</url>\n" +
+                                       "<relative-url>^/trunk</relative-url>\n" +
+                                       "<repository>\n" +
+                                       "<root>file:///repo</root>\n" +
+                                       "<uuid>f7c6d3d6-0000-0000-0000-000000000000</uuid>\n" +
+                                       "</repository>\n" +
+                                       "<wc-info>\n" +
+                                       "<wcroot-abspath>/projects/trunk</wcroot-abspath>\n" +
+                                       "<schedule>normal</schedule>\n" +
+                                       "<depth>infinity</depth>\n" +
+                                       "</wc-info>\n" +
+                                       "<commit revision=\"4\">\n" +
+                                       "<author>user</author>\n" +
+                                       "<date>2016-05-01T10:00:00.000000Z</date>\n" +
+                                       "</commit>\n" +
+                                       "</entry>\n" +
+                                       "<entry kind=\"file\" path=\"src/A.java\" revision=\"5\">\n" +
+                                       "<url>file:///repo/trunk/src/A.java</url>\n" +
+                                       "<wc-info>\n" +
+                                       "<schedule>add</schedule>\n" +
+                                       "</wc-info>\n" +
+                                       "</entry>\n" +
+                                       "</info>\n";
+
+    private static final String STATUS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                         "<status>\n" +
+                                         "<target path=\"src/A.java\">\n" +
+                                         "<entry path=\"src/A.java\">\n" +
+                                         "<wc-status props=\"none\" item=\"modified\" revision=\"5\">\n" +
+                                         "<commit revision=\"3\"><author>user</author></commit>\n" +
+                                         "</wc-status>\n" +
+                                         "</entry>\n" +
+                                         "</target>\n" +
+                                         "<target path=\"new.txt\">\n" +
+                                         "<entry path=\"new.txt\">\n" +
+                                         "<wc-status props=\"none\" item=\"unversioned\"></wc-status>\n" +
+                                         "</entry>\n" +
+                                         "</target>\n" +
+                                         "<target path=\"README\">\n" +
+                                         "<entry path=\"README\">\n" +
+                                         "<wc-status props=\"none\" item=\"normal\" revision=\"5\"></wc-status>\n" +
+                                         "</entry>\n" +
+                                         "</target>\n" +
+                                         "</status>\n";
+
+    @Test
+    public void testParseInfo() throws Exception {
+        final List<SubversionItem> items = new ArrayList<>();
+
+        XmlOutputParser.parseInfo(stream(INFO), items::add);
+
+        assertEquals(2, items.size());
+
+        final SubversionItem root = items.get(0);
+        assertEquals(".", root.getPath());
+        assertNull(root.getName());
+        assertEquals("directory", root.getNodeKind());
+        assertEquals("5", root.getRevision());
+        assertEquals("file:///repo/trunk", root.getURL());
+        assertEquals("^/trunk", root.getRelativeURL());
+        assertEquals("file:///repo", root.getRepositoryRoot());
+        assertEquals("f7c6d3d6-0000-0000-0000-000000000000", root.getRepositoryUUID());
+        assertEquals("normal", root.getSchedule());
+        assertEquals("4", root.getLastChangedRev());
+        assertEquals("2016-05-01T10:00:00.000000Z", root.getLastChangedDate());
+
+        final SubversionItem file = items.get(1);
+        assertEquals("src/A.java", file.getPath());
+        assertEquals("A.java", file.getName());
+        assertEquals("file", file.getNodeKind());
+        assertEquals("add", file.getSchedule());
+    }
+
+    @Test
+    public void testParseStatus() throws Exception {
+        final Map<String, FileState> states = new LinkedHashMap<>();
+
+        XmlOutputParser.parseStatus(stream(STATUS), states::put);
+
+        assertEquals(3, states.size());
+        assertEquals(FileState.MODIFIED, states.get("src/A.java"));
+        assertEquals(FileState.UNVERSIONED, states.get("new.txt"));
+        assertEquals(FileState.UNCHANGED, states.get("README"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testParseInvalidOutput() throws Exception {
+        XmlOutputParser.parseStatus(stream("<status><target path=\".\">"), (path, state) -> { });
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -35,4 +35,16 @@ public interface BreakpointDto extends Breakpoint {
     void setCondition(String condition);
 
     BreakpointDto withCondition(String condition);
+
+    int getHitCount();
+
+    void setHitCount(int hitCount);
+
+    BreakpointDto withHitCount(int hitCount);
+
+    String getLogMessage();
+
+    void setLogMessage(String logMessage);
+
+    BreakpointDto withLogMessage(String logMessage);
 }
@@ -28,4 +28,15 @@ public interface Breakpoint {
      * The condition.
      */
     String getCondition();
+
+    /**
+     * The number of hits after which breakpoint suspends execution, zero means that execution is suspended on each hit.
+     */
+    int getHitCount();
+
+    /**
+     * The message which is logged when breakpoint is hit instead of suspending execution, {@code null} if breakpoint
+     * isn't log point. Expressions enclosed in curly braces are replaced with their values.
+     */
+    String getLogMessage();
 }
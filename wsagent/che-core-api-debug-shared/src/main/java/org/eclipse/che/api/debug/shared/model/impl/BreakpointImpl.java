@@ -20,11 +20,19 @@ public class BreakpointImpl implements Breakpoint {
     private final Location location;
     private final boolean  enabled;
     private final String   condition;
+    private final int      hitCount;
+    private final String   logMessage;
 
-    public BreakpointImpl(Location location, boolean enabled, String condition) {
+    public BreakpointImpl(Location location, boolean enabled, String condition, int hitCount, String logMessage) {
         this.location = location;
         this.enabled = enabled;
         this.condition = condition;
+        this.hitCount = hitCount;
+        this.logMessage = logMessage;
+    }
+
+    public BreakpointImpl(Location location, boolean enabled, String condition) {
+        this(location, enabled, condition, 0, null);
     }
 
     public BreakpointImpl(Location location) {
@@ -46,6 +54,16 @@ public class BreakpointImpl implements Breakpoint {
         return condition;
     }
 
+    @Override
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public String getLogMessage() {
+        return logMessage;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -54,8 +72,10 @@ public class BreakpointImpl implements Breakpoint {
         BreakpointImpl that = (BreakpointImpl)o;
 
         if (enabled != that.enabled) return false;
+        if (hitCount != that.hitCount) return false;
         if (location != null ? !location.equals(that.location) : that.location != null) return false;
-        return !(condition != null ? !condition.equals(that.condition) : that.condition != null);
+        if (condition != null ? !condition.equals(that.condition) : that.condition != null) return false;
+        return !(logMessage != null ? !logMessage.equals(that.logMessage) : that.logMessage != null);
     }
 
     @Override
@@ -63,6 +83,8 @@ public class BreakpointImpl implements Breakpoint {
         int result = location != null ? location.hashCode() : 0;
         result = 31 * result + (enabled ? 1 : 0);
         result = 31 * result + (condition != null ? condition.hashCode() : 0);
+        result = 31 * result + hitCount;
+        result = 31 * result + (logMessage != null ? logMessage.hashCode() : 0);
         return result;
     }
 }
@@ -67,6 +67,8 @@ public final class DtoConverter {
 
     public static BreakpointDto asDto(Breakpoint breakpoint) {
         return newDto(BreakpointDto.class).withCondition(breakpoint.getCondition())
+                                          .withHitCount(breakpoint.getHitCount())
+                                          .withLogMessage(breakpoint.getLogMessage())
                                           .withEnabled(breakpoint.isEnabled())
                                           .withLocation(asDto(breakpoint.getLocation()));
     }
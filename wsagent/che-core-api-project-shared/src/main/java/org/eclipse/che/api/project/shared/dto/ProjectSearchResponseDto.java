@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Page of the text search results.
+ */
+@DTO
+public interface ProjectSearchResponseDto {
+    /** Get total number of files which match the search criteria. */
+    int getTotalHits();
+
+    void setTotalHits(int totalHits);
+
+    ProjectSearchResponseDto withTotalHits(int totalHits);
+
+    /** Get skip count of the next page or -1 if this page is the last one. */
+    int getNextSkipCount();
+
+    void setNextSkipCount(int nextSkipCount);
+
+    ProjectSearchResponseDto withNextSkipCount(int nextSkipCount);
+
+    /** Get found files with occurrences of the searched text. */
+    List<SearchResultDto> getItemReferences();
+
+    void setItemReferences(List<SearchResultDto> itemReferences);
+
+    ProjectSearchResponseDto withItemReferences(List<SearchResultDto> itemReferences);
+}
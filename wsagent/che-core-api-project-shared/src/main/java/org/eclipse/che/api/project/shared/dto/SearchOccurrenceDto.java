@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Occurrence of the searched text in the file.
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    /** Get number of the line which contains the occurrence, starting from 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    /** Get offset of the first character of the occurrence from the beginning of the line. */
+    int getStartColumn();
+
+    void setStartColumn(int startColumn);
+
+    SearchOccurrenceDto withStartColumn(int startColumn);
+
+    /** Get offset after the last character of the occurrence from the beginning of the line. */
+    int getEndColumn();
+
+    void setEndColumn(int endColumn);
+
+    SearchOccurrenceDto withEndColumn(int endColumn);
+
+    /** Get offset of the first character of the occurrence from the beginning of the file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrenceDto withStartOffset(int startOffset);
+
+    /** Get offset after the last character of the occurrence from the beginning of the file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrenceDto withEndOffset(int endOffset);
+
+    /** Get content of the line which contains the occurrence, long lines are cut around the occurrence. */
+    String getLineContent();
+
+    void setLineContent(String lineContent);
+
+    SearchOccurrenceDto withLineContent(String lineContent);
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Replacement of {@code removedLines} lines of the file starting from the zero-based line {@code startLine}
+ * with the {@code text}. Lines include their line separators.
+ */
+@DTO
+public interface VfsFileLineEditDto {
+    int getStartLine();
+
+    VfsFileLineEditDto withStartLine(int startLine);
+
+    int getRemovedLines();
+
+    VfsFileLineEditDto withRemovedLines(int removedLines);
+
+    String getText();
+
+    VfsFileLineEditDto withText(String text);
+}
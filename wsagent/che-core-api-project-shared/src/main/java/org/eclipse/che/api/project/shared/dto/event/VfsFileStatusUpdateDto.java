@@ -27,4 +27,12 @@ public interface VfsFileStatusUpdateDto {
     String getHashCode();
 
     VfsFileStatusUpdateDto withHashCode(String hashCode);
+
+    /**
+     * Returns edit which transforms the previous content of the modified file to the content with
+     * the hash {@link #getHashCode()}, or {@code null} if client should reload the whole content.
+     */
+    VfsFileLineEditDto getLineEdit();
+
+    VfsFileStatusUpdateDto withLineEdit(VfsFileLineEditDto lineEdit);
 }
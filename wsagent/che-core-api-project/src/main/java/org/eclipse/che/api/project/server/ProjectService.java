@@ -36,10 +36,14 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -826,6 +830,10 @@ public class ProjectService extends Service {
                                       @QueryParam("name") String name,
                                       @ApiParam(value = "Search keywords")
                                       @QueryParam("text") String text,
+                                      @ApiParam(value = "How the text is interpreted",
+                                                allowableValues = "QUERY,SUBSTRING,REGEX",
+                                                defaultValue = "QUERY")
+                                      @QueryParam("textMode") @DefaultValue("QUERY") String textMode,
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
@@ -849,6 +857,7 @@ public class ProjectService extends Service {
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
+                .setTextMode(parseTextMode(textMode))
                 .setMaxItems(maxItems)
                 .setSkipCount(skipCount);
 
@@ -868,6 +877,101 @@ public class ProjectService extends Service {
         return items;
     }
 
+    @GET
+    @Path("/textsearch/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for text occurrences",
+                  notes = "Search for files which contain the text and return lines of the files where the text occurs. " +
+                          "Use skip count of the next page to get the next page of results",
+                  response = ProjectSearchResponseDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public ProjectSearchResponseDto searchOccurrences(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                                                      @PathParam("path") String path,
+                                                      @ApiParam(value = "Resource name")
+                                                      @QueryParam("name") String name,
+                                                      @ApiParam(value = "Search keywords", required = true)
+                                                      @QueryParam("text") String text,
+                                                      @ApiParam(value = "How the text is interpreted",
+                                                                allowableValues = "QUERY,SUBSTRING,REGEX",
+                                                                defaultValue = "QUERY")
+                                                      @QueryParam("textMode") @DefaultValue("QUERY") String textMode,
+                                                      @ApiParam(value = "Maximum files in the page")
+                                                      @QueryParam("maxItems") @DefaultValue("100") int maxItems,
+                                                      @ApiParam(value = "Skip count")
+                                                      @QueryParam("skipCount") int skipCount,
+                                                      @ApiParam(value = "Maximum occurrences returned for the single file")
+                                                      @QueryParam("maxOccurrencesPerFile") @DefaultValue("100") int maxOccurrencesPerFile)
+            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+        final ProjectSearchResponseDto response = newDto(ProjectSearchResponseDto.class).withNextSkipCount(-1);
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return response;
+        }
+
+        if (skipCount < 0) {
+            throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+        }
+        if (text == null) {
+            throw new ConflictException("Parameter 'text' is required.");
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setText(text)
+                .setTextMode(parseTextMode(textMode))
+                .setMaxItems(maxItems)
+                .setSkipCount(skipCount)
+                .setIncludeOccurrences(true)
+                .setMaxOccurrencesPerFile(maxOccurrencesPerFile);
+
+        final SearchResult result = searcher.search(expr);
+        final List<SearchResultDto> items = new ArrayList<>(result.getResults().size());
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        for (SearchResultEntry searchResultEntry : result.getResults()) {
+            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+
+            if (child != null && child.isFile()) {
+                items.add(newDto(SearchResultDto.class).withItemReference(injectFileLinks(asDto((FileEntry)child)))
+                                                       .withSearchOccurrences(searchResultEntry.getOccurrences()
+                                                                                               .stream()
+                                                                                               .map(this::toOccurrenceDto)
+                                                                                               .collect(Collectors.toList())));
+            }
+        }
+
+        return response.withItemReferences(items)
+                       .withTotalHits(result.getTotalHits())
+                       .withNextSkipCount(result.getNextPageQueryExpression().isPresent()
+                                          ? result.getNextPageQueryExpression().get().getSkipCount()
+                                          : -1);
+    }
+
+    private static QueryExpression.TextMode parseTextMode(String textMode) throws ConflictException {
+        try {
+            return QueryExpression.TextMode.valueOf(textMode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ConflictException(String.format("Invalid 'textMode' parameter: %s.", textMode));
+        }
+    }
+
+    private SearchOccurrenceDto toOccurrenceDto(SearchOccurrence occurrence) {
+        return newDto(SearchOccurrenceDto.class).withLineNumber(occurrence.getLineNumber())
+                                                .withStartColumn(occurrence.getStartColumn())
+                                                .withEndColumn(occurrence.getEndColumn())
+                                                .withStartOffset(occurrence.getStartOffset())
+                                                .withEndOffset(occurrence.getEndOffset())
+                                                .withLineContent(occurrence.getLineContent());
+    }
+
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
         LOG.info("EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
                  projectName,
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -82,6 +83,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
 
+    private static final int  CHILDREN_CACHE_SIZE             = 1024;
+    /**
+     * Listing of folder which was modified less than this time ago is not cached. Timestamps on some filesystems
+     * have one or two seconds resolution, so next modification of such folder may not change its timestamp.
+     */
+    private static final long CHILDREN_CACHE_RACY_INTERVAL_MS = 2000;
+
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
     private static final String   LOCK_FILE_SUFFIX       = "_lock";
@@ -120,6 +128,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    /** Sorted children of folder together with modification timestamp of folder they were read at. */
+    private static class ChildrenListing {
+        final long              lastModified;
+        final List<VirtualFile> children;
+
+        ChildrenListing(long lastModified, List<VirtualFile> children) {
+            this.lastModified = lastModified;
+            this.children = children;
+        }
+    }
+
     private final File                                            ioRoot;
     private final ArchiverFactory                                 archiverFactory;
     private final SearcherProvider                                searcherProvider;
@@ -136,6 +155,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final Cache<Path, ChildrenListing> childrenCache;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +183,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(CHILDREN_CACHE_SIZE)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .build();
     }
 
     @Override
@@ -208,6 +235,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        childrenCache.invalidateAll();
+    }
+
+    /**
+     * Drops cached listings of the item with specified path and its parent,
+     * called when item is changed outside of virtual filesystem, e.g. on file watcher event.
+     */
+    void invalidateChildrenCache(Path path) {
+        childrenCache.invalidate(path);
+        if (!path.isRoot()) {
+            childrenCache.invalidate(path.getParent());
+        }
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -243,15 +282,46 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
+            final List<VirtualFile> sortedChildren = getSortedChildren(parent);
+            if (filter == null || filter == VirtualFileFilter.ACCEPT_ALL) {
+                return newArrayList(sortedChildren);
+            }
+            final List<VirtualFile> children = newArrayListWithCapacity(sortedChildren.size());
+            for (VirtualFile child : sortedChildren) {
+                if (filter.accept(child)) {
+                    children.add(child);
+                }
+            }
             return children;
         }
         return emptyList();
     }
 
+    /**
+     * Returns sorted children of the folder. Listings are cached and validated against modification
+     * timestamp of the folder, so both changes made through virtual filesystem and changes made
+     * by external tools, e.g. git checkout, are visible without any locking.
+     */
+    private List<VirtualFile> getSortedChildren(LocalVirtualFile parent) throws ServerException {
+        // must be read before listing, if folder is modified while listing the cached entry is outdated right away
+        final long lastModified = parent.toIoFile().lastModified();
+        final ChildrenListing cached = childrenCache.getIfPresent(parent.getPath());
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.children;
+        }
+        final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, null);
+        Collections.sort(children);
+        final List<VirtualFile> unmodifiableChildren = Collections.unmodifiableList(children);
+        if (lastModified != 0 && System.currentTimeMillis() - lastModified > CHILDREN_CACHE_RACY_INTERVAL_MS) {
+            childrenCache.put(parent.getPath(), new ChildrenListing(lastModified, unmodifiableChildren));
+        } else {
+            childrenCache.invalidate(parent.getPath());
+        }
+        return unmodifiableChildren;
+    }
+
 
     private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
             throws ServerException {
@@ -15,8 +15,10 @@ import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.project.shared.dto.event.VfsFileLineEditDto;
 import org.eclipse.che.api.project.shared.dto.event.VfsFileStatusUpdateDto;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.FileStatusDetector.FileTrackingEvent;
+import org.eclipse.che.api.vfs.impl.file.event.detectors.FileTrackingRegistry.LineEdit;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
@@ -31,7 +33,9 @@ import static org.slf4j.LoggerFactory.getLogger;
  * Transmits file status changes for all registered files. Status changes happens if
  * tracked (registered) files are (re)moved or modified. Each file status notification
  * is transmitted to all related to current file endpoints (clients) except for the
- * endpoints that are in 'suspended' state.
+ * endpoints that are in 'suspended' state. Modification notification contains the edit
+ * of the changed lines if registry is able to provide it, so clients don't need to reload
+ * the whole content of the file.
  *
  * @author Dmitry Kuleshov
  */
@@ -88,7 +92,9 @@ public class FileTrackingOperationTransmitter {
         }
 
         private void transmitDeleted(String path) {
-            final String params = getParams(path, null, DELETED);
+            registry.invalidate(path);
+
+            final String params = getParams(path, null, null, DELETED);
             final JsonRpcRequest request = getJsonRpcRequest(params);
 
             registry.getEndpoints(path).forEach(endpoint -> transmitter.transmit(request, endpoint));
@@ -97,15 +103,21 @@ public class FileTrackingOperationTransmitter {
         private void transmitModified(String path) {
             if (registry.updateHash(path)) {
                 final String hashCode = registry.getHashCode(path);
-                final String params = getParams(path, hashCode, MODIFIED);
+                final String params = getParams(path, hashCode, registry.getLineEdit(path), MODIFIED);
                 final JsonRpcRequest request = getJsonRpcRequest(params);
 
                 registry.getEndpoints(path).forEach(endpoint -> transmitter.transmit(request, endpoint));
             }
         }
 
-        private String getParams(String path, String hashCode, FileWatcherEventType type) {
-            return newDto(VfsFileStatusUpdateDto.class).withPath(path).withType(type).withHashCode(hashCode).toString();
+        private String getParams(String path, String hashCode, LineEdit lineEdit, FileWatcherEventType type) {
+            final VfsFileStatusUpdateDto dto = newDto(VfsFileStatusUpdateDto.class).withPath(path).withType(type).withHashCode(hashCode);
+            if (lineEdit != null) {
+                dto.withLineEdit(newDto(VfsFileLineEditDto.class).withStartLine(lineEdit.getStartLine())
+                                                                 .withRemovedLines(lineEdit.getRemovedLines())
+                                                                 .withText(lineEdit.getText()));
+            }
+            return dto.toString();
         }
 
         private JsonRpcRequest getJsonRpcRequest(String params) {
@@ -10,7 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file.event.detectors;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.core.ForbiddenException;
@@ -22,6 +25,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -36,6 +46,13 @@ import static java.util.stream.Collectors.toSet;
  * Simple registry to keep the list of file that should be tracked by VFS file watching
  * system detector - {@link FileStatusDetector}. For each tracked file stores an MD5
  * hash corresponding to its content.
+ * <p/>
+ * Hash is computed by streaming the content of the file and cached together with
+ * the length and the modification date of the file. When file watcher reports that
+ * tracked file is modified the cached hash is reused if the length and the modification
+ * date of the file are not changed, otherwise the content is hashed again. If line edits
+ * are enabled the registry also keeps hashes of the lines of tracked files, so modification
+ * of the file may be described with the edit of the changed lines instead of the whole content.
  *
  * @author Dmitry Kuleshov
  */
@@ -43,13 +60,28 @@ import static java.util.stream.Collectors.toSet;
 public class FileTrackingRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(FileTrackingRegistry.class);
 
+    /**
+     * Modification date of the file which is not older than this interval at the moment of hashing
+     * doesn't prove that file is not modified after hashing, as file systems keep dates with limited precision.
+     */
+    private static final long         TIMESTAMP_PRECISION_MS = 1000;
+    private static final HashFunction LINE_HASH_FUNCTION     = Hashing.murmur3_128();
+    private static final int          BUFFER_SIZE            = 8192;
+
     private final Map<String, FileTrackingMetadata> registry = new ConcurrentHashMap<>();
 
     private final VirtualFileSystemProvider vfsProvider;
+    private final boolean                   lineEditsEnabled;
 
-    @Inject
     public FileTrackingRegistry(VirtualFileSystemProvider vfsProvider) {
+        this(vfsProvider, false);
+    }
+
+    @Inject
+    public FileTrackingRegistry(VirtualFileSystemProvider vfsProvider,
+                                @Named("vfs.file_tracking.line_edits") boolean lineEditsEnabled) {
         this.vfsProvider = vfsProvider;
+        this.lineEditsEnabled = lineEditsEnabled;
     }
 
     public void add(String path, int endpoint) {
@@ -118,14 +150,55 @@ public class FileTrackingRegistry {
         return registry.get(path).getHashCode();
     }
 
-    public boolean updateHash(String path) {
-        final String newHash = getHash(path);
+    /**
+     * Returns edit which transforms the previous content of the file to the current one,
+     * or {@code null} if line edits are disabled or the last modification of the file
+     * can't be described with the edit cheaper than the whole content.
+     */
+    public LineEdit getLineEdit(String path) {
+        final FileTrackingMetadata fileTrackingMetadata = registry.get(path);
+        return fileTrackingMetadata == null ? null : fileTrackingMetadata.getLineEdit();
+    }
 
+    /**
+     * Updates hash of the file content.
+     *
+     * @return {@code true} if content of the file is changed since the previous update
+     */
+    public boolean updateHash(String path) {
         final FileTrackingMetadata fileTrackingMetadata = registry.get(path);
-        final String oldHash = fileTrackingMetadata.getHashCode();
-        fileTrackingMetadata.setHashCode(newHash);
+        if (fileTrackingMetadata == null) {
+            return false;
+        }
 
-        return !Objects.equals(oldHash, newHash);
+        final VirtualFile file = getFile(path);
+        final ContentDigest oldDigest = fileTrackingMetadata.getDigest();
+        if (oldDigest != null && oldDigest.matches(file)) {
+            return false;
+        }
+
+        final ContentDigest newDigest = computeDigest(path, file);
+        fileTrackingMetadata.setDigest(newDigest);
+
+        final String oldHash = oldDigest == null ? null : oldDigest.hashCode;
+        final String newHash = newDigest == null ? null : newDigest.hashCode;
+        if (Objects.equals(oldHash, newHash)) {
+            return false;
+        }
+
+        fileTrackingMetadata.setLineEdit(oldDigest == null || newDigest == null ? null : getLineEdit(path, file, oldDigest, newDigest));
+        return true;
+    }
+
+    /**
+     * Makes the cached hash of the file untrusted, so the next update hashes content of the file
+     * regardless of its length and modification date.
+     */
+    public void invalidate(String path) {
+        final FileTrackingMetadata fileTrackingMetadata = registry.get(path);
+        if (fileTrackingMetadata != null && fileTrackingMetadata.getDigest() != null) {
+            fileTrackingMetadata.setDigest(fileTrackingMetadata.getDigest().invalidate());
+        }
     }
 
     public boolean contains(String path) {
@@ -140,33 +213,215 @@ public class FileTrackingRegistry {
         return unmodifiableSet(registry.keySet());
     }
 
-    private String getHash(String path) {
+    private VirtualFile getFile(String path) {
+        try {
+            return vfsProvider.getVirtualFileSystem()
+                              .getRoot()
+                              .getChild(Path.of(path));
+        } catch (ServerException e) {
+            LOG.error("Error trying to read {} file and broadcast it", path, e);
+        }
+        return null;
+    }
+
+    private ContentDigest computeDigest(String path, VirtualFile file) {
         try {
-            final VirtualFile file = vfsProvider.getVirtualFileSystem()
-                                                .getRoot()
-                                                .getChild(Path.of(path));
-            String content;
             if (file == null) {
-                content = "";
-            } else {
-                content = file.getContentAsString();
+                return ContentDigest.MISSING;
             }
 
-            return Hashing.md5().hashString(content, defaultCharset()).toString();
-        } catch (ServerException | ForbiddenException e) {
+            final long length = file.getLength();
+            final long lastModified = file.getLastModificationDate();
+            final long hashedAt = System.currentTimeMillis();
+            try (HashingInputStream content = new HashingInputStream(Hashing.md5(), file.getContent())) {
+                final long[] lineHashes = lineEditsEnabled ? hashLines(content) : exhaust(content);
+                return new ContentDigest(content.hash().toString(), length, lastModified, hashedAt, lineHashes);
+            }
+        } catch (ServerException | ForbiddenException | IOException e) {
+            LOG.error("Error trying to read {} file and broadcast it", path, e);
+        }
+        return null;
+    }
+
+    private LineEdit getLineEdit(String path, VirtualFile file, ContentDigest oldDigest, ContentDigest newDigest) {
+        final long[] oldLines = oldDigest.lineHashes;
+        final long[] newLines = newDigest.lineHashes;
+        if (file == null || oldLines == null || newLines == null) {
+            return null;
+        }
+
+        final int commonLines = Math.min(oldLines.length, newLines.length);
+        int prefix = 0;
+        while (prefix < commonLines && oldLines[prefix] == newLines[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < commonLines - prefix && oldLines[oldLines.length - 1 - suffix] == newLines[newLines.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        final int insertedLines = newLines.length - prefix - suffix;
+        // edit which replaces the most of the file isn't cheaper than the whole content
+        if (insertedLines * 2 > newLines.length) {
+            return null;
+        }
+
+        try (Reader reader = new InputStreamReader(file.getContent(), defaultCharset())) {
+            return new LineEdit(prefix, oldLines.length - prefix - suffix, readLines(reader, prefix, insertedLines));
+        } catch (ServerException | ForbiddenException | IOException e) {
             LOG.error("Error trying to read {} file and broadcast it", path, e);
         }
         return null;
     }
 
+    /** Returns hashes of the lines of the content, each line includes its line separator. */
+    private static long[] hashLines(InputStream content) throws IOException {
+        final Reader reader = new InputStreamReader(content, defaultCharset());
+        final char[] buffer = new char[BUFFER_SIZE];
+        long[] lineHashes = new long[64];
+        int lines = 0;
+        Hasher line = null;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    if (line == null) {
+                        line = LINE_HASH_FUNCTION.newHasher();
+                    }
+                    line.putUnencodedChars(CharBuffer.wrap(buffer, lineStart, i + 1 - lineStart));
+                    if (lines == lineHashes.length) {
+                        lineHashes = Arrays.copyOf(lineHashes, lines * 2);
+                    }
+                    lineHashes[lines++] = line.hash().asLong();
+                    line = null;
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < read) {
+                if (line == null) {
+                    line = LINE_HASH_FUNCTION.newHasher();
+                }
+                line.putUnencodedChars(CharBuffer.wrap(buffer, lineStart, read - lineStart));
+            }
+        }
+        if (line != null) {
+            if (lines == lineHashes.length) {
+                lineHashes = Arrays.copyOf(lineHashes, lines + 1);
+            }
+            lineHashes[lines++] = line.hash().asLong();
+        }
+        return Arrays.copyOf(lineHashes, lines);
+    }
+
+    private static long[] exhaust(InputStream content) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (content.read(buffer) != -1) {
+            // content is hashed while it is read
+        }
+        return null;
+    }
+
+    /** Reads {@code count} lines starting from the line {@code from}, line separators are kept. */
+    private static String readLines(Reader reader, int from, int count) throws IOException {
+        final StringBuilder text = new StringBuilder();
+        final char[] buffer = new char[BUFFER_SIZE];
+        final int to = from + count;
+        int line = 0;
+        int read;
+        while (line < to && (read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read && line < to; i++) {
+                if (line >= from) {
+                    text.append(buffer[i]);
+                }
+                if (buffer[i] == '\n') {
+                    line++;
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Replacement of {@code removedLines} lines starting from the line {@code startLine} of the previous
+     * content of the file with the {@code text}. Lines are zero-based and include their line separators.
+     */
+    public static class LineEdit {
+        private final int    startLine;
+        private final int    removedLines;
+        private final String text;
+
+        public LineEdit(int startLine, int removedLines, String text) {
+            this.startLine = startLine;
+            this.removedLines = removedLines;
+            this.text = text;
+        }
+
+        public int getStartLine() {
+            return startLine;
+        }
+
+        public int getRemovedLines() {
+            return removedLines;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    private static class ContentDigest {
+        private static final long          UNKNOWN = -1;
+        /** Digest of the file which doesn't exist, content of such file is considered empty. */
+        private static final ContentDigest MISSING = new ContentDigest(Hashing.md5().hashBytes(new byte[0]).toString(),
+                                                                       UNKNOWN,
+                                                                       UNKNOWN,
+                                                                       UNKNOWN,
+                                                                       new long[0]);
+
+        private final String hashCode;
+        private final long   length;
+        private final long   lastModified;
+        private final long   hashedAt;
+        private final long[] lineHashes;
+
+        private ContentDigest(String hashCode, long length, long lastModified, long hashedAt, long[] lineHashes) {
+            this.hashCode = hashCode;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hashedAt = hashedAt;
+            this.lineHashes = lineHashes;
+        }
+
+        /** Checks whether the length and the modification date of the file prove that content is not changed. */
+        private boolean matches(VirtualFile file) {
+            if (file == null) {
+                return this == MISSING;
+            }
+            try {
+                return hashedAt != UNKNOWN
+                       && length == file.getLength()
+                       && lastModified == file.getLastModificationDate()
+                       && hashedAt - lastModified > TIMESTAMP_PRECISION_MS;
+            } catch (ServerException e) {
+                return false;
+            }
+        }
+
+        private ContentDigest invalidate() {
+            return new ContentDigest(hashCode, UNKNOWN, UNKNOWN, UNKNOWN, lineHashes);
+        }
+    }
+
     private class FileTrackingMetadata {
         private static final boolean ACTIVE     = true;
         private static final boolean NOT_ACTIVE = false;
-        private String hashCode;
+        private volatile ContentDigest digest;
+        private volatile LineEdit      lineEdit;
         private Map<Integer, Boolean> endpoints = new ConcurrentHashMap<>();
 
         public FileTrackingMetadata(String path, int endpoint) {
-            this.hashCode = getHash(path);
+            this.digest = computeDigest(path, getFile(path));
             this.endpoints.put(endpoint, ACTIVE);
         }
 
@@ -183,11 +438,23 @@ public class FileTrackingRegistry {
         }
 
         public String getHashCode() {
-            return hashCode;
+            return digest == null ? null : digest.hashCode;
         }
 
-        public void setHashCode(String hashCode) {
-            this.hashCode = hashCode;
+        public ContentDigest getDigest() {
+            return digest;
+        }
+
+        public void setDigest(ContentDigest digest) {
+            this.digest = digest;
+        }
+
+        public LineEdit getLineEdit() {
+            return lineEdit;
+        }
+
+        public void setLineEdit(LineEdit lineEdit) {
+            this.lineEdit = lineEdit;
         }
 
         public void addEndpoint(int endpoint) {
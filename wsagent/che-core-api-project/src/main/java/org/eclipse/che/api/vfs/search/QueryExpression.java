@@ -12,11 +12,25 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    /** Defines how {@link #getText() text} of the query is interpreted. */
+    public enum TextMode {
+        /** Words or query in the Lucene query syntax, matched to the words of the files. */
+        QUERY,
+        /** Substring of the file content, case sensitive, may contain any characters. */
+        SUBSTRING,
+        /** Regular expression in the {@link java.util.regex.Pattern} syntax which is found in the file content. */
+        REGEX
+    }
+
+    private String   name;
+    private String   path;
+    private String   text;
+    private TextMode textMode = TextMode.QUERY;
+    private int      skipCount;
+    private int      maxItems;
+    private long     indexWaitTimeoutMillis;
+    private boolean  includeOccurrences;
+    private int      maxOccurrencesPerFile;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +62,16 @@ public class QueryExpression {
         return this;
     }
 
+    /** Mode of the text search, {@link TextMode#QUERY} by default. */
+    public TextMode getTextMode() {
+        return textMode;
+    }
+
+    public QueryExpression setTextMode(TextMode textMode) {
+        this.textMode = textMode;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +92,54 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Max time in milliseconds to wait until changes made before the query become visible for search.
+     * By default query doesn't wait and changes which are not indexed yet are not reflected in search result.
+     */
+    public long getIndexWaitTimeoutMillis() {
+        return indexWaitTimeoutMillis;
+    }
+
+    public QueryExpression setIndexWaitTimeoutMillis(long indexWaitTimeoutMillis) {
+        this.indexWaitTimeoutMillis = indexWaitTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Whether result should contain occurrences of the text in the found files, i.e. line numbers,
+     * columns and content of the lines, see {@link SearchResultEntry#getOccurrences()}.
+     */
+    public boolean isIncludeOccurrences() {
+        return includeOccurrences;
+    }
+
+    public QueryExpression setIncludeOccurrences(boolean includeOccurrences) {
+        this.includeOccurrences = includeOccurrences;
+        return this;
+    }
+
+    /** Max number of occurrences returned for the single file. Zero or negative value means default limit of searcher. */
+    public int getMaxOccurrencesPerFile() {
+        return maxOccurrencesPerFile;
+    }
+
+    public QueryExpression setMaxOccurrencesPerFile(int maxOccurrencesPerFile) {
+        this.maxOccurrencesPerFile = maxOccurrencesPerFile;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", textMode=" + textMode +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", indexWaitTimeoutMillis=" + indexWaitTimeoutMillis +
+               ", includeOccurrences=" + includeOccurrences +
+               ", maxOccurrencesPerFile=" + maxOccurrencesPerFile +
                '}';
     }
 }
@@ -29,15 +29,18 @@ public class SearchResult {
     private final Optional<QueryExpression> nextPageQueryExpression;
     private final int                       totalHits;
     private final long                      elapsedTimeMillis;
+    private final int                       indexLag;
 
     private SearchResult(List<SearchResultEntry> results,
                          Optional<QueryExpression> nextPageQueryExpression,
                          int totalHits,
-                         long elapsedTimeMillis) {
+                         long elapsedTimeMillis,
+                         int indexLag) {
         this.results = results;
         this.nextPageQueryExpression = nextPageQueryExpression;
         this.totalHits = totalHits;
         this.elapsedTimeMillis = elapsedTimeMillis;
+        this.indexLag = indexLag;
     }
 
     /** Paths of files that match the search criteria. This method is shortcut for:
@@ -70,6 +73,11 @@ public class SearchResult {
         return elapsedTimeMillis;
     }
 
+    /** Number of changes of files which were not visible for search when the query was executed. */
+    public int getIndexLag() {
+        return indexLag;
+    }
+
     /** Optional query expression for retrieving next page. */
     public Optional<QueryExpression> getNextPageQueryExpression() {
         return nextPageQueryExpression;
@@ -80,6 +88,7 @@ public class SearchResult {
         private List<SearchResultEntry> results;
         private int                     totalHits;
         private long                    elapsedTimeMillis;
+        private int                     indexLag;
 
         private SearchResultBuilder() {
         }
@@ -104,6 +113,11 @@ public class SearchResult {
             return this;
         }
 
+        public SearchResultBuilder withIndexLag(int indexLag) {
+            this.indexLag = indexLag;
+            return this;
+        }
+
         public SearchResult build() {
             Optional<QueryExpression> optionalPageNexQueryExpression;
             if (nextPageQueryExpression == null) {
@@ -114,7 +128,7 @@ public class SearchResult {
             if (results == null) {
                 results = emptyList();
             }
-            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis, indexLag);
         }
     }
 }
@@ -56,6 +56,12 @@ public interface Searcher {
      */
     void update(VirtualFile virtualFile) throws ServerException;
 
+    /**
+     * Returns {@code true} if all the files of virtual filesystem are indexed. Searcher may be used before
+     * it is ready, but in this case search result may not reflect recent changes of files.
+     */
+    boolean isReady();
+
     /** Close Searcher. */
     void close();
 
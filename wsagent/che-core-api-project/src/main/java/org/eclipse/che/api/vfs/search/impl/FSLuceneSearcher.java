@@ -26,21 +26,34 @@ import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
 /**
  * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Persistent searcher keeps index directory, so index may be reused by the next searcher
+ * which is created for the same directory, see {@link LuceneSearcher}.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
-    private final File indexDirectory;
+    private final File    indexDirectory;
+    private final boolean persistent;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
         this(indexDirectory, filter, null);
     }
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        super(filter, closeCallback);
+        this(indexDirectory, filter, closeCallback, 0, 0, false);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     int maxBatchSize,
+                     long refreshIntervalMillis,
+                     boolean persistent) {
+        super(filter, closeCallback, maxBatchSize, refreshIntervalMillis);
         this.indexDirectory = indexDirectory;
+        this.persistent = persistent;
     }
 
     @Override
@@ -54,7 +67,7 @@ public class FSLuceneSearcher extends LuceneSearcher {
 
     @Override
     protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
+        if (!persistent && !deleteRecursive(indexDirectory)) {
             LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
             FileCleaner.addFile(indexDirectory);
         }
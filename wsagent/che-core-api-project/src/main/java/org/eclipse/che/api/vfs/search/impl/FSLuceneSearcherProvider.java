@@ -26,25 +26,60 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
-    private final File indexRootDirectory;
+    private final File    indexRootDirectory;
+    private final int     indexMaxBatchSize;
+    private final long    indexRefreshIntervalMillis;
+    private final boolean persistentIndex;
 
     /**
+     * Creates provider of searchers which write changes to the index synchronously.
+     *
      * @param indexRootDirectory
      *         root directory for creation index
      * @param excludePatterns
      *         set filter for files that should not be indexed
      * @see LuceneSearcher
      */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, 0, 0, false);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexMaxBatchSize
+     *         number of queued index changes which are applied without waiting for refresh interval,
+     *         zero or negative value disables batch indexing
+     * @param indexRefreshIntervalMillis
+     *         max time in milliseconds queued index change waits before it becomes visible for search
+     * @param persistentIndex
+     *         if {@code true} index is kept after searcher is closed and reconciled with files on the next start,
+     *         otherwise index is removed and built from scratch on the next start
+     * @see LuceneSearcher
+     */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Named("vfs.index_max_batch_size") int indexMaxBatchSize,
+                                    @Named("vfs.index_refresh_interval_ms") long indexRefreshIntervalMillis,
+                                    @Named("vfs.index_persistent") boolean persistentIndex) throws IOException {
         super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
         this.indexRootDirectory = indexRootDirectory;
+        this.indexMaxBatchSize = indexMaxBatchSize;
+        this.indexRefreshIntervalMillis = indexRefreshIntervalMillis;
+        this.persistentIndex = persistentIndex;
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory,
+                                    fileIndexFilter,
+                                    closeCallback,
+                                    indexMaxBatchSize,
+                                    indexRefreshIntervalMillis,
+                                    persistentIndex);
     }
 }
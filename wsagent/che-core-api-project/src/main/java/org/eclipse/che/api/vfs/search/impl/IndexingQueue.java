@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Queue of index changes which are applied in batches by a background thread.
+ *
+ * <p>Changes are coalesced per path, e.g. a file updated many times before the batch
+ * is applied is indexed once, and deletion of a folder discards all the queued changes
+ * of its children. The batch is applied when the oldest queued change waits longer than
+ * refresh interval or when the number of queued changes reaches max batch size,
+ * whatever happens first.
+ */
+class IndexingQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexingQueue.class);
+
+    enum Operation {
+        /** File is (re)indexed, folder is indexed recursively. */
+        ADD,
+        /** File is reindexed. */
+        UPDATE,
+        /** File is removed from index. */
+        DELETE_FILE,
+        /** Folder and all its children are removed from index. */
+        DELETE_TREE
+    }
+
+    static class Change {
+        final Operation   operation;
+        final String      path;
+        final VirtualFile virtualFile;
+
+        Change(Operation operation, String path, VirtualFile virtualFile) {
+            this.operation = operation;
+            this.path = path;
+            this.virtualFile = virtualFile;
+        }
+
+        @Override
+        public String toString() {
+            return operation + " " + path;
+        }
+    }
+
+    /** Applies the batch of changes to the index and makes them visible for search. */
+    interface BatchHandler {
+        void apply(List<Change> batch);
+    }
+
+    private final BatchHandler                  handler;
+    private final int                           maxBatchSize;
+    private final long                          refreshIntervalMillis;
+    private final LinkedHashMap<String, Change> pending;
+    private final ExecutorService               executor;
+
+    // guarded by pending
+    private List<Change> inProgress = emptyList();
+    /** Time when the oldest queued change was enqueued, coalescing of the changes does not reset it. */
+    private long         pendingSince;
+    private long         inProgressSince;
+    private long         enqueued;
+    private long         visible;
+    private boolean      stopped;
+
+    private volatile Thread indexingThread;
+
+    /**
+     * @param handler
+     *         applies batches of changes
+     * @param maxBatchSize
+     *         number of queued changes which triggers applying of the batch without waiting for refresh interval
+     * @param refreshIntervalMillis
+     *         max time in milliseconds the change waits in queue before being applied
+     */
+    IndexingQueue(BatchHandler handler, int maxBatchSize, long refreshIntervalMillis) {
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.pending = new LinkedHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                                                                                    .setNameFormat("LuceneIndexingThread-%d")
+                                                                                    .build());
+        executor.execute(this::run);
+    }
+
+    void add(VirtualFile virtualFile) {
+        enqueue(new Change(Operation.ADD, virtualFile.getPath().toString(), virtualFile));
+    }
+
+    void update(VirtualFile virtualFile) {
+        enqueue(new Change(Operation.UPDATE, virtualFile.getPath().toString(), virtualFile));
+    }
+
+    void delete(String path, boolean isFile) {
+        enqueue(new Change(isFile ? Operation.DELETE_FILE : Operation.DELETE_TREE, path, null));
+    }
+
+    /**
+     * Waits until all the changes queued before this call become visible for search.
+     *
+     * @return {@code true} if changes are visible and {@code false} if timeout elapsed or queue is stopped
+     */
+    boolean awaitIndexed(long timeoutMillis) throws InterruptedException {
+        synchronized (pending) {
+            final long target = enqueued;
+            final long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (visible < target && !stopped) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                pending.wait(remaining);
+            }
+            return visible >= target;
+        }
+    }
+
+    /** Returns number of changes which are queued or being applied, i.e. not visible for search yet. */
+    int getLag() {
+        synchronized (pending) {
+            return pending.size() + inProgress.size();
+        }
+    }
+
+    /** Returns time in milliseconds the oldest change which is not visible for search yet has been waiting for. */
+    long getLagMillis() {
+        synchronized (pending) {
+            if (!inProgress.isEmpty()) {
+                return System.currentTimeMillis() - inProgressSince;
+            }
+            return pending.isEmpty() ? 0 : System.currentTimeMillis() - pendingSince;
+        }
+    }
+
+    /**
+     * Stops indexing thread. Queued changes are discarded, batch which is being applied
+     * is interrupted between changes but never in the middle of writing the change to index.
+     */
+    void stop() {
+        synchronized (pending) {
+            stopped = true;
+            pending.clear();
+            pending.notifyAll();
+        }
+        executor.shutdown();
+    }
+
+    /** Waits until the batch which is being applied is interrupted after {@link #stop()}. */
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return Thread.currentThread() == indexingThread || executor.awaitTermination(timeout, unit);
+    }
+
+    boolean isStopped() {
+        synchronized (pending) {
+            return stopped;
+        }
+    }
+
+    private void enqueue(Change change) {
+        synchronized (pending) {
+            if (stopped) {
+                LOG.debug("Indexing is stopped, change {} is ignored", change);
+                return;
+            }
+            if (pending.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+            if (change.operation == Operation.DELETE_TREE) {
+                final String prefix = change.path + '/';
+                for (Iterator<String> it = pending.keySet().iterator(); it.hasNext(); ) {
+                    if (it.next().startsWith(prefix)) {
+                        it.remove();
+                    }
+                }
+                // must not clash with key of file with the same path
+                pending.put(prefix, change);
+            } else {
+                // latest change wins and goes to the end of the queue, so it's applied after changes enqueued before it
+                pending.remove(change.path);
+                pending.put(change.path, change);
+            }
+            enqueued++;
+            if (pending.size() == 1 || pending.size() >= maxBatchSize) {
+                pending.notifyAll();
+            }
+        }
+    }
+
+    private void run() {
+        indexingThread = Thread.currentThread();
+        try {
+            for (; ; ) {
+                final List<Change> batch;
+                final long batchEnqueued;
+                synchronized (pending) {
+                    while (pending.isEmpty() && !stopped) {
+                        pending.wait();
+                    }
+                    long remaining;
+                    while (!stopped
+                           && pending.size() < maxBatchSize
+                           && (remaining = pendingSince + refreshIntervalMillis - System.currentTimeMillis()) > 0) {
+                        pending.wait(remaining);
+                    }
+                    if (stopped) {
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    batchEnqueued = enqueued;
+                    pending.clear();
+                    inProgress = batch;
+                    inProgressSince = pendingSince;
+                }
+                final long start = System.currentTimeMillis();
+                try {
+                    handler.apply(batch);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                LOG.debug("Applied {} index changes, time: {} ms", batch.size(), System.currentTimeMillis() - start);
+                synchronized (pending) {
+                    inProgress = emptyList();
+                    visible = batchEnqueued;
+                    pending.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            indexingThread = null;
+        }
+    }
+}
@@ -10,23 +10,30 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.io.CharStreams;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
@@ -35,15 +42,18 @@ import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -54,16 +64,49 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 
 /**
  * Lucene based searcher.
  *
+ * <p>By default changes are written to the index in the caller's thread and become visible
+ * for search on the next search request. When batch indexing is enabled, see
+ * {@link #LuceneSearcher(VirtualFileFilter, AbstractLuceneSearcherProvider.CloseCallback, int, long)},
+ * changes are queued, coalesced per path and applied by a background thread, so callers are
+ * not blocked by mass changes of files, e.g. checkout of another branch. Applied batches are made
+ * visible for search with near-real-time refresh. Number of changes which are not visible yet is
+ * reported with {@link SearchResult#getIndexLag()}, query may wait for them with
+ * {@link QueryExpression#setIndexWaitTimeoutMillis(long)}.
+ *
+ * <p>If index directory already contains index, e.g. index which was kept after restart,
+ * it is reconciled with the virtual filesystem instead of being built from scratch: only files
+ * which modification stamp differs from the stamp stored in the index are reindexed and documents
+ * of files which don't exist anymore are removed. Search is available on the previous state of index
+ * while reconciliation is in progress, see {@link #isReady()}.
+ *
+ * <p>When query {@link QueryExpression#isIncludeOccurrences() requests} occurrences, each file of the result page
+ * is tokenized again to find offsets of the matched terms, and result contains line numbers, columns and content
+ * of the lines where the text is found. So client doesn't need to fetch files to show occurrences.
+ *
+ * <p>Besides the words, content of the files is indexed as set of trigrams, which is used for
+ * {@link QueryExpression.TextMode#SUBSTRING substring} and {@link QueryExpression.TextMode#REGEX regex} search:
+ * trigram index selects candidate files and only the candidates are checked with the pattern.
+ *
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
@@ -71,14 +114,29 @@ public abstract class LuceneSearcher implements Searcher {
 
     private static final int RESULT_LIMIT = 1000;
 
+    private static final int DEFAULT_MAX_OCCURRENCES_PER_FILE = 100;
+
+    private static final int CANDIDATES_FRAME_SIZE = 100;
+
+    /** Changed when indexed fields are changed, so files indexed in the previous format are reindexed on reconciliation. */
+    private static final String INDEX_FORMAT_VERSION = "2";
+
+    private static final long STOP_INDEXING_TIMEOUT_SECONDS = 10;
+
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final int                                          maxBatchSize;
+    private final long                                         refreshIntervalMillis;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
+    private volatile IndexingQueue indexingQueue;
+    private volatile VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
 
+    private volatile boolean ready;
+
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
     }
@@ -93,7 +151,27 @@ public abstract class LuceneSearcher implements Searcher {
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
      */
     protected LuceneSearcher(VirtualFileFilter indexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(indexFilter, closeCallback, 0, 0);
+    }
+
+    /**
+     * @param indexFilter
+     *         common filter for files that should not be indexed
+     * @param closeCallback
+     *         callback which is notified when searcher is closed
+     * @param maxBatchSize
+     *         number of queued changes which are applied to index without waiting for refresh interval,
+     *         zero or negative value disables batch indexing
+     * @param refreshIntervalMillis
+     *         max time in milliseconds queued change waits before it is applied to index and become visible for search
+     */
+    protected LuceneSearcher(VirtualFileFilter indexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int maxBatchSize,
+                             long refreshIntervalMillis) {
         this.closeCallback = closeCallback;
+        this.maxBatchSize = maxBatchSize;
+        this.refreshIntervalMillis = refreshIntervalMillis;
         indexFilters = new CopyOnWriteArrayList<>();
         indexFilters.add(indexFilter);
     }
@@ -122,7 +200,8 @@ public abstract class LuceneSearcher implements Searcher {
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Init lucene index. Scan all files in virtual filesystem and add to index, or reconcile index with
+     * virtual filesystem if index directory isn't clean.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -130,16 +209,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        indexFileTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexFileTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -149,23 +230,48 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final Analyzer analyzer = new PerFieldAnalyzerWrapper(makeAnalyzer(),
+                                                                  singletonMap(TrigramQueries.TRIGRAMS_FIELD,
+                                                                               TrigramQueries.makeTrigramAnalyzer()));
+            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(analyzer));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            ready = false;
+            if (maxBatchSize > 0) {
+                indexingQueue = new IndexingQueue(this::applyBatch, maxBatchSize, refreshIntervalMillis);
+            }
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
-    public final synchronized void close() {
-        if (!closed) {
-            try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
-                afterClose();
-            } catch (IOException e) {
-                LOG.error(e.getMessage(), e);
+    public final void close() {
+        final IndexingQueue queue = indexingQueue;
+        if (queue != null) {
+            // out of the lock since indexing thread may need it to complete the change it is writing
+            stopIndexing(queue);
+        }
+        synchronized (this) {
+            if (!closed) {
+                try {
+                    IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                    afterClose();
+                } catch (IOException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                closed = true;
+            }
+        }
+    }
+
+    private void stopIndexing(IndexingQueue queue) {
+        queue.stop();
+        try {
+            if (!queue.awaitTermination(STOP_INDEXING_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Unable to stop indexing thread in {} seconds", STOP_INDEXING_TIMEOUT_SECONDS);
             }
-            closed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -175,6 +281,33 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    private void indexFileTree(VirtualFile root) throws ServerException {
+        try {
+            if (getIndexWriter().numDocs() > 0) {
+                reconcileTree(root);
+            } else {
+                addTree(root);
+            }
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        refreshIfBatchIndexing();
+        ready = true;
+    }
+
+    /**
+     * Returns {@code true} when initial indexing or reconciliation of existed index is completed.
+     * Before that search is performed over the part of the files which are already indexed.
+     */
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
     @Override
     public synchronized boolean isClosed() {
         return closed;
@@ -184,14 +317,41 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /**
+     * Returns number of changes which are not visible for search yet.
+     * Always returns zero if batch indexing is disabled.
+     */
+    public int getIndexLag() {
+        final IndexingQueue queue = indexingQueue;
+        return queue == null ? 0 : queue.getLag();
+    }
+
+    /**
+     * Returns time in milliseconds the oldest change which is not visible for search yet has been waiting for.
+     * Always returns zero if batch indexing is disabled.
+     */
+    public long getIndexLagMillis() {
+        final IndexingQueue queue = indexingQueue;
+        return queue == null ? 0 : queue.getLagMillis();
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
+            final IndexingQueue queue = indexingQueue;
+            if (queue == null) {
+                searcherManager.maybeRefresh();
+            } else if (query.getIndexWaitTimeoutMillis() > 0) {
+                awaitIndexed(queue, query.getIndexWaitTimeoutMillis());
+            }
             luceneSearcher = searcherManager.acquire();
 
+            if (query.getText() != null && query.getTextMode() != QueryExpression.TextMode.QUERY) {
+                return searchPattern(luceneSearcher, query, startTime, queue);
+            }
+
             Query luceneQuery = createLuceneQuery(query);
 
             ScoreDoc after = null;
@@ -204,11 +364,20 @@ public abstract class LuceneSearcher implements Searcher {
             TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
             final int totalHitsNum = topDocs.totalHits;
 
+            final TextOccurrencesFinder occurrencesFinder = query.isIncludeOccurrences() && query.getText() != null
+                                                            ? new TextOccurrencesFinder(makeAnalyzer(), parseTextQuery(query.getText()))
+                                                            : null;
+            final int maxOccurrences = query.getMaxOccurrencesPerFile() > 0 ? query.getMaxOccurrencesPerFile()
+                                                                            : DEFAULT_MAX_OCCURRENCES_PER_FILE;
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                if (occurrencesFinder == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    results.add(new SearchResultEntry(filePath, findOccurrences(occurrencesFinder, filePath, maxOccurrences)));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
@@ -224,6 +393,7 @@ public abstract class LuceneSearcher implements Searcher {
                                .withTotalHits(totalHitsNum)
                                .withNextPageQueryExpression(nextPageQueryExpression)
                                .withElapsedTimeMillis(elapsedTimeMillis)
+                               .withIndexLag(queue == null ? 0 : queue.getLag())
                                .build();
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
@@ -236,7 +406,18 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    private Query createLuceneQuery(QueryExpression query) throws ServerException {
+    private void awaitIndexed(IndexingQueue queue, long timeoutMillis) throws ServerException {
+        try {
+            if (!queue.awaitIndexed(timeoutMillis)) {
+                LOG.debug("Index is not up to date after {} ms, {} changes are not visible yet", timeoutMillis, queue.getLag());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for index update");
+        }
+    }
+
+    private BooleanQuery createLuceneQuery(QueryExpression query) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
@@ -247,17 +428,115 @@ public abstract class LuceneSearcher implements Searcher {
         if (name != null) {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
-        if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
-            }
+        if (text != null && query.getTextMode() == QueryExpression.TextMode.QUERY) {
+            luceneQuery.add(parseTextQuery(text), BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
+    /**
+     * Searches for substring or regex. Candidate files are selected with the trigram index
+     * and only the candidates are checked with the pattern. Skip count of this query and
+     * of the next page query is the number of checked candidates, total hits is the number of candidates.
+     */
+    private SearchResult searchPattern(IndexSearcher luceneSearcher, QueryExpression query, long startTime, IndexingQueue queue)
+            throws ServerException, IOException {
+        final Pattern pattern;
+        final Query trigramQuery;
+        try {
+            if (query.getTextMode() == QueryExpression.TextMode.REGEX) {
+                pattern = Pattern.compile(query.getText(), Pattern.MULTILINE);
+                trigramQuery = TrigramQueries.createQuery(TrigramQueries.requiredSubstrings(query.getText()));
+            } else {
+                pattern = Pattern.compile(Pattern.quote(query.getText()));
+                trigramQuery = TrigramQueries.createQuery(singletonList(query.getText()));
+            }
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(e.getMessage());
+        }
+        final BooleanQuery luceneQuery = createLuceneQuery(query);
+        if (trigramQuery != null) {
+            luceneQuery.add(trigramQuery, BooleanClause.Occur.MUST);
+        }
+        final Query candidatesQuery = luceneQuery.clauses().isEmpty() ? new MatchAllDocsQuery() : luceneQuery;
+
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+        final int maxOccurrences = query.getMaxOccurrencesPerFile() > 0 ? query.getMaxOccurrencesPerFile()
+                                                                        : DEFAULT_MAX_OCCURRENCES_PER_FILE;
+        final TextOccurrencesFinder occurrencesFinder = query.isIncludeOccurrences() ? new TextOccurrencesFinder(pattern) : null;
+
+        ScoreDoc after = numSkipDocs > 0 ? skipScoreDocs(luceneSearcher, candidatesQuery, numSkipDocs) : null;
+        final List<SearchResultEntry> results = newArrayList();
+        int checkedDocs = numSkipDocs;
+        int totalCandidates;
+        TopDocs topDocs;
+        do {
+            topDocs = luceneSearcher.searchAfter(after, candidatesQuery, CANDIDATES_FRAME_SIZE);
+            totalCandidates = topDocs.totalHits;
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                if (results.size() == numDocs) {
+                    break;
+                }
+                after = scoreDoc;
+                checkedDocs++;
+                final String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+                final String content = readContent(filePath);
+                if (content != null && pattern.matcher(content).find()) {
+                    results.add(occurrencesFinder == null
+                                ? new SearchResultEntry(filePath)
+                                : new SearchResultEntry(filePath, occurrencesFinder.find(content, maxOccurrences)));
+                }
+            }
+        } while (results.size() < numDocs && topDocs.scoreDocs.length == CANDIDATES_FRAME_SIZE);
+
+        QueryExpression nextPageQueryExpression = null;
+        if (checkedDocs < totalCandidates) {
+            nextPageQueryExpression = createNextPageQuery(query, checkedDocs);
+        }
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(totalCandidates)
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(System.currentTimeMillis() - startTime)
+                           .withIndexLag(queue == null ? 0 : queue.getLag())
+                           .build();
+    }
+
+    private Query parseTextQuery(String text) throws ServerException {
+        QueryParser qParser = new QueryParser("text", makeAnalyzer());
+        try {
+            return qParser.parse(text);
+        } catch (ParseException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /** Finds occurrences of the text in the file, file which isn't accessible anymore has no occurrences. */
+    private List<SearchOccurrence> findOccurrences(TextOccurrencesFinder finder, String filePath, int maxOccurrences)
+            throws ServerException, IOException {
+        final String content = readContent(filePath);
+        return content == null ? Collections.emptyList() : finder.find(content, maxOccurrences);
+    }
+
+    /** Returns content of the file or {@code null} if the file isn't accessible or its content isn't indexed. */
+    private String readContent(String filePath) throws ServerException, IOException {
+        final VirtualFileSystem vfs = virtualFileSystem;
+        if (vfs == null) {
+            return null;
+        }
+        final VirtualFile file = vfs.getRoot().getChild(Path.of(filePath));
+        if (file == null || !file.isFile() || !shouldIndexContent(file)) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(file.getContent())) {
+            return CharStreams.toString(reader);
+        } catch (ForbiddenException e) {
+            LOG.debug("Unable to read content of {}: {}", filePath, e.getMessage());
+            return null;
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -281,15 +560,24 @@ public abstract class LuceneSearcher implements Searcher {
 
     private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
         return new QueryExpression().setText(originalQuery.getText())
+                                    .setTextMode(originalQuery.getTextMode())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIndexWaitTimeoutMillis(originalQuery.getIndexWaitTimeoutMillis())
+                                    .setIncludeOccurrences(originalQuery.isIncludeOccurrences())
+                                    .setMaxOccurrencesPerFile(originalQuery.getMaxOccurrencesPerFile());
     }
 
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
-        doAdd(virtualFile);
+        final IndexingQueue queue = indexingQueue;
+        if (queue == null) {
+            doAdd(virtualFile);
+        } else {
+            queue.add(virtualFile);
+        }
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -322,6 +610,82 @@ public abstract class LuceneSearcher implements Searcher {
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
+    /**
+     * Updates existed index to match to the file tree. Reindexes files which modification stamp
+     * doesn't match to the stamp stored in the index and removes files which don't exist anymore.
+     */
+    protected void reconcileTree(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final Map<String, String> indexedStamps = readIndexedStamps();
+        final LinkedList<VirtualFile> q = new LinkedList<>();
+        q.add(tree);
+        int checkedFiles = 0;
+        int indexedFiles = 0;
+        while (!q.isEmpty()) {
+            final VirtualFile folder = q.pop();
+            if (folder.exists()) {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        q.push(child);
+                    } else {
+                        checkedFiles++;
+                        final String indexedStamp = indexedStamps.remove(child.getPath().toString());
+                        if (!getStamp(child).equals(indexedStamp)) {
+                            addFile(child);
+                            indexedFiles++;
+                        }
+                    }
+                }
+            }
+        }
+        try {
+            for (String removedPath : indexedStamps.keySet()) {
+                getIndexWriter().deleteDocuments(new Term("path", removedPath));
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        final long end = System.currentTimeMillis();
+        LOG.info("Reconciled index of {}: {} files checked, {} reindexed, {} removed, time: {} ms",
+                 tree.getPath(), checkedFiles, indexedFiles, indexedStamps.size(), (end - start));
+    }
+
+    /** Reads paths and modification stamps of all the files stored in the index. */
+    private Map<String, String> readIndexedStamps() throws ServerException {
+        final Set<String> fieldsToLoad = newHashSet("path", "stamp");
+        final Map<String, String> stamps = new HashMap<>();
+        final IndexSearcher luceneSearcher;
+        try {
+            luceneSearcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        try {
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                if (liveDocs == null || liveDocs.get(i)) {
+                    final Document doc = reader.document(i, fieldsToLoad);
+                    stamps.put(doc.get("path"), doc.get("stamp"));
+                }
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+        return stamps;
+    }
+
+    /** Modification stamp of the file, file is reindexed on reconciliation if its stamp is changed. */
+    private String getStamp(VirtualFile virtualFile) throws ServerException {
+        return INDEX_FORMAT_VERSION + ":" + virtualFile.getLastModificationDate() + ":" + virtualFile.getLength();
+    }
+
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
             try (Reader fContentReader = shouldIndexContent(virtualFile)
@@ -342,6 +706,15 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        final IndexingQueue queue = indexingQueue;
+        if (queue == null) {
+            doDelete(path, isFile);
+        } else {
+            queue.delete(path, isFile);
+        }
+    }
+
+    private void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -360,7 +733,53 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
-        doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        final IndexingQueue queue = indexingQueue;
+        if (queue == null) {
+            doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        } else {
+            queue.update(virtualFile);
+        }
+    }
+
+    /** Applies batch of queued changes and makes them visible for search, called from indexing thread. */
+    private void applyBatch(List<IndexingQueue.Change> batch) {
+        final IndexingQueue queue = indexingQueue;
+        for (IndexingQueue.Change change : batch) {
+            if (queue.isStopped()) {
+                return;
+            }
+            try {
+                switch (change.operation) {
+                    case ADD:
+                        doAdd(change.virtualFile);
+                        break;
+                    case UPDATE:
+                        if (change.virtualFile.exists()) {
+                            doUpdate(new Term("path", change.path), change.virtualFile);
+                        }
+                        break;
+                    case DELETE_FILE:
+                        doDelete(change.path, true);
+                        break;
+                    case DELETE_TREE:
+                        doDelete(change.path, false);
+                        break;
+                }
+            } catch (ServerException e) {
+                LOG.warn("Unable to apply index change {}: {}", change, e.getMessage());
+            }
+        }
+        refreshIfBatchIndexing();
+    }
+
+    private void refreshIfBatchIndexing() {
+        if (indexingQueue != null) {
+            try {
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
@@ -382,8 +801,23 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField("stamp", getStamp(virtualFile)));
         if (reader != null) {
-            doc.add(new TextField("text", reader));
+            if (virtualFile.getLength() > TrigramQueries.MAX_INDEXED_LENGTH) {
+                // content of the big file is not kept in memory, the file is candidate for any pattern search
+                doc.add(new TextField("text", reader));
+                doc.add(TrigramQueries.createNotIndexedField());
+            } else {
+                // content is read once for both words and trigrams
+                final String content;
+                try {
+                    content = CharStreams.toString(reader);
+                } catch (IOException e) {
+                    throw new ServerException(e.getMessage(), e);
+                }
+                doc.add(new TextField("text", content, Field.Store.NO));
+                doc.add(TrigramQueries.createField(content));
+            }
         }
         return doc;
     }
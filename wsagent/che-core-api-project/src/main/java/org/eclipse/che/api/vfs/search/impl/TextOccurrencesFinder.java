@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds occurrences of the terms of the text query in the content of the file.
+ *
+ * <p>Content is tokenized with the analyzer which is used for indexing, so found occurrences are
+ * exactly the indexed terms which matched the query. Terms of the term, phrase, prefix and wildcard
+ * queries are supported, prohibited clauses of boolean query are ignored.
+ * For substring and regex search occurrences are the matches of the pattern.
+ */
+class TextOccurrencesFinder {
+    static final int MAX_LINE_CONTENT_LENGTH = 256;
+
+    private final Analyzer                analyzer;
+    private final List<Predicate<String>> matchers;
+    private final Pattern                 pattern;
+
+    TextOccurrencesFinder(Analyzer analyzer, Query textQuery) {
+        this.analyzer = analyzer;
+        this.matchers = new ArrayList<>();
+        this.pattern = null;
+        collectMatchers(textQuery);
+    }
+
+    TextOccurrencesFinder(Pattern pattern) {
+        this.analyzer = null;
+        this.matchers = new ArrayList<>();
+        this.pattern = pattern;
+    }
+
+    /** Returns occurrences in the order of their position in the content, but not more than {@code maxOccurrences}. */
+    List<SearchOccurrence> find(String content, int maxOccurrences) throws IOException {
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        final Lines lines = new Lines(content);
+        if (pattern != null) {
+            final Matcher matcher = pattern.matcher(content);
+            while (occurrences.size() < maxOccurrences && matcher.find()) {
+                if (matcher.end() > matcher.start()) {
+                    occurrences.add(lines.occurrence(matcher.start(), matcher.end()));
+                }
+            }
+            return occurrences;
+        }
+        if (matchers.isEmpty()) {
+            return occurrences;
+        }
+        try (TokenStream tokens = analyzer.tokenStream("text", content)) {
+            final CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offset = tokens.addAttribute(OffsetAttribute.class);
+            tokens.reset();
+            while (occurrences.size() < maxOccurrences && tokens.incrementToken()) {
+                if (matches(term.toString())) {
+                    occurrences.add(lines.occurrence(offset.startOffset(), offset.endOffset()));
+                }
+            }
+            tokens.end();
+        }
+        return occurrences;
+    }
+
+    /** Converts offsets of the occurrences, which go in the order of their position, to lines and columns. */
+    private static class Lines {
+        final String content;
+
+        int lineNumber = 1;
+        int lineStart;
+        int scanned;
+
+        Lines(String content) {
+            this.content = content;
+        }
+
+        SearchOccurrence occurrence(int start, int end) {
+            // occurrences go in the order of their offsets, so lines are counted once
+            for (; scanned < start; scanned++) {
+                if (content.charAt(scanned) == '\n') {
+                    lineNumber++;
+                    lineStart = scanned + 1;
+                }
+            }
+            int lineEnd = content.indexOf('\n', start);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            return new SearchOccurrence(start,
+                                        end,
+                                        lineNumber,
+                                        start - lineStart,
+                                        end - lineStart,
+                                        cutLine(content, lineStart, Math.max(lineEnd, end), start, end));
+        }
+    }
+
+    /** Returns the line or its part around the occurrence if the line is too long. */
+    private static String cutLine(String content, int lineStart, int lineEnd, int start, int end) {
+        if (lineEnd - lineStart <= MAX_LINE_CONTENT_LENGTH) {
+            return content.substring(lineStart, lineEnd);
+        }
+        final int from = Math.max(lineStart, start - Math.max(0, MAX_LINE_CONTENT_LENGTH - (end - start)) / 2);
+        return content.substring(from, Math.min(lineEnd, from + MAX_LINE_CONTENT_LENGTH));
+    }
+
+    private boolean matches(String token) {
+        for (Predicate<String> matcher : matchers) {
+            if (matcher.test(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collectMatchers(Query query) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (clause.getOccur() != BooleanClause.Occur.MUST_NOT) {
+                    collectMatchers(clause.getQuery());
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            matchers.add(((TermQuery)query).getTerm().text()::equals);
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                matchers.add(term.text()::equals);
+            }
+        } else if (query instanceof PrefixQuery) {
+            final String prefix = ((PrefixQuery)query).getPrefix().text();
+            matchers.add(token -> token.startsWith(prefix));
+        } else if (query instanceof WildcardQuery) {
+            final Pattern pattern = wildcardToPattern(((WildcardQuery)query).getTerm().text());
+            matchers.add(token -> pattern.matcher(token).matches());
+        }
+    }
+
+    private static Pattern wildcardToPattern(String wildcard) {
+        final StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < wildcard.length(); i++) {
+            final char c = wildcard.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING) {
+                regex.append(".*");
+            } else if (c == WildcardQuery.WILDCARD_CHAR) {
+                regex.append('.');
+            } else if (c == WildcardQuery.WILDCARD_ESCAPE && i + 1 < wildcard.length()) {
+                regex.append(Pattern.quote(String.valueOf(wildcard.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
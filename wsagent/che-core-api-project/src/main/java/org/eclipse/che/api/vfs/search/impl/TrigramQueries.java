@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds queries of the trigram index which select candidate files for substring and regex search.
+ *
+ * <p>Content of the files is indexed as set of lower-cased trigrams, so file may contain the substring
+ * only if it contains all the trigrams of the substring. For regex the substrings which must be present
+ * in any match are extracted from the expression, if there are no such substrings of at least three
+ * characters all the files are candidates. Content of too big files is not split into trigrams,
+ * such files are candidates for any query. Candidates must be checked with the pattern itself.
+ */
+final class TrigramQueries {
+    static final String TRIGRAMS_FIELD     = "trigrams";
+    /** Max length of the file which content is split into trigrams, bigger files are not kept in memory for indexing. */
+    static final long   MAX_INDEXED_LENGTH = 4 * 1024 * 1024;
+
+    private static final String NOT_INDEXED_FIELD = "trigrams_not_indexed";
+
+    private static final int GRAM_SIZE = 3;
+
+    private static final FieldType TRIGRAMS_FIELD_TYPE = new FieldType();
+
+    static {
+        // only presence of trigram in file matters, so neither frequencies nor positions are indexed
+        TRIGRAMS_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        TRIGRAMS_FIELD_TYPE.setTokenized(true);
+        TRIGRAMS_FIELD_TYPE.setOmitNorms(true);
+        TRIGRAMS_FIELD_TYPE.freeze();
+    }
+
+    private TrigramQueries() {
+    }
+
+    /** Creates field of the trigram index for the file content. */
+    static Field createField(String content) {
+        return new Field(TRIGRAMS_FIELD, content, TRIGRAMS_FIELD_TYPE);
+    }
+
+    /** Creates field which marks the file which content is not split into trigrams. */
+    static Field createNotIndexedField() {
+        return new StringField(NOT_INDEXED_FIELD, "true", Field.Store.NO);
+    }
+
+    /** Analyzer of the trigrams field. */
+    static Analyzer makeTrigramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(GRAM_SIZE, GRAM_SIZE);
+                return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+            }
+        };
+    }
+
+    /**
+     * Returns query which matches the files that contain all trigrams of the given substrings
+     * and the files which content is not split into trigrams,
+     * or {@code null} if substrings are too short to select candidates.
+     */
+    static Query createQuery(Collection<String> substrings) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (String substring : substrings) {
+            final String lowerCase = substring.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + GRAM_SIZE <= lowerCase.length(); i++) {
+                trigrams.add(lowerCase.substring(i, i + GRAM_SIZE));
+            }
+        }
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+        final BooleanQuery query = new BooleanQuery();
+        for (String trigram : trigrams) {
+            query.add(new TermQuery(new Term(TRIGRAMS_FIELD, trigram)), BooleanClause.Occur.MUST);
+        }
+        final BooleanQuery candidates = new BooleanQuery();
+        candidates.add(query, BooleanClause.Occur.SHOULD);
+        candidates.add(new TermQuery(new Term(NOT_INDEXED_FIELD, "true")), BooleanClause.Occur.SHOULD);
+        return candidates;
+    }
+
+    /**
+     * Returns literal substrings which are present in any match of the regex.
+     * Extraction is conservative: expression with alternation gives no substrings,
+     * content of groups, character classes and optional characters are skipped.
+     */
+    static List<String> requiredSubstrings(String regex) {
+        final List<String> substrings = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        int depth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '|':
+                    // any branch may match, so nothing is required
+                    return new ArrayList<>();
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        return substrings;
+                    }
+                    final char escaped = regex.charAt(++i);
+                    if (escaped == 'Q') {
+                        // quoted sequence up to \E
+                        int end = regex.indexOf("\\E", i + 1);
+                        if (end < 0) {
+                            end = regex.length();
+                        }
+                        if (depth == 0) {
+                            current.append(regex, i + 1, end);
+                        }
+                        i = end + 1;
+                        break;
+                    }
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // character class, back reference or escaped character code like \x41
+                        i = skipEscape(regex, i);
+                        flush(current, substrings);
+                    } else if (depth == 0) {
+                        current.append(escaped);
+                    }
+                    break;
+                case '[':
+                    i = skipCharacterClass(regex, i);
+                    flush(current, substrings);
+                    break;
+                case '(':
+                    depth++;
+                    flush(current, substrings);
+                    break;
+                case ')':
+                    depth = Math.max(0, depth - 1);
+                    flush(current, substrings);
+                    break;
+                case '*':
+                case '?':
+                case '{':
+                    // previous character is optional or repeated unknown number of times
+                    if (current.length() > 0) {
+                        current.setLength(current.length() - 1);
+                    }
+                    flush(current, substrings);
+                    if (c == '{') {
+                        final int end = regex.indexOf('}', i);
+                        i = end < 0 ? regex.length() : end;
+                    }
+                    break;
+                case '+':
+                    // previous character is present at least once
+                    flush(current, substrings);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    flush(current, substrings);
+                    break;
+                default:
+                    if (depth == 0) {
+                        current.append(c);
+                    }
+            }
+        }
+        flush(current, substrings);
+        return substrings;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        // ']' right after the opening bracket is a literal
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int nested = 0;
+        for (; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                nested++;
+            } else if (c == ']') {
+                if (nested == 0) {
+                    return i;
+                }
+                nested--;
+            }
+        }
+        return regex.length();
+    }
+
+    /**
+     * Returns index of the last character of the escape sequence,
+     * {@code start} is index of the character which follows the backslash.
+     */
+    private static int skipEscape(String regex, int start) {
+        switch (regex.charAt(start)) {
+            case 'x':
+                if (start + 1 < regex.length() && regex.charAt(start + 1) == '{') {
+                    return skipTo(regex, start + 1, '}');
+                }
+                return skipDigits(regex, start, 2, 16);
+            case 'u':
+                return skipDigits(regex, start, 4, 16);
+            case '0':
+                return skipDigits(regex, start, 3, 8);
+            case 'c':
+                return Math.min(start + 1, regex.length() - 1);
+            case 'k':
+                if (start + 1 < regex.length() && regex.charAt(start + 1) == '<') {
+                    return skipTo(regex, start + 1, '>');
+                }
+                return start;
+            case 'p':
+            case 'P':
+                if (start + 1 < regex.length() && regex.charAt(start + 1) == '{') {
+                    return skipTo(regex, start + 1, '}');
+                }
+                return Math.min(start + 1, regex.length() - 1);
+            default:
+                if (Character.isDigit(regex.charAt(start))) {
+                    // back reference may consist of several digits
+                    return skipDigits(regex, start, regex.length(), 10);
+                }
+                return start;
+        }
+    }
+
+    private static int skipDigits(String regex, int start, int maxDigits, int radix) {
+        int i = start;
+        while (i + 1 < regex.length() && i - start < maxDigits && Character.digit(regex.charAt(i + 1), radix) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipTo(String regex, int start, char closing) {
+        final int end = regex.indexOf(closing, start);
+        return end < 0 ? regex.length() - 1 : end;
+    }
+
+    private static void flush(StringBuilder current, List<String> substrings) {
+        if (current.length() >= GRAM_SIZE) {
+            substrings.add(current.toString());
+        }
+        current.setLength(0);
+    }
+}
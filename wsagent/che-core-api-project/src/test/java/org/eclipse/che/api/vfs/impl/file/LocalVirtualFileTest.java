@@ -356,6 +356,41 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, children);
     }
 
+    @Test
+    public void getsChildrenCreatedOutsideOfVirtualFileSystemAfterChildrenWereCached() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertTrue(folder.toIoFile().setLastModified(System.currentTimeMillis() - 60_000));
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(folder.toIoFile(), name).createNewFile());
+        assertTrue(folder.toIoFile().setLastModified(System.currentTimeMillis() - 30_000));
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
+    @Test
+    public void getsChildrenCreatedOutsideOfVirtualFileSystemAfterCachedChildrenWereInvalidated() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        long lastModified = System.currentTimeMillis() - 60_000;
+        assertTrue(folder.toIoFile().setLastModified(lastModified));
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(folder.toIoFile(), name).createNewFile());
+        // timestamp of folder is not changed on filesystems with low timestamp resolution
+        assertTrue(folder.toIoFile().setLastModified(lastModified));
+        fileSystem.invalidateChildrenCache(folder.getPath().newPath(name));
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
     @Test
     public void getsChild() throws Exception {
         VirtualFile root = getRoot();
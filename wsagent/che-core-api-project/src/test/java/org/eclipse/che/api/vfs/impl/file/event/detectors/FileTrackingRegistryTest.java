@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.impl.file.event.detectors.FileTrackingRegistry.LineEdit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link FileTrackingRegistry}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FileTrackingRegistryTest {
+    private static final String PATH = "/project/file.txt";
+
+    @Mock
+    private VirtualFileSystemProvider vfsProvider;
+    @Mock
+    private VirtualFileSystem         vfs;
+    @Mock
+    private VirtualFile               root;
+    @Mock
+    private VirtualFile               file;
+
+    private String content;
+
+    @Before
+    public void setUp() throws Exception {
+        when(vfsProvider.getVirtualFileSystem()).thenReturn(vfs);
+        when(vfs.getRoot()).thenReturn(root);
+        when(root.getChild(Path.of(PATH))).thenReturn(file);
+        when(file.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(content.getBytes(defaultCharset())));
+    }
+
+    @Test
+    public void shouldHashContentOfTrackedFile() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider);
+        setContent("first\n", 1000);
+
+        registry.add(PATH, 1);
+
+        assertEquals(registry.getHashCode(PATH), Hashing.md5().hashString("first\n", defaultCharset()).toString());
+    }
+
+    @Test
+    public void shouldNotReadContentWhenLengthAndModificationDateAreNotChanged() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider);
+        setContent("first\n", 1000);
+        registry.add(PATH, 1);
+
+        assertFalse(registry.updateHash(PATH));
+
+        verify(file, times(1)).getContent();
+    }
+
+    @Test
+    public void shouldReadContentOfInvalidatedFile() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider);
+        setContent("first\n", 1000);
+        registry.add(PATH, 1);
+
+        registry.invalidate(PATH);
+
+        assertFalse(registry.updateHash(PATH));
+        verify(file, times(2)).getContent();
+    }
+
+    @Test
+    public void shouldDetectModificationOfFile() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider);
+        setContent("first\n", 1000);
+        registry.add(PATH, 1);
+
+        setContent("second\n", 2000);
+
+        assertTrue(registry.updateHash(PATH));
+        assertEquals(registry.getHashCode(PATH), Hashing.md5().hashString("second\n", defaultCharset()).toString());
+        assertNull(registry.getLineEdit(PATH));
+    }
+
+    @Test
+    public void shouldProvideEditOfChangedLines() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider, true);
+        setContent("a\nb\nc\nd\ne\n", 1000);
+        registry.add(PATH, 1);
+
+        setContent("a\nb\nx\ny\nd\ne\n", 2000);
+
+        assertTrue(registry.updateHash(PATH));
+        final LineEdit lineEdit = registry.getLineEdit(PATH);
+        assertEquals(lineEdit.getStartLine(), 2);
+        assertEquals(lineEdit.getRemovedLines(), 1);
+        assertEquals(lineEdit.getText(), "x\ny\n");
+    }
+
+    @Test
+    public void shouldProvideEditOfAppendedLines() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider, true);
+        setContent("a\nb\nc", 1000);
+        registry.add(PATH, 1);
+
+        setContent("a\nb\nc\nd\n", 2000);
+
+        assertTrue(registry.updateHash(PATH));
+        final LineEdit lineEdit = registry.getLineEdit(PATH);
+        assertEquals(lineEdit.getStartLine(), 2);
+        assertEquals(lineEdit.getRemovedLines(), 1);
+        assertEquals(lineEdit.getText(), "c\nd\n");
+    }
+
+    @Test
+    public void shouldNotProvideEditWhenMostOfLinesAreChanged() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider, true);
+        setContent("a\nb\nc\n", 1000);
+        registry.add(PATH, 1);
+
+        setContent("x\ny\nc\n", 2000);
+
+        assertTrue(registry.updateHash(PATH));
+        assertNull(registry.getLineEdit(PATH));
+    }
+
+    @Test
+    public void shouldNotReportUnchangedContent() throws Exception {
+        final FileTrackingRegistry registry = new FileTrackingRegistry(vfsProvider, true);
+        setContent("a\nb\n", 1000);
+        registry.add(PATH, 1);
+
+        setContent("a\nb\n", 2000);
+
+        assertFalse(registry.updateHash(PATH));
+        verify(file, times(2)).getContent();
+        verify(file, never()).getContentAsString();
+    }
+
+    private void setContent(String content, long lastModified) throws Exception {
+        this.content = content;
+        when(file.getLength()).thenReturn((long)content.length());
+        when(file.getLastModificationDate()).thenReturn(lastModified);
+    }
+}
@@ -294,6 +294,74 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void appliesChangesInBackgroundWhenBatchIndexingEnabled() throws Exception {
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 2, 60_000, false);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
+
+        searcher.add(file);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("should"));
+        assertTrue(result.getFilePaths().isEmpty());
+        assertEquals(1, result.getIndexLag());
+
+        VirtualFile otherFile = virtualFileSystem.getRoot().createFile("bbb.txt", TEST_CONTENT[1]);
+        searcher.add(otherFile);
+
+        result = searcher.search(new QueryExpression().setText("should").setIndexWaitTimeoutMillis(5000));
+        assertEquals(newArrayList("/aaa/aaa.txt", "/bbb.txt"), result.getFilePaths());
+        assertEquals(0, result.getIndexLag());
+    }
+
+    @Test
+    public void coalescesChangesOfTheSamePathWhenBatchIndexingEnabled() throws Exception {
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 1000, 100, false);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile file = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        file.updateContent(TEST_CONTENT[1]);
+        searcher.update(file);
+        searcher.update(file);
+        assertEquals(1, searcher.getIndexLag());
+        searcher.delete("/folder", false);
+        assertEquals(1, searcher.getIndexLag());
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIndexWaitTimeoutMillis(5000));
+        assertTrue(result.getFilePaths().isEmpty());
+        assertEquals(0, searcher.getIndexLag());
+    }
+
+    @Test
+    public void reconcilesPersistentIndexWithFilesOnInit() throws Exception {
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 0, 0, true);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile updated = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile deleted = folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+        assertTrue(searcher.isReady());
+        searcher.close();
+        assertTrue(indexDirectory.exists());
+
+        updated.updateContent(TEST_CONTENT[1]);
+        deleted.delete(null);
+        folder.createFile("aaa.txt", TEST_CONTENT[2]);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 0, 0, true);
+        searcher.init(virtualFileSystem);
+
+        assertTrue(searcher.isReady());
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("should")).getFilePaths());
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        Collections.sort(paths);
+        assertEquals(newArrayList("/folder/aaa.txt", "/folder/zzz.txt"), paths);
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
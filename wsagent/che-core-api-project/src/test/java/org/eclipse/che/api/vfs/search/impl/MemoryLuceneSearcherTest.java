@@ -18,6 +18,7 @@ import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
 import org.junit.Before;
@@ -284,6 +285,135 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void returnsLinesAndColumnsOfTextOccurrencesWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[2] + "\r\nApollo program");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("apollo be").setIncludeOccurrences(true));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(4, occurrences.size());
+        assertOccurrence(occurrences.get(0), 1, 0, 6, TEST_CONTENT[0]);
+        assertOccurrence(occurrences.get(1), 2, 3, 5, TEST_CONTENT[2]);
+        assertOccurrence(occurrences.get(2), 2, 16, 18, TEST_CONTENT[2]);
+        assertOccurrence(occurrences.get(3), 3, 0, 6, "Apollo program");
+        assertEquals(TEST_CONTENT[0].length() + TEST_CONTENT[2].length() + 3, occurrences.get(3).getStartOffset());
+    }
+
+    @Test
+    public void findsOccurrencesOfWildcardTermsAndLimitsNumberOfOccurrences() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[1] + "\n" + TEST_CONTENT[1] + "\n" + TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("sho*d")
+                                                                   .setIncludeOccurrences(true)
+                                                                   .setMaxOccurrencesPerFile(2));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertOccurrence(occurrences.get(0), 1, 10, 16, TEST_CONTENT[1]);
+        assertOccurrence(occurrences.get(1), 2, 10, 16, TEST_CONTENT[1]);
+    }
+
+    @Test
+    public void doesNotReturnOccurrencesUnlessRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesBySubstringWhichIsNotWholeWord() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", "String value = getFoo(bar);");
+        folder.createFile("yyy.txt", "String value = getFooBar();");
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("getFoo(")
+                                                                   .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                                   .setIncludeOccurrences(true));
+
+        assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(1, occurrences.size());
+        assertOccurrence(occurrences.get(0), 1, 15, 22, "String value = getFoo(bar);");
+    }
+
+    @Test
+    public void searchesByRegex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", "// TODO fix it, see JIRA-123");
+        folder.createFile("yyy.txt", "// TODO fix it, see JIRA");
+        folder.createFile("zzz.txt", "// see JIRA-123");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("TODO.*JIRA-\\d+")
+                                                                  .setTextMode(QueryExpression.TextMode.REGEX))
+                                     .getFilePaths();
+
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+    }
+
+    @Test
+    public void checksAllFilesWhenRegexHasNoRequiredSubstrings() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[1]);
+        folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[3]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("^(To|In) ")
+                                                                  .setTextMode(QueryExpression.TextMode.REGEX))
+                                     .getFilePaths();
+        Collections.sort(paths);
+
+        assertEquals(newArrayList("/folder/yyy.txt", "/folder/zzz.txt"), paths);
+    }
+
+    @Test
+    public void retrievesSubstringSearchResultWithPages() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("ot to")
+                                                                      .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                                      .setMaxItems(2));
+        assertEquals(2, firstPage.getFilePaths().size());
+        assertTrue(firstPage.getNextPageQueryExpression().isPresent());
+
+        SearchResult lastPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+        assertEquals(1, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+
+        List<String> paths = newArrayList(firstPage.getFilePaths());
+        paths.addAll(lastPage.getFilePaths());
+        Collections.sort(paths);
+        assertEquals(newArrayList("/folder/xxx.txt", "/folder/yyy.txt", "/folder/zzz.txt"), paths);
+    }
+
+    private static void assertOccurrence(SearchOccurrence occurrence, int line, int startColumn, int endColumn, String lineContent) {
+        assertEquals(line, occurrence.getLineNumber());
+        assertEquals(startColumn, occurrence.getStartColumn());
+        assertEquals(endColumn, occurrence.getEndColumn());
+        assertEquals(lineContent, occurrence.getLineContent());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
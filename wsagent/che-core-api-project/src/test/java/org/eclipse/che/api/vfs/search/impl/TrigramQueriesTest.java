@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+
+public class TrigramQueriesTest {
+    @Test
+    public void extractsLiteralsAroundWildcards() throws Exception {
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo.*bar"));
+    }
+
+    @Test
+    public void extractsNothingFromAlternation() throws Exception {
+        assertEquals(emptyList(), TrigramQueries.requiredSubstrings("foo|bar"));
+    }
+
+    @Test
+    public void keepsEscapedPunctuationAsLiteral() throws Exception {
+        assertEquals(singletonList("foo.bar"), TrigramQueries.requiredSubstrings("foo\\.bar"));
+    }
+
+    @Test
+    public void skipsHexEscape() throws Exception {
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\x41bar"));
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\x{1F600}bar"));
+    }
+
+    @Test
+    public void skipsUnicodeEscape() throws Exception {
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\u0041bar"));
+    }
+
+    @Test
+    public void skipsOctalEscape() throws Exception {
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\0101bar"));
+    }
+
+    @Test
+    public void skipsControlCharacterEscape() throws Exception {
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\cXbar"));
+    }
+
+    @Test
+    public void skipsNamedBackReference() throws Exception {
+        assertEquals(singletonList("bar"), TrigramQueries.requiredSubstrings("(?<name>foo)\\k<name>bar"));
+    }
+
+    @Test
+    public void skipsAllDigitsOfBackReference() throws Exception {
+        assertEquals(emptyList(), TrigramQueries.requiredSubstrings("(foo)\\1234"));
+    }
+
+    @Test
+    public void skipsUnicodePropertyEscape() throws Exception {
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\p{Lu}bar"));
+        assertEquals(asList("foo", "bar"), TrigramQueries.requiredSubstrings("foo\\pLbar"));
+    }
+}
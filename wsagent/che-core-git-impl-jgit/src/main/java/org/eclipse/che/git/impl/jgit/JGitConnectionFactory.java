@@ -41,15 +41,26 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final JGitRepositoryCache repositoryCache;
 
-    @Inject
+    /** Creates factory which opens new repository for each connection. */
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+        this(credentialsLoader, sshKeyProvider, userResolver, null);
+    }
+
+    /** Creates factory which shares repositories cached by {@code repositoryCache} between connections. */
+    @Inject
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 JGitRepositoryCache repositoryCache) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -78,7 +89,7 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
+        Repository gitRepo = repositoryCache == null ? createRepository(workDir) : repositoryCache.acquire(workDir);
         JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps bounded number of open {@link Repository} instances, so that git operations
+ * which follow each other on the same repository share parsed refs, config and packs.
+ *
+ * <p>Repositories are reference counted: {@link #acquire(File)} increments the counter and
+ * {@link Repository#close()}, e.g. on closing the connection, decrements it. Repository evicted from
+ * the cache is closed when the last user closes it. Repository is evicted when cache size exceeds its limit,
+ * or when its '.git' folder is created or removed, according to the file watcher events.
+ *
+ * <p>Also configures JGit window cache which holds parts of pack files in memory.
+ */
+@Singleton
+public class JGitRepositoryCache implements EventSubscriber<LoEvent> {
+    private static final Logger LOG = getLogger(JGitRepositoryCache.class);
+
+    private static final String DOT_GIT_SUFFIX = '/' + Constants.DOT_GIT;
+
+    private final EventService          eventService;
+    private final File                  workspaceRoot;
+    private final int                   maxSize;
+    private final Map<Path, Repository> repositories;
+
+    // guarded by repositories
+    private long hits;
+    private long misses;
+
+    /**
+     * @param eventService
+     *         event service to subscribe to file watcher events
+     * @param workspaceRoot
+     *         root folder of virtual file system, used to resolve paths of file watcher events
+     * @param maxSize
+     *         max number of cached repositories
+     * @param packedGitLimitMb
+     *         max size in megabytes of pack files parts kept in memory by JGit window cache
+     * @param packedGitOpenFiles
+     *         max number of pack files kept open by JGit window cache
+     * @param deltaBaseCacheLimitMb
+     *         max size in megabytes of delta base objects kept in memory by JGit
+     */
+    @Inject
+    public JGitRepositoryCache(EventService eventService,
+                               @Named("che.user.workspaces.storage") File workspaceRoot,
+                               @Named("git.jgit.repository_cache_size") int maxSize,
+                               @Named("git.jgit.window_cache.packed_git_limit_mb") int packedGitLimitMb,
+                               @Named("git.jgit.window_cache.packed_git_open_files") int packedGitOpenFiles,
+                               @Named("git.jgit.window_cache.delta_base_cache_limit_mb") int deltaBaseCacheLimitMb) {
+        this.eventService = eventService;
+        this.workspaceRoot = workspaceRoot;
+        this.maxSize = maxSize;
+        this.repositories = new LinkedHashMap<>(16, 0.75f, true);
+
+        final WindowCacheConfig windowCacheConfig = new WindowCacheConfig();
+        windowCacheConfig.setPackedGitLimit(packedGitLimitMb * WindowCacheConfig.MB);
+        windowCacheConfig.setPackedGitOpenFiles(packedGitOpenFiles);
+        windowCacheConfig.setDeltaBaseCacheLimit(deltaBaseCacheLimitMb * WindowCacheConfig.MB);
+        windowCacheConfig.install();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        eventService.unsubscribe(this);
+        invalidateAll();
+    }
+
+    /**
+     * Returns repository located in the working directory. Caller must close the repository when it is not needed anymore.
+     *
+     * @param workDir
+     *         repository working directory
+     */
+    public Repository acquire(File workDir) throws GitException {
+        final File gitDir = new File(workDir, Constants.DOT_GIT);
+        if (!gitDir.isDirectory()) {
+            // nothing to share yet, e.g. repository is about to be initialized or cloned
+            return open(gitDir);
+        }
+        synchronized (repositories) {
+            final Path key = key(workDir);
+            Repository repository = repositories.get(key);
+            if (repository != null) {
+                hits++;
+            } else {
+                misses++;
+                repository = open(gitDir);
+                repositories.put(key, repository);
+                evictExcess();
+            }
+            repository.incrementOpen();
+            return repository;
+        }
+    }
+
+    /** Removes repository located in the working directory from cache. */
+    public void invalidate(File workDir) {
+        final Repository repository;
+        synchronized (repositories) {
+            repository = repositories.remove(key(workDir));
+        }
+        if (repository != null) {
+            LOG.debug("Repository {} is removed from cache", workDir);
+            repository.close();
+        }
+    }
+
+    /** Removes all repositories from cache. */
+    public void invalidateAll() {
+        final List<Repository> removed;
+        synchronized (repositories) {
+            removed = new ArrayList<>(repositories.values());
+            repositories.clear();
+        }
+        removed.forEach(Repository::close);
+    }
+
+    /** Returns number of {@link #acquire(File)} calls which reused cached repository. */
+    public long getHits() {
+        synchronized (repositories) {
+            return hits;
+        }
+    }
+
+    /** Returns number of {@link #acquire(File)} calls which opened and cached repository. */
+    public long getMisses() {
+        synchronized (repositories) {
+            return misses;
+        }
+    }
+
+    /** Returns number of cached open repositories. */
+    public int getOpenRepositories() {
+        synchronized (repositories) {
+            return repositories.size();
+        }
+    }
+
+    @Override
+    public void onEvent(LoEvent event) {
+        final String path = event.getPath();
+        if (event.getEventType() != MODIFIED && path != null && path.endsWith(DOT_GIT_SUFFIX)) {
+            invalidate(new File(workspaceRoot, path.substring(0, path.length() - DOT_GIT_SUFFIX.length())));
+        }
+    }
+
+    private void evictExcess() {
+        for (Iterator<Repository> it = repositories.values().iterator(); it.hasNext() && repositories.size() > maxSize; ) {
+            final Repository eldest = it.next();
+            it.remove();
+            // closed for real when the last user closes it
+            eldest.close();
+        }
+    }
+
+    private static Path key(File workDir) {
+        return workDir.toPath().toAbsolutePath().normalize();
+    }
+
+    private static Repository open(File gitDir) throws GitException {
+        try {
+            return new FileRepository(gitDir);
+        } catch (IOException e) {
+            throw new GitException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.FileUtils;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Test class for {@link JGitRepositoryCache}
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class JGitRepositoryCacheTest {
+
+    @Mock
+    private EventService eventService;
+
+    private File                workspaceRoot;
+    private JGitRepositoryCache repositoryCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspaceRoot = Files.createTempDir();
+        repositoryCache = new JGitRepositoryCache(eventService, workspaceRoot, 2, 10, 128, 10);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        repositoryCache.invalidateAll();
+        FileUtils.delete(workspaceRoot, FileUtils.RECURSIVE);
+    }
+
+    @Test
+    public void shouldShareRepositoryBetweenAcquires() throws Exception {
+        final File workDir = createRepository("project");
+
+        final Repository first = repositoryCache.acquire(workDir);
+        first.close();
+        final Repository second = repositoryCache.acquire(workDir);
+        second.close();
+
+        assertSame(second, first);
+        assertEquals(repositoryCache.getMisses(), 1);
+        assertEquals(repositoryCache.getHits(), 1);
+        assertEquals(repositoryCache.getOpenRepositories(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoryWhichIsNotInitialized() throws Exception {
+        final File workDir = new File(workspaceRoot, "project");
+        workDir.mkdirs();
+
+        final Repository first = repositoryCache.acquire(workDir);
+        first.close();
+        final Repository second = repositoryCache.acquire(workDir);
+        second.close();
+
+        assertNotSame(second, first);
+        assertEquals(repositoryCache.getOpenRepositories(), 0);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedRepositoryWhenLimitIsExceeded() throws Exception {
+        final File workDir1 = createRepository("project1");
+        final File workDir2 = createRepository("project2");
+        final File workDir3 = createRepository("project3");
+
+        final Repository repository1 = repositoryCache.acquire(workDir1);
+        repository1.close();
+        repositoryCache.acquire(workDir2).close();
+        repositoryCache.acquire(workDir3).close();
+
+        assertEquals(repositoryCache.getOpenRepositories(), 2);
+        final Repository reopened = repositoryCache.acquire(workDir1);
+        reopened.close();
+        assertNotSame(reopened, repository1);
+    }
+
+    @Test
+    public void shouldInvalidateRepositoryWhenGitFolderIsDeleted() throws Exception {
+        final File workDir = createRepository("project");
+        final Repository first = repositoryCache.acquire(workDir);
+        first.close();
+
+        repositoryCache.onEvent(LoEvent.newInstance().withPath("/project/.git").withEventType(DELETED));
+
+        final Repository second = repositoryCache.acquire(workDir);
+        second.close();
+        assertNotSame(second, first);
+    }
+
+    @Test
+    public void shouldNotInvalidateRepositoryWhenGitFolderContentIsModified() throws Exception {
+        final File workDir = createRepository("project");
+        final Repository first = repositoryCache.acquire(workDir);
+        first.close();
+
+        repositoryCache.onEvent(LoEvent.newInstance().withPath("/project/.git/index").withEventType(MODIFIED));
+
+        final Repository second = repositoryCache.acquire(workDir);
+        second.close();
+        assertSame(second, first);
+    }
+
+    private File createRepository(String name) throws IOException {
+        final File workDir = new File(workspaceRoot, name);
+        try (Repository repository = new FileRepository(new File(workDir, ".git"))) {
+            repository.create();
+        }
+        return workDir;
+    }
+}
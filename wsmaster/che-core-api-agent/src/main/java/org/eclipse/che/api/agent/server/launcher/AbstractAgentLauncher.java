@@ -30,12 +30,17 @@ import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import static java.lang.Math.min;
 import static java.lang.String.format;
 
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
  *
+ * <p>Checker is polled with delays growing exponentially up to the ping delay.
+ * Checker is also polled right away when agent process exits, e.g. when agent just installs software.
+ * Launcher keeps no per launch state, so several agents may be launched in parallel.
+ *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
  * @see AgentLaunchingChecker#DEFAULT
@@ -48,6 +53,7 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
                                                                     .setDaemon(true)
                                                                     .build());
+    private static final long            INITIAL_PING_DELAY_MS = 50;
 
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
@@ -63,16 +69,26 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
 
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
+        final AgentLaunchSignal signal = new AgentLaunchSignal();
         try {
-            final InstanceProcess process = start(machine, agent);
+            final long startTimestamp = System.currentTimeMillis();
+            final InstanceProcess process = start(machine, agent, signal);
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getName(), machine.getWorkspaceId());
 
-            final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
+            long pingDelay = min(INITIAL_PING_DELAY_MS, agentPingDelayMs);
+            long remaining;
+            while ((remaining = startTimestamp + agentMaxStartTimeMs - System.currentTimeMillis()) > 0) {
                 if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+                    LOG.info("Agent {} is launched in {} ms. Workspace ID:{}. Machine ID:{}",
+                             agent.getName(),
+                             System.currentTimeMillis() - startTimestamp,
+                             machine.getWorkspaceId(),
+                             machine.getId());
                     return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
+                }
+                // checker is polled right away if agent process exits
+                if (!signal.await(min(pingDelay, remaining))) {
+                    pingDelay = min(pingDelay * 2, agentPingDelayMs);
                 }
             }
 
@@ -90,7 +106,7 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
     }
 
 
-    protected InstanceProcess start(final Instance machine, final Agent agent) throws ServerException {
+    private InstanceProcess start(final Instance machine, final Agent agent, final AgentLaunchSignal signal) throws ServerException {
         final Command command = new CommandImpl(agent.getName(), agent.getScript(), "agent");
         final InstanceProcess process = machine.createProcess(command, null);
         final LineConsumer lineConsumer = new AbstractLineConsumer() {
@@ -109,6 +125,7 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                 } catch (IOException ignored) {
                 }
             } finally {
+                signal.exited();
                 try {
                     lineConsumer.close();
                 } catch (IOException ignored) {
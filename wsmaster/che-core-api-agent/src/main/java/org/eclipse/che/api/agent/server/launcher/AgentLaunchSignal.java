@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+/**
+ * Signal pushed by the agent process while {@link AbstractAgentLauncher} waits for the agent to be launched,
+ * so that the agent is checked again as soon as its process exits.
+ */
+class AgentLaunchSignal {
+    private boolean changed;
+
+    /** The agent process exited, so the result of the check might change. */
+    synchronized void exited() {
+        changed = true;
+        notifyAll();
+    }
+
+    /**
+     * Waits until the signal is pushed or timeout elapses.
+     *
+     * @return true if the signal was pushed since the previous call
+     */
+    synchronized boolean await(long timeoutMs) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        long remaining = timeoutMs;
+        while (!changed && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        final boolean result = changed;
+        changed = false;
+        return result;
+    }
+}
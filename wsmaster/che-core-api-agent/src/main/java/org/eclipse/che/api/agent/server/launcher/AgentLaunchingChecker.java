@@ -18,6 +18,9 @@ import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 /**
  * Indicates if agent finished working.
  *
+ * <p>Checker is polled with growing delays while agent is being launched,
+ * and right away when agent process exits.
+ *
  * @author Anatoliy Bazko
  */
 @FunctionalInterface
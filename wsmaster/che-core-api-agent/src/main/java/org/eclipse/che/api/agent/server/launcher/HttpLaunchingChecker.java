@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.core.model.machine.Server;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Verifies if agent responds to the HTTP request sent to the machine server.
+ * Agent is considered launched when it responds with successful status code.
+ * If machine doesn't expose the server or server isn't reachable from this host,
+ * the check is delegated to the fallback checker.
+ */
+public class HttpLaunchingChecker implements AgentLaunchingChecker {
+    private static final int TIMEOUT_MS = 1000;
+
+    private final String                port;
+    private final String                path;
+    private final AgentLaunchingChecker fallback;
+
+    /**
+     * @param port
+     *         the machine server port, e.g. 4411/tcp
+     * @param path
+     *         the path relative to the server url, e.g. /health
+     * @param fallback
+     *         checker used when server isn't exposed or reachable
+     */
+    public HttpLaunchingChecker(String port, String path, AgentLaunchingChecker fallback) {
+        this.port = port;
+        this.path = path;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean isLaunched(Agent agent, InstanceProcess process, Instance machine) throws MachineException {
+        final Server server = machine.getRuntime() == null ? null : machine.getRuntime().getServers().get(port);
+        if (server == null || server.getUrl() == null) {
+            return fallback.isLaunched(agent, process, machine);
+        }
+
+        final String url = server.getUrl().endsWith("/") && path.startsWith("/") ? server.getUrl() + path.substring(1)
+                                                                                : server.getUrl() + path;
+        return isHealthy(url) || fallback.isLaunched(agent, process, machine);
+    }
+
+    private boolean isHealthy(String url) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection)new URL(url).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            connection.setRequestMethod("GET");
+            final int responseCode = connection.getResponseCode();
+            return responseCode >= 200 && responseCode < 400;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
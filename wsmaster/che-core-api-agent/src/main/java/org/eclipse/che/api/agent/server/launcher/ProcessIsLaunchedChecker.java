@@ -19,6 +19,8 @@ import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static java.lang.String.format;
 
 /**
@@ -29,16 +31,17 @@ import static java.lang.String.format;
  */
 public class ProcessIsLaunchedChecker implements AgentLaunchingChecker {
 
-    private final String processNameToWait;
-    private       long   counter;
+    private final String     processNameToWait;
+    private final AtomicLong counter;
 
     public ProcessIsLaunchedChecker(String processNameToWait) {
         this.processNameToWait = processNameToWait;
+        this.counter = new AtomicLong();
     }
 
     @Override
     public boolean isLaunched(Agent agent, InstanceProcess process, Instance machine) throws MachineException {
-        Command command = new CommandImpl(format("Wait for %s, try %d", agent.getName(), ++counter),
+        Command command = new CommandImpl(format("Wait for %s, try %d", agent.getName(), counter.incrementAndGet()),
                                           format("ps -fC %s 1>/dev/null && echo 0 || echo 1", processNameToWait),
                                           "test");
 
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.core.model.machine.Server;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Verifies if agent listens to the port of the machine server.
+ *
+ * <p>Port is considered open when connection is established and it isn't closed
+ * by the other side right away, e.g. by a port forwarding proxy which can't reach the agent.
+ * If machine doesn't expose the port or port isn't reachable from this host,
+ * the check is delegated to the fallback checker.
+ */
+public class TcpPortLaunchingChecker implements AgentLaunchingChecker {
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+    private static final int READ_TIMEOUT_MS    = 200;
+
+    private final String                port;
+    private final AgentLaunchingChecker fallback;
+
+    /**
+     * @param port
+     *         the machine server port, e.g. 4411/tcp
+     * @param fallback
+     *         checker used when port isn't exposed or reachable
+     */
+    public TcpPortLaunchingChecker(String port, AgentLaunchingChecker fallback) {
+        this.port = port;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean isLaunched(Agent agent, InstanceProcess process, Instance machine) throws MachineException {
+        final Server server = machine.getRuntime() == null ? null : machine.getRuntime().getServers().get(port);
+        if (server == null || server.getAddress() == null) {
+            return fallback.isLaunched(agent, process, machine);
+        }
+
+        final String address = server.getAddress();
+        final int colon = address.lastIndexOf(':');
+        if (colon < 0) {
+            return fallback.isLaunched(agent, process, machine);
+        }
+
+        return isOpen(address.substring(0, colon), address.substring(colon + 1)) || fallback.isLaunched(agent, process, machine);
+    }
+
+    private boolean isOpen(String host, String port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, Integer.parseInt(port)), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+            try {
+                return socket.getInputStream().read() != -1;
+            } catch (SocketTimeoutException e) {
+                // agent waits for the client to talk first
+                return true;
+            }
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link AbstractAgentLauncher}.
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class AbstractAgentLauncherTest {
+
+    @Mock
+    private Instance        machine;
+    @Mock
+    private Agent           agent;
+    @Mock
+    private LineConsumer    logger;
+    @Mock
+    private InstanceProcess process;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(machine.createProcess(any(), any())).thenReturn(process);
+        when(machine.getLogger()).thenReturn(logger);
+        when(agent.getName()).thenReturn("agent");
+        when(agent.getScript()).thenReturn("script");
+    }
+
+    @Test
+    public void shouldCheckAgentRightAfterItsProcessExits() throws Exception {
+        final AtomicBoolean exited = new AtomicBoolean();
+        doAnswer(invocation -> {
+            ((LineConsumer)invocation.getArguments()[0]).writeLine("[STDOUT] agent is installed");
+            Thread.sleep(3000);
+            exited.set(true);
+            return null;
+        }).when(process).start(any());
+
+        final long start = System.currentTimeMillis();
+        new TestAgentLauncher(60_000, 60_000, (agent, process, machine) -> exited.get()).launch(machine, agent);
+
+        // without the signal the checker would be polled next after 6350 ms
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+        verify(logger).writeLine("[STDOUT] agent is installed");
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Fail launching agent agent.*")
+    public void shouldFailWhenAgentIsNotLaunchedInTime() throws Exception {
+        new TestAgentLauncher(200, 50, (agent, process, machine) -> false).launch(machine, agent);
+    }
+
+    @Test
+    public void shouldKillAgentProcessWhenAgentIsNotLaunchedInTime() throws Exception {
+        try {
+            new TestAgentLauncher(200, 50, (agent, process, machine) -> false).launch(machine, agent);
+        } catch (ServerException ignored) {
+        }
+
+        verify(process).kill();
+    }
+
+    private static class TestAgentLauncher extends AbstractAgentLauncher {
+        TestAgentLauncher(long agentMaxStartTimeMs, long agentPingDelayMs, AgentLaunchingChecker checker) {
+            super(agentMaxStartTimeMs, agentPingDelayMs, checker);
+        }
+
+        @Override
+        public String getAgentName() {
+            return "agent";
+        }
+
+        @Override
+        public String getMachineType() {
+            return "any";
+        }
+    }
+}
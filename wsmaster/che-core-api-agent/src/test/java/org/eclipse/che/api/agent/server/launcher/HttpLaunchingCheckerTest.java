@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.machine.server.model.impl.MachineRuntimeInfoImpl;
+import org.eclipse.che.api.machine.server.model.impl.ServerImpl;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link HttpLaunchingChecker}.
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class HttpLaunchingCheckerTest {
+    private static final String PORT = "4411/tcp";
+
+    @Mock
+    private Instance              machine;
+    @Mock
+    private Agent                 agent;
+    @Mock
+    private InstanceProcess       process;
+    @Mock
+    private AgentLaunchingChecker fallback;
+
+    private HttpServer   httpServer;
+    private List<String> requestedPaths;
+    private int          responseCode;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        requestedPaths = new CopyOnWriteArrayList<>();
+        responseCode = 200;
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", exchange -> {
+            requestedPaths.add(exchange.getRequestURI().getPath());
+            exchange.sendResponseHeaders(responseCode, -1);
+            exchange.close();
+        });
+        httpServer.start();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        httpServer.stop(0);
+    }
+
+    @Test
+    public void shouldBeLaunchedWhenAgentRespondsWithSuccessfulStatus() throws Exception {
+        exposeServer(serverUrl() + "/");
+
+        assertTrue(new HttpLaunchingChecker(PORT, "/", fallback).isLaunched(agent, process, machine));
+        assertEquals(requestedPaths, singletonList("/"));
+        verify(fallback, never()).isLaunched(agent, process, machine);
+    }
+
+    @Test
+    public void shouldJoinServerUrlAndPath() throws Exception {
+        exposeServer(serverUrl() + "/");
+        new HttpLaunchingChecker(PORT, "/health", fallback).isLaunched(agent, process, machine);
+
+        exposeServer(serverUrl());
+        new HttpLaunchingChecker(PORT, "/health", fallback).isLaunched(agent, process, machine);
+
+        assertEquals(requestedPaths.size(), 2);
+        assertEquals(requestedPaths.get(0), "/health");
+        assertEquals(requestedPaths.get(1), "/health");
+    }
+
+    @Test
+    public void shouldNotBeLaunchedWhenAgentRespondsWithErrorStatus() throws Exception {
+        responseCode = 503;
+        exposeServer(serverUrl() + "/");
+
+        assertFalse(new HttpLaunchingChecker(PORT, "/", fallback).isLaunched(agent, process, machine));
+        verify(fallback).isLaunched(agent, process, machine);
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenServerIsNotReachable() throws Exception {
+        final String url = serverUrl();
+        httpServer.stop(0);
+        exposeServer(url);
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(new HttpLaunchingChecker(PORT, "/", fallback).isLaunched(agent, process, machine));
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenServerIsNotExposed() throws Exception {
+        when(machine.getRuntime()).thenReturn(new MachineRuntimeInfoImpl(emptyMap(), emptyMap(), emptyMap()));
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(new HttpLaunchingChecker(PORT, "/", fallback).isLaunched(agent, process, machine));
+        assertTrue(requestedPaths.isEmpty());
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenServerHasNoUrl() throws Exception {
+        exposeServer(null);
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(new HttpLaunchingChecker(PORT, "/", fallback).isLaunched(agent, process, machine));
+        assertTrue(requestedPaths.isEmpty());
+    }
+
+    private String serverUrl() {
+        return "http://localhost:" + httpServer.getAddress().getPort();
+    }
+
+    private void exposeServer(String url) {
+        final ServerImpl server = new ServerImpl("terminal", "http", null, null, url);
+        when(machine.getRuntime()).thenReturn(new MachineRuntimeInfoImpl(emptyMap(), emptyMap(), singletonMap(PORT, server)));
+    }
+}
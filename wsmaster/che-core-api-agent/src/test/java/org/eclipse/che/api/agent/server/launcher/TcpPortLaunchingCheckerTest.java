@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.machine.server.model.impl.MachineRuntimeInfoImpl;
+import org.eclipse.che.api.machine.server.model.impl.ServerImpl;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link TcpPortLaunchingChecker}.
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class TcpPortLaunchingCheckerTest {
+    private static final String PORT = "22/tcp";
+
+    @Mock
+    private Instance              machine;
+    @Mock
+    private Agent                 agent;
+    @Mock
+    private InstanceProcess       process;
+    @Mock
+    private AgentLaunchingChecker fallback;
+
+    private ServerSocket            serverSocket;
+    private TcpPortLaunchingChecker checker;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        checker = new TcpPortLaunchingChecker(PORT, fallback);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        serverSocket.close();
+    }
+
+    @Test
+    public void shouldBeLaunchedWhenAgentWaitsForClientToTalkFirst() throws Exception {
+        exposeServer("localhost:" + serverSocket.getLocalPort());
+
+        assertTrue(checker.isLaunched(agent, process, machine));
+        verify(fallback, never()).isLaunched(agent, process, machine);
+    }
+
+    @Test
+    public void shouldBeLaunchedWhenAgentGreetsClient() throws Exception {
+        exposeServer("localhost:" + serverSocket.getLocalPort());
+        final Thread acceptor = accept(socket -> socket.getOutputStream().write("SSH-2.0-OpenSSH\r\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(checker.isLaunched(agent, process, machine));
+        verify(fallback, never()).isLaunched(agent, process, machine);
+        acceptor.join();
+    }
+
+    @Test
+    public void shouldNotBeLaunchedWhenConnectionIsClosedRightAway() throws Exception {
+        exposeServer("localhost:" + serverSocket.getLocalPort());
+        final Thread acceptor = accept(socket -> {});
+
+        assertFalse(checker.isLaunched(agent, process, machine));
+        verify(fallback).isLaunched(agent, process, machine);
+        acceptor.join();
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenPortIsNotReachable() throws Exception {
+        final int port = serverSocket.getLocalPort();
+        serverSocket.close();
+        exposeServer("localhost:" + port);
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(checker.isLaunched(agent, process, machine));
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenPortIsNotExposed() throws Exception {
+        when(machine.getRuntime()).thenReturn(new MachineRuntimeInfoImpl(emptyMap(), emptyMap(), emptyMap()));
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(checker.isLaunched(agent, process, machine));
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenMachineHasNoRuntime() throws Exception {
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(checker.isLaunched(agent, process, machine));
+    }
+
+    @Test
+    public void shouldDelegateToFallbackWhenAddressHasNoPort() throws Exception {
+        exposeServer("localhost");
+        when(fallback.isLaunched(agent, process, machine)).thenReturn(true);
+
+        assertTrue(checker.isLaunched(agent, process, machine));
+    }
+
+    private void exposeServer(String address) {
+        final ServerImpl server = new ServerImpl("ssh", "tcp", address, null, null);
+        when(machine.getRuntime()).thenReturn(new MachineRuntimeInfoImpl(emptyMap(), emptyMap(), singletonMap(PORT, server)));
+    }
+
+    /** Accepts single connection, handles and closes it in background. */
+    private Thread accept(SocketHandler handler) {
+        final Thread acceptor = new Thread(() -> {
+            try (Socket socket = serverSocket.accept()) {
+                handler.handle(socket);
+            } catch (IOException ignored) {
+            }
+        });
+        acceptor.start();
+        return acceptor;
+    }
+
+    private interface SocketHandler {
+        void handle(Socket socket) throws IOException;
+    }
+}
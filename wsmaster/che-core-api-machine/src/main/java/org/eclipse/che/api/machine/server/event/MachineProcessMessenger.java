@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
@@ -33,6 +34,8 @@ import javax.inject.Singleton;
 public class MachineProcessMessenger implements EventSubscriber<MachineProcessEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(MachineProcessMessenger.class);
 
+    private static final int EVENTS_QUEUE_SIZE = 1000;
+
     private final EventService eventService;
 
     @Inject
@@ -54,7 +57,8 @@ public class MachineProcessMessenger implements EventSubscriber<MachineProcessEv
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        // sending to websocket may be slow, it should not block processes which publish events
+        eventService.subscribe(new AsyncEventSubscriber<>(this, EVENTS_QUEUE_SIZE, AsyncEventSubscriber.OverflowPolicy.BLOCK));
     }
 
     @PreDestroy
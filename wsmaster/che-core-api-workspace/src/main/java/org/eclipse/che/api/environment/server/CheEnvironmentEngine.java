@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.core.ApiException;
@@ -39,6 +40,7 @@ import org.eclipse.che.api.environment.server.compose.model.BuildContextImpl;
 import org.eclipse.che.api.environment.server.compose.model.ComposeEnvironmentImpl;
 import org.eclipse.che.api.environment.server.compose.model.ComposeServiceImpl;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
+import org.eclipse.che.api.environment.server.logs.ProcessLogStore;
 import org.eclipse.che.api.machine.server.MachineInstanceProviders;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
@@ -60,6 +62,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
@@ -69,14 +72,24 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -108,7 +121,10 @@ public class CheEnvironmentEngine {
     private final ComposeMachineInstanceProvider composeProvider;
     private final AgentConfigApplier             agentConfigApplier;
     private final RecipeDownloader               recipeDownloader;
+    private final ProcessLogStore                processLogStore;
     private final Pattern                        recipeApiPattern;
+    private final ExecutorService                machineStartExecutor;
+    private final int                            maxParallelMachinesStart;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -123,7 +139,9 @@ public class CheEnvironmentEngine {
                                 ComposeMachineInstanceProvider composeProvider,
                                 AgentConfigApplier agentConfigApplier,
                                 @Named("api.endpoint") String apiEndpoint,
-                                RecipeDownloader recipeDownloader) {
+                                RecipeDownloader recipeDownloader,
+                                ProcessLogStore processLogStore,
+                                @Named("machine.env.max_parallel_start") int maxParallelMachinesStart) {
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -131,6 +149,7 @@ public class CheEnvironmentEngine {
         this.composeProvider = composeProvider;
         this.agentConfigApplier = agentConfigApplier;
         this.recipeDownloader = recipeDownloader;
+        this.processLogStore = processLogStore;
         this.environments = new ConcurrentHashMap<>();
         this.machineInstanceProviders = machineInstanceProviders;
         this.machineLogsDir = new File(machineLogsDir);
@@ -138,6 +157,12 @@ public class CheEnvironmentEngine {
         // 16 - experimental value for stripes count, it comes from default hash map size
         this.stripedLocks = new StripedLocks(16);
         this.recipeApiPattern = Pattern.compile("^" + apiEndpoint + "/recipe/.*$");
+        this.maxParallelMachinesStart = Math.max(1, maxParallelMachinesStart);
+        // parallelism is bounded per environment, so start of one environment doesn't wait for the others
+        this.machineStartExecutor =
+                Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("StartEnvironmentMachine-%d")
+                                                                        .setDaemon(true)
+                                                                        .build());
 
         eventService.subscribe(new MachineCleaner());
     }
@@ -592,6 +617,12 @@ public class CheEnvironmentEngine {
 
     /**
      * Starts all machine from machine queue of environment.
+     *
+     * <p>Machines start in parallel on {@link #machineStartExecutor}, up to {@link #maxParallelMachinesStart}
+     * machines of the environment at a time, each machine is started only when all the machines
+     * it depends on are running.
+     * If start of any machine fails, already started machines are awaited
+     * and then the whole environment is destroyed.
      */
     private void startEnvironmentQueue(String namespace,
                                        String workspaceId,
@@ -599,11 +630,10 @@ public class CheEnvironmentEngine {
                                        String networkId,
                                        boolean recover)
             throws ServerException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        Map<String, List<String>> dependencies;
+        Set<String> machinesToStart;
         try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null) {
@@ -611,118 +641,74 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            dependencies = startStrategy.dependencies(environmentHolder.composeEnvironment);
+            // preserves order evaluated by start strategy
+            machinesToStart = new LinkedHashSet<>(environmentHolder.startQueue);
         }
+        String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
 
         try {
             composeProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-                String machineId = generateMachineId();
-                String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
-
-                ComposeServiceImpl composeService;
-                try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
-                    }
-                    composeService = environmentHolder.composeEnvironment.getServices().get(machineName);
-                }
-                // should not happen
-                if (composeService == null) {
-                    LOG.error("Compose service with name {} is missing in compose environment", machineName);
-                    throw new ServerException("Environment of workspace with ID '%s' failed due to internal error");
-                }
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(composeService.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .build())
-                                   .setId(machineId)
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    ComposeServiceImpl serviceWithCorrectSource = getServiceWithCorrectSource(composeService, machineSource);
-                    return composeProvider.startService(namespace,
+            CompletionService<String> completionService = new ExecutorCompletionService<>(machineStartExecutor);
+            Set<String> startedMachines = new HashSet<>();
+            int machinesInProgress = 0;
+            Exception startFailure = null;
+            while (!machinesToStart.isEmpty() || machinesInProgress > 0) {
+                // Submits all the machines which dependencies are already started.
+                // Nothing is submitted after first failure, but machines that are
+                // in progress are awaited to prevent leaking of their resources
+                if (startFailure == null) {
+                    for (Iterator<String> it = machinesToStart.iterator();
+                         it.hasNext() && machinesInProgress < maxParallelMachinesStart; ) {
+                        String machineName = it.next();
+                        List<String> machineDependencies = dependencies.get(machineName);
+                        if (machineDependencies == null || startedMachines.containsAll(machineDependencies)) {
+                            queueCheckOrFail(workspaceId);
+                            it.remove();
+                            completionService.submit(ThreadLocalPropagateContext.wrap(() -> {
+                                startEnvironmentMachine(namespace,
                                                         workspaceId,
                                                         envName,
-                                                        machineId,
-                                                        finalMachineName,
-                                                        isDev,
+                                                        envLogger,
+                                                        machineName,
+                                                        devMachineName.equals(machineName),
                                                         networkId,
-                                                        serviceWithCorrectSource,
-                                                        machineLogger);
-                };
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
+                                                        creator,
+                                                        recover);
+                                return machineName;
+                            }));
+                            machinesInProgress++;
                         }
                     }
                 }
+                // should not happen, start strategy fails on circular dependencies
+                if (machinesInProgress == 0) {
+                    if (startFailure == null) {
+                        throw new ServerException(format("Launch order of machines '%s' can't be evaluated",
+                                                         String.join(", ", machinesToStart)));
+                    }
+                    break;
+                }
 
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
+                try {
+                    Future<String> startedMachine = completionService.take();
+                    machinesInProgress--;
+                    startedMachines.add(startedMachine.get());
+                } catch (ExecutionException e) {
+                    if (startFailure == null) {
+                        startFailure = e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
                     }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServerException("Workspace '" + workspaceId + "' start interrupted.");
                 }
+            }
 
-                machineName = queuePeekOrFail(workspaceId);
+            if (startFailure != null) {
+                throw startFailure instanceof ServerException ? (ServerException)startFailure
+                                                              : new ServerException(startFailure.getLocalizedMessage(),
+                                                                                    startFailure);
             }
         } catch (RuntimeException | ServerException e) {
             EnvironmentHolder env;
@@ -730,15 +716,131 @@ public class CheEnvironmentEngine {
                 env = environments.remove(workspaceId);
             }
 
-            try {
-                destroyEnvironment(env.networkId, env.machines);
-            } catch (Exception remEx) {
-                LOG.error(remEx.getLocalizedMessage(), remEx);
+            if (env != null) {
+                try {
+                    destroyEnvironment(env.networkId, env.machines);
+                } catch (Exception remEx) {
+                    LOG.error(remEx.getLocalizedMessage(), remEx);
+                }
             }
             throw new ServerException(e.getLocalizedMessage(), e);
         }
     }
 
+    /**
+     * Starts single machine of starting environment and polls it from the start queue.
+     */
+    private void startEnvironmentMachine(String namespace,
+                                         String workspaceId,
+                                         String envName,
+                                         MessageConsumer<MachineLogMessage> envLogger,
+                                         String machineName,
+                                         boolean isDev,
+                                         String networkId,
+                                         String creator,
+                                         boolean recover) throws ServerException {
+        // Environment start is failed when any machine start is failed, so if any error
+        // occurs during machine creation then environment start fail is reported and
+        // start resources such as queue and descriptor must be cleaned up
+        String machineId = generateMachineId();
+
+        ComposeServiceImpl composeService;
+        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new ServerException("Environment start is interrupted.");
+            }
+            composeService = environmentHolder.composeEnvironment.getServices().get(machineName);
+        }
+        // should not happen
+        if (composeService == null) {
+            LOG.error("Compose service with name {} is missing in compose environment", machineName);
+            throw new ServerException("Environment of workspace with ID '%s' failed due to internal error");
+        }
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(composeService.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .build())
+                           .setId(machineId)
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            ComposeServiceImpl serviceWithCorrectSource = getServiceWithCorrectSource(composeService, machineSource);
+            return composeProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineId,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithCorrectSource,
+                                                machineLogger);
+        };
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also polls the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+    }
+
     private Instance startInstance(boolean recover,
                                    MessageConsumer<MachineLogMessage> environmentLogger,
                                    MachineImpl machine,
@@ -933,21 +1035,17 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
-     *
-     * <p>Note that this method won't actually poll the queue.
+     * Checks that start queue associated with the given {@code workspaceId} still exists.
      *
      * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
      *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
      * @throws ServerException
      *         if queue doesn't exist which means that {@link #stop(String)} executed
      *         before all the machines started
      * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
+     *         if pre destroy has been invoked before check
      */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
+    private void queueCheckOrFail(String workspaceId) throws ServerException {
         try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -955,7 +1053,6 @@ public class CheEnvironmentEngine {
                 throw new ServerException("Workspace " + workspaceId +
                                           " start interrupted. Workspace was stopped before all its machines were started");
             }
-            return environmentHolder.startQueue.peek();
         }
     }
 
@@ -989,7 +1086,11 @@ public class CheEnvironmentEngine {
                                      .withMachineId(machine.getId())
                                      .withWorkspaceId(machine.getWorkspaceId()));
 
-        machine.destroy();
+        try {
+            machine.destroy();
+        } finally {
+            processLogStore.remove(machine.getId());
+        }
 
         eventService.publish(newDto(MachineStatusEvent.class)
                                      .withEventType(MachineStatusEvent.EventType.DESTROYED)
@@ -1016,6 +1117,7 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        machineStartExecutor.shutdown();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1118,7 +1220,8 @@ public class CheEnvironmentEngine {
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
-            this.startQueue = new ArrayDeque<>(startQueue);
+            // concurrent queue since machines of environment start in parallel
+            this.startQueue = new ConcurrentLinkedQueue<>(startQueue);
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -19,10 +19,13 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.BatchingWebsocketLineConsumer;
+import org.eclipse.che.api.core.util.BatchingWebsocketLineConsumer.OverflowPolicy;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.util.LineConsumerMetrics;
+import org.eclipse.che.api.environment.server.logs.ProcessLog;
+import org.eclipse.che.api.environment.server.logs.ProcessLogStore;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -36,14 +39,17 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.Reader;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -59,24 +65,70 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 public class MachineProcessManager {
     private static final Logger LOG = LoggerFactory.getLogger(MachineProcessManager.class);
 
-    private final File                 machineLogsDir;
+    private static final long DEFAULT_OUTPUT_FLUSH_INTERVAL_MS  = 200;
+    private static final int  DEFAULT_OUTPUT_MAX_FRAME_LINES    = 500;
+    private static final int  DEFAULT_OUTPUT_MAX_PENDING_FRAMES = 100;
+    private static final int  OUTPUT_MAX_FRAME_BYTES            = 64 * 1024;
+
+    private final ProcessLogStore      logStore;
     private final CheEnvironmentEngine environmentEngine;
     private final EventService         eventService;
+    private final int                  outputMaxFrameLines;
+    private final int                  outputMaxPendingFrames;
+    private final OverflowPolicy       outputOverflowPolicy;
+    private final Set<ProcessLogger>   activeLoggers;
 
     @VisibleForTesting
     final ExecutorService executor;
 
-    @Inject
-    public MachineProcessManager(@Named("machine.logs.location") String machineLogsDir,
+    private final ExecutorService          outputSender;
+    private final ScheduledExecutorService outputFlusher;
+
+    public MachineProcessManager(String machineLogsDir,
                                  EventService eventService,
                                  CheEnvironmentEngine environmentEngine) {
+        this(new ProcessLogStore(machineLogsDir),
+             eventService,
+             environmentEngine,
+             DEFAULT_OUTPUT_FLUSH_INTERVAL_MS,
+             DEFAULT_OUTPUT_MAX_FRAME_LINES,
+             DEFAULT_OUTPUT_MAX_PENDING_FRAMES,
+             OverflowPolicy.SUMMARIZE.name());
+    }
+
+    /**
+     * Output of the processes is written to the log files and sent to the output channels in groups of lines.
+     * Groups are flushed when they reach {@code outputMaxFrameLines} lines and at least every {@code outputFlushIntervalMs}
+     * milliseconds. If client can't receive output as fast as it is produced and {@code outputMaxPendingFrames} frames
+     * are waiting to be sent, new frames are dropped according to {@code outputOverflowPolicy}, log files
+     * still contain the whole output.
+     */
+    @Inject
+    public MachineProcessManager(ProcessLogStore logStore,
+                                 EventService eventService,
+                                 CheEnvironmentEngine environmentEngine,
+                                 @Named("machine.process.output.flush_interval_ms") long outputFlushIntervalMs,
+                                 @Named("machine.process.output.max_frame_lines") int outputMaxFrameLines,
+                                 @Named("machine.process.output.max_pending_frames") int outputMaxPendingFrames,
+                                 @Named("machine.process.output.overflow_policy") String outputOverflowPolicy) {
         this.eventService = eventService;
-        this.machineLogsDir = new File(machineLogsDir);
+        this.logStore = logStore;
         this.environmentEngine = environmentEngine;
+        this.outputMaxFrameLines = outputMaxFrameLines;
+        this.outputMaxPendingFrames = outputMaxPendingFrames;
+        this.outputOverflowPolicy = OverflowPolicy.valueOf(outputOverflowPolicy.toUpperCase());
+        this.activeLoggers = ConcurrentHashMap.newKeySet();
 
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineProcessManager-%d")
                                                                            .setDaemon(false)
                                                                            .build());
+        outputSender = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineProcessOutputSender-%d")
+                                                                               .setDaemon(true)
+                                                                               .build());
+        outputFlusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("MachineProcessOutputFlusher")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        outputFlusher.scheduleWithFixedDelay(this::flushLoggers, outputFlushIntervalMs, outputFlushIntervalMs, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -200,29 +252,28 @@ public class MachineProcessManager {
      * @return reader for specified process on machine
      * @throws NotFoundException
      *         if machine with specified id not found
-     * @throws MachineException
-     *         if other error occur
      */
-    public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException, MachineException {
-        final File processLogsFile = getProcessLogsFile(machineId, pid);
-        if (processLogsFile.isFile()) {
-            try {
-                return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(
-                        String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
-            }
-        }
-        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+    public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException {
+        return logStore.get(machineId, pid).openReader();
     }
 
-    private File getProcessLogsFile(String machineId, int pid) {
-        return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
+    /**
+     * Gets log of the process which allows to read lines from any position of the log and follow it.
+     *
+     * @param machineId
+     *         machine id whose process log will be returned
+     * @param pid
+     *         process id
+     * @throws NotFoundException
+     *         if log of the process is not found
+     */
+    public ProcessLog getProcessLog(String machineId, int pid) throws NotFoundException {
+        return logStore.get(machineId, pid);
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private ProcessLog getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return logStore.create(machineId, pid, outputMaxFrameLines);
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -234,11 +285,39 @@ public class MachineProcessManager {
         return getLogger(getProcessFileLogger(machineId, pid), outputChannel);
     }
 
-    private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
+    /**
+     * Returns metrics of the output of running processes by output channels.
+     */
+    public Map<String, LineConsumerMetrics> getOutputMetrics() {
+        final Map<String, LineConsumerMetrics> metrics = new HashMap<>();
+        for (ProcessLogger logger : activeLoggers) {
+            if (logger.websocketLogger != null) {
+                metrics.put(logger.websocketLogger.getChannel(), logger.websocketLogger.getMetrics());
+            }
+        }
+        return metrics;
+    }
+
+    private LineConsumer getLogger(ProcessLog fileLogger, String outputChannel) throws MachineException {
+        final ProcessLogger logger;
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            logger = new ProcessLogger(fileLogger, new BatchingWebsocketLineConsumer(outputChannel,
+                                                                                    outputMaxFrameLines,
+                                                                                    OUTPUT_MAX_FRAME_BYTES,
+                                                                                    outputMaxPendingFrames,
+                                                                                    outputOverflowPolicy,
+                                                                                    outputSender));
+        } else {
+            logger = new ProcessLogger(fileLogger, null);
+        }
+        activeLoggers.add(logger);
+        return logger;
+    }
+
+    private void flushLoggers() {
+        for (ProcessLogger logger : activeLoggers) {
+            logger.flush();
         }
-        return fileLogger;
     }
 
     /**
@@ -275,8 +354,49 @@ public class MachineProcessManager {
             executor.shutdownNow();
         }
 
+        outputFlusher.shutdownNow();
+        outputSender.shutdown();
+
         if (interrupted) {
             Thread.currentThread().interrupt();
         }
     }
+
+    /** Writes output of the process to the log file and output channel and flushes both periodically. */
+    private class ProcessLogger extends CompositeLineConsumer implements Flushable {
+        final ProcessLog                    fileLogger;
+        final BatchingWebsocketLineConsumer websocketLogger;
+
+        ProcessLogger(ProcessLog fileLogger, @Nullable BatchingWebsocketLineConsumer websocketLogger) {
+            super(websocketLogger == null ? new LineConsumer[] {fileLogger} : new LineConsumer[] {fileLogger, websocketLogger});
+            this.fileLogger = fileLogger;
+            this.websocketLogger = websocketLogger;
+        }
+
+        @Override
+        public void flush() {
+            try {
+                fileLogger.flush();
+            } catch (IOException e) {
+                LOG.warn(String.format("Unable flush process log. %s", e.getMessage()));
+            }
+            if (websocketLogger != null) {
+                websocketLogger.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            activeLoggers.remove(this);
+            super.close();
+            if (websocketLogger != null) {
+                final LineConsumerMetrics metrics = websocketLogger.getMetrics();
+                if (metrics.getDroppedFrames() > 0) {
+                    LOG.warn("Output channel {} is too slow, part of the output was not sent: {}", websocketLogger.getChannel(), metrics);
+                } else {
+                    LOG.debug("Output of the process is sent to channel {}: {}", websocketLogger.getChannel(), metrics);
+                }
+            }
+        }
+    }
 }
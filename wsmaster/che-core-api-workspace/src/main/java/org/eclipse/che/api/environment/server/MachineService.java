@@ -25,6 +25,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.environment.server.logs.ProcessLog;
 import org.eclipse.che.api.machine.server.DtoConverter;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
@@ -47,6 +48,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -60,6 +62,9 @@ import java.util.stream.Collectors;
 @Api(value = "/machine", description = "Machine REST API")
 @Path("/workspace/{workspaceId}/machine")
 public class MachineService extends Service {
+    private static final int  LOG_LINES_BATCH_SIZE  = 1000;
+    private static final long LOG_FOLLOW_TIMEOUT_MS = 10000;
+
     private final MachineProcessManager       machineProcessManager;
     private final MachineServiceLinksInjector linksInjector;
     private final WorkspaceManager            workspaceManager;
@@ -273,8 +278,11 @@ public class MachineService extends Service {
     @GET
     @Path("/{machineId}/process/{pid}/logs")
     @Produces(MediaType.TEXT_PLAIN)
-    @ApiOperation(value = "Get logs of machine process")
+    @ApiOperation(value = "Get logs of machine process",
+                  notes = "Only one of the parameters 'from', 'since' and 'tail' may be specified, " +
+                          "whole available log is returned if none of them is specified")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 400, message = "More than one of the parameters 'from', 'since' and 'tail' specified"),
                    @ApiResponse(code = 404, message = "Machine or process with specified ID does not exist"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void getProcessLogs(@ApiParam(value = "Workspace ID")
@@ -286,14 +294,49 @@ public class MachineService extends Service {
                                @ApiParam(value = "Process ID")
                                @PathParam("pid")
                                int pid,
+                               @ApiParam(value = "Number of the first line, lines are numbered from zero")
+                               @QueryParam("from")
+                               Long from,
+                               @ApiParam(value = "Time in milliseconds, lines written since that time are returned")
+                               @QueryParam("since")
+                               Long since,
+                               @ApiParam(value = "Number of the last lines to return")
+                               @QueryParam("tail")
+                               Integer tail,
+                               @ApiParam(value = "Max number of lines to return")
+                               @QueryParam("limit")
+                               Integer limit,
+                               @ApiParam(value = "Wait for new lines until process is finished")
+                               @QueryParam("follow")
+                               boolean follow,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
                    ForbiddenException,
                    ServerException,
+                   BadRequestException,
                    IOException {
 
-        addLogsToResponse(machineProcessManager.getProcessLogReader(machineId, pid), httpServletResponse);
+        if ((from != null ? 1 : 0) + (since != null ? 1 : 0) + (tail != null ? 1 : 0) > 1) {
+            throw new BadRequestException("Only one of the parameters 'from', 'since' and 'tail' may be specified");
+        }
+        if (from == null && since == null && tail == null && limit == null && !follow) {
+            addLogsToResponse(machineProcessManager.getProcessLogReader(machineId, pid), httpServletResponse);
+            return;
+        }
+
+        final ProcessLog log = machineProcessManager.getProcessLog(machineId, pid);
+        final long first;
+        if (from != null) {
+            first = from;
+        } else if (since != null) {
+            first = log.findLine(since);
+        } else if (tail != null) {
+            first = Math.max(log.getFirstLine(), log.getLineCount() - tail);
+        } else {
+            first = log.getFirstLine();
+        }
+        addLogLinesToResponse(log, first, limit == null ? Integer.MAX_VALUE : limit, follow, httpServletResponse);
     }
 
     /**
@@ -324,6 +367,38 @@ public class MachineService extends Service {
         httpServletResponse.getWriter().flush();
     }
 
+    private void addLogLinesToResponse(ProcessLog log,
+                                       long from,
+                                       int limit,
+                                       boolean follow,
+                                       HttpServletResponse httpServletResponse) throws IOException {
+        httpServletResponse.setContentType("text/plain");
+        final Writer writer = httpServletResponse.getWriter();
+        long next = from;
+        int left = limit;
+        while (left > 0) {
+            next = Math.max(next, log.getFirstLine());
+            final List<String> lines = log.readLines(next, Math.min(left, LOG_LINES_BATCH_SIZE));
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+            writer.flush();
+            next += lines.size();
+            left -= lines.size();
+            if (lines.isEmpty()) {
+                try {
+                    if (!follow || !log.awaitLine(next, LOG_FOLLOW_TIMEOUT_MS) && log.isClosed()) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Checks object reference is not {@code null}
      *
@@ -45,6 +45,18 @@ public class ComposeServicesStartStrategy {
         return sortByWeight(weights);
     }
 
+    /**
+     * Returns mapping of names of machines to names of machines they depend on.
+     * Both {@code depends_on} and {@code links} of compose service count as dependencies.
+     *
+     * @throws IllegalArgumentException
+     *         if link of some service is invalid
+     */
+    public Map<String, List<String>> dependencies(ComposeEnvironmentImpl composeEnvironment)
+            throws IllegalArgumentException {
+        return dependencies(composeEnvironment.getServices());
+    }
+
     /**
      * Returns mapping of names of machines to its weights in dependency graph.
      *
@@ -58,21 +70,7 @@ public class ComposeServicesStartStrategy {
         Set<String> machinesLeft = new HashSet<>(services.keySet());
 
         // create machines dependency graph
-        Map<String, List<String>> dependencies = new HashMap<>(services.size());
-        for (Map.Entry<String, ComposeServiceImpl> serviceEntry : services.entrySet()) {
-            ComposeServiceImpl service = serviceEntry.getValue();
-
-            ArrayList<String> machineDependencies = new ArrayList<>(service.getDependsOn().size() +
-                                                                    service.getLinks().size());
-
-            machineDependencies.addAll(service.getDependsOn());
-
-            // links also counts as dependencies
-            for (String link : service.getLinks()) {
-                machineDependencies.add(getServiceFromMachineLink(link));
-            }
-            dependencies.put(serviceEntry.getKey(), machineDependencies);
-        }
+        Map<String, List<String>> dependencies = dependencies(services);
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
@@ -124,6 +122,26 @@ public class ComposeServicesStartStrategy {
         return weights;
     }
 
+    private Map<String, List<String>> dependencies(Map<String, ComposeServiceImpl> services)
+            throws IllegalArgumentException {
+        Map<String, List<String>> dependencies = new HashMap<>(services.size());
+        for (Map.Entry<String, ComposeServiceImpl> serviceEntry : services.entrySet()) {
+            ComposeServiceImpl service = serviceEntry.getValue();
+
+            ArrayList<String> machineDependencies = new ArrayList<>(service.getDependsOn().size() +
+                                                                    service.getLinks().size());
+
+            machineDependencies.addAll(service.getDependsOn());
+
+            // links also counts as dependencies
+            for (String link : service.getLinks()) {
+                machineDependencies.add(getServiceFromMachineLink(link));
+            }
+            dependencies.put(serviceEntry.getKey(), machineDependencies);
+        }
+        return dependencies;
+    }
+
     /**
      * Parses link content into depends_on field representation - removes column and further chars
      */
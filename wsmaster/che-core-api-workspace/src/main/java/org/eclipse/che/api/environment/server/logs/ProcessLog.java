@@ -0,0 +1,481 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server.logs;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Output of the single machine process stored in the directory as the sequence of segments.
+ * <p/>
+ * Segment is rotated when it reaches the segment size, completed segments and the last segment of the closed log
+ * are compressed in background.
+ * Every {@link #INDEX_INTERVAL} lines of the segment form the block, offset of each block and time when its first line
+ * was written are kept in memory, so reading lines from the middle of the log starts from the nearest block instead
+ * of the beginning of the log. Compressed segment consists of separate gzip members, one per block, so it is
+ * seekable in the same way.
+ * <p/>
+ * Lines are numbered from zero, line becomes visible for readers when it is flushed.
+ * Compressed segments may be removed by {@link ProcessLogStore} according to retention limits,
+ * then lines of removed segments are not available anymore.
+ */
+public class ProcessLog implements LineConsumer, Flushable {
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessLog.class);
+
+    /** Number of lines in the block of the index. */
+    static final int INDEX_INTERVAL = 100;
+
+    private static final int READER_BATCH_SIZE = 1000;
+
+    private final String          machineId;
+    private final File            dir;
+    private final long            segmentSize;
+    private final int             flushLines;
+    private final Executor        compressor;
+    private final ProcessLogStore store;
+    private final List<Segment>   segments;
+
+    private Segment      active;
+    private OutputStream out;
+    private long         writtenBytes;
+    private long         writtenLines;
+    private long         flushedLines;
+    private boolean      closed;
+
+    ProcessLog(String machineId,
+               File dir,
+               long segmentSize,
+               int flushLines,
+               Executor compressor,
+               ProcessLogStore store) throws IOException {
+        if (!(dir.isDirectory() || dir.mkdirs())) {
+            throw new IOException("Unable create directory " + dir.getAbsolutePath());
+        }
+        this.machineId = machineId;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.flushLines = flushLines;
+        this.compressor = compressor;
+        this.store = store;
+        this.segments = new ArrayList<>();
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (closed) {
+            throw new IOException("Log " + dir + " is closed");
+        }
+        if (active == null || writtenBytes >= segmentSize) {
+            rotate();
+        }
+        if ((writtenLines - active.firstLine) % INDEX_INTERVAL == 0) {
+            active.addBlock(writtenBytes, System.currentTimeMillis());
+        }
+        final byte[] bytes = ((line == null ? "" : line) + '\n').getBytes(UTF_8);
+        out.write(bytes);
+        writtenBytes += bytes.length;
+        writtenLines++;
+        if (writtenLines - flushedLines >= flushLines) {
+            flushSegment();
+        }
+    }
+
+    /** Makes written lines visible for readers. */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!closed && writtenLines > flushedLines) {
+            flushSegment();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (out != null) {
+                flushSegment();
+                out.close();
+                final Segment completed = active;
+                compressor.execute(() -> compress(completed));
+            }
+        } finally {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Returns number of the line next to the last visible line. */
+    public synchronized long getLineCount() {
+        return flushedLines;
+    }
+
+    /** Returns number of the first line which is not removed by retention. */
+    public synchronized long getFirstLine() {
+        return segments.isEmpty() ? flushedLines : segments.get(0).firstLine;
+    }
+
+    /**
+     * Returns number of the first line of the block which was being written at the given time,
+     * so the result may include up to {@link #INDEX_INTERVAL} lines written before that time.
+     */
+    public synchronized long findLine(long timestamp) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            final Segment segment = segments.get(i);
+            if (segment.blocks > 0 && segment.timestamps[0] <= timestamp) {
+                int block = Arrays.binarySearch(segment.timestamps, 0, segment.blocks, timestamp);
+                if (block < 0) {
+                    block = -block - 2;
+                }
+                // the first block among the blocks started at the same millisecond
+                while (block > 0 && segment.timestamps[block - 1] == segment.timestamps[block]) {
+                    block--;
+                }
+                return Math.min(segment.firstLine + (long)block * INDEX_INTERVAL, flushedLines);
+            }
+        }
+        return getFirstLine();
+    }
+
+    /**
+     * Reads at most {@code limit} lines starting from the line {@code from}. If lines before {@code from}
+     * are removed, reading starts from {@link #getFirstLine()}.
+     */
+    public List<String> readLines(long from, int limit) throws IOException {
+        final List<String> lines = new ArrayList<>(Math.min(limit, READER_BATCH_SIZE));
+        long next = from;
+        boolean retried = false;
+        while (lines.size() < limit) {
+            final Cursor cursor = locate(next);
+            if (cursor == null) {
+                break;
+            }
+            final int read;
+            try {
+                read = cursor.read(lines, limit - lines.size());
+            } catch (FileNotFoundException e) {
+                // segment is just compressed or removed, locate it again
+                if (retried) {
+                    throw e;
+                }
+                retried = true;
+                continue;
+            }
+            retried = false;
+            if (read == 0) {
+                break;
+            }
+            next = cursor.line + read;
+        }
+        return lines;
+    }
+
+    /** Returns at most {@code count} last lines. */
+    public List<String> tail(int count) throws IOException {
+        final long from;
+        synchronized (this) {
+            from = Math.max(getFirstLine(), flushedLines - count);
+        }
+        return readLines(from, count);
+    }
+
+    /**
+     * Waits until the line {@code line} becomes visible or log is closed.
+     *
+     * @return {@code true} if line is visible
+     */
+    public synchronized boolean awaitLine(long line, long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        long left = timeoutMillis;
+        while (flushedLines <= line && !closed && left > 0) {
+            wait(left);
+            left = deadline - System.currentTimeMillis();
+        }
+        return flushedLines > line;
+    }
+
+    /** Returns reader of all the available lines of the log. */
+    public Reader openReader() {
+        return new LogReader();
+    }
+
+    /** Removes the oldest segment if it is compressed, returns size of removed segment. */
+    synchronized long removeOldestSegment() {
+        if (segments.isEmpty() || !segments.get(0).compressed) {
+            return 0;
+        }
+        final Segment removed = segments.remove(0);
+        if (!removed.file.delete()) {
+            LOG.warn("Unable delete log segment {}", removed.file);
+        }
+        return removed.length;
+    }
+
+    /** Returns {@code true} if the log is closed and all its segments are removed, so nothing is left to read. */
+    synchronized boolean isExhausted() {
+        return closed && segments.isEmpty();
+    }
+
+    /** Removes all the segments of the log together with its directory. */
+    synchronized void delete() {
+        segments.clear();
+        if (!IoUtil.deleteRecursive(dir)) {
+            LOG.warn("Unable delete log directory {}", dir);
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (active != null) {
+            flushSegment();
+            out.close();
+            final Segment completed = active;
+            compressor.execute(() -> compress(completed));
+        }
+        active = new Segment(writtenLines, new File(dir, String.format("%020d.log", writtenLines)));
+        segments.add(active);
+        out = new BufferedOutputStream(new FileOutputStream(active.file));
+        writtenBytes = 0;
+    }
+
+    private void flushSegment() throws IOException {
+        out.flush();
+        active.lines = writtenLines - active.firstLine;
+        active.length = writtenBytes;
+        flushedLines = writtenLines;
+        notifyAll();
+    }
+
+    private void compress(Segment segment) {
+        final long[] offsets;
+        final int blocks;
+        final long length;
+        final File plain;
+        synchronized (this) {
+            offsets = Arrays.copyOf(segment.offsets, segment.blocks);
+            blocks = segment.blocks;
+            length = segment.length;
+            plain = segment.file;
+        }
+        final File compressed = new File(dir, plain.getName() + ".gz");
+        final long[] compressedOffsets = new long[blocks];
+        try (InputStream in = new BufferedInputStream(new FileInputStream(plain));
+             FileOutputStream fileOut = new FileOutputStream(compressed)) {
+            final OutputStream notClosing = new FilterOutputStream(fileOut) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    fileOut.write(b, off, len);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            for (int i = 0; i < blocks; i++) {
+                compressedOffsets[i] = fileOut.getChannel().position();
+                final long blockEnd = i + 1 < blocks ? offsets[i + 1] : length;
+                try (GZIPOutputStream gzip = new GZIPOutputStream(notClosing)) {
+                    ByteStreams.copy(ByteStreams.limit(in, blockEnd - offsets[i]), gzip);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable compress log segment {}. {}", plain, e.getMessage());
+            if (!compressed.delete()) {
+                LOG.warn("Unable delete {}", compressed);
+            }
+            return;
+        }
+        synchronized (this) {
+            if (!segments.contains(segment)) {
+                return;
+            }
+            segment.file = compressed;
+            segment.compressed = true;
+            segment.offsets = compressedOffsets;
+            segment.length = compressed.length();
+        }
+        if (!plain.delete()) {
+            LOG.warn("Unable delete log segment {}", plain);
+        }
+        store.segmentCompressed(machineId, this, segment.length);
+    }
+
+    /** Returns position of the given line or of the first available line after it, {@code null} if there is no such line. */
+    private synchronized Cursor locate(long line) {
+        if (segments.isEmpty() || line >= flushedLines) {
+            return null;
+        }
+        final long target = Math.max(line, segments.get(0).firstLine);
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).firstLine <= target) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        final Segment segment = segments.get(low);
+        final int block = (int)((target - segment.firstLine) / INDEX_INTERVAL);
+        final long blockLine = segment.firstLine + (long)block * INDEX_INTERVAL;
+        return new Cursor(segment.file,
+                          segment.compressed,
+                          segment.offsets[block],
+                          segment.compressed ? Long.MAX_VALUE : segment.length,
+                          target,
+                          (int)(target - blockLine),
+                          segment.firstLine + segment.lines - target);
+    }
+
+    private static class Segment {
+        final long firstLine;
+
+        File    file;
+        boolean compressed;
+        long    lines;
+        long    length;
+        long[]  offsets;
+        long[]  timestamps;
+        int     blocks;
+
+        Segment(long firstLine, File file) {
+            this.firstLine = firstLine;
+            this.file = file;
+            this.offsets = new long[16];
+            this.timestamps = new long[16];
+        }
+
+        void addBlock(long offset, long timestamp) {
+            if (blocks == offsets.length) {
+                offsets = Arrays.copyOf(offsets, blocks * 2);
+                timestamps = Arrays.copyOf(timestamps, blocks * 2);
+            }
+            offsets[blocks] = offset;
+            timestamps[blocks] = timestamp;
+            blocks++;
+        }
+    }
+
+    /** Position of the line in the segment file, allows to read lines without holding lock of the log. */
+    private static class Cursor {
+        final File    file;
+        final boolean compressed;
+        final long    offset;
+        final long    end;
+        final long    line;
+        final int     skip;
+        final long    available;
+
+        Cursor(File file, boolean compressed, long offset, long end, long line, int skip, long available) {
+            this.file = file;
+            this.compressed = compressed;
+            this.offset = offset;
+            this.end = end;
+            this.line = line;
+            this.skip = skip;
+            this.available = available;
+        }
+
+        int read(List<String> lines, int limit) throws IOException {
+            final FileInputStream fileIn = new FileInputStream(file);
+            try {
+                fileIn.getChannel().position(offset);
+                final InputStream in = compressed ? new GZIPInputStream(new BufferedInputStream(fileIn))
+                                                  : ByteStreams.limit(fileIn, end - offset);
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+                for (int i = 0; i < skip; i++) {
+                    if (reader.readLine() == null) {
+                        return 0;
+                    }
+                }
+                final long toRead = Math.min(limit, available);
+                int read = 0;
+                String next;
+                while (read < toRead && (next = reader.readLine()) != null) {
+                    lines.add(next);
+                    read++;
+                }
+                return read;
+            } finally {
+                fileIn.close();
+            }
+        }
+    }
+
+    /** Reads lines of the log by batches. */
+    private class LogReader extends Reader {
+        private long          next;
+        private StringBuilder buffer;
+        private int           position;
+
+        LogReader() {
+            next = getFirstLine();
+            buffer = new StringBuilder();
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (position == buffer.length()) {
+                next = Math.max(next, getFirstLine());
+                final List<String> lines = readLines(next, READER_BATCH_SIZE);
+                if (lines.isEmpty()) {
+                    return -1;
+                }
+                next += lines.size();
+                buffer = new StringBuilder();
+                position = 0;
+                for (String line : lines) {
+                    buffer.append(line).append('\n');
+                }
+            }
+            final int count = Math.min(len, buffer.length() - position);
+            buffer.getChars(position, position + count, cbuf, off);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server.logs;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stores logs of the machine processes in the directory {@code <machine.logs.location>/<machine id>/<pid>}.
+ * <p/>
+ * Compressed segments of the logs of all the processes of the machine are limited by {@code maxSizePerMachineMb},
+ * when limit is exceeded the oldest compressed segments are removed. Segments which are not compressed yet
+ * are not counted. Logs of the finished process are dropped when all their segments are removed,
+ * logs of the machine are dropped when the machine is {@link #remove(String) removed}.
+ */
+@Singleton
+public class ProcessLogStore {
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessLogStore.class);
+
+    private static final int DEFAULT_SEGMENT_SIZE_KB         = 8 * 1024;
+    private static final int DEFAULT_MAX_SIZE_PER_MACHINE_MB = 256;
+
+    private final File                     logsDir;
+    private final long                     segmentSize;
+    private final long                     maxSizePerMachine;
+    private final ExecutorService          compressor;
+    private final Map<String, MachineLogs> machines;
+
+    public ProcessLogStore(String logsDir) {
+        this(logsDir, DEFAULT_SEGMENT_SIZE_KB, DEFAULT_MAX_SIZE_PER_MACHINE_MB);
+    }
+
+    @Inject
+    public ProcessLogStore(@Named("machine.logs.location") String logsDir,
+                           @Named("machine.process.logs.segment_size_kb") int segmentSizeKb,
+                           @Named("machine.process.logs.max_size_per_machine_mb") int maxSizePerMachineMb) {
+        this(logsDir,
+             segmentSizeKb * 1024L,
+             maxSizePerMachineMb * 1024L * 1024L,
+             Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ProcessLogCompressor")
+                                                                         .setDaemon(true)
+                                                                         .build()));
+    }
+
+    @VisibleForTesting
+    ProcessLogStore(String logsDir, long segmentSize, long maxSizePerMachine, ExecutorService compressor) {
+        this.logsDir = new File(logsDir);
+        this.segmentSize = segmentSize;
+        this.maxSizePerMachine = maxSizePerMachine;
+        this.compressor = compressor;
+        this.machines = new HashMap<>();
+    }
+
+    /**
+     * Creates log of the process, written lines become visible for readers by groups of {@code flushLines} lines
+     * or when log is flushed.
+     *
+     * @throws IOException
+     *         when log directory can't be created
+     */
+    public ProcessLog create(String machineId, int pid, int flushLines) throws IOException {
+        final File dir = new File(new File(logsDir, machineId), Integer.toString(pid));
+        final ProcessLog log = new ProcessLog(machineId, dir, segmentSize, flushLines, compressor, this);
+        synchronized (machines) {
+            machines.computeIfAbsent(machineId, id -> new MachineLogs()).processes.put(pid, log);
+        }
+        return log;
+    }
+
+    /**
+     * Returns log of the process.
+     *
+     * @throws NotFoundException
+     *         when there is no log of the process
+     */
+    public ProcessLog get(String machineId, int pid) throws NotFoundException {
+        final ProcessLog log;
+        synchronized (machines) {
+            final MachineLogs machineLogs = machines.get(machineId);
+            log = machineLogs == null ? null : machineLogs.processes.get(pid);
+        }
+        if (log == null) {
+            throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+        }
+        return log;
+    }
+
+    /**
+     * Closes and removes logs of all the processes of the machine, e.g. when the machine is destroyed.
+     * Files are deleted after compression of the closed logs completes.
+     */
+    public void remove(String machineId) {
+        final MachineLogs machineLogs;
+        synchronized (machines) {
+            machineLogs = machines.remove(machineId);
+        }
+        if (machineLogs == null) {
+            return;
+        }
+        for (ProcessLog log : machineLogs.processes.values()) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                LOG.warn("Unable close log of the machine {}. {}", machineId, e.getMessage());
+            }
+        }
+        final Runnable deleteLogs = () -> {
+            machineLogs.processes.values().forEach(ProcessLog::delete);
+            if (!new File(logsDir, machineId).delete()) {
+                LOG.warn("Unable delete logs directory of the machine {}", machineId);
+            }
+        };
+        try {
+            // queued after compression of the segments of the closed logs
+            compressor.execute(deleteLogs);
+        } catch (RejectedExecutionException e) {
+            deleteLogs.run();
+        }
+    }
+
+    /** Accounts compressed segment of the log and removes the oldest segments of the machine if limit is exceeded. */
+    void segmentCompressed(String machineId, ProcessLog log, long size) {
+        synchronized (machines) {
+            final MachineLogs machineLogs = machines.get(machineId);
+            if (machineLogs == null) {
+                return;
+            }
+            machineLogs.compressed.add(log);
+            machineLogs.size += size;
+            while (machineLogs.size > maxSizePerMachine && !machineLogs.compressed.isEmpty()) {
+                final ProcessLog oldest = machineLogs.compressed.poll();
+                machineLogs.size -= oldest.removeOldestSegment();
+                if (oldest.isExhausted()) {
+                    // nothing is left to read from the finished process
+                    machineLogs.processes.values().remove(oldest);
+                    oldest.delete();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compressor.shutdownNow();
+    }
+
+    private static class MachineLogs {
+        final Map<Integer, ProcessLog> processes  = new HashMap<>();
+        /** Logs in the order their segments were compressed, log occurs once per compressed segment. */
+        final Deque<ProcessLog>        compressed = new ArrayDeque<>();
+
+        long size;
+    }
+}
@@ -46,18 +46,22 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -90,7 +94,11 @@ import static org.slf4j.LoggerFactory.getLogger;
 @Singleton
 public class WorkspaceRuntimes {
 
-    private static final Logger LOG = getLogger(WorkspaceRuntimes.class);
+    private static final Logger          LOG                 = getLogger(WorkspaceRuntimes.class);
+    private static final ExecutorService agentLaunchExecutor =
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WorkspaceAgentLauncher-%d")
+                                                                    .setDaemon(true)
+                                                                    .build());
 
     @VisibleForTesting
     final         Map<String, WorkspaceState> workspaces;
@@ -278,17 +286,38 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Launches agents on the machines of the environment. Machines are handled in parallel,
+     * agents of a single machine are launched one by one, see {@link #launchAgents(Instance, List)}.
+     */
     private void launchAgents(EnvironmentImpl environment, List<Instance> machines) throws ServerException {
+        final Map<String, ExtendedMachineImpl> envMachines = environment.getMachines();
+        if (envMachines == null) {
+            return;
+        }
+        final List<CompletableFuture<Void>> launches = new ArrayList<>();
         for (Instance instance : machines) {
-            Map<String, ExtendedMachineImpl> envMachines = environment.getMachines();
-            if (envMachines != null) {
-                ExtendedMachine extendedMachine = envMachines.get(instance.getConfig().getName());
-                if (extendedMachine != null) {
-                    List<String> agents = extendedMachine.getAgents();
-                    launchAgents(instance, agents);
-                }
+            ExtendedMachine extendedMachine = envMachines.get(instance.getConfig().getName());
+            if (extendedMachine != null) {
+                List<String> agents = extendedMachine.getAgents();
+                launches.add(CompletableFuture.runAsync(ThreadLocalPropagateContext.wrap(() -> {
+                    try {
+                        launchAgents(instance, agents);
+                    } catch (ServerException e) {
+                        throw new CompletionException(e);
+                    }
+                }), agentLaunchExecutor));
             }
         }
+
+        try {
+            CompletableFuture.allOf(launches.toArray(new CompletableFuture[launches.size()])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ServerException) {
+                throw (ServerException)e.getCause();
+            }
+            throw new ServerException(e.getCause().getMessage(), e.getCause());
+        }
     }
 
     /**
@@ -604,11 +633,16 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Launches agents on the machine one by one in the order of their dependencies.
+     * Agents are not launched in parallel as their scripts install packages
+     * and package managers of the machine do not allow concurrent installations.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException {
         try {
             for (AgentKey agentKey : agentSorter.sort(agents)) {
                 LOG.info("Launching '{}' agent", agentKey.getName());
-                
+
                 Agent agent = agentRegistry.getAgent(agentKey);
                 AgentLauncher launcher = launcherFactory.find(agentKey.getName(), instance.getConfig().getType());
                 launcher.launch(instance, agent);
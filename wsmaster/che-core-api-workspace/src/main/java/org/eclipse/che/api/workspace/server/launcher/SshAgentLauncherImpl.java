@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server.launcher;
 
 import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
+import org.eclipse.che.api.agent.server.launcher.TcpPortLaunchingChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +32,7 @@ public class SshAgentLauncherImpl extends AbstractAgentLauncher {
     @Inject
     public SshAgentLauncherImpl(@Named("machine.agent.max_start_time_ms") long agentMaxStartTimeMs,
                                 @Named("machine.agent.ping_delay_ms") long agentPingDelayMs) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("sshd"));
+        super(agentMaxStartTimeMs, agentPingDelayMs, new TcpPortLaunchingChecker("22/tcp", new ProcessIsLaunchedChecker("sshd")));
     }
 
     @Override
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server.launcher;
 
 import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.HttpLaunchingChecker;
 import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,7 +32,9 @@ public class TerminalAgentLauncherImpl extends AbstractAgentLauncher {
     @Inject
     public TerminalAgentLauncherImpl(@Named("machine.agent.max_start_time_ms") long agentMaxStartTimeMs,
                                      @Named("machine.agent.ping_delay_ms") long agentPingDelayMs) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"));
+        super(agentMaxStartTimeMs,
+              agentPingDelayMs,
+              new HttpLaunchingChecker("4411/tcp", "/", new ProcessIsLaunchedChecker("che-websocket-terminal")));
     }
 
     @Override
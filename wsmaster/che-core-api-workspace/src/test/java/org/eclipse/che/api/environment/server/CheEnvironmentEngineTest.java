@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.environment.server;
 
+import com.google.common.collect.ImmutableMap;
+
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Machine;
@@ -23,6 +25,7 @@ import org.eclipse.che.api.environment.server.compose.ComposeMachineInstanceProv
 import org.eclipse.che.api.environment.server.compose.ComposeServicesStartStrategy;
 import org.eclipse.che.api.environment.server.compose.model.ComposeServiceImpl;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
+import org.eclipse.che.api.environment.server.logs.ProcessLogStore;
 import org.eclipse.che.api.machine.server.MachineInstanceProviders;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.MachineException;
@@ -59,6 +62,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -79,6 +91,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -89,6 +103,7 @@ import static org.testng.Assert.assertTrue;
 public class CheEnvironmentEngineTest {
     private static final int    DEFAULT_MACHINE_MEM_LIMIT_MB = 256;
     private static final String API_ENDPOINT                 = "http://eclipse.che:8080/api";
+    private static final int    MAX_PARALLEL_MACHINES_START  = 4;
 
     @Mock
     MessageConsumer<MachineLogMessage> messageConsumer;
@@ -107,6 +122,8 @@ public class CheEnvironmentEngineTest {
     RecipeDownloader               recipeDownloader;
     @Mock
     AgentConfigApplier             agentConfigApplier;
+    @Mock
+    ProcessLogStore                processLogStore;
 
     EnvironmentParser environmentParser = new EnvironmentParser(new ComposeFileParser(), recipeDownloader);
 
@@ -124,7 +141,9 @@ public class CheEnvironmentEngineTest {
                                               composeProvider,
                                               agentConfigApplier,
                                               API_ENDPOINT,
-                                              recipeDownloader));
+                                              recipeDownloader,
+                                              processLogStore,
+                                              MAX_PARALLEL_MACHINES_START));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -195,7 +214,7 @@ public class CheEnvironmentEngineTest {
         EnvironmentImpl env = createEnv();
         String envName = "env-1";
         String workspaceId = "wsId";
-        List<Instance> expectedMachines = new ArrayList<>();
+        List<Instance> expectedMachines = new CopyOnWriteArrayList<>();
         when(composeProvider.startService(anyString(),
                                           eq(workspaceId),
                                           eq(envName),
@@ -230,7 +249,7 @@ public class CheEnvironmentEngineTest {
                                                messageConsumer);
 
         // then
-        assertEquals(machines, expectedMachines);
+        assertEqualsNoOrder(machines.toArray(), expectedMachines.toArray());
     }
 
     @Test
@@ -603,6 +622,100 @@ public class CheEnvironmentEngineTest {
         }
     }
 
+    @Test
+    public void envStartShouldStartMachineOnlyAfterItsDependenciesAreRunning() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String machineName = "machineDependentOnDevMachine";
+        String additionalServiceComposeFilePart = "\n  " + machineName + ":\n    image: codenvy/ubuntu_jdk8" +
+                                                  "\n    depends_on:\n      - dev-machine";
+        env.getRecipe().setContent(env.getRecipe().getContent() + additionalServiceComposeFilePart);
+
+        // when
+        startEnv(env);
+
+        // then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventService, times(6)).publish(captor.capture());
+        List<String> machineEvents = new ArrayList<>();
+        for (Object event : captor.getAllValues()) {
+            MachineStatusEvent statusEvent = (MachineStatusEvent)event;
+            machineEvents.add(statusEvent.getMachineName() + ':' + statusEvent.getEventType());
+        }
+        assertTrue(machineEvents.indexOf("dev-machine:RUNNING") < machineEvents.indexOf(machineName + ":CREATING"),
+                   "Machine must not be created before machines it depends on are running, but events are " +
+                   machineEvents);
+    }
+
+    @Test
+    public void envStartShouldLimitParallelStartOfMachinesWithoutWaitingForOtherEnvironments() throws Exception {
+        // given
+        engine = new CheEnvironmentEngine(snapshotDao,
+                                          machineInstanceProviders,
+                                          "/tmp",
+                                          DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                          eventService,
+                                          environmentParser,
+                                          new ComposeServicesStartStrategy(),
+                                          composeProvider,
+                                          agentConfigApplier,
+                                          API_ENDPOINT,
+                                          recipeDownloader,
+                                          processLogStore,
+                                          1);
+        CountDownLatch bothEnvironmentsStarting = new CountDownLatch(2);
+        AtomicBoolean environmentWaited = new AtomicBoolean();
+        Map<String, AtomicInteger> machinesInProgress = new ConcurrentHashMap<>();
+        Map<String, Integer> maxMachinesInProgress = new ConcurrentHashMap<>();
+        when(composeProvider.startService(anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(ComposeServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String workspaceId = (String)arguments[1];
+                    int inProgress = machinesInProgress.computeIfAbsent(workspaceId, id -> new AtomicInteger())
+                                                       .incrementAndGet();
+                    maxMachinesInProgress.merge(workspaceId, inProgress, Math::max);
+                    // first machine of each environment is started only when the other environment is starting
+                    bothEnvironmentsStarting.countDown();
+                    if (!bothEnvironmentsStarting.await(10, TimeUnit.SECONDS)) {
+                        environmentWaited.set(true);
+                    }
+                    machinesInProgress.get(workspaceId).decrementAndGet();
+                    Machine machine = createMachine((String)arguments[3],
+                                                    workspaceId,
+                                                    (String)arguments[2],
+                                                    (ComposeServiceImpl)arguments[7],
+                                                    (String)arguments[4],
+                                                    (boolean)arguments[5]);
+                    return spy(new NoOpMachineInstance(machine));
+                });
+        ExecutorService anotherEnvironmentStarter = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            Future<List<Instance>> anotherEnvironment = anotherEnvironmentStarter.submit(() -> {
+                EnvironmentContext.getCurrent().setSubject(new SubjectImpl("name", "id", "token", false));
+                return engine.start("wsId2", "env-2", createEnv(), false, messageConsumer);
+            });
+            List<Instance> machines = engine.start("wsId1", "env-1", createEnv(), false, messageConsumer);
+
+            // then
+            assertEquals(machines.size(), 2);
+            assertEquals(anotherEnvironment.get(10, TimeUnit.SECONDS).size(), 2);
+        } finally {
+            anotherEnvironmentStarter.shutdownNow();
+        }
+        assertFalse(environmentWaited.get(), "Start of an environment must not wait for another environment");
+        assertEquals(maxMachinesInProgress, ImmutableMap.of("wsId1", 1, "wsId2", 1));
+    }
+
     @Test(expectedExceptions = ConflictException.class,
           expectedExceptionsMessageRegExp = "Environment of workspace '.*' already exists")
     public void envStartShouldThrowsExceptionIfSameEnvironmentExists() throws Exception {
@@ -631,7 +744,9 @@ public class CheEnvironmentEngineTest {
 
         // then
         for (Instance instance1 : instances) {
+            String machineId = instance1.getId();
             verify(instance1).destroy();
+            verify(processLogStore).remove(machineId);
         }
     }
 
@@ -647,6 +762,7 @@ public class CheEnvironmentEngineTest {
         List<Instance> instances = startEnv();
         assertTrue(instances.size() > 1, "This test requires at least 2 instances in environment");
         Instance instance = instances.get(0);
+        String machineId = instance.getId();
         doThrow(new MachineException("test exception")).when(instance).destroy();
 
         // when
@@ -657,6 +773,7 @@ public class CheEnvironmentEngineTest {
         for (Instance instance1 : instances) {
             inOrder.verify(instance1).destroy();
         }
+        verify(processLogStore).remove(machineId);
     }
 
     @Test
@@ -796,12 +913,14 @@ public class CheEnvironmentEngineTest {
                                                   .findAny();
         assertTrue(instanceOpt.isPresent(), "Required for test non-dev machine is not found");
         Instance instance = instanceOpt.get();
+        String machineId = instance.getId();
 
         // when
-        engine.stopMachine(instance.getWorkspaceId(), instance.getId());
+        engine.stopMachine(instance.getWorkspaceId(), machineId);
 
         // then
         verify(instance).destroy();
+        verify(processLogStore).remove(machineId);
     }
 
     @Test(expectedExceptions = EnvironmentNotRunningException.class,
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server.logs;
+
+import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ProcessLog} and {@link ProcessLogStore}.
+ */
+public class ProcessLogTest {
+    private static final String MACHINE_ID = "machine123";
+
+    private File logsDir;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        logsDir = Files.createTempDirectory("process-logs").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(logsDir);
+    }
+
+    @Test
+    public void readsLinesFromAnyPositionOfRotatedAndCompressedSegments() throws Exception {
+        final ProcessLog log = newStore(4096, Long.MAX_VALUE).create(MACHINE_ID, 1, 1);
+
+        writeLines(log, 0, 1000);
+
+        assertTrue(new File(logsDir, MACHINE_ID + "/1").list((dir, name) -> name.endsWith(".gz")).length > 1);
+        assertEquals(log.getLineCount(), 1000);
+        assertEquals(log.readLines(0, 2), asList("line 0", "line 1"));
+        assertEquals(log.readLines(550, 3), asList("line 550", "line 551", "line 552"));
+        assertEquals(log.readLines(990, 100).size(), 10);
+        assertEquals(log.tail(2), asList("line 998", "line 999"));
+        assertTrue(log.readLines(1000, 10).isEmpty());
+    }
+
+    @Test
+    public void readsWholeLog() throws Exception {
+        final ProcessLog log = newStore(4096, Long.MAX_VALUE).create(MACHINE_ID, 1, 1);
+
+        writeLines(log, 0, 500);
+        log.close();
+
+        final List<String> lines = CharStreams.readLines(log.openReader());
+        assertEquals(lines.size(), 500);
+        assertEquals(lines.get(499), "line 499");
+    }
+
+    @Test
+    public void makesLinesVisibleWhenTheyAreFlushed() throws Exception {
+        final ProcessLog log = newStore(4096, Long.MAX_VALUE).create(MACHINE_ID, 1, 10);
+
+        writeLines(log, 0, 5);
+        assertEquals(log.getLineCount(), 0);
+        assertFalse(log.awaitLine(0, 10));
+
+        log.flush();
+        assertEquals(log.getLineCount(), 5);
+        assertTrue(log.awaitLine(4, 10));
+    }
+
+    @Test
+    public void findsLinesByTime() throws Exception {
+        final ProcessLog log = newStore(1024 * 1024, Long.MAX_VALUE).create(MACHINE_ID, 1, 1);
+
+        writeLines(log, 0, ProcessLog.INDEX_INTERVAL);
+        Thread.sleep(5);
+        final long since = System.currentTimeMillis();
+        writeLines(log, ProcessLog.INDEX_INTERVAL, ProcessLog.INDEX_INTERVAL);
+
+        assertEquals(log.findLine(since), ProcessLog.INDEX_INTERVAL);
+        assertEquals(log.findLine(0), 0);
+    }
+
+    @Test
+    public void removesOldestSegmentsOfMachineWhenLimitIsExceeded() throws Exception {
+        final ProcessLogStore store = newStore(4096, 2048);
+        final ProcessLog first = store.create(MACHINE_ID, 1, 1);
+        final ProcessLog second = store.create(MACHINE_ID, 2, 1);
+
+        writeLines(first, 0, 1000);
+        writeLines(second, 0, 1000);
+
+        assertTrue(first.getFirstLine() > 0);
+        assertEquals(first.readLines(0, 1).get(0), "line " + first.getFirstLine());
+        assertEquals(second.tail(1), asList("line 999"));
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void dropsFinishedProcessLogWhenAllItsSegmentsAreRemoved() throws Exception {
+        final ProcessLogStore store = newStore(4096, 2048);
+        final ProcessLog finished = store.create(MACHINE_ID, 1, 1);
+        writeLines(finished, 0, 100);
+        finished.close();
+
+        writeLines(store.create(MACHINE_ID, 2, 1), 0, 1000);
+
+        assertFalse(new File(logsDir, MACHINE_ID + "/1").exists());
+        assertEquals(store.get(MACHINE_ID, 2).tail(1), asList("line 999"));
+        store.get(MACHINE_ID, 1);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void closesAndDeletesLogsOfRemovedMachine() throws Exception {
+        final ProcessLogStore store = newStore(4096, Long.MAX_VALUE);
+        final ProcessLog log = store.create(MACHINE_ID, 1, 1);
+        writeLines(log, 0, 1000);
+
+        store.remove(MACHINE_ID);
+
+        assertTrue(log.isClosed());
+        assertFalse(new File(logsDir, MACHINE_ID).exists());
+        store.get(MACHINE_ID, 1);
+    }
+
+    private ProcessLogStore newStore(long segmentSize, long maxSizePerMachine) {
+        return new ProcessLogStore(logsDir.getPath(), segmentSize, maxSizePerMachine, MoreExecutors.newDirectExecutorService());
+    }
+
+    private void writeLines(ProcessLog log, int from, int count) throws Exception {
+        for (int i = from; i < from + count; i++) {
+            log.writeLine("line " + i);
+        }
+    }
+}
@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.local;
 
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
 import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.MachineSource;
-import org.eclipse.che.api.local.storage.LocalStorage;
+import org.eclipse.che.api.local.storage.JournaledLocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
@@ -39,18 +41,27 @@ import static java.util.stream.Collectors.toList;
 /**
  * In-memory implementation of {@link SnapshotDao}.
  *
+ * <p>Each change of snapshots is journaled right away, so changes made
+ * since start are not lost if component is not stopped properly.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class LocalSnapshotDaoImpl implements SnapshotDao {
 
-    private final Map<String, SnapshotImpl> snapshots;
-    private final LocalStorage              snapshotStorage;
+    private final Map<String, SnapshotImpl>           snapshots;
+    /** Snapshot ids by workspace id. */
+    private final SetMultimap<String, String>         idsByWorkspace;
+    private final JournaledLocalStorage<SnapshotImpl> snapshotStorage;
 
     @Inject
     public LocalSnapshotDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         snapshots = new HashMap<>();
-        snapshotStorage = storageFactory.create("snapshots.json", singletonMap(MachineSource.class, new MachineSourceAdapter()));
+        idsByWorkspace = HashMultimap.create();
+        snapshotStorage = storageFactory.createJournaled("snapshots.json",
+                                                         new TypeToken<Map<String, SnapshotImpl>>() {},
+                                                         snapshots,
+                                                         singletonMap(MachineSource.class, new MachineSourceAdapter()));
     }
 
     @Override
@@ -77,41 +88,62 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     public synchronized void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         Objects.requireNonNull(snapshot, "Required non-null snapshot");
         final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
-        if (opt.isPresent()) {
-            snapshots.remove(opt.get().getId());
+        try {
+            if (opt.isPresent()) {
+                doRemove(opt.get().getId());
+            }
+            snapshotStorage.put(snapshot.getId(), snapshot);
+            idsByWorkspace.put(snapshot.getWorkspaceId(), snapshot.getId());
+        } catch (IOException x) {
+            throw new SnapshotException("Unable to persist snapshot " + snapshot.getId(), x);
         }
-        snapshots.put(snapshot.getId(), snapshot);
     }
 
     @Override
     public synchronized List<SnapshotImpl> findSnapshots(String namespace, String workspaceId) throws SnapshotException {
-        return snapshots.values()
-                        .stream()
-                        .filter(snapshot -> snapshot.getNamespace().equals(namespace) && snapshot.getWorkspaceId().equals(workspaceId))
-                        .collect(toList());
+        return idsByWorkspace.get(workspaceId)
+                             .stream()
+                             .map(snapshots::get)
+                             .filter(snapshot -> snapshot.getNamespace().equals(namespace))
+                             .collect(toList());
     }
 
     @Override
     public synchronized void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
-        snapshots.remove(snapshotId);
+        try {
+            doRemove(snapshotId);
+        } catch (IOException x) {
+            throw new SnapshotException("Unable to persist removal of snapshot " + snapshotId, x);
+        }
     }
 
     @PostConstruct
     public synchronized void loadSnapshots() {
-        snapshots.putAll(snapshotStorage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {}));
+        snapshotStorage.load();
+        for (SnapshotImpl snapshot : snapshots.values()) {
+            idsByWorkspace.put(snapshot.getWorkspaceId(), snapshot.getId());
+        }
     }
 
     @PreDestroy
     public synchronized void saveSnapshots() throws IOException {
-        snapshotStorage.store(snapshots);
+        snapshotStorage.close();
     }
 
     private Optional<SnapshotImpl> doGetSnapshot(String workspaceId, String envName, String machineName) {
-        return snapshots.values()
-                        .stream()
-                        .filter(snapshot -> snapshot.getWorkspaceId().equals(workspaceId)
-                                            && snapshot.getEnvName().equals(envName)
-                                            && snapshot.getMachineName().equals(machineName))
-                        .findFirst();
+        return idsByWorkspace.get(workspaceId)
+                             .stream()
+                             .map(snapshots::get)
+                             .filter(snapshot -> snapshot.getEnvName().equals(envName)
+                                                 && snapshot.getMachineName().equals(machineName))
+                             .findFirst();
+    }
+
+    /** Journals removal of the snapshot and removes it from the map, nothing is changed if it can't be journaled. */
+    private void doRemove(String snapshotId) throws IOException {
+        if (snapshots.containsKey(snapshotId)) {
+            final SnapshotImpl removed = snapshotStorage.remove(snapshotId);
+            idsByWorkspace.remove(removed.getWorkspaceId(), snapshotId);
+        }
     }
 }
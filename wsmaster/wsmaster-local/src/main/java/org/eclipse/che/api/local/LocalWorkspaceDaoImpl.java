@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.local;
 
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Table;
 import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ConflictException;
@@ -21,7 +23,7 @@ import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
-import org.eclipse.che.api.local.storage.LocalStorage;
+import org.eclipse.che.api.local.storage.JournaledLocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.recipe.adapters.RecipeTypeAdapter;
 import org.eclipse.che.api.workspace.server.WorkspaceConfigJsonAdapter;
@@ -47,7 +49,8 @@ import static java.util.stream.Collectors.toList;
  * In memory based implementation of {@link WorkspaceDao}.
  *
  * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * to/from filesystem, when component starts/stops. Each change of workspaces is journaled
+ * right away, so changes made since start are not lost if component is not stopped properly.
  *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
@@ -56,8 +59,10 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
-    private final Map<String, WorkspaceImpl> workspaces;
-    private final LocalStorage               localStorage;
+    private final Map<String, WorkspaceImpl>           workspaces;
+    /** Workspace ids by namespace and workspace name. */
+    private final Table<String, String, String>        idsByNamespaceAndName;
+    private final JournaledLocalStorage<WorkspaceImpl> localStorage;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory, WorkspaceConfigJsonAdapter cfgAdapter) throws IOException {
@@ -65,21 +70,26 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
                 ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
                                 ProjectConfig.class, new ProjectConfigAdapter(),
                                 WorkspaceConfigImpl.class, new WorkspaceConfigDeserializer(cfgAdapter));
-        this.localStorage = factory.create("workspaces.json", adapters);
         this.workspaces = new HashMap<>();
+        this.idsByNamespaceAndName = HashBasedTable.create();
+        this.localStorage = factory.createJournaled("workspaces.json",
+                                                    new TypeToken<Map<String, WorkspaceImpl>>() {},
+                                                    workspaces,
+                                                    adapters);
     }
 
     @PostConstruct
     public synchronized void loadWorkspaces() {
-        workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
+        localStorage.load();
         for (WorkspaceImpl workspace : workspaces.values()) {
             workspace.setRuntime(null);
+            idsByNamespaceAndName.put(workspace.getNamespace(), workspace.getConfig().getName(), workspace.getId());
         }
     }
 
     @PreDestroy
     public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+        localStorage.close();
     }
 
     @Override
@@ -94,7 +104,7 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         }
         workspace.setRuntime(null);
         workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        doPut(new WorkspaceImpl(workspace));
         return workspace;
     }
 
@@ -106,13 +116,22 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
         }
         workspace.setStatus(null);
         workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        doPut(new WorkspaceImpl(workspace));
         return workspace;
     }
 
     @Override
     public synchronized void remove(String id) throws ConflictException, ServerException {
-        workspaces.remove(id);
+        if (!workspaces.containsKey(id)) {
+            return;
+        }
+        final WorkspaceImpl removed;
+        try {
+            removed = localStorage.remove(id);
+        } catch (IOException x) {
+            throw new ServerException("Unable to persist removal of workspace " + id, x);
+        }
+        idsByNamespaceAndName.remove(removed.getNamespace(), removed.getConfig().getName());
     }
 
     @Override
@@ -135,11 +154,11 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
     @Override
     public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getNamespace().equals(namespace))
-                         .map(WorkspaceImpl::new)
-                         .collect(toList());
+        return idsByNamespaceAndName.row(namespace)
+                                    .values()
+                                    .stream()
+                                    .map(id -> new WorkspaceImpl(workspaces.get(id)))
+                                    .collect(toList());
     }
 
     @Override
@@ -148,9 +167,21 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
     }
 
     private Optional<WorkspaceImpl> find(String name, String owner) {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getConfig().getName().equals(name) && ws.getNamespace().equals(owner))
-                         .findFirst();
+        final String id = idsByNamespaceAndName.get(owner, name);
+        return id == null ? Optional.empty() : Optional.of(workspaces.get(id));
+    }
+
+    /** Journals the workspace and puts it to the map, nothing is changed if it can't be journaled. */
+    private void doPut(WorkspaceImpl workspace) throws ServerException {
+        final WorkspaceImpl previous;
+        try {
+            previous = localStorage.put(workspace.getId(), workspace);
+        } catch (IOException x) {
+            throw new ServerException("Unable to persist workspace " + workspace.getId(), x);
+        }
+        if (previous != null) {
+            idsByNamespaceAndName.remove(previous.getNamespace(), previous.getConfig().getName());
+        }
+        idsByNamespaceAndName.put(workspace.getNamespace(), workspace.getConfig().getName(), workspace.getId());
     }
 }
@@ -0,0 +1,325 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the map of objects, e.g. state of the local DAO, incrementally.
+ *
+ * <p>Each put or remove is appended to the journal file as a single line JSON record
+ * and only then applied to the map, so the map is not changed if the record can't be written.
+ * Journal is synced to the disk in batches once per sync interval. When journal
+ * grows bigger than compaction threshold the whole map is
+ * stored to the snapshot file, which has the same format as the file of {@link LocalStorage},
+ * and journal is truncated. On {@link #load() load} the snapshot is read and journal is replayed over it.
+ *
+ * <p>Storage doesn't copy the map, it works with the map it was created for,
+ * so the caller must guard the map and calls of the storage with the same lock.
+ *
+ * @param <V>
+ *         the type of mapped values
+ */
+public class JournaledLocalStorage<V> implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(JournaledLocalStorage.class);
+
+    public static final int  DEFAULT_COMPACTION_THRESHOLD = 1000;
+    public static final long DEFAULT_SYNC_INTERVAL_MS     = 200;
+
+    private static final String JOURNAL_FILE_SUFFIX = ".journal";
+    private static final String PUT                 = "put";
+    private static final String REMOVE              = "remove";
+
+    private final LocalStorage              snapshotStorage;
+    private final TypeToken<Map<String, V>> mapToken;
+    private final Type                      valueType;
+    private final Map<String, V>            state;
+    private final File                      journalFile;
+    private final Gson                      gson;
+    private final int                       compactionThreshold;
+    private final long                      syncIntervalMillis;
+    private final ScheduledExecutorService  syncExecutor;
+
+    private FileOutputStream journalOut;
+    private Writer           journalWriter;
+    private int              journalRecords;
+    private boolean          unsynced;
+    /** Write of the journal failed, so incomplete record may be at its end. */
+    private boolean          journalBroken;
+
+    /**
+     * @param rootDirPath
+     *         path to the storage root folder
+     * @param fileName
+     *         name of the snapshot file, journal file has the same name with '.journal' suffix
+     * @param mapToken
+     *         type of the map
+     * @param state
+     *         map which is loaded, journaled and stored by this storage
+     * @param typeAdapters
+     *         types and object adapters when need a special (de)serialization
+     * @param compactionThreshold
+     *         number of journal records after which the snapshot is rewritten and journal is truncated
+     * @param syncIntervalMillis
+     *         max time in milliseconds journal records may stay not synced to the disk,
+     *         zero means that every record is synced right away
+     * @throws IOException
+     *         occurs when cannot create root storage directory
+     */
+    public JournaledLocalStorage(String rootDirPath,
+                                 String fileName,
+                                 TypeToken<Map<String, V>> mapToken,
+                                 Map<String, V> state,
+                                 Map<Class<?>, Object> typeAdapters,
+                                 int compactionThreshold,
+                                 long syncIntervalMillis) throws IOException {
+        this.snapshotStorage = new LocalStorage(rootDirPath, fileName, typeAdapters);
+        this.mapToken = mapToken;
+        this.valueType = mapToken.resolveType(Map.class.getTypeParameters()[1]).getType();
+        this.state = state;
+        this.journalFile = new File(rootDirPath, fileName + JOURNAL_FILE_SUFFIX);
+        this.compactionThreshold = compactionThreshold;
+        this.syncIntervalMillis = syncIntervalMillis;
+        final GsonBuilder builder = new GsonBuilder();
+        for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
+            builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
+        }
+        this.gson = builder.create();
+        if (syncIntervalMillis > 0) {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JournalSync-" + fileName)
+                                                                                                .setDaemon(true)
+                                                                                                .build());
+            syncExecutor.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncExecutor = null;
+        }
+    }
+
+    /**
+     * Loads the snapshot into the map and replays journal over it.
+     * Incomplete record at the end of the journal, e.g. after crash, is skipped
+     * and the loaded map is stored, so the next records are not appended to it.
+     */
+    public synchronized void load() {
+        state.putAll(snapshotStorage.loadMap(mapToken));
+        if (!journalFile.exists()) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        int records = 0;
+        boolean skipped = false;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journalFile),
+                                                                              StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    replay(new JsonParser().parse(line).getAsJsonObject());
+                    records++;
+                } catch (JsonParseException | IllegalStateException x) {
+                    LOG.warn("Skipping invalid record '{}' of journal {}", line, journalFile);
+                    skipped = true;
+                }
+            }
+            skipped |= !endsWithLineSeparator(journalFile);
+        } catch (IOException x) {
+            LOG.error("Unable to replay journal " + journalFile, x);
+        }
+        journalRecords = records;
+        LOG.debug("Replayed {} records of journal {}, time: {} ms", records, journalFile, System.currentTimeMillis() - start);
+        if (skipped) {
+            try {
+                store();
+            } catch (IOException x) {
+                LOG.error("Unable to compact journal " + journalFile, x);
+            }
+        }
+    }
+
+    /**
+     * Journals that the value is associated with the key and puts it to the map.
+     *
+     * @return the previous value associated with the key
+     * @throws IOException
+     *         when the record can't be written to the journal, the map is not changed in this case
+     */
+    public synchronized V put(String key, V value) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty("op", PUT);
+        record.addProperty("key", key);
+        record.add("value", gson.toJsonTree(value, valueType));
+        append(record);
+        final V previous = state.put(key, value);
+        compactIfNeeded();
+        return previous;
+    }
+
+    /**
+     * Journals that the key is removed and removes it from the map.
+     *
+     * @return the removed value or {@code null} if there was no value associated with the key
+     * @throws IOException
+     *         when the record can't be written to the journal, the map is not changed in this case
+     */
+    public synchronized V remove(String key) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty("op", REMOVE);
+        record.addProperty("key", key);
+        append(record);
+        final V removed = state.remove(key);
+        compactIfNeeded();
+        return removed;
+    }
+
+    /** Stores the whole map to the snapshot file and truncates the journal. */
+    public synchronized void store() throws IOException {
+        snapshotStorage.store(state);
+        closeJournal();
+        if (journalFile.exists() && !journalFile.delete()) {
+            throw new IOException("Unable to truncate journal " + journalFile);
+        }
+        journalRecords = 0;
+        journalBroken = false;
+    }
+
+    /** Stores the whole map to the snapshot file and releases resources of the storage. */
+    @Override
+    public void close() throws IOException {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+        store();
+    }
+
+    private static boolean endsWithLineSeparator(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.length() == 0) {
+                return true;
+            }
+            raf.seek(raf.length() - 1);
+            return raf.read() == '\n';
+        }
+    }
+
+    private void replay(JsonObject record) {
+        final String key = record.get("key").getAsString();
+        switch (record.get("op").getAsString()) {
+            case PUT:
+                state.put(key, gson.fromJson(record.get("value"), valueType));
+                break;
+            case REMOVE:
+                state.remove(key);
+                break;
+            default:
+                LOG.warn("Skipping unknown record '{}' of journal {}", record, journalFile);
+        }
+    }
+
+    private void append(JsonObject record) throws IOException {
+        if (journalBroken) {
+            // the next record must not be appended to the incomplete one
+            store();
+        }
+        if (journalWriter == null) {
+            openJournal();
+        }
+        try {
+            gson.toJson(record, journalWriter);
+            journalWriter.write('\n');
+            // in the OS buffers right away, so process crash doesn't lose the record
+            journalWriter.flush();
+            if (syncIntervalMillis > 0) {
+                unsynced = true;
+            } else {
+                journalOut.getFD().sync();
+            }
+        } catch (IOException x) {
+            journalBroken = true;
+            throw x;
+        } catch (JsonIOException x) {
+            journalBroken = true;
+            throw new IOException(x.getMessage(), x);
+        }
+        journalRecords++;
+    }
+
+    private void compactIfNeeded() {
+        if (journalRecords >= compactionThreshold) {
+            // the record is already journaled, so failed compaction is retried with the next one
+            try {
+                store();
+            } catch (IOException x) {
+                LOG.error("Unable to compact journal " + journalFile, x);
+            }
+        }
+    }
+
+    private void openJournal() throws FileNotFoundException {
+        journalOut = new FileOutputStream(journalFile, true);
+        journalWriter = new BufferedWriter(new OutputStreamWriter(journalOut, StandardCharsets.UTF_8));
+    }
+
+    private void closeJournal() throws IOException {
+        if (journalWriter != null) {
+            try {
+                journalWriter.flush();
+                journalOut.getFD().sync();
+            } finally {
+                journalWriter.close();
+                journalWriter = null;
+                journalOut = null;
+                unsynced = false;
+            }
+        }
+    }
+
+    private synchronized void syncQuietly() {
+        if (unsynced && journalOut != null) {
+            try {
+                journalOut.getFD().sync();
+                unsynced = false;
+            } catch (IOException x) {
+                LOG.error("Unable to sync journal " + journalFile, x);
+            }
+        }
+    }
+}
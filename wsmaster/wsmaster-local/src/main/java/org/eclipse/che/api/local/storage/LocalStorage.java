@@ -29,6 +29,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 /**
  * Implementation of file system storage for model objects.
  *
@@ -62,9 +65,12 @@ public class LocalStorage {
     }
 
     public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
+        // written to the temporary file first, so crash while storing doesn't corrupt previously stored content
+        final File tmpFile = new File(storedFile.getParentFile(), storedFile.getName() + ".tmp");
+        try (Writer writer = Files.newWriter(tmpFile, Charset.forName("UTF-8"))) {
             gson.toJson(storedObj, writer);
         }
+        java.nio.file.Files.move(tmpFile.toPath(), storedFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
     }
 
     /**
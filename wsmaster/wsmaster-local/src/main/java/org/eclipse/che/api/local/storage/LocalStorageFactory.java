@@ -11,6 +11,8 @@
 package org.eclipse.che.api.local.storage;
 
 
+import com.google.common.reflect.TypeToken;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -56,4 +58,30 @@ public class LocalStorageFactory {
     public LocalStorage create(String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
         return new LocalStorage(pathToStorage, fileName, typeAdapters);
     }
+
+    /**
+     * @param fileName
+     *         name of snapshot file in local storage.
+     * @param mapToken
+     *         type of the map.
+     * @param state
+     *         map which is loaded, journaled and stored by the storage.
+     * @param typeAdapters
+     *         types and object adapters when need a special (de)serialization.
+     * @return instance of JournaledLocalStorage.
+     * @throws IOException
+     *         occurs when cannot create root storage directory.
+     */
+    public <V> JournaledLocalStorage<V> createJournaled(String fileName,
+                                                        TypeToken<Map<String, V>> mapToken,
+                                                        Map<String, V> state,
+                                                        Map<Class<?>, Object> typeAdapters) throws IOException {
+        return new JournaledLocalStorage<>(pathToStorage,
+                                           fileName,
+                                           mapToken,
+                                           state,
+                                           typeAdapters,
+                                           JournaledLocalStorage.DEFAULT_COMPACTION_THRESHOLD,
+                                           JournaledLocalStorage.DEFAULT_SYNC_INTERVAL_MS);
+    }
 }
\ No newline at end of file
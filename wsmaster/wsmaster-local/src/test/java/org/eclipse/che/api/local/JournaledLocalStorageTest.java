@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import com.google.common.reflect.TypeToken;
+
+import org.eclipse.che.api.local.storage.JournaledLocalStorage;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link JournaledLocalStorage}.
+ */
+public class JournaledLocalStorageTest {
+
+    private File storageDir;
+
+    @BeforeMethod
+    public void setUp() {
+        storageDir = Files.createTempDir();
+    }
+
+    @Test
+    public void replaysJournalWhenStorageWasNotClosed() throws Exception {
+        final JournaledLocalStorage<String> storage = createStorage(new HashMap<>(), 100);
+        storage.put("a", "1");
+        storage.put("b", "2");
+        storage.put("a", "3");
+        storage.remove("b");
+
+        final Map<String, String> loaded = new HashMap<>();
+        createStorage(loaded, 100).load();
+
+        assertEquals(loaded, ImmutableMap.of("a", "3"));
+    }
+
+    @Test
+    public void skipsIncompleteLastRecordOfJournal() throws Exception {
+        final JournaledLocalStorage<String> storage = createStorage(new HashMap<>(), 100);
+        storage.put("a", "1");
+        Files.append("{\"op\":\"put\",\"key\":\"b\",\"va", new File(storageDir, "test.json.journal"), StandardCharsets.UTF_8);
+
+        final Map<String, String> loaded = new HashMap<>();
+        createStorage(loaded, 100).load();
+
+        assertEquals(loaded, ImmutableMap.of("a", "1"));
+    }
+
+    @Test
+    public void keepsRecordsJournaledAfterIncompleteLastRecord() throws Exception {
+        final JournaledLocalStorage<String> storage = createStorage(new HashMap<>(), 100);
+        storage.put("a", "1");
+        Files.append("{\"op\":\"put\",\"key\":\"b\",\"va", new File(storageDir, "test.json.journal"), StandardCharsets.UTF_8);
+
+        final Map<String, String> state = new HashMap<>();
+        final JournaledLocalStorage<String> reloaded = createStorage(state, 100);
+        reloaded.load();
+        reloaded.put("c", "3");
+
+        final Map<String, String> loaded = new HashMap<>();
+        createStorage(loaded, 100).load();
+
+        assertEquals(loaded, ImmutableMap.of("a", "1", "c", "3"));
+    }
+
+    @Test
+    public void keepsRecordsJournaledAfterLastRecordWithoutLineSeparator() throws Exception {
+        final File journal = new File(storageDir, "test.json.journal");
+        Files.write("{\"op\":\"put\",\"key\":\"a\",\"value\":\"1\"}", journal, StandardCharsets.UTF_8);
+
+        final Map<String, String> state = new HashMap<>();
+        final JournaledLocalStorage<String> reloaded = createStorage(state, 100);
+        reloaded.load();
+        reloaded.put("b", "2");
+
+        final Map<String, String> loaded = new HashMap<>();
+        createStorage(loaded, 100).load();
+
+        assertEquals(loaded, ImmutableMap.of("a", "1", "b", "2"));
+    }
+
+    @Test
+    public void compactsJournalIntoSnapshotWhenThresholdIsReached() throws Exception {
+        final Map<String, String> state = new HashMap<>();
+        final JournaledLocalStorage<String> storage = createStorage(state, 2);
+        storage.put("a", "1");
+        storage.put("b", "2");
+
+        assertTrue(new File(storageDir, "test.json").exists());
+        assertFalse(new File(storageDir, "test.json.journal").exists());
+
+        final Map<String, String> loaded = new HashMap<>();
+        createStorage(loaded, 2).load();
+
+        assertEquals(loaded, state);
+    }
+
+    @Test
+    public void closeStoresSnapshotAndTruncatesJournal() throws Exception {
+        final Map<String, String> state = new HashMap<>();
+        final JournaledLocalStorage<String> storage = createStorage(state, 100);
+        storage.put("a", "1");
+
+        storage.close();
+
+        assertFalse(new File(storageDir, "test.json.journal").exists());
+        assertEquals(Files.toString(new File(storageDir, "test.json"), StandardCharsets.UTF_8), "{\n" +
+                                                                                                "  \"a\": \"1\"\n" +
+                                                                                                "}");
+    }
+
+    @Test
+    public void appliesJournaledChangesToMap() throws Exception {
+        final Map<String, String> state = new HashMap<>();
+        final JournaledLocalStorage<String> storage = createStorage(state, 100);
+
+        assertNull(storage.put("a", "1"));
+        assertEquals(storage.put("a", "2"), "1");
+        storage.put("b", "3");
+        assertEquals(storage.remove("b"), "3");
+
+        assertEquals(state, ImmutableMap.of("a", "2"));
+    }
+
+    @Test
+    public void doesNotChangeMapWhenChangeCannotBeJournaled() throws Exception {
+        final Map<String, String> state = new HashMap<>();
+        final JournaledLocalStorage<String> storage = createStorage(state, 100);
+        // journal can't be opened for writing
+        assertTrue(new File(storageDir, "test.json.journal").mkdir());
+
+        try {
+            storage.put("a", "1");
+            fail("Change must not be journaled");
+        } catch (IOException expected) {
+        }
+
+        assertTrue(state.isEmpty());
+    }
+
+    private JournaledLocalStorage<String> createStorage(Map<String, String> state, int compactionThreshold) throws IOException {
+        return new JournaledLocalStorage<>(storageDir.getPath(),
+                                           "test.json",
+                                           new TypeToken<Map<String, String>>() {},
+                                           state,
+                                           emptyMap(),
+                                           compactionThreshold,
+                                           0);
+    }
+}